@@ -0,0 +1,57 @@
+package com.natalcard.natalcard.api;
+
+import org.springframework.http.MediaType;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.TokenStreamFactory;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.dataformat.cbor.CBORFactory;
+import tools.jackson.dataformat.smile.SmileFactory;
+
+import java.io.OutputStream;
+
+/**
+ * Wire formats a chart can be written in, chosen from the Accept header
+ * JSON is the default; CBOR and Smile are the compact binary forms for mobile clients
+ */
+public enum ChartEncoding {
+
+    JSON(MediaType.APPLICATION_JSON,
+        JsonFactory.builder().enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER).build()),
+    CBOR(MediaType.APPLICATION_CBOR,
+        CBORFactory.builder().build()),
+    SMILE(new MediaType("application", "x-jackson-smile"),
+        SmileFactory.builder().build());
+
+    private final MediaType mediaType;
+    private final TokenStreamFactory factory; // thread-safe, shared by every response
+
+    ChartEncoding(MediaType mediaType, TokenStreamFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public JsonGenerator createGenerator(OutputStream out) {
+        return factory.createGenerator(ObjectWriteContext.empty(), out);
+    }
+
+    /**
+     * Encoding for a response content type; null when none matches
+     */
+    public static ChartEncoding find(MediaType contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        for (ChartEncoding encoding : values()) {
+            if (encoding.mediaType.isCompatibleWith(contentType)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+}
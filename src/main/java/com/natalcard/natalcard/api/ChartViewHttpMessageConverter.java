@@ -0,0 +1,58 @@
+package com.natalcard.natalcard.api;
+
+import com.natalcard.natalcard.service.ChartStreamWriter;
+import com.natalcard.natalcard.service.ChartView;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import tools.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Streams {@link ChartView} responses as JSON, CBOR or Smile
+ * Content negotiation picks the {@link ChartEncoding}; the document is written
+ * by {@link ChartStreamWriter} directly into the response body
+ */
+@Component
+public class ChartViewHttpMessageConverter extends AbstractHttpMessageConverter<ChartView> {
+
+    private final ChartStreamWriter chartStreamWriter;
+
+    public ChartViewHttpMessageConverter(ChartStreamWriter chartStreamWriter) {
+        super(ChartEncoding.JSON.getMediaType(), ChartEncoding.CBOR.getMediaType(), ChartEncoding.SMILE.getMediaType());
+        this.chartStreamWriter = chartStreamWriter;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ChartView.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false; // Write-only
+    }
+
+    @Override
+    protected ChartView readInternal(Class<? extends ChartView> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Charts are not accepted as request bodies", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ChartView view, HttpOutputMessage outputMessage) throws IOException {
+        ChartEncoding encoding = ChartEncoding.find(outputMessage.getHeaders().getContentType());
+        if (encoding == null) {
+            throw new HttpMessageNotWritableException(
+                "Unsupported chart content type: " + outputMessage.getHeaders().getContentType());
+        }
+        try (JsonGenerator generator = encoding.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            chartStreamWriter.write(view, generator);
+        }
+    }
+}
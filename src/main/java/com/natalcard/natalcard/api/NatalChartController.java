@@ -1,14 +1,23 @@
 package com.natalcard.natalcard.api;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.natalcard.natalcard.api.dto.CacheStatsDTO;
 import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
-import com.natalcard.natalcard.api.dto.NatalChartResponseDTO;
+import com.natalcard.natalcard.api.dto.PlacidusStatsDTO;
+import com.natalcard.natalcard.api.dto.ValidationErrorResponseDTO;
+import com.natalcard.natalcard.calc.PlacidusHouseService;
 import com.natalcard.natalcard.service.AsyncNatalChartService;
+import com.natalcard.natalcard.service.ChartRequestNormalizer;
+import com.natalcard.natalcard.service.ChartResultCache;
+import com.natalcard.natalcard.service.ChartView;
 import com.natalcard.natalcard.service.NatalChartService;
-import jakarta.validation.Valid;
+import com.natalcard.natalcard.service.NormalizedChartRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -22,22 +31,34 @@ public class NatalChartController {
 
     private final NatalChartService natalChartService;
     private final AsyncNatalChartService asyncNatalChartService;
+    private final ChartResultCache chartResultCache;
+    private final ChartRequestNormalizer chartRequestNormalizer;
+    private final PlacidusHouseService placidusHouseService;
 
     /**
      * Calculate natal chart (synchronous)
      * Use for single requests or when immediate response is needed
      *
-     * POST /api/astro/natal-chart
+     * POST /api/astro/natal-chart[?fields=points.sign,angles]
      */
     @PostMapping("/natal-chart")
     public ResponseEntity<?> calculateNatalChart(
-            @Valid @RequestBody NatalChartRequestDTO request) {
+            @RequestBody NatalChartRequestDTO request,
+            @RequestParam(name = "fields", required = false) String fields) {
+
+        // ?fields= overrides the body's selector
+        if (fields != null) {
+            request.setFields(fields);
+        }
+        ChartRequestNormalizer.Result normalized = chartRequestNormalizer.normalize(request);
+        if (!normalized.isValid()) {
+            return ResponseEntity.badRequest().body(ValidationErrorResponseDTO.of(normalized.getErrors()));
+        }
 
         try {
-            NatalChartResponseDTO response = natalChartService.calculateNatalChart(request);
+            // Streamed from the chart core as JSON, CBOR or Smile (see ChartViewHttpMessageConverter)
+            ChartView response = natalChartService.calculateChartView(normalized.getRequest());
             return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -51,11 +72,18 @@ public class NatalChartController {
      * POST /api/astro/natal-chart/async
      */
     @PostMapping("/natal-chart/async")
-    public CompletableFuture<ResponseEntity<NatalChartResponseDTO>> calculateNatalChartAsync(
-            @Valid @RequestBody NatalChartRequestDTO request) {
+    public CompletableFuture<ResponseEntity<?>> calculateNatalChartAsync(
+            @RequestBody NatalChartRequestDTO request) {
+
+        // Validated on the request thread: invalid input never reaches the executor
+        ChartRequestNormalizer.Result normalized = chartRequestNormalizer.normalize(request);
+        if (!normalized.isValid()) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.badRequest().body(ValidationErrorResponseDTO.of(normalized.getErrors())));
+        }
 
-        return asyncNatalChartService.calculateNatalChartAsync(request)
-            .thenApply(ResponseEntity::ok)
+        return asyncNatalChartService.calculateNatalChartAsync(normalized.getRequest())
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
             .exceptionally(ex -> ResponseEntity.internalServerError().build());
     }
 
@@ -66,8 +94,8 @@ public class NatalChartController {
      * POST /api/astro/natal-chart/batch
      */
     @PostMapping("/natal-chart/batch")
-    public CompletableFuture<ResponseEntity<NatalChartResponseDTO[]>> calculateBatch(
-            @Valid @RequestBody NatalChartRequestDTO[] requests) {
+    public CompletableFuture<ResponseEntity<?>> calculateBatch(
+            @RequestBody NatalChartRequestDTO[] requests) {
 
         if (requests.length == 0) {
             return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
@@ -81,9 +109,66 @@ public class NatalChartController {
             );
         }
 
-        return asyncNatalChartService.calculateMultipleAsync(requests)
-            .thenApply(ResponseEntity::ok)
+        // Validate every request up front; errors are reported as requests[i].field
+        NormalizedChartRequest[] normalizedRequests = new NormalizedChartRequest[requests.length];
+        List<ValidationErrorResponseDTO.FieldErrorDTO> errors = new ArrayList<>(0);
+        for (int i = 0; i < requests.length; i++) {
+            ChartRequestNormalizer.Result normalized = chartRequestNormalizer.normalize(requests[i]);
+            if (normalized.isValid()) {
+                normalizedRequests[i] = normalized.getRequest();
+            } else {
+                for (ValidationErrorResponseDTO.FieldErrorDTO error : normalized.getErrors()) {
+                    error.setField("requests[" + i + "]." + error.getField());
+                    errors.add(error);
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.badRequest().body(ValidationErrorResponseDTO.of(errors)));
+        }
+
+        return asyncNatalChartService.calculateMultipleAsync(normalizedRequests)
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
             .exceptionally(ex -> ResponseEntity.internalServerError().build());
     }
-}
 
+    /**
+     * Chart result cache statistics
+     *
+     * GET /api/astro/natal-chart/cache-stats
+     */
+    @GetMapping("/natal-chart/cache-stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        CacheStats stats = chartResultCache.stats();
+        return ResponseEntity.ok(CacheStatsDTO.builder()
+            .enabled(chartResultCache.isEnabled())
+            .size(chartResultCache.size())
+            .hitCount(stats.hitCount())
+            .missCount(stats.missCount())
+            .hitRate(stats.hitRate())
+            .evictionCount(stats.evictionCount())
+            .build());
+    }
+
+    /**
+     * Placidus solver statistics (charts solved, iterations per cusp, fallbacks)
+     *
+     * GET /api/astro/natal-chart/placidus-stats
+     */
+    @GetMapping("/natal-chart/placidus-stats")
+    public ResponseEntity<PlacidusStatsDTO> getPlacidusStats() {
+        PlacidusHouseService.Stats stats = placidusHouseService.stats();
+        return ResponseEntity.ok(PlacidusStatsDTO.builder()
+            .solves(stats.getSolves())
+            .warmStarts(stats.getWarmStarts())
+            .iterations(stats.getIterations())
+            .meanIterations(stats.getMeanIterations())
+            .notConverged(stats.getNotConverged())
+            .highLatitude(stats.getHighLatitude())
+            .gridLookups(stats.getGridLookups())
+            .tolerance(stats.getTolerance())
+            .maxIterations(stats.getMaxIterations())
+            .build());
+    }
+}
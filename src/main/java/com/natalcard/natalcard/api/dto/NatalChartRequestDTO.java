@@ -29,7 +29,19 @@ public class NatalChartRequestDTO {
 
     private String houseSystem = "PLACIDUS"; // PLACIDUS, EQUAL, or WHOLE_SIGN
 
+    private String compareHouseSystems; // Extra systems computed on the same chart, e.g. "KOCH,EQUAL" or "ALL" (default: none)
+
     private Boolean includeAspects = true;
 
+    private String aspectProfile; // Aspect set and orbs: MAJOR, EXTENDED or a configured profile (default: server setting)
+
     private String language = "en"; // Language for translations: "en" or "tr"
+
+    private String precision; // Ephemeris tier: FAST, STANDARD or PRECISE (default: server setting)
+
+    private String fieldNames; // Response field names: FULL (default) or SHORT
+
+    private Integer longitudeDecimals; // Round longitudes to 0-10 decimals (default: full precision)
+
+    private String fields; // Field selector, e.g. "points.sign,angles" or "sunSignOnly" (default: everything)
 }
@@ -18,6 +18,7 @@ public class NatalChartResponseDTO {
     private MetaDTO meta;
     private AnglesDTO angles;
     private List<HouseDTO> houses;
+    private List<HouseSystemDTO> houseSystems; // null unless compareHouseSystems was requested
     private Map<String, PlanetPointDTO> points;
     private List<AspectDTO> aspects;
 
@@ -28,6 +29,7 @@ public class NatalChartResponseDTO {
     public static class MetaDTO {
         private String requestedHouseSystem;
         private String effectiveHouseSystem;
+        private String precision; // Ephemeris tier actually applied
         private List<String> warnings;
 
         // Localized fields
@@ -72,6 +74,21 @@ public class NatalChartResponseDTO {
         private String signLocalized;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HouseSystemDTO {
+        private String houseSystem;
+        private String effectiveHouseSystem;
+        private List<String> warnings;
+        private List<Double> cusps; // 12 cusp longitudes, house 1 first
+        private Map<String, Integer> pointHouses; // House (1-12) of each point in this system
+
+        // Localized field
+        private String houseSystemLocalized;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -82,6 +99,8 @@ public class NatalChartResponseDTO {
         private String sign;
         private Integer house;
         private Double signDegree; // Degree within the sign (0-30)
+        private Double speed; // Daily motion in longitude (degrees/day), null when not known
+        private Boolean retrograde; // Null when speed is not known
 
         // Localized fields
         private String nameLocalized;
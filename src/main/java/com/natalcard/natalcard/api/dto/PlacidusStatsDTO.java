@@ -0,0 +1,25 @@
+package com.natalcard.natalcard.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Placidus solver counters
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacidusStatsDTO {
+    private Long solves;
+    private Long warmStarts;
+    private Long iterations;
+    private Double meanIterations;
+    private Long notConverged;
+    private Long highLatitude;
+    private Long gridLookups;
+    private Double tolerance;
+    private Integer maxIterations;
+}
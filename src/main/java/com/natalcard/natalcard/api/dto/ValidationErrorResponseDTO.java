@@ -0,0 +1,43 @@
+package com.natalcard.natalcard.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 400 response body listing every invalid request field
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationErrorResponseDTO {
+
+    private Instant timestamp;
+    private Integer status;
+    private String error;
+    private List<FieldErrorDTO> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FieldErrorDTO {
+        private String field;
+        private String code;    // REQUIRED, INVALID_FORMAT, OUT_OF_RANGE, UNKNOWN_TIMEZONE, UNSUPPORTED
+        private String message;
+    }
+
+    public static ValidationErrorResponseDTO of(List<FieldErrorDTO> errors) {
+        return ValidationErrorResponseDTO.builder()
+            .timestamp(Instant.now())
+            .status(400)
+            .error("Validation Failed")
+            .errors(errors)
+            .build();
+    }
+}
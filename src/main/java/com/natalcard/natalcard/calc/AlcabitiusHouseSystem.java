@@ -0,0 +1,42 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Alcabitius houses: the semi-arcs of the Ascendant degree trisected in right ascension
+ *
+ * The Ascendant degree spends its diurnal semi-arc DSA = 90° + AD above the horizon;
+ * cusps 11 and 12 are the ecliptic points at RA = RAMC + DSA/3 and RAMC + 2·DSA/3, cusps
+ * 2 and 3 trisect its nocturnal semi-arc 180° − DSA beyond the Ascendant.
+ *
+ * Where the Ascendant degree is circumpolar there is no semi-arc and the chart falls
+ * back to Equal houses with QUADRANT_FALLBACK_EQUAL_HIGH_LAT.
+ */
+@Service
+public class AlcabitiusHouseSystem implements HouseSystem {
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.ALCABITIUS;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        double sinAd = QuadrantHouses.sinAscensionalDifference(asc, context);
+        if (!(Math.abs(sinAd) < 1.0)) {
+            warnings.add(ChartWarning.QUADRANT_FALLBACK_EQUAL_HIGH_LAT);
+            return EqualHouseSystem.cusps(asc);
+        }
+        double diurnal = 90.0 + AstroMath.toDegrees(Math.asin(sinAd));
+        double nocturnal = 180.0 - diurnal;
+        double ramc = context.getLst();
+
+        return QuadrantHouses.cusps(asc, mc,
+            QuadrantHouses.eclipticLongitude(ramc + diurnal / 3.0, 0.0, context),
+            QuadrantHouses.eclipticLongitude(ramc + 2.0 * diurnal / 3.0, 0.0, context),
+            QuadrantHouses.eclipticLongitude(ramc + diurnal + nocturnal / 3.0, 0.0, context),
+            QuadrantHouses.eclipticLongitude(ramc + diurnal + 2.0 * nocturnal / 3.0, 0.0, context));
+    }
+}
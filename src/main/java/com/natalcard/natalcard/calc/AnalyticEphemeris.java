@@ -0,0 +1,447 @@
+package com.natalcard.natalcard.calc;
+
+import java.util.Arrays;
+
+/**
+ * Calculate planet positions from analytic series
+ *
+ * - Sun and planets: VSOP87D (see {@link Vsop87}), truncated per {@link PrecisionTier}
+ * - Moon: Meeus chapter 47 series (see {@link LunarSeries})
+ * - Pluto: Keplerian orbit (see {@link KeplerOrbits}) seen from the VSOP87 Earth
+ *
+ * Every call evaluates the trigonometric series from scratch.
+ * Also used as the source when generating Chebyshev tables.
+ */
+public class AnalyticEphemeris implements EphemerisEngine {
+
+    private static final double DAYS_PER_MILLENNIUM = 365250.0;
+    private static final double LIGHT_TIME_DAYS_PER_AU = 0.0057755183;
+
+    // Scratch layout: value and rate of L, B, R (see Vsop87.evaluateWithRate), then x, y, z and their rates
+    private static final int L = 0;
+    private static final int B = 2;
+    private static final int R = 4;
+    private static final int X = 6;
+    private static final int Y = 7;
+    private static final int Z = 8;
+    private static final int VX = 9;
+    private static final int VY = 10;
+    private static final int VZ = 11;
+    private static final ThreadLocal<double[]> STATE_SCRATCH = ThreadLocal.withInitial(() -> new double[12]);
+    // Pluto: Earth state {x, y, z, vx, vy, vz} in, then {longitude, speed} out
+    private static final int PLUTO_LONGITUDE = 6;
+    private static final int PLUTO_SPEED = 7;
+    private static final ThreadLocal<double[]> PLUTO_SCRATCH = ThreadLocal.withInitial(() -> new double[8]);
+
+    // Body ordinal -> VSOP87 planet index (-1: not a VSOP87 planet)
+    private static final int[] VSOP87_PLANET = new int[Body.COUNT];
+
+    static {
+        Arrays.fill(VSOP87_PLANET, -1);
+        VSOP87_PLANET[Body.MERCURY.ordinal()] = Vsop87.MERCURY;
+        VSOP87_PLANET[Body.VENUS.ordinal()] = Vsop87.VENUS;
+        VSOP87_PLANET[Body.MARS.ordinal()] = Vsop87.MARS;
+        VSOP87_PLANET[Body.JUPITER.ordinal()] = Vsop87.JUPITER;
+        VSOP87_PLANET[Body.SATURN.ordinal()] = Vsop87.SATURN;
+        VSOP87_PLANET[Body.URANUS.ordinal()] = Vsop87.URANUS;
+        VSOP87_PLANET[Body.NEPTUNE.ordinal()] = Vsop87.NEPTUNE;
+    }
+
+    private final Vsop87 vsop87 = Vsop87.getInstance();
+    private final PrecisionTier defaultTier;
+    private final SeriesKernel batchKernel;
+
+    public AnalyticEphemeris() {
+        this(PrecisionTier.STANDARD);
+    }
+
+    public AnalyticEphemeris(PrecisionTier defaultTier) {
+        this(defaultTier, SeriesKernel.preferred());
+    }
+
+    public AnalyticEphemeris(PrecisionTier defaultTier, SeriesKernel batchKernel) {
+        this.defaultTier = defaultTier;
+        this.batchKernel = batchKernel.isAvailable() ? batchKernel : SeriesKernel.SCALAR;
+    }
+
+    public PrecisionTier getDefaultTier() {
+        return defaultTier;
+    }
+
+    /**
+     * Kernel used by the batch entry point (SCALAR if VECTOR was requested but is unavailable)
+     */
+    public SeriesKernel getBatchKernel() {
+        return batchKernel;
+    }
+
+    @Override
+    public double calculateLongitude(Body body, double julianDay) {
+        return calculateLongitude(body, julianDay, defaultTier);
+    }
+
+    /**
+     * Daily motion from the analytic derivative of the series (see calculatePositions)
+     */
+    @Override
+    public double calculateSpeed(Body body, double julianDay) {
+        PlanetVector vector = new PlanetVector();
+        calculatePositions(julianDay, defaultTier, vector);
+        return vector.getSpeed(body);
+    }
+
+    /**
+     * Calculate ecliptic longitude of a body with an explicit truncation tier
+     */
+    public double calculateLongitude(Body body, double julianDay, PrecisionTier tier) {
+        double T = JulianDate.toJulianCenturies(julianDay);
+
+        switch (body) {
+            case MOON: return calculateMoonPosition(T);
+            default:
+                double tau = T / 10.0;
+                double earthL = vsop87.evaluate(Vsop87.EARTH, Vsop87.L, tau, tier);
+                if (body == Body.SUN) {
+                    return calculateSunPosition(earthL);
+                }
+                double earthB = vsop87.evaluate(Vsop87.EARTH, Vsop87.B, tau, tier);
+                double earthR = vsop87.evaluate(Vsop87.EARTH, Vsop87.R, tau, tier);
+                double earthX = earthR * AstroMath.cos(earthB) * AstroMath.cos(earthL);
+                double earthY = earthR * AstroMath.cos(earthB) * AstroMath.sin(earthL);
+                double earthZ = earthR * AstroMath.sin(earthB);
+                if (body == Body.PLUTO) {
+                    return calculatePlutoMotion(T, earthX, earthY, earthZ, 0.0, 0.0, 0.0)[PLUTO_LONGITUDE];
+                }
+                return calculatePlanetPosition(VSOP87_PLANET[body.ordinal()], tau, tier, earthX, earthY, earthZ);
+        }
+    }
+
+    /**
+     * Calculate all bodies at the default tier
+     */
+    @Override
+    public void calculatePositions(double julianDay, PlanetVector out) {
+        calculatePositions(julianDay, defaultTier, out);
+    }
+
+    @Override
+    public PrecisionTier getPrecision() {
+        return defaultTier;
+    }
+
+    /**
+     * Calculate all bodies at once (the Earth series is evaluated a single time)
+     *
+     * @param julianDay Julian Date (UT)
+     * @param tier Truncation tier
+     * @param out Vector to fill
+     */
+    public void calculatePositions(double julianDay, PrecisionTier tier, PlanetVector out) {
+        double T = JulianDate.toJulianCenturies(julianDay);
+        LunarSeries.calculate(T, out);
+        calculateBodies(T, tier, out);
+    }
+
+    /**
+     * Calculate all bodies at once, reusing the fundamental arguments of a chart context
+     *
+     * @param context Chart instant
+     * @param tier Truncation tier
+     * @param out Vector to fill
+     */
+    public void calculatePositions(ChartContext context, PrecisionTier tier, PlanetVector out) {
+        LunarSeries.calculate(context, out);
+        calculateBodies(context.getJulianCenturies(), tier, out);
+    }
+
+    /**
+     * Everything except the Moon, longitudes and daily motions
+     * Rates come from the derivatives of the same VSOP87 terms (no second evaluation)
+     */
+    private void calculateBodies(double T, PrecisionTier tier, PlanetVector out) {
+        double tau = T / 10.0;
+        double[] state = STATE_SCRATCH.get();
+
+        earthMotion(tau, tier, state);
+        double earthL = state[L];
+        double earthLRate = state[L + 1];
+        double earthX = state[X];
+        double earthY = state[Y];
+        double earthZ = state[Z];
+        double earthVx = state[VX];
+        double earthVy = state[VY];
+        double earthVz = state[VZ];
+
+        for (Body body : Body.ALL) {
+            int planet = VSOP87_PLANET[body.ordinal()];
+            if (planet >= 0) {
+                calculatePlanetMotion(body, planet, tau, tier, state,
+                    earthX, earthY, earthZ, earthVx, earthVy, earthVz, out);
+            } else if (body == Body.SUN) {
+                out.setLongitude(body, calculateSunPosition(earthL));
+                out.setSpeed(body, Math.toDegrees(earthLRate) / DAYS_PER_MILLENNIUM);
+            } else if (body == Body.PLUTO) {
+                double[] pluto = calculatePlutoMotion(T, earthX, earthY, earthZ, earthVx, earthVy, earthVz);
+                out.setLongitude(body, pluto[PLUTO_LONGITUDE]);
+                out.setSpeed(body, pluto[PLUTO_SPEED]);
+            }
+        }
+        out.setSpeedsKnown(true);
+    }
+
+    /**
+     * Longitude and daily motion of a single body
+     * Only that body's entry of the vector is written (used to fill interpolation nodes)
+     *
+     * @param body Chart body
+     * @param julianDay Julian Date (UT)
+     * @param tier Truncation tier
+     * @param out Vector receiving the body's longitude and speed
+     */
+    public void calculateMotion(Body body, double julianDay, PrecisionTier tier, PlanetVector out) {
+        double T = JulianDate.toJulianCenturies(julianDay);
+        if (body == Body.MOON) {
+            LunarSeries.calculate(T, out);
+            return;
+        }
+
+        double tau = T / 10.0;
+        double[] state = STATE_SCRATCH.get();
+        earthMotion(tau, tier, state);
+        if (body == Body.SUN) {
+            out.setLongitude(body, calculateSunPosition(state[L]));
+            out.setSpeed(body, Math.toDegrees(state[L + 1]) / DAYS_PER_MILLENNIUM);
+            return;
+        }
+        if (body == Body.PLUTO) {
+            double[] pluto = calculatePlutoMotion(T, state[X], state[Y], state[Z], state[VX], state[VY], state[VZ]);
+            out.setLongitude(body, pluto[PLUTO_LONGITUDE]);
+            out.setSpeed(body, pluto[PLUTO_SPEED]);
+            return;
+        }
+        calculatePlanetMotion(body, VSOP87_PLANET[body.ordinal()], tau, tier, state,
+            state[X], state[Y], state[Z], state[VX], state[VY], state[VZ], out);
+    }
+
+    /**
+     * Calculate all bodies for many instants with the configured batch kernel
+     *
+     * @param julianCenturies Julian centuries from J2000, one per instant
+     * @param count Number of instants (at most out.capacity())
+     * @param tier Truncation tier
+     * @param out Batch to fill
+     */
+    public void calculatePositions(double[] julianCenturies, int count, PrecisionTier tier, PlanetBatch out) {
+        calculatePositions(julianCenturies, count, tier, batchKernel, out);
+    }
+
+    /**
+     * Calculate all bodies for many instants
+     *
+     * Each VSOP87 series runs once over the whole batch, so the VECTOR kernel
+     * packs instants into SIMD lanes. The Moon and Pluto stay per instant.
+     * With SCALAR the results are identical to {@link #calculatePositions(double, PrecisionTier, PlanetVector)}.
+     */
+    public void calculatePositions(double[] julianCenturies, int count, PrecisionTier tier,
+                                   SeriesKernel kernel, PlanetBatch out) {
+        if (count > out.capacity()) {
+            throw new IllegalArgumentException("Batch of " + count + " exceeds capacity " + out.capacity());
+        }
+        double[] tau = new double[count];
+        double[] earthX = new double[count];
+        double[] earthY = new double[count];
+        double[] earthZ = new double[count];
+        double[] l = new double[count];
+        double[] b = new double[count];
+        double[] r = new double[count];
+        double[] sums = new double[count];
+
+        for (int j = 0; j < count; j++) {
+            tau[j] = julianCenturies[j] / 10.0;
+        }
+
+        vsop87.evaluate(Vsop87.EARTH, Vsop87.L, tau, count, tier, kernel, l, sums);
+        vsop87.evaluate(Vsop87.EARTH, Vsop87.B, tau, count, tier, kernel, b, sums);
+        vsop87.evaluate(Vsop87.EARTH, Vsop87.R, tau, count, tier, kernel, r, sums);
+        double[] sun = out.longitudes(Body.SUN);
+        for (int j = 0; j < count; j++) {
+            earthX[j] = r[j] * AstroMath.cos(b[j]) * AstroMath.cos(l[j]);
+            earthY[j] = r[j] * AstroMath.cos(b[j]) * AstroMath.sin(l[j]);
+            earthZ[j] = r[j] * AstroMath.sin(b[j]);
+            sun[j] = calculateSunPosition(l[j]);
+        }
+
+        double[] retarded = new double[count];
+        for (Body body : Body.ALL) {
+            int planet = VSOP87_PLANET[body.ordinal()];
+            double[] longitudes = out.longitudes(body);
+            if (planet < 0) {
+                if (body == Body.MOON) {
+                    for (int j = 0; j < count; j++) {
+                        longitudes[j] = calculateMoonPosition(julianCenturies[j]);
+                    }
+                } else if (body == Body.PLUTO) {
+                    for (int j = 0; j < count; j++) {
+                        longitudes[j] = calculatePlutoMotion(julianCenturies[j],
+                            earthX[j], earthY[j], earthZ[j], 0.0, 0.0, 0.0)[PLUTO_LONGITUDE];
+                    }
+                }
+                continue;
+            }
+
+            // Same two light-time passes as calculatePlanetPosition, one series at a time
+            System.arraycopy(tau, 0, retarded, 0, count);
+            for (int pass = 0; pass < 2; pass++) {
+                vsop87.evaluate(planet, Vsop87.L, retarded, count, tier, kernel, l, sums);
+                vsop87.evaluate(planet, Vsop87.B, retarded, count, tier, kernel, b, sums);
+                vsop87.evaluate(planet, Vsop87.R, retarded, count, tier, kernel, r, sums);
+                for (int j = 0; j < count; j++) {
+                    double x = r[j] * AstroMath.cos(b[j]) * AstroMath.cos(l[j]) - earthX[j];
+                    double y = r[j] * AstroMath.cos(b[j]) * AstroMath.sin(l[j]) - earthY[j];
+                    double z = r[j] * AstroMath.sin(b[j]) - earthZ[j];
+                    if (pass == 0) {
+                        double lightTime = LIGHT_TIME_DAYS_PER_AU * Math.sqrt(x * x + y * y + z * z);
+                        retarded[j] = tau[j] - lightTime / DAYS_PER_MILLENNIUM;
+                    } else {
+                        longitudes[j] = AstroMath.normalize360(Math.toDegrees(AstroMath.atan2(y, x)));
+                    }
+                }
+            }
+        }
+        out.setSize(count);
+    }
+
+    /**
+     * Calculate Sun's ecliptic longitude
+     * Geocentric Sun = heliocentric Earth + 180°
+     */
+    private double calculateSunPosition(double earthL) {
+        return AstroMath.normalize360(Math.toDegrees(earthL) + 180.0);
+    }
+
+    /**
+     * Calculate Moon's ecliptic longitude
+     * Full Meeus chapter 47 series, see {@link LunarSeries}
+     */
+    private double calculateMoonPosition(double T) {
+        return LunarSeries.longitude(T);
+    }
+
+    /**
+     * Calculate Pluto's geocentric longitude and daily motion
+     * Pluto is not part of VSOP87: its Keplerian orbit is seen from the VSOP87 Earth
+     *
+     * @param earthVx Earth velocity per Julian millennium (zeros when only the longitude is needed)
+     * @return Scratch array with the longitude at PLUTO_LONGITUDE and the speed at PLUTO_SPEED
+     */
+    private static double[] calculatePlutoMotion(double T, double earthX, double earthY, double earthZ,
+                                                 double earthVx, double earthVy, double earthVz) {
+        double[] scratch = PLUTO_SCRATCH.get();
+        scratch[0] = earthX;
+        scratch[1] = earthY;
+        scratch[2] = earthZ;
+        scratch[3] = earthVx / DAYS_PER_MILLENNIUM;
+        scratch[4] = earthVy / DAYS_PER_MILLENNIUM;
+        scratch[5] = earthVz / DAYS_PER_MILLENNIUM;
+        KeplerOrbits.geocentricFromEarthOfDate(KeplerOrbits.PLUTO, T, scratch, scratch, PLUTO_LONGITUDE);
+        return scratch;
+    }
+
+    /**
+     * Geocentric longitude of a VSOP87 planet
+     * The planet is taken at t - light time, the Earth at t
+     */
+    private double calculatePlanetPosition(int planet, double tau, PrecisionTier tier,
+                                           double earthX, double earthY, double earthZ) {
+        double lightTime = 0.0;
+        double x = 0.0;
+        double y = 0.0;
+
+        // First pass: geometric distance; second pass: planet at the retarded time
+        for (int pass = 0; pass < 2; pass++) {
+            double t = tau - lightTime / DAYS_PER_MILLENNIUM;
+            double l = vsop87.evaluate(planet, Vsop87.L, t, tier);
+            double b = vsop87.evaluate(planet, Vsop87.B, t, tier);
+            double r = vsop87.evaluate(planet, Vsop87.R, t, tier);
+
+            x = r * AstroMath.cos(b) * AstroMath.cos(l) - earthX;
+            y = r * AstroMath.cos(b) * AstroMath.sin(l) - earthY;
+            double z = r * AstroMath.sin(b) - earthZ;
+            lightTime = LIGHT_TIME_DAYS_PER_AU * Math.sqrt(x * x + y * y + z * z);
+        }
+
+        return AstroMath.normalize360(Math.toDegrees(AstroMath.atan2(y, x)));
+    }
+
+    /**
+     * Geocentric longitude and daily motion of a VSOP87 planet
+     * Same two light-time passes as calculatePlanetPosition; rates on the second pass only
+     */
+    private void calculatePlanetMotion(Body body, int planet, double tau, PrecisionTier tier, double[] state,
+                                       double earthX, double earthY, double earthZ,
+                                       double earthVx, double earthVy, double earthVz, PlanetVector out) {
+        double l = vsop87.evaluate(planet, Vsop87.L, tau, tier);
+        double b = vsop87.evaluate(planet, Vsop87.B, tau, tier);
+        double r = vsop87.evaluate(planet, Vsop87.R, tau, tier);
+        double x = r * AstroMath.cos(b) * AstroMath.cos(l) - earthX;
+        double y = r * AstroMath.cos(b) * AstroMath.sin(l) - earthY;
+        double z = r * AstroMath.sin(b) - earthZ;
+        double lightTime = LIGHT_TIME_DAYS_PER_AU * Math.sqrt(x * x + y * y + z * z);
+
+        double t = tau - lightTime / DAYS_PER_MILLENNIUM;
+        vsop87.evaluateWithRate(planet, Vsop87.L, t, tier, state, L);
+        vsop87.evaluateWithRate(planet, Vsop87.B, t, tier, state, B);
+        vsop87.evaluateWithRate(planet, Vsop87.R, t, tier, state, R);
+        toCartesian(state);
+        x = state[X] - earthX;
+        y = state[Y] - earthY;
+        z = state[Z] - earthZ;
+        double vx = state[VX];
+        double vy = state[VY];
+        double vz = state[VZ];
+
+        // The retarded time moves with the distance: scale the planet's motion by 1 - d(light time)/dt
+        double rangeRate = (x * (vx - earthVx) + y * (vy - earthVy) + z * (vz - earthVz))
+                         / Math.sqrt(x * x + y * y + z * z);
+        double retardation = 1.0 - LIGHT_TIME_DAYS_PER_AU * rangeRate / DAYS_PER_MILLENNIUM;
+        vx = vx * retardation - earthVx;
+        vy = vy * retardation - earthVy;
+
+        // d(atan2(y, x))/dt, radians per millennium
+        double rate = (x * vy - y * vx) / (x * x + y * y);
+        out.setLongitude(body, AstroMath.normalize360(Math.toDegrees(AstroMath.atan2(y, x))));
+        out.setSpeed(body, Math.toDegrees(rate) / DAYS_PER_MILLENNIUM);
+    }
+
+    /**
+     * Earth's L, B, R, position and velocity into the scratch state
+     */
+    private void earthMotion(double tau, PrecisionTier tier, double[] state) {
+        vsop87.evaluateWithRate(Vsop87.EARTH, Vsop87.L, tau, tier, state, L);
+        vsop87.evaluateWithRate(Vsop87.EARTH, Vsop87.B, tau, tier, state, B);
+        vsop87.evaluateWithRate(Vsop87.EARTH, Vsop87.R, tau, tier, state, R);
+        toCartesian(state);
+    }
+
+    /**
+     * Heliocentric x, y, z and their rates per millennium from L, B, R and their rates
+     * Each sine and cosine is taken once
+     */
+    private static void toCartesian(double[] state) {
+        double r = state[R];
+        double cosB = AstroMath.cos(state[B]);
+        double sinB = AstroMath.sin(state[B]);
+        double cosL = AstroMath.cos(state[L]);
+        double sinL = AstroMath.sin(state[L]);
+        double dL = state[L + 1];
+        double dB = state[B + 1];
+        double dR = state[R + 1];
+
+        state[X] = r * cosB * cosL;
+        state[Y] = r * cosB * sinL;
+        state[Z] = r * sinB;
+        state[VX] = dR * cosB * cosL - r * sinB * dB * cosL - r * cosB * sinL * dL;
+        state[VY] = dR * cosB * sinL - r * sinB * dB * sinL + r * cosB * cosL * dL;
+        state[VZ] = dR * sinB + r * cosB * dB;
+    }
+}
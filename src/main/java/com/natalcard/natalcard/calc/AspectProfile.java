@@ -0,0 +1,288 @@
+package com.natalcard.natalcard.calc;
+
+import com.natalcard.natalcard.calc.AspectService.AspectType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A named aspect set with an orb for every body pair and aspect type
+ *
+ * Compiled once into a flat table indexed [pair][type] (pair = i·Body.COUNT + j for bodies
+ * i < j), so the aspect loop reads orbs from one array instead of branching on the bodies.
+ * The types keep their profile order: with one aspect per pair, the first type within orb wins.
+ *
+ * Spec: comma-separated TYPE:orb[:luminaryOrb][;BODY-BODY=orb...] tokens, e.g.
+ * "CONJUNCTION:6:8;SUN-MOON=10,QUINCUNX:2:3;MERCURY-VENUS=1"; luminaryOrb applies to pairs with
+ * the Sun or Moon (default: orb), a BODY-BODY override to that pair (either order) for that type.
+ */
+public final class AspectProfile {
+
+    public static final String MAJOR_NAME = "MAJOR";
+    public static final String EXTENDED_NAME = "EXTENDED";
+
+    /** The five major aspects, 6° (8° with a luminary): the original orbs */
+    public static final AspectProfile MAJOR = parse(MAJOR_NAME,
+        "CONJUNCTION:6:8,SEXTILE:6:8,SQUARE:6:8,TRINE:6:8,OPPOSITION:6:8");
+
+    /** Majors plus the minor aspects at narrower orbs */
+    public static final AspectProfile EXTENDED = parse(EXTENDED_NAME,
+        "CONJUNCTION:6:8,SEXTILE:6:8,SQUARE:6:8,TRINE:6:8,OPPOSITION:6:8,"
+            + "SEMISEXTILE:2:3,SEMISQUARE:2:3,SESQUIQUADRATE:2:3,QUINCUNX:3:4,QUINTILE:1.5:2,BIQUINTILE:1.5:2");
+
+    /**
+     * Orb of one aspect type for one body pair
+     */
+    @FunctionalInterface
+    public interface PairOrb {
+        double orb(AspectType type, Body body1, Body body2);
+    }
+
+    private final String name;
+    private final AspectType[] types;
+    private final double[] angles;  // by profile type index
+    private final double[] orbs;    // [pair][type], pair = i * Body.COUNT + j
+    private final double[] bodyMaxOrbs; // [body][type], largest orb of the body with any body
+    private final double maxOrb;
+    private final long fingerprint;
+
+    private AspectProfile(String name, AspectType[] types, double[] orbs) {
+        this.name = name;
+        this.types = types;
+        this.angles = new double[types.length];
+        for (int t = 0; t < types.length; t++) {
+            angles[t] = types[t].getAngle();
+        }
+        this.orbs = orbs;
+        this.bodyMaxOrbs = new double[Body.COUNT * types.length];
+        for (int body1 = 0; body1 < Body.COUNT; body1++) {
+            for (int body2 = 0; body2 < Body.COUNT; body2++) {
+                for (int t = 0; t < types.length; t++) {
+                    double orb = Math.max(orbs[(body1 * Body.COUNT + body2) * types.length + t],
+                        orbs[(body2 * Body.COUNT + body1) * types.length + t]);
+                    bodyMaxOrbs[body1 * types.length + t] = Math.max(bodyMaxOrbs[body1 * types.length + t], orb);
+                }
+            }
+        }
+        this.maxOrb = Arrays.stream(orbs).max().orElse(0.0);
+        this.fingerprint = fingerprint(name, types, orbs);
+    }
+
+    /**
+     * Compile a profile from any per-pair rule
+     *
+     * @throws IllegalArgumentException if there are no types, a type repeats or an orb is not in [0, 90)
+     */
+    public static AspectProfile compile(String name, List<AspectType> types, PairOrb rule) {
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("Aspect profile " + name + " has no aspect types");
+        }
+        if (types.stream().distinct().count() != types.size()) {
+            throw new IllegalArgumentException("Aspect profile " + name + " repeats an aspect type");
+        }
+        int typeCount = types.size();
+        double[] orbs = new double[Body.COUNT * Body.COUNT * typeCount];
+        for (Body body1 : Body.ALL) {
+            for (Body body2 : Body.ALL) {
+                int pair = body1.ordinal() * Body.COUNT + body2.ordinal();
+                for (int t = 0; t < typeCount; t++) {
+                    double orb = rule.orb(types.get(t), body1, body2);
+                    if (!(orb >= 0.0 && orb < 90.0)) {
+                        throw new IllegalArgumentException("Aspect profile " + name + ": orb of " + types.get(t)
+                            + " for " + body1 + "-" + body2 + " must be in [0, 90): " + orb);
+                    }
+                    orbs[pair * typeCount + t] = orb;
+                }
+            }
+        }
+        return new AspectProfile(name.toUpperCase(Locale.ROOT), types.toArray(new AspectType[0]), orbs);
+    }
+
+    /**
+     * Parse a TYPE:orb[:luminaryOrb][;BODY-BODY=orb...] spec
+     *
+     * @throws IllegalArgumentException if a token is malformed or names an unknown type or body
+     */
+    public static AspectProfile parse(String name, String spec) {
+        List<AspectType> types = new ArrayList<>();
+        List<double[]> typeOrbs = new ArrayList<>(); // { orb, luminaryOrb }
+        List<double[]> pairOrbs = new ArrayList<>(); // [pair], NaN where the pair has no override
+        for (String token : spec.split(",")) {
+            token = token.trim();
+            if (token.isEmpty()) {
+                continue;
+            }
+            String[] clauses = token.split(";");
+            String[] parts = clauses[0].split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Aspect profile " + name + ": expected TYPE:orb[:luminaryOrb], got " + token);
+            }
+            AspectType type = findType(parts[0]);
+            if (type == null) {
+                throw new IllegalArgumentException("Aspect profile " + name + ": unknown aspect type " + parts[0].trim());
+            }
+            try {
+                double orb = Double.parseDouble(parts[1].trim());
+                double luminaryOrb = parts.length == 3 ? Double.parseDouble(parts[2].trim()) : orb;
+                types.add(type);
+                typeOrbs.add(new double[] { orb, luminaryOrb });
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Aspect profile " + name + ": invalid orb in " + token, e);
+            }
+            double[] overrides = new double[Body.COUNT * Body.COUNT];
+            Arrays.fill(overrides, Double.NaN);
+            for (int c = 1; c < clauses.length; c++) {
+                parsePairOrb(name, clauses[c], overrides);
+            }
+            pairOrbs.add(overrides);
+        }
+        return compile(name, types, (type, body1, body2) -> {
+            int t = types.indexOf(type);
+            double override = pairOrbs.get(t)[pair(body1, body2)];
+            return Double.isNaN(override)
+                ? typeOrbs.get(t)[body1.isLuminary() || body2.isLuminary() ? 1 : 0]
+                : override;
+        });
+    }
+
+    /**
+     * Parse a BODY-BODY=orb clause into both orders of the pair
+     */
+    private static void parsePairOrb(String name, String clause, double[] overrides) {
+        String[] parts = clause.split("=");
+        String[] bodies = parts[0].split("-");
+        if (parts.length != 2 || bodies.length != 2) {
+            throw new IllegalArgumentException("Aspect profile " + name + ": expected BODY-BODY=orb, got " + clause.trim());
+        }
+        Body body1 = findBody(bodies[0]);
+        Body body2 = findBody(bodies[1]);
+        if (body1 == null || body2 == null) {
+            throw new IllegalArgumentException("Aspect profile " + name + ": unknown body in " + clause.trim());
+        }
+        try {
+            double orb = Double.parseDouble(parts[1].trim());
+            overrides[pair(body1, body2)] = orb;
+            overrides[pair(body2, body1)] = orb;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Aspect profile " + name + ": invalid orb in " + clause.trim(), e);
+        }
+    }
+
+    /**
+     * Index of a body pair in the orb table (any order of the two bodies)
+     */
+    public static int pair(Body body1, Body body2) {
+        return body1.ordinal() * Body.COUNT + body2.ordinal();
+    }
+
+    /**
+     * Orb of the profile's type t for a pair (see {@link #pair})
+     */
+    public double orb(int pair, int type) {
+        return orbs[pair * types.length + type];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Number of aspect types in the profile
+     */
+    public int getTypeCount() {
+        return types.length;
+    }
+
+    public AspectType getType(int type) {
+        return types[type];
+    }
+
+    /**
+     * Exact angle of the profile's type t
+     */
+    public double getAngle(int type) {
+        return angles[type];
+    }
+
+    /**
+     * Largest orb of type t between a body and any body (either order)
+     */
+    public double getMaxOrb(Body body, int type) {
+        return bodyMaxOrbs[body.ordinal() * types.length + type];
+    }
+
+    /**
+     * Largest orb of any pair and type
+     */
+    public double getMaxOrb() {
+        return maxOrb;
+    }
+
+    /**
+     * 64-bit hash of the name, types and orb table, for cache keys
+     * Two profiles share it only if they are the same profile (or on a 64-bit collision)
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * The types in profile order; read-only
+     */
+    AspectType[] types() {
+        return types;
+    }
+
+    /**
+     * The compiled table, [pair][type]; read-only
+     */
+    double[] orbTable() {
+        return orbs;
+    }
+
+    private static AspectType findType(String value) {
+        for (AspectType type : AspectType.values()) {
+            if (type.name().equalsIgnoreCase(value.trim())) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static long fingerprint(String name, AspectType[] types, double[] orbs) {
+        long hash = 0xBB67AE8584CAA73BL;
+        hash = mix(hash, name.length());
+        for (int i = 0; i < name.length(); i++) {
+            hash = mix(hash, name.charAt(i));
+        }
+        for (AspectType type : types) {
+            hash = mix(hash, type.ordinal());
+        }
+        for (double orb : orbs) {
+            hash = mix(hash, Double.doubleToLongBits(orb));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private static Body findBody(String value) {
+        for (Body body : Body.ALL) {
+            if (body.name().equalsIgnoreCase(value.trim())) {
+                return body;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
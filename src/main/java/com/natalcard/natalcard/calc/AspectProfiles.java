@@ -0,0 +1,59 @@
+package com.natalcard.natalcard.calc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aspect profiles selectable by name, with the one used when a request names none
+ */
+public class AspectProfiles {
+
+    private final Map<String, AspectProfile> profiles = new LinkedHashMap<>();
+    private final AspectProfile defaultProfile;
+
+    /**
+     * @param profiles Profiles by their (upper-case) name; a later profile replaces an earlier one of the same name
+     * @param defaultName Name of the default profile
+     * @throws IllegalArgumentException if no profile has the default name
+     */
+    public AspectProfiles(Collection<AspectProfile> profiles, String defaultName) {
+        for (AspectProfile profile : profiles) {
+            this.profiles.put(profile.getName(), profile);
+        }
+        this.defaultProfile = find(defaultName);
+        if (defaultProfile == null) {
+            throw new IllegalArgumentException("Unknown default aspect profile: " + defaultName);
+        }
+    }
+
+    /**
+     * The built-in MAJOR (default) and EXTENDED profiles
+     */
+    public static AspectProfiles defaults() {
+        return new AspectProfiles(List.of(AspectProfile.MAJOR, AspectProfile.EXTENDED), AspectProfile.MAJOR_NAME);
+    }
+
+    /**
+     * Case-insensitive lookup
+     *
+     * @return The profile, or null if the name is not known
+     */
+    public AspectProfile find(String name) {
+        return name == null ? null : profiles.get(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public AspectProfile getDefault() {
+        return defaultProfile;
+    }
+
+    /**
+     * Profile names, in registration order
+     */
+    public List<String> getNames() {
+        return new ArrayList<>(profiles.keySet());
+    }
+}
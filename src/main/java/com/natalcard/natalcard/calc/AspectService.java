@@ -2,14 +2,19 @@ package com.natalcard.natalcard.calc;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Calculate aspects between planets
+ *
+ * Chart aspects follow an {@link AspectProfile} (aspect set and per-pair orb table).
+ * Charts and point sets of any size go through {@link #findAspects}: every pair tested for
+ * the ten bodies, a sort-and-sweep over longitude windows for hundreds or thousands of points.
  */
 @Service
 public class AspectService {
@@ -17,12 +22,12 @@ public class AspectService {
     @Data
     @AllArgsConstructor
     public static class Aspect {
-        private String planet1;
-        private String planet2;
+        private Body planet1;
+        private Body planet2;
         private AspectType type;
         private double angle;
         private double orb;
-        private Boolean applying; // Nullable: null when planet speeds are not calculated
+        private Boolean applying; // Nullable: null when planet speeds are not known
     }
 
     public enum AspectType {
@@ -30,7 +35,14 @@ public class AspectService {
         SEXTILE(60, "SEXTILE"),
         SQUARE(90, "SQUARE"),
         TRINE(120, "TRINE"),
-        OPPOSITION(180, "OPPOSITION");
+        OPPOSITION(180, "OPPOSITION"),
+        // Minor aspects (see AspectProfile.EXTENDED)
+        SEMISEXTILE(30, "SEMISEXTILE"),
+        SEMISQUARE(45, "SEMISQUARE"),
+        QUINTILE(72, "QUINTILE"),
+        SESQUIQUADRATE(135, "SESQUIQUADRATE"),
+        BIQUINTILE(144, "BIQUINTILE"),
+        QUINCUNX(150, "QUINCUNX");
 
         private final double angle;
         private final String name;
@@ -49,50 +61,198 @@ public class AspectService {
         }
     }
 
+    /**
+     * Aspect between two points of an arbitrary point set, by index
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PointAspect {
+        private final int point1;         // lower index of the pair
+        private final int point2;
+        private final AspectType type;
+        private final double orb;
+        private final double signedDiff;  // longitude(point2) - longitude(point1), in [-180, 180]
+    }
+
+    /**
+     * Orbs of a point-set search
+     *
+     * orb(point1, point2, type) is the orb of a pair (point1 < point2) for the search's type at
+     * that index. windowOrb(point, type) sizes the sweep windows: every pair must be within the
+     * window of whichever of its two points has the larger window orb.
+     */
+    public interface PointOrbs {
+
+        double orb(int point1, int point2, int type);
+
+        double windowOrb(int point, int type);
+
+        /**
+         * One orb per point for every type; a pair is in aspect within the larger of its two
+         */
+        static PointOrbs larger(double[] orbs) {
+            return new PointOrbs() {
+                @Override
+                public double orb(int point1, int point2, int type) {
+                    return Math.max(orbs[point1], orbs[point2]);
+                }
+
+                @Override
+                public double windowOrb(int point, int type) {
+                    return orbs[point];
+                }
+            };
+        }
+
+        /**
+         * Points tagged with the body whose orbs they take; orbs from the profile's pair table,
+         * types indexed in profile order
+         */
+        static PointOrbs of(AspectProfile profile, Body[] bodies) {
+            return new PointOrbs() {
+                @Override
+                public double orb(int point1, int point2, int type) {
+                    return profile.orb(AspectProfile.pair(bodies[point1], bodies[point2]), type);
+                }
+
+                @Override
+                public double windowOrb(int point, int type) {
+                    return profile.getMaxOrb(bodies[point], type);
+                }
+            };
+        }
+    }
+
+    // Aspect types of the point-set search when none are given
+    private static final AspectType[] MAJOR_TYPES = {
+        AspectType.CONJUNCTION, AspectType.SEXTILE, AspectType.SQUARE, AspectType.TRINE, AspectType.OPPOSITION
+    };
+
+    /**
+     * Point count from which {@link #findAspects} sweeps instead of testing every pair
+     * (crossover measured by AspectSweepBenchmarkTest)
+     */
+    public static final int SWEEP_MIN_POINTS = 256;
+
+    // Slack on the sweep windows, so rounding in the sorted offsets never drops a candidate
+    private static final double WINDOW_SLACK = 1e-9;
+
     /**
      * Calculate all major aspects between planets
      * Orbs:
      * - Sun/Moon involved: 8°
      * - Others: 6°
      *
-     * @param planetPositions Map of planet name to longitude
+     * @param planetPositions Planet longitudes (and speeds)
      * @return List of aspects
      */
-    public List<Aspect> calculateAspects(Map<String, Double> planetPositions) {
-        List<Aspect> aspects = new ArrayList<>();
+    public List<Aspect> calculateAspects(PlanetVector planetPositions) {
+        return calculateAspects(planetPositions, AspectProfile.MAJOR);
+    }
 
-        List<String> planets = new ArrayList<>(planetPositions.keySet());
+    /**
+     * Calculate the aspects of a profile between planets, at most one per pair
+     * (the first of the profile's types within its orb)
+     *
+     * The ten bodies go through {@link #findAspects(double[], Body[], AspectProfile, boolean)}
+     * with orbs from the profile's compiled [pair][type] table.
+     * Applying/separating comes from the daily motions when the vector carries them
+     *
+     * @param planetPositions Planet longitudes (and speeds)
+     * @param profile Aspect set and orbs
+     * @return List of aspects, ordered by pair
+     */
+    public List<Aspect> calculateAspects(PlanetVector planetPositions, AspectProfile profile) {
+        double[] longitudes = new double[Body.COUNT];
+        for (Body body : Body.ALL) {
+            longitudes[body.ordinal()] = planetPositions.getLongitude(body);
+        }
 
-        // Check all planet pairs
-        for (int i = 0; i < planets.size(); i++) {
-            for (int j = i + 1; j < planets.size(); j++) {
-                String planet1 = planets.get(i);
-                String planet2 = planets.get(j);
+        List<PointAspect> found = findAspects(longitudes, Body.ALL, profile, true);
+        List<Aspect> aspects = new ArrayList<>(found.size());
+        for (PointAspect aspect : found) {
+            Body planet1 = Body.ALL[aspect.getPoint1()];
+            Body planet2 = Body.ALL[aspect.getPoint2()];
+            double aspectAngle = aspect.getType().getAngle();
+            aspects.add(new Aspect(
+                planet1,
+                planet2,
+                aspect.getType(),
+                aspectAngle,
+                aspect.getOrb(),
+                planetPositions.hasSpeeds()
+                    ? isApplying(aspect.getSignedDiff(), aspectAngle, planetPositions, planet1, planet2)
+                    : null
+            ));
+        }
+        return aspects;
+    }
 
-                double lon1 = planetPositions.get(planet1);
-                double lon2 = planetPositions.get(planet2);
+    /**
+     * Aspects within a point set of any size, ordered by pair (point1, point2) then type
+     * Pairwise below {@link #SWEEP_MIN_POINTS} points, sort-and-sweep from there; both give the same list
+     *
+     * @param longitudes Point longitudes in [0, 360)
+     * @param orbs Orb of each point; a pair is in aspect within the larger of its two orbs
+     * @param firstAspectOnly Keep only the first aspect type (declaration order) within orb per pair
+     */
+    public List<PointAspect> findAspects(double[] longitudes, double[] orbs, boolean firstAspectOnly) {
+        return findAspects(longitudes, MAJOR_TYPES, PointOrbs.larger(orbs), firstAspectOnly);
+    }
 
-                // Calculate angular difference
-                double diff = Math.abs(AstroMath.minimalAngleDifference(lon1, lon2));
+    /**
+     * Aspects of a profile within a point set, each point taking the orbs of its body
+     * (e.g. the ten bodies of several charts, or asteroids filed under a body's orbs)
+     *
+     * @param bodies Body of each point, indexed like longitudes
+     */
+    public List<PointAspect> findAspects(double[] longitudes, Body[] bodies, AspectProfile profile,
+                                         boolean firstAspectOnly) {
+        return findAspects(longitudes, profile.types(), PointOrbs.of(profile, bodies), firstAspectOnly);
+    }
 
-                // Determine orb based on luminaries
-                double allowedOrb = isSunOrMoon(planet1) || isSunOrMoon(planet2) ? 8.0 : 6.0;
+    /**
+     * Aspects of the given types within a point set, as {@link #findAspects(double[], double[], boolean)}
+     *
+     * @param types Aspect types in priority order (firstAspectOnly keeps the first within orb)
+     * @param orbs Orb of every pair and type, indexed like types
+     */
+    public List<PointAspect> findAspects(double[] longitudes, AspectType[] types, PointOrbs orbs,
+                                         boolean firstAspectOnly) {
+        return longitudes.length < SWEEP_MIN_POINTS
+            ? findAspectsPairwise(longitudes, types, orbs, firstAspectOnly)
+            : findAspectsSweep(longitudes, types, orbs, firstAspectOnly);
+    }
+
+    /**
+     * Test every pair against every major aspect type: O(n²)
+     */
+    public static List<PointAspect> findAspectsPairwise(double[] longitudes, double[] orbs, boolean firstAspectOnly) {
+        return findAspectsPairwise(longitudes, MAJOR_TYPES, PointOrbs.larger(orbs), firstAspectOnly);
+    }
+
+    /**
+     * Test every pair against every given aspect type: O(n²)
+     */
+    public static List<PointAspect> findAspectsPairwise(double[] longitudes, AspectType[] types, PointOrbs orbs,
+                                                        boolean firstAspectOnly) {
+        List<PointAspect> aspects = new ArrayList<>();
+        int count = longitudes.length;
+
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                // Calculate angular difference
+                double signedDiff = AstroMath.minimalAngleDifference(longitudes[i], longitudes[j]);
+                double diff = Math.abs(signedDiff);
 
                 // Check each aspect type
-                for (AspectType aspectType : AspectType.values()) {
-                    double aspectAngle = aspectType.getAngle();
-                    double orb = Math.abs(diff - aspectAngle);
-
-                    if (orb <= allowedOrb) {
-                        aspects.add(new Aspect(
-                            planet1,
-                            planet2,
-                            aspectType,
-                            aspectAngle,
-                            orb,
-                            null // Planet speeds not calculated - applying/separating unknown
-                        ));
-                        break; // Only one aspect per pair
+                for (int t = 0; t < types.length; t++) {
+                    double orb = Math.abs(diff - types[t].getAngle());
+                    if (orb <= orbs.orb(i, j, t)) {
+                        aspects.add(new PointAspect(i, j, types[t], orb, signedDiff));
+                        if (firstAspectOnly) {
+                            break; // Only one aspect per pair
+                        }
                     }
                 }
             }
@@ -101,7 +261,195 @@ public class AspectService {
         return aspects;
     }
 
-    private boolean isSunOrMoon(String planet) {
-        return "SUN".equals(planet) || "MOON".equals(planet);
+    /**
+     * Sort the longitudes once, then for each aspect angle scan only the windows within orb of
+     * each point's longitude shifted by ±angle: O(n log n + k) for k candidates
+     *
+     * Each pair is reported by the point with the larger window orb (the lower index on equal
+     * window orbs), through that point's own window. Results are put back in pair order by two
+     * counting passes, giving exactly the pairwise list.
+     *
+     * @throws IllegalArgumentException if a window orb is 90° or more (windows would overlap a full turn)
+     */
+    public static List<PointAspect> findAspectsSweep(double[] longitudes, double[] orbs, boolean firstAspectOnly) {
+        return findAspectsSweep(longitudes, MAJOR_TYPES, PointOrbs.larger(orbs), firstAspectOnly);
+    }
+
+    /**
+     * Sort-and-sweep over the given aspect types (see {@link #findAspectsSweep(double[], double[], boolean)})
+     */
+    public static List<PointAspect> findAspectsSweep(double[] longitudes, AspectType[] types, PointOrbs orbs,
+                                                     boolean firstAspectOnly) {
+        int count = longitudes.length;
+        int[] order = sortByLongitude(longitudes);
+
+        // Sorted longitudes, then the same one turn later, so a window never wraps
+        double[] sorted = new double[2 * count];
+        for (int k = 0; k < count; k++) {
+            sorted[k] = longitudes[order[k]];
+            sorted[k + count] = sorted[k] + 360.0;
+        }
+
+        // Type by type, so the aspects of a pair stay in priority order through the stable passes below
+        List<PointAspect> found = new ArrayList<>();
+        double[] windows = new double[count];
+        for (int t = 0; t < types.length; t++) {
+            for (int a = 0; a < count; a++) {
+                windows[a] = orbs.windowOrb(a, t);
+                if (!(windows[a] < 90.0)) {
+                    throw new IllegalArgumentException("Orb must be below 90°: " + windows[a]);
+                }
+            }
+            double aspectAngle = types[t].getAngle();
+            boolean oneWindow = aspectAngle == 0.0 || aspectAngle == 180.0;
+            for (int a = 0; a < count; a++) {
+                scanWindow(longitudes, types, orbs, windows, order, sorted, a, t, oneWindow ? 0 : 1, firstAspectOnly, found);
+                if (!oneWindow) {
+                    scanWindow(longitudes, types, orbs, windows, order, sorted, a, t, -1, firstAspectOnly, found);
+                }
+            }
+        }
+
+        // Stable counting sorts: by point2, then by point1
+        PointAspect[] aspects = found.toArray(new PointAspect[0]);
+        PointAspect[] buffer = new PointAspect[aspects.length];
+        countingSort(aspects, buffer, count, false);
+        countingSort(buffer, aspects, count, true);
+        return new ArrayList<>(Arrays.asList(aspects));
+    }
+
+    /**
+     * Candidates of point a around longitude(a) + direction·angle of types[type], within a's window orb
+     *
+     * @param direction 1 or -1; 0 for 0° and 180°, where both directions share one window
+     */
+    private static void scanWindow(double[] longitudes, AspectType[] types, PointOrbs orbs, double[] windows,
+                                   int[] order, double[] sorted, int a, int type, int direction,
+                                   boolean firstAspectOnly, List<PointAspect> found) {
+        int count = longitudes.length;
+        AspectType aspectType = types[type];
+        double aspectAngle = aspectType.getAngle();
+        double window = windows[a];
+        // Longitudes are in [0, 360) and the shift within ±180°, so one turn at most brings the start back
+        double start = longitudes[a] + (direction < 0 ? -aspectAngle : aspectAngle) - window - WINDOW_SLACK;
+        if (start >= 360.0) {
+            start -= 360.0;
+        } else if (start < 0.0) {
+            start += 360.0;
+        }
+        double end = start + 2.0 * (window + WINDOW_SLACK);
+
+        for (int q = lowerBound(sorted, start); q < sorted.length && sorted[q] <= end; q++) {
+            int b = order[q < count ? q : q - count];
+            // Reported by the point with the larger window
+            if (b == a || windows[b] > window || (windows[b] == window && b < a)) {
+                continue;
+            }
+            double towardB = AstroMath.minimalAngleDifference(longitudes[a], longitudes[b]);
+            // Where the two windows overlap (near 0° and 180°), each candidate belongs to one of them
+            if ((direction > 0 && towardB < 0.0) || (direction < 0 && towardB >= 0.0)) {
+                continue;
+            }
+            int point1 = Math.min(a, b);
+            int point2 = Math.max(a, b);
+            double diff = Math.abs(towardB);
+            double orb = Math.abs(diff - aspectAngle);
+            if (orb > orbs.orb(point1, point2, type)
+                    || (firstAspectOnly && earlierTypeWithin(types, orbs, point1, point2, type, diff))) {
+                continue;
+            }
+            found.add(a < b
+                ? new PointAspect(a, b, aspectType, orb, towardB)
+                : new PointAspect(b, a, aspectType, orb, AstroMath.minimalAngleDifference(longitudes[b], longitudes[a])));
+        }
+    }
+
+    /**
+     * Stable counting sort of aspects by one of their points
+     */
+    private static void countingSort(PointAspect[] from, PointAspect[] to, int points, boolean byFirst) {
+        int[] offsets = new int[points + 1];
+        for (PointAspect aspect : from) {
+            offsets[(byFirst ? aspect.getPoint1() : aspect.getPoint2()) + 1]++;
+        }
+        for (int i = 0; i < points; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        for (PointAspect aspect : from) {
+            to[offsets[byFirst ? aspect.getPoint1() : aspect.getPoint2()]++] = aspect;
+        }
+    }
+
+    /**
+     * Whether a type listed before types[type] is also within orb (the pairwise loop stops at the first)
+     */
+    private static boolean earlierTypeWithin(AspectType[] types, PointOrbs orbs, int point1, int point2,
+                                             int type, double diff) {
+        for (int t = 0; t < type; t++) {
+            if (Math.abs(diff - types[t].getAngle()) <= orbs.orb(point1, point2, t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * First index whose value is at least the key (values ascending)
+     */
+    private static int lowerBound(double[] values, double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Point indices ordered by longitude (stable merge sort, no boxing)
+     */
+    static int[] sortByLongitude(double[] longitudes) {
+        int count = longitudes.length;
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int left = 0; left < count; left += 2 * width) {
+                int middle = Math.min(left + width, count);
+                int right = Math.min(left + 2 * width, count);
+                int i = left;
+                int j = middle;
+                for (int k = left; k < right; k++) {
+                    buffer[k] = i < middle && (j >= right || longitudes[order[i]] <= longitudes[order[j]])
+                        ? order[i++]
+                        : order[j++];
+                }
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Check whether the orb is shrinking
+     * orb = ||d| - angle| with d = lon2 - lon1, so d(orb)/dt = sign(|d| - angle) * sign(d) * (v2 - v1)
+     *
+     * @param signedDiff lon2 - lon1 in (-180, 180]
+     * @param aspectAngle Exact aspect angle
+     */
+    static boolean isApplying(double signedDiff, double aspectAngle, PlanetVector planetPositions,
+                              Body planet1, Body planet2) {
+        double relativeSpeed = planetPositions.getSpeed(planet2) - planetPositions.getSpeed(planet1);
+        double orbRate = Math.signum(Math.abs(signedDiff) - aspectAngle) * Math.signum(signedDiff) * relativeSpeed;
+        return orbRate < 0.0;
     }
 }
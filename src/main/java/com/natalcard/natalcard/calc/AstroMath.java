@@ -4,14 +4,61 @@ import org.springframework.stereotype.Component;
 
 /**
  * Utility class for astronomical mathematics
+ *
+ * Trigonometry and normalization in the calc package go through here so the
+ * implementation can be switched per deployment (see {@link MathMode}).
  */
 @Component
 public class AstroMath {
 
+    /** JVM system property, then environment variable, holding the math mode (default JDK) */
+    public static final String MODE_PROPERTY = "natalcard.math.mode";
+    public static final String MODE_ENV = "NATALCARD_MATH_MODE";
+
+    // Read once when the class loads, before any Spring context exists; read on every call
+    private static volatile boolean fastMath = configuredMode() == MathMode.FAST;
+
+    /**
+     * Select the implementation for sin/cos/tan/atan2/normalize360
+     * For tests and benchmarks comparing modes, which restore the previous mode;
+     * deployments set {@link #MODE_PROPERTY} or {@link #MODE_ENV} instead
+     */
+    public static void setMode(MathMode mode) {
+        fastMath = mode == MathMode.FAST;
+    }
+
+    public static MathMode getMode() {
+        return fastMath ? MathMode.FAST : MathMode.JDK;
+    }
+
+    /**
+     * The mode named by {@link #MODE_PROPERTY} or {@link #MODE_ENV}, JDK when neither is set
+     *
+     * @throws IllegalArgumentException if the value is not a known mode
+     */
+    public static MathMode configuredMode() {
+        String value = System.getProperty(MODE_PROPERTY, System.getenv(MODE_ENV));
+        return value == null || value.isBlank() ? MathMode.JDK : MathMode.parse(value);
+    }
+
     /**
      * Normalize angle to 0-360 range
      */
     public static double normalize360(double angle) {
+        if (fastMath) {
+            return FastMath.normalize360(angle);
+        }
+        // Within one turn of the range, a subtraction gives the same bits as % (exact by Sterbenz);
+        // a double % costs hundreds of cycles and dominated the simpler house systems
+        if (angle >= 0.0 && angle < 360.0) {
+            return angle;
+        }
+        if (angle >= 360.0 && angle < 720.0) {
+            return angle - 360.0;
+        }
+        if (angle < 0.0 && angle > -360.0) {
+            return angle + 360.0;
+        }
         double result = angle % 360.0;
         if (result < 0) {
             result += 360.0;
@@ -30,6 +77,34 @@ public class AstroMath {
         return diff;
     }
 
+    /**
+     * Sine (radians)
+     */
+    public static double sin(double radians) {
+        return fastMath ? FastMath.sin(radians) : Math.sin(radians);
+    }
+
+    /**
+     * Cosine (radians)
+     */
+    public static double cos(double radians) {
+        return fastMath ? FastMath.cos(radians) : Math.cos(radians);
+    }
+
+    /**
+     * Tangent (radians)
+     */
+    public static double tan(double radians) {
+        return fastMath ? FastMath.tan(radians) : Math.tan(radians);
+    }
+
+    /**
+     * Angle of (x, y) in radians, (-π, π]
+     */
+    public static double atan2(double y, double x) {
+        return fastMath ? FastMath.atan2(y, x) : Math.atan2(y, x);
+    }
+
     /**
      * Convert degrees to radians
      */
@@ -44,10 +119,21 @@ public class AstroMath {
         return Math.toDegrees(radians);
     }
 
+    /**
+     * Sine of an angle whose cosine is already known
+     * Magnitude from sqrt(1 - cos²), sign from the half-turn the angle falls in;
+     * a square root instead of a second transcendental call
+     */
+    public static double sinFromCos(double radians, double cos) {
+        double turns = radians * (0.5 / Math.PI);
+        double magnitude = Math.sqrt(Math.max(0.0, (1.0 - cos) * (1.0 + cos)));
+        return turns - Math.floor(turns) < 0.5 ? magnitude : -magnitude;
+    }
+
     /**
      * Calculate arctangent with proper quadrant handling
      */
     public static double atan2Degrees(double y, double x) {
-        return normalize360(toDegrees(Math.atan2(y, x)));
+        return normalize360(toDegrees(atan2(y, x)));
     }
 }
@@ -0,0 +1,41 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Chart bodies, in output order
+ *
+ * The ordinal is the index into {@link PlanetVector} arrays.
+ */
+public enum Body {
+    SUN,
+    MOON,
+    MERCURY,
+    VENUS,
+    MARS,
+    JUPITER,
+    SATURN,
+    URANUS,
+    NEPTUNE,
+    PLUTO;
+
+    /** Cached values() — values() clones the array on every call */
+    public static final Body[] ALL = values();
+
+    public static final int COUNT = ALL.length;
+
+    /** Bit mask with every body set (see {@link #mask()}) */
+    public static final int ALL_MASK = (1 << COUNT) - 1;
+
+    /**
+     * Single-bit mask of this body, for body subsets
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Sun and Moon get wider orbs
+     */
+    public boolean isLuminary() {
+        return this == SUN || this == MOON;
+    }
+}
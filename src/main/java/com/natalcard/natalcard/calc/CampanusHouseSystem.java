@@ -0,0 +1,39 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Campanus houses: the prime vertical divided into 30° arcs from the zenith
+ *
+ * A house circle through the north and south points that cuts the prime vertical h
+ * from the zenith meets the equator at hour angle H with tan H = cos φ · tan h,
+ * so each cusp is the Regiomontanus construction at that H
+ * (h = 30°, 60°, 120°, 150° for cusps 11, 12, 2, 3).
+ */
+@Service
+public class CampanusHouseSystem implements HouseSystem {
+
+    private static final double[] PRIME_VERTICAL = { 30.0, 60.0, 120.0, 150.0 };
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.CAMPANUS;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        double ramc = context.getLst();
+        double cosLatitude = context.getCosLatitude();
+        double tanLatitude = context.getTanLatitude();
+        double[] cusp = new double[4];
+        for (int i = 0; i < 4; i++) {
+            double h = AstroMath.toRadians(PRIME_VERTICAL[i]);
+            double hourAngle = AstroMath.atan2Degrees(cosLatitude * AstroMath.sin(h), AstroMath.cos(h));
+            double sinHourAngle = AstroMath.sin(AstroMath.toRadians(hourAngle));
+            cusp[i] = QuadrantHouses.eclipticLongitude(ramc + hourAngle, tanLatitude * sinHourAngle, context);
+        }
+        return QuadrantHouses.cusps(asc, mc, cusp[0], cusp[1], cusp[2], cusp[3]);
+    }
+}
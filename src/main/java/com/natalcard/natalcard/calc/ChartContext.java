@@ -0,0 +1,105 @@
+package com.natalcard.natalcard.calc;
+
+import lombok.Getter;
+
+/**
+ * Per-instant, per-place quantities shared by every stage of a chart
+ *
+ * Built once per request and passed to planets, angles and houses, so GMST,
+ * obliquity, their sines/cosines and the lunar/solar fundamental arguments are
+ * computed a single time. Immutable and safe to share between threads.
+ */
+@Getter
+public final class ChartContext {
+
+    private static final SiderealTimeService SIDEREAL_TIME = new SiderealTimeService();
+    private static final ObliquityService OBLIQUITY = new ObliquityService();
+
+    private final double julianDay;
+    private final double julianCenturies;
+
+    // Observer
+    private final double latitude;
+    private final double longitude;
+    private final double sinLatitude;
+    private final double cosLatitude;
+    private final double tanLatitude;
+
+    // Sidereal time (degrees); RAMC = LST
+    private final double gmst;
+    private final double lst;
+    private final double sinLst;
+    private final double cosLst;
+
+    // Mean obliquity of the ecliptic (degrees)
+    private final double obliquity;
+    private final double sinObliquity;
+    private final double cosObliquity;
+
+    // Fundamental arguments (degrees, not normalized)
+    private final double moonMeanLongitude;
+    private final double meanElongation;
+    private final double sunMeanAnomaly;
+    private final double moonMeanAnomaly;
+    private final double moonArgumentOfLatitude;
+    private final double moonAscendingNode;
+
+    private ChartContext(double julianDay, double latitude, double longitude,
+                         double gmst, double lst, double obliquity) {
+        this.julianDay = julianDay;
+        this.julianCenturies = JulianDate.toJulianCenturies(julianDay);
+        double T = julianCenturies;
+
+        this.latitude = latitude;
+        this.longitude = longitude;
+        double latitudeRad = AstroMath.toRadians(latitude);
+        this.sinLatitude = AstroMath.sin(latitudeRad);
+        this.cosLatitude = AstroMath.cos(latitudeRad);
+        this.tanLatitude = AstroMath.tan(latitudeRad);
+
+        this.gmst = gmst;
+        this.lst = lst;
+        double lstRad = AstroMath.toRadians(lst);
+        this.sinLst = AstroMath.sin(lstRad);
+        this.cosLst = AstroMath.cos(lstRad);
+
+        this.obliquity = obliquity;
+        double obliquityRad = AstroMath.toRadians(obliquity);
+        this.sinObliquity = AstroMath.sin(obliquityRad);
+        this.cosObliquity = AstroMath.cos(obliquityRad);
+
+        // NaN throughout when there is no instant (house tables)
+        this.moonMeanLongitude = FundamentalArguments.moonMeanLongitude(T);
+        this.meanElongation = FundamentalArguments.meanElongation(T);
+        this.sunMeanAnomaly = FundamentalArguments.sunMeanAnomaly(T);
+        this.moonMeanAnomaly = FundamentalArguments.moonMeanAnomaly(T);
+        this.moonArgumentOfLatitude = FundamentalArguments.moonArgumentOfLatitude(T);
+        this.moonAscendingNode = FundamentalArguments.moonAscendingNode(T);
+    }
+
+    /**
+     * Build the context for one chart
+     *
+     * @param julianDay Julian Date (UT)
+     * @param latitude Geographic latitude in degrees
+     * @param longitude Geographic longitude in degrees (positive East)
+     */
+    public static ChartContext of(double julianDay, double latitude, double longitude) {
+        double T = JulianDate.toJulianCenturies(julianDay);
+        double gmst = SIDEREAL_TIME.calculateGMST(T);
+        return new ChartContext(julianDay, latitude, longitude,
+            gmst, SIDEREAL_TIME.calculateLST(gmst, longitude), OBLIQUITY.calculateMeanObliquity(T));
+    }
+
+    /**
+     * Context for angles and houses only, from the house frame itself (house tables)
+     * Instant-dependent fields (Julian day, GMST, fundamental arguments) are NaN
+     *
+     * @param ramc Right ascension of the MC (local sidereal time), degrees
+     * @param latitude Geographic latitude in degrees
+     * @param obliquity Obliquity of the ecliptic in degrees
+     */
+    static ChartContext forHouses(double ramc, double latitude, double obliquity) {
+        return new ChartContext(Double.NaN, latitude, Double.NaN, Double.NaN, ramc, obliquity);
+    }
+}
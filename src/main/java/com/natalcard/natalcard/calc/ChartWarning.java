@@ -0,0 +1,77 @@
+package com.natalcard.natalcard.calc;
+
+import java.util.Set;
+
+/**
+ * Warning codes reported with a chart
+ * The code (name) is returned as-is in meta.warnings and localized for meta.warningsLocalized
+ *
+ * The calc layer collects warnings in an EnumSet; a chart core keeps them as a bit mask
+ * (see {@link #mask()}), so the effective house system is read from the warnings
+ * structurally instead of by matching codes.
+ */
+public enum ChartWarning {
+    PLACIDUS_FALLBACK_EQUAL_HIGH_LAT(HouseSystemType.EQUAL),
+    PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL(HouseSystemType.EQUAL),
+    QUADRANT_FALLBACK_EQUAL_HIGH_LAT(HouseSystemType.EQUAL);
+
+    /** Cached values() — values() clones the array on every call */
+    public static final ChartWarning[] ALL = values();
+
+    private final HouseSystemType fallback;
+
+    ChartWarning(HouseSystemType fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * House system the cusps were computed with instead of the requested one, or null if the warning changes none
+     */
+    public HouseSystemType getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Single-bit mask of this warning, for warning sets
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Bit mask of a warning set
+     */
+    public static int mask(Set<ChartWarning> warnings) {
+        int mask = 0;
+        for (ChartWarning warning : warnings) {
+            mask |= warning.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * House system actually used: the fallback of the first warning that has one, the requested system otherwise
+     */
+    public static HouseSystemType effectiveHouseSystem(HouseSystemType requested, int warnings) {
+        for (ChartWarning warning : ALL) {
+            if ((warnings & warning.mask()) != 0 && warning.fallback != null) {
+                return warning.fallback;
+            }
+        }
+        return requested;
+    }
+
+    /**
+     * Look up a warning by code
+     *
+     * @return The warning, or null if the code is not known
+     */
+    public static ChartWarning find(String code) {
+        for (ChartWarning warning : ALL) {
+            if (warning.name().equals(code)) {
+                return warning;
+            }
+        }
+        return null;
+    }
+}
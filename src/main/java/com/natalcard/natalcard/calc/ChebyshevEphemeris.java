@@ -0,0 +1,184 @@
+package com.natalcard.natalcard.calc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ephemeris backed by precomputed Chebyshev coefficient blocks
+ *
+ * The table file is produced offline by {@link ChebyshevEphemerisWriter} and
+ * read through a {@link MappedByteBuffer}, so coefficients stay off-heap and
+ * are shared through the OS page cache.
+ *
+ * File layout (big-endian):
+ * - header: magic, version, startJd, endJd, bodyCount
+ * - body directory: name[8], coefficientCount, recordCount, intervalDays, dataOffset
+ * - data: per body, recordCount blocks of coefficientCount doubles
+ *
+ * Each block covers intervalDays and holds the coefficients of the unwrapped
+ * longitude on that interval, so one evaluation is a short Clenshaw recurrence.
+ */
+public class ChebyshevEphemeris implements EphemerisEngine {
+
+    static final int MAGIC = 0x4E434342; // "NCCB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 28;
+    static final int DIRECTORY_ENTRY_BYTES = 32;
+    static final int NAME_BYTES = 8;
+
+    private final MappedByteBuffer buffer;
+    private final double startJd;
+    private final double endJd;
+    private final BodyTable[] bodies = new BodyTable[Body.COUNT];
+
+    private static final class BodyTable {
+        final int coefficientCount;
+        final int recordCount;
+        final double intervalDays;
+        final long dataOffset;
+
+        BodyTable(int coefficientCount, int recordCount, double intervalDays, long dataOffset) {
+            this.coefficientCount = coefficientCount;
+            this.recordCount = recordCount;
+            this.intervalDays = intervalDays;
+            this.dataOffset = dataOffset;
+        }
+    }
+
+    private ChebyshevEphemeris(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a Chebyshev ephemeris table");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported table version: " + buffer.getInt(4));
+        }
+
+        this.startJd = buffer.getDouble(8);
+        this.endJd = buffer.getDouble(16);
+        int bodyCount = buffer.getInt(24);
+
+        byte[] nameBytes = new byte[NAME_BYTES];
+        for (int i = 0; i < bodyCount; i++) {
+            int entry = HEADER_BYTES + i * DIRECTORY_ENTRY_BYTES;
+            buffer.get(entry, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.US_ASCII).trim();
+
+            bodies[Body.valueOf(name).ordinal()] = new BodyTable(
+                buffer.getInt(entry + 8),
+                buffer.getInt(entry + 12),
+                buffer.getDouble(entry + 16),
+                buffer.getLong(entry + 24)
+            );
+        }
+    }
+
+    /**
+     * Open and map a table file (read-only)
+     */
+    public static ChebyshevEphemeris open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new ChebyshevEphemeris(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    public boolean covers(double julianDay) {
+        return julianDay >= startJd && julianDay < endJd;
+    }
+
+    @Override
+    public double calculateLongitude(Body body, double julianDay) {
+        BodyTable table = table(body);
+        int record = record(table, julianDay);
+        double x = intervalPosition(table, record, julianDay);
+        return AstroMath.normalize360(clenshaw(buffer, base(table, record), table.coefficientCount, x));
+    }
+
+    /**
+     * Daily motion from the derivative of the same Chebyshev block
+     */
+    @Override
+    public double calculateSpeed(Body body, double julianDay) {
+        BodyTable table = table(body);
+        int record = record(table, julianDay);
+        double x = intervalPosition(table, record, julianDay);
+        // dx/dt = 2 / intervalDays
+        return clenshawDerivative(buffer, base(table, record), table.coefficientCount, x) * 2.0 / table.intervalDays;
+    }
+
+    private BodyTable table(Body body) {
+        BodyTable table = bodies[body.ordinal()];
+        if (table == null) {
+            throw new IllegalArgumentException("Body not in table: " + body);
+        }
+        return table;
+    }
+
+    private int record(BodyTable table, double julianDay) {
+        int record = (int) ((julianDay - startJd) / table.intervalDays);
+        if (record < 0 || record >= table.recordCount) {
+            throw new IllegalArgumentException("Julian day outside table range: " + julianDay);
+        }
+        return record;
+    }
+
+    /**
+     * Map the instant to x in [-1, 1] within the record interval
+     */
+    private double intervalPosition(BodyTable table, int record, double julianDay) {
+        double recordStart = startJd + record * table.intervalDays;
+        return 2.0 * (julianDay - recordStart) / table.intervalDays - 1.0;
+    }
+
+    private static int base(BodyTable table, int record) {
+        return (int) (table.dataOffset + (long) record * table.coefficientCount * Double.BYTES);
+    }
+
+    public double getStartJd() {
+        return startJd;
+    }
+
+    public double getEndJd() {
+        return endJd;
+    }
+
+    /**
+     * Evaluate sum c[k]*T_k(x) with Clenshaw's recurrence
+     * Coefficients are read straight from the mapped buffer
+     */
+    static double clenshaw(ByteBuffer coefficients, int base, int count, double x) {
+        double twoX = 2.0 * x;
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int k = count - 1; k >= 1; k--) {
+            double b0 = coefficients.getDouble(base + k * Double.BYTES) + twoX * b1 - b2;
+            b2 = b1;
+            b1 = b0;
+        }
+        return coefficients.getDouble(base) + x * b1 - b2;
+    }
+
+    /**
+     * Evaluate d/dx of sum c[k]*T_k(x)
+     * Uses T_k' = k*U_(k-1): a Clenshaw recurrence over the U series with a[j] = (j+1)*c[j+1]
+     */
+    static double clenshawDerivative(ByteBuffer coefficients, int base, int count, double x) {
+        double twoX = 2.0 * x;
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int k = count - 1; k >= 1; k--) {
+            double b0 = k * coefficients.getDouble(base + k * Double.BYTES) + twoX * b1 - b2;
+            b2 = b1;
+            b1 = b0;
+        }
+        return b1;
+    }
+}
@@ -0,0 +1,146 @@
+package com.natalcard.natalcard.calc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Offline generator for {@link ChebyshevEphemeris} table files
+ *
+ * Samples the analytic engine at Chebyshev nodes of each interval and stores
+ * the interpolating coefficients. Interval length and coefficient count are
+ * chosen per body: fast movers (Moon, Mercury) get short intervals, and even
+ * the outer planets stay at 16 days because their geocentric longitude carries
+ * the Earth's monthly wobble around the Earth-Moon barycenter.
+ *
+ * Usage:
+ *   java -cp target/classes com.natalcard.natalcard.calc.ChebyshevEphemerisWriter [file] [startJd] [endJd]
+ */
+public class ChebyshevEphemerisWriter {
+
+    public static final double DEFAULT_START_JD = 2378496.5; // 1800-01-01
+    public static final double DEFAULT_END_JD = 2524593.5;   // 2200-01-01
+    public static final String DEFAULT_FILE = "data/ephemeris-1800-2200.bin";
+
+    // Interval length (days) and coefficient count per body, in Body order
+    private static final double[] INTERVAL_DAYS = {16, 4, 8, 16, 16, 16, 16, 16, 16, 16};
+    private static final int[] COEFFICIENTS = {10, 14, 12, 12, 10, 10, 10, 10, 10, 10};
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        double startJd = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_START_JD;
+        double endJd = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_END_JD;
+
+        AnalyticEphemeris source = new AnalyticEphemeris(PrecisionTier.PRECISE);
+        write(file, source, startJd, endJd);
+
+        ChebyshevEphemeris table = ChebyshevEphemeris.open(file);
+        System.out.println("Wrote " + file + " (" + Files.size(file) + " bytes)");
+        for (Body body : Body.ALL) {
+            System.out.printf("  %-8s max fit error %.2e deg%n", body, maxError(table, source, body, startJd, endJd));
+        }
+    }
+
+    /**
+     * Fit all bodies over [startJd, endJd) and write the table file
+     */
+    public static void write(Path file, EphemerisEngine source, double startJd, double endJd) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        int[] recordCounts = new int[Body.COUNT];
+        long[] dataOffsets = new long[Body.COUNT];
+        long offset = ChebyshevEphemeris.HEADER_BYTES
+                    + (long) Body.COUNT * ChebyshevEphemeris.DIRECTORY_ENTRY_BYTES;
+        for (int i = 0; i < Body.COUNT; i++) {
+            recordCounts[i] = (int) Math.ceil((endJd - startJd) / INTERVAL_DAYS[i]);
+            dataOffsets[i] = offset;
+            offset += (long) recordCounts[i] * COEFFICIENTS[i] * Double.BYTES;
+        }
+
+        try (OutputStream os = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+
+            // Header
+            out.writeInt(ChebyshevEphemeris.MAGIC);
+            out.writeInt(ChebyshevEphemeris.VERSION);
+            out.writeDouble(startJd);
+            out.writeDouble(endJd);
+            out.writeInt(Body.COUNT);
+
+            // Body directory
+            for (int i = 0; i < Body.COUNT; i++) {
+                byte[] name = new byte[ChebyshevEphemeris.NAME_BYTES];
+                byte[] ascii = Body.ALL[i].name().getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(ascii, 0, name, 0, ascii.length);
+                Arrays.fill(name, ascii.length, name.length, (byte) ' ');
+                out.write(name);
+                out.writeInt(COEFFICIENTS[i]);
+                out.writeInt(recordCounts[i]);
+                out.writeDouble(INTERVAL_DAYS[i]);
+                out.writeLong(dataOffsets[i]);
+            }
+
+            // Coefficient blocks
+            for (int i = 0; i < Body.COUNT; i++) {
+                double[] coefficients = new double[COEFFICIENTS[i]];
+                for (int record = 0; record < recordCounts[i]; record++) {
+                    double recordStart = startJd + record * INTERVAL_DAYS[i];
+                    fit(source, Body.ALL[i], recordStart, INTERVAL_DAYS[i], coefficients);
+                    for (double c : coefficients) {
+                        out.writeDouble(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Chebyshev interpolation of the unwrapped longitude on one interval
+     * c[j] = (2/N) * sum f(x_k) * cos(j * theta_k), theta_k = pi*(k+0.5)/N
+     */
+    private static void fit(EphemerisEngine source, Body body, double recordStart,
+                            double intervalDays, double[] coefficients) {
+        int n = coefficients.length;
+        double[] values = new double[n];
+
+        // Nodes run from x=+1 down to x=-1; unwrap across the 0/360 seam as we go
+        double previous = 0.0;
+        for (int k = 0; k < n; k++) {
+            double x = Math.cos(Math.PI * (k + 0.5) / n);
+            double jd = recordStart + (x + 1.0) * 0.5 * intervalDays;
+            double lon = source.calculateLongitude(body, jd);
+            values[k] = k == 0 ? lon : previous + AstroMath.minimalAngleDifference(previous, lon);
+            previous = values[k];
+        }
+
+        for (int j = 0; j < n; j++) {
+            double sum = 0.0;
+            for (int k = 0; k < n; k++) {
+                sum += values[k] * Math.cos(Math.PI * j * (k + 0.5) / n);
+            }
+            coefficients[j] = 2.0 * sum / n;
+        }
+        coefficients[0] *= 0.5;
+    }
+
+    private static double maxError(ChebyshevEphemeris table, EphemerisEngine source,
+                                   Body body, double startJd, double endJd) {
+        double max = 0.0;
+        int samples = 20_000;
+        for (int i = 0; i < samples; i++) {
+            double jd = startJd + (endJd - startJd) * (i + 0.37) / samples;
+            double diff = Math.abs(AstroMath.minimalAngleDifference(
+                source.calculateLongitude(body, jd), table.calculateLongitude(body, jd)));
+            max = Math.max(max, diff);
+        }
+        return max;
+    }
+}
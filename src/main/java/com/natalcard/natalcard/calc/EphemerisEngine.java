@@ -0,0 +1,72 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Source of geocentric ecliptic longitudes for the chart bodies
+ *
+ * Implementations:
+ * - {@link AnalyticEphemeris}: series evaluated on every call
+ * - {@link ChebyshevEphemeris}: precomputed coefficient blocks in a memory-mapped file
+ * - {@link JplEphemeris}: JPL DE binary file, memory-mapped
+ * - {@link KeplerEphemeris}: Keplerian orbits from approximate elements
+ */
+public interface EphemerisEngine {
+
+    /**
+     * Half-step of the default central-difference speed (days)
+     */
+    double SPEED_STEP_DAYS = 1.0 / 24.0;
+
+    /**
+     * Calculate ecliptic longitude of a body
+     *
+     * @param body Chart body
+     * @param julianDay Julian Date (UT)
+     * @return Ecliptic longitude in degrees (0-360)
+     */
+    double calculateLongitude(Body body, double julianDay);
+
+    /**
+     * Daily motion of a body in ecliptic longitude
+     * The default is a central difference over one hour; engines with an analytic derivative override it
+     *
+     * @param body Chart body
+     * @param julianDay Julian Date (UT)
+     * @return Speed in degrees per day (negative when retrograde)
+     */
+    default double calculateSpeed(Body body, double julianDay) {
+        double h = SPEED_STEP_DAYS;
+        return AstroMath.minimalAngleDifference(
+            calculateLongitude(body, julianDay - h), calculateLongitude(body, julianDay + h)) / (2.0 * h);
+    }
+
+    /**
+     * Calculate longitudes and speeds of all bodies
+     * Engines that share work between bodies override this
+     *
+     * @param julianDay Julian Date (UT)
+     * @param out Vector to fill
+     */
+    default void calculatePositions(double julianDay, PlanetVector out) {
+        for (Body body : Body.ALL) {
+            out.setLongitude(body, calculateLongitude(body, julianDay));
+            out.setSpeed(body, calculateSpeed(body, julianDay));
+        }
+        out.setSpeedsKnown(true);
+    }
+
+    /**
+     * Tier reported for positions from this engine
+     * Table and JPL engines are at least as accurate as PRECISE
+     */
+    default PrecisionTier getPrecision() {
+        return PrecisionTier.PRECISE;
+    }
+
+    /**
+     * Check whether this engine can serve the given date
+     * Callers fall back to the analytic engine when this returns false
+     */
+    default boolean covers(double julianDay) {
+        return true;
+    }
+}
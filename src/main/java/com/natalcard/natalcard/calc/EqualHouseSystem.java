@@ -0,0 +1,34 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Equal houses: cusp[n] = ASC + (n-1)*30°
+ * Also the fallback of the quadrant systems where they are undefined
+ */
+@Service
+public class EqualHouseSystem implements HouseSystem {
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.EQUAL;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        return cusps(asc);
+    }
+
+    /**
+     * Equal cusps from the Ascendant
+     */
+    public static double[] cusps(double asc) {
+        double[] cusps = new double[12];
+        for (int i = 0; i < 12; i++) {
+            cusps[i] = AstroMath.normalize360(asc + i * 30.0);
+        }
+        return cusps;
+    }
+}
@@ -0,0 +1,158 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Table-driven sin/cos/tan/atan2 and a division-free normalize
+ *
+ * Selected through {@link AstroMath} when the math mode is {@link MathMode#FAST}.
+ * Maximum absolute errors against StrictMath, as asserted by FastMathTest:
+ * - sin, cos: 4e-16 for |x| below {@link #MAX_REDUCED_ARGUMENT}; larger arguments fall back to Math
+ * - tan: 4e-16 / cos²x
+ * - atan2: 1e-15 radians
+ * - normalize360: bit-identical to the % based version, except that it never returns 360.0
+ * All far below the 0.01° the API displays (1.7e-4 rad).
+ */
+public final class FastMath {
+
+    /**
+     * Arguments at or above this magnitude (radians) use Math.sin/Math.cos
+     * Below it the two-part reduction constant keeps the reduced angle exact to about one ulp
+     */
+    public static final double MAX_REDUCED_ARGUMENT = 1.0e5;
+
+    // sin/cos: angle = k * STEP + h with |h| <= STEP / 2, STEP = 2π / TABLE_SIZE
+    private static final int TABLE_BITS = 10;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+    private static final int QUADRANT_SIZE = TABLE_SIZE / 4;
+    private static final double STEPS_PER_RADIAN = TABLE_SIZE / (2.0 * Math.PI);
+    private static final double PI_LOW = 1.2246467991473532e-16; // π - Math.PI
+    // STEP_HIGH keeps 26 significant bits, so k * STEP_HIGH is exact for |k| < 2^27
+    private static final double STEP_HIGH =
+        Double.longBitsToDouble(Double.doubleToRawLongBits(Math.PI / (TABLE_SIZE / 2)) & 0xFFFFFFFFF8000000L);
+    private static final double STEP_LOW = (Math.PI / (TABLE_SIZE / 2) - STEP_HIGH) + PI_LOW / (TABLE_SIZE / 2);
+
+    private static final double[] SIN = new double[TABLE_SIZE];
+    private static final double[] COS = new double[TABLE_SIZE];
+
+    // atan: t = c + d with c = j / ATAN_STEPS, atan(t) = atan(c) + atan((t - c) / (1 + t*c))
+    private static final int ATAN_STEPS = 256;
+    private static final double[] ATAN = new double[ATAN_STEPS + 1];
+
+    private static final double HALF_PI = Math.PI / 2.0;
+
+    static {
+        // Reduce each node to the first quadrant so StrictMath sees arguments below π/2
+        for (int r = 0; r < QUADRANT_SIZE; r++) {
+            double angle = r * STEP_HIGH + r * STEP_LOW;
+            double s = StrictMath.sin(angle);
+            double c = StrictMath.cos(angle);
+            SIN[r] = s;
+            COS[r] = c;
+            SIN[r + QUADRANT_SIZE] = c;
+            COS[r + QUADRANT_SIZE] = -s;
+            SIN[r + 2 * QUADRANT_SIZE] = -s;
+            COS[r + 2 * QUADRANT_SIZE] = -c;
+            SIN[r + 3 * QUADRANT_SIZE] = -c;
+            COS[r + 3 * QUADRANT_SIZE] = s;
+        }
+        for (int j = 0; j <= ATAN_STEPS; j++) {
+            ATAN[j] = StrictMath.atan((double) j / ATAN_STEPS);
+        }
+    }
+
+    private FastMath() {
+    }
+
+    /**
+     * Sine (radians)
+     */
+    public static double sin(double x) {
+        if (!(Math.abs(x) < MAX_REDUCED_ARGUMENT)) {
+            return Math.sin(x);
+        }
+        int k = (int) Math.rint(x * STEPS_PER_RADIAN);
+        double h = (x - k * STEP_HIGH) - k * STEP_LOW;
+        int i = k & TABLE_MASK;
+        double h2 = h * h;
+        double sinH = h + h * h2 * (-1.0 / 6.0 + h2 * (1.0 / 120.0));
+        double cosHMinusOne = h2 * (-0.5 + h2 * (1.0 / 24.0));
+        return SIN[i] + (SIN[i] * cosHMinusOne + COS[i] * sinH);
+    }
+
+    /**
+     * Cosine (radians)
+     */
+    public static double cos(double x) {
+        if (!(Math.abs(x) < MAX_REDUCED_ARGUMENT)) {
+            return Math.cos(x);
+        }
+        int k = (int) Math.rint(x * STEPS_PER_RADIAN);
+        double h = (x - k * STEP_HIGH) - k * STEP_LOW;
+        int i = k & TABLE_MASK;
+        double h2 = h * h;
+        double sinH = h + h * h2 * (-1.0 / 6.0 + h2 * (1.0 / 120.0));
+        double cosHMinusOne = h2 * (-0.5 + h2 * (1.0 / 24.0));
+        return COS[i] + (COS[i] * cosHMinusOne - SIN[i] * sinH);
+    }
+
+    /**
+     * Tangent (radians), sine and cosine from one reduction
+     */
+    public static double tan(double x) {
+        if (!(Math.abs(x) < MAX_REDUCED_ARGUMENT)) {
+            return Math.tan(x);
+        }
+        int k = (int) Math.rint(x * STEPS_PER_RADIAN);
+        double h = (x - k * STEP_HIGH) - k * STEP_LOW;
+        int i = k & TABLE_MASK;
+        double h2 = h * h;
+        double sinH = h + h * h2 * (-1.0 / 6.0 + h2 * (1.0 / 120.0));
+        double cosHMinusOne = h2 * (-0.5 + h2 * (1.0 / 24.0));
+        double sin = SIN[i] + (SIN[i] * cosHMinusOne + COS[i] * sinH);
+        double cos = COS[i] + (COS[i] * cosHMinusOne - SIN[i] * sinH);
+        return sin / cos;
+    }
+
+    /**
+     * Angle of (x, y) in radians, (-π, π]
+     * Zeros, infinities and NaN take the Math.atan2 path so special cases match exactly
+     */
+    public static double atan2(double y, double x) {
+        double ax = Math.abs(x);
+        double ay = Math.abs(y);
+        if (!(ax < Double.POSITIVE_INFINITY && ay < Double.POSITIVE_INFINITY) || (ax == 0.0 && ay == 0.0)) {
+            return Math.atan2(y, x);
+        }
+
+        // Fold into the first octant: t = min / max in [0, 1]
+        boolean steep = ay > ax;
+        double t = steep ? ax / ay : ay / ax;
+        int j = (int) (t * ATAN_STEPS + 0.5);
+        double c = (double) j / ATAN_STEPS;
+        double u = (t - c) / (1.0 + t * c);  // |u| <= 1 / (2 * ATAN_STEPS)
+        double u2 = u * u;
+        double angle = ATAN[j] + (u + u * u2 * (-1.0 / 3.0 + u2 * (1.0 / 5.0)));
+
+        if (steep) {
+            angle = HALF_PI - angle;
+        }
+        if (x < 0.0) {
+            angle = Math.PI - angle;
+        }
+        return Math.copySign(angle, y);
+    }
+
+    /**
+     * Normalize angle to 0-360 range without the double remainder
+     *
+     * For angles of 360° and more, angle - 360*floor(angle/360) subtracts two values
+     * within a factor of two of each other, so it is exact. The two selects only
+     * absorb a quotient that rounded across an integer.
+     */
+    public static double normalize360(double angle) {
+        double result = angle - 360.0 * Math.floor(angle * (1.0 / 360.0));
+        result += result < 0.0 ? 360.0 : 0.0;
+        result -= result >= 360.0 ? 360.0 : 0.0;
+        return result;
+    }
+}
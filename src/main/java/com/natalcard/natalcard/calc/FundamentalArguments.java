@@ -0,0 +1,66 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Lunar and solar fundamental arguments (Meeus 47.1 - 47.7)
+ *
+ * All in degrees, not normalized; T in Julian centuries from J2000.
+ */
+public final class FundamentalArguments {
+
+    private FundamentalArguments() {
+    }
+
+    /**
+     * Moon's mean longitude L'
+     */
+    public static double moonMeanLongitude(double T) {
+        double T2 = T * T;
+        return 218.3164477 + 481267.88123421 * T - 0.0015786 * T2
+             + T2 * T / 538841.0 - T2 * T2 / 65194000.0;
+    }
+
+    /**
+     * Mean elongation of the Moon D
+     */
+    public static double meanElongation(double T) {
+        double T2 = T * T;
+        return 297.8501921 + 445267.1114034 * T - 0.0018819 * T2
+             + T2 * T / 545868.0 - T2 * T2 / 113065000.0;
+    }
+
+    /**
+     * Sun's mean anomaly M
+     */
+    public static double sunMeanAnomaly(double T) {
+        double T2 = T * T;
+        return 357.5291092 + 35999.0502909 * T - 0.0001536 * T2
+             + T2 * T / 24490000.0;
+    }
+
+    /**
+     * Moon's mean anomaly M'
+     */
+    public static double moonMeanAnomaly(double T) {
+        double T2 = T * T;
+        return 134.9633964 + 477198.8675055 * T + 0.0087414 * T2
+             + T2 * T / 69699.0 - T2 * T2 / 14712000.0;
+    }
+
+    /**
+     * Moon's argument of latitude F
+     */
+    public static double moonArgumentOfLatitude(double T) {
+        double T2 = T * T;
+        return 93.2720950 + 483202.0175233 * T - 0.0036539 * T2
+             - T2 * T / 3526000.0 + T2 * T2 / 863310000.0;
+    }
+
+    /**
+     * Longitude of the Moon's mean ascending node Omega
+     */
+    public static double moonAscendingNode(double T) {
+        double T2 = T * T;
+        return 125.0445479 - 1934.1362891 * T + 0.0020754 * T2
+             + T2 * T / 467441.0 - T2 * T2 / 60616000.0;
+    }
+}
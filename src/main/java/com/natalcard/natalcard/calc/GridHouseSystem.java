@@ -0,0 +1,34 @@
+package com.natalcard.natalcard.calc;
+
+import java.util.Set;
+
+/**
+ * A quadrant system read from a {@link HouseCuspGrid} where the grid covers the chart,
+ * solved by the wrapped system elsewhere (high latitudes, obliquity outside the table)
+ */
+final class GridHouseSystem implements HouseSystem {
+
+    private final HouseSystem solver;
+    private final HouseCuspGrid grid;
+
+    GridHouseSystem(HouseSystem solver, HouseCuspGrid grid) {
+        this.solver = solver;
+        this.grid = grid;
+    }
+
+    @Override
+    public HouseSystemType getType() {
+        return solver.getType();
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        if (grid.covers(solver.getType(), context)) {
+            if (solver instanceof PlacidusHouseService placidus) {
+                placidus.recordGridLookup();
+            }
+            return grid.cusps(solver.getType(), context, asc, mc);
+        }
+        return solver.calculateCusps(context, asc, mc, warnings);
+    }
+}
@@ -0,0 +1,229 @@
+package com.natalcard.natalcard.calc;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Quadrant house cusps precomputed over RAMC × latitude × obliquity
+ *
+ * The intermediate cusps (11, 12, 2, 3) of a quadrant system depend only on RAMC,
+ * latitude and obliquity, so they can be tabulated once. The table file is produced
+ * offline by {@link HouseCuspGridWriter} and read through a {@link MappedByteBuffer}
+ * (off-heap, shared through the OS page cache). A lookup is a bicubic (4×4 Lagrange)
+ * interpolation over RAMC and latitude, linear between obliquity layers; the angles
+ * themselves still come from {@link AnglesService}.
+ *
+ * Each node stores the cusp minus its right-ascension reference (RAMC + 30/60/120/150°),
+ * a small smooth value that does not wrap at 0/360°.
+ *
+ * File layout (big-endian):
+ * - header: magic, version, ramcStep, latitudeStep, maxLatitude, obliquityStart, obliquityStep,
+ *           ramcCount, latitudeCount, obliquityCount, systemCount
+ * - system directory: name[16], dataOffset
+ * - data: per system, [latitude][ramc][obliquity] nodes of 4 doubles (cusps 11, 12, 2, 3);
+ *   the obliquity layers of a node are adjacent, so one lookup reads 16 short runs
+ */
+public class HouseCuspGrid {
+
+    static final int MAGIC = 0x4E434847; // "NCHG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int DIRECTORY_ENTRY_BYTES = 24;
+    static final int NAME_BYTES = 16;
+    static final int CUSPS = 4;
+
+    // Right ascension reference of cusps 11, 12, 2, 3 relative to RAMC
+    static final double[] RA_OFFSET = { 30.0, 60.0, 120.0, 150.0 };
+
+    private final DoubleBuffer values;
+    private final double ramcStep;
+    private final double latitudeStep;
+    private final double maxLatitude;
+    private final double obliquityStart;
+    private final double obliquityStep;
+    private final double obliquityEnd;
+    private final int ramcCount;
+    private final int latitudeCount;
+    private final int obliquityCount;
+    private final int nodeStride;
+    private final int[] dataOffsets = new int[HouseSystemType.values().length]; // in doubles
+
+    private HouseCuspGrid(MappedByteBuffer buffer) {
+        // Node reads go through a double view of the whole file (offsets are multiples of 8 bytes)
+        this.values = buffer.asDoubleBuffer();
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a house cusp grid");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported grid version: " + buffer.getInt(4));
+        }
+
+        this.ramcStep = buffer.getDouble(8);
+        this.latitudeStep = buffer.getDouble(16);
+        this.maxLatitude = buffer.getDouble(24);
+        this.obliquityStart = buffer.getDouble(32);
+        this.obliquityStep = buffer.getDouble(40);
+        this.ramcCount = buffer.getInt(48);
+        this.latitudeCount = buffer.getInt(52);
+        this.obliquityCount = buffer.getInt(56);
+        int systemCount = buffer.getInt(60);
+        this.obliquityEnd = obliquityStart + (obliquityCount - 1) * obliquityStep;
+        this.nodeStride = obliquityCount * CUSPS;
+
+        Arrays.fill(dataOffsets, -1);
+        byte[] nameBytes = new byte[NAME_BYTES];
+        for (int i = 0; i < systemCount; i++) {
+            int entry = HEADER_BYTES + i * DIRECTORY_ENTRY_BYTES;
+            buffer.get(entry, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.US_ASCII).trim();
+            dataOffsets[HouseSystemType.valueOf(name).ordinal()] =
+                Math.toIntExact(buffer.getLong(entry + NAME_BYTES) / Double.BYTES);
+        }
+    }
+
+    /**
+     * Open and map a grid file (read-only)
+     */
+    public static HouseCuspGrid open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new HouseCuspGrid(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Systems tabulated in this grid
+     */
+    public Set<HouseSystemType> getSystems() {
+        EnumSet<HouseSystemType> systems = EnumSet.noneOf(HouseSystemType.class);
+        for (HouseSystemType type : HouseSystemType.values()) {
+            if (dataOffsets[type.ordinal()] >= 0) {
+                systems.add(type);
+            }
+        }
+        return systems;
+    }
+
+    /**
+     * Whether the chart's latitude and obliquity fall inside the grid for this system
+     */
+    public boolean covers(HouseSystemType type, ChartContext context) {
+        return dataOffsets[type.ordinal()] >= 0
+            && Math.abs(context.getLatitude()) <= maxLatitude
+            && context.getObliquity() >= obliquityStart
+            && context.getObliquity() <= obliquityEnd;
+    }
+
+    /**
+     * Interpolated cusps (call only where {@link #covers} is true)
+     *
+     * @param asc Ascendant longitude (cusp 1)
+     * @param mc Midheaven longitude (cusp 10)
+     * @return Array of 12 house cusps
+     */
+    public double[] cusps(HouseSystemType type, ChartContext context, double asc, double mc) {
+        int base = dataOffsets[type.ordinal()];
+        if (base < 0) {
+            throw new IllegalArgumentException("House system not in grid: " + type);
+        }
+
+        // RAMC: periodic, stencil columns col-1 .. col+2
+        double ramc = AstroMath.normalize360(context.getLst());
+        double x = ramc / ramcStep;
+        int col = Math.min((int) x, ramcCount - 1);
+        double u = 1.0 + x - col;
+        double c0 = -(u - 1.0) * (u - 2.0) * (u - 3.0) / 6.0;
+        double c1 = u * (u - 2.0) * (u - 3.0) / 2.0;
+        double c2 = -u * (u - 1.0) * (u - 3.0) / 2.0;
+        double c3 = u * (u - 1.0) * (u - 2.0) / 6.0;
+        int col0 = col == 0 ? ramcCount - 1 : col - 1;
+        int col2 = col + 1 < ramcCount ? col + 1 : col + 1 - ramcCount;
+        int col3 = col + 2 < ramcCount ? col + 2 : col + 2 - ramcCount;
+
+        // Latitude: stencil shifted inward at the edges of the grid
+        double y = (context.getLatitude() + maxLatitude) / latitudeStep;
+        int firstRow = Math.max(0, Math.min((int) y - 1, latitudeCount - 4));
+        double v = y - firstRow;
+        double r0 = -(v - 1.0) * (v - 2.0) * (v - 3.0) / 6.0;
+        double r1 = v * (v - 2.0) * (v - 3.0) / 2.0;
+        double r2 = -v * (v - 1.0) * (v - 3.0) / 2.0;
+        double r3 = v * (v - 1.0) * (v - 2.0) / 6.0;
+
+        // Obliquity: linear between the two layers of each node
+        double z = obliquityCount > 1 ? (context.getObliquity() - obliquityStart) / obliquityStep : 0.0;
+        int layer = Math.max(0, Math.min((int) z, obliquityCount - 2));
+        double w = z - layer;
+
+        double[] delta = new double[4];
+        int rowStride = ramcCount * nodeStride;
+        int rowBase = base + firstRow * rowStride + layer * 4;
+        for (int i = 0; i < 4; i++, rowBase += rowStride) {
+            double rowWeight = i == 0 ? r0 : i == 1 ? r1 : i == 2 ? r2 : r3;
+            accumulate(rowBase + col0 * nodeStride, rowWeight * c0, w, delta);
+            accumulate(rowBase + col * nodeStride, rowWeight * c1, w, delta);
+            accumulate(rowBase + col2 * nodeStride, rowWeight * c2, w, delta);
+            accumulate(rowBase + col3 * nodeStride, rowWeight * c3, w, delta);
+        }
+
+        return QuadrantHouses.cusps(asc, mc,
+            wrap(ramc + RA_OFFSET[0] + delta[0]),
+            wrap(ramc + RA_OFFSET[1] + delta[1]),
+            wrap(ramc + RA_OFFSET[2] + delta[2]),
+            wrap(ramc + RA_OFFSET[3] + delta[3]));
+    }
+
+    /**
+     * Add one node (both obliquity layers, or the only one) with the given weight
+     */
+    private void accumulate(int index, double weight, double layerWeight, double[] delta) {
+        if (obliquityCount == 1) {
+            delta[0] += weight * values.get(index);
+            delta[1] += weight * values.get(index + 1);
+            delta[2] += weight * values.get(index + 2);
+            delta[3] += weight * values.get(index + 3);
+            return;
+        }
+        double lower = weight * (1.0 - layerWeight);
+        double upper = weight * layerWeight;
+        delta[0] += lower * values.get(index) + upper * values.get(index + 4);
+        delta[1] += lower * values.get(index + 1) + upper * values.get(index + 5);
+        delta[2] += lower * values.get(index + 2) + upper * values.get(index + 6);
+        delta[3] += lower * values.get(index + 3) + upper * values.get(index + 7);
+    }
+
+    /**
+     * Normalize a longitude within one turn of [0, 360)
+     */
+    private static double wrap(double longitude) {
+        return longitude >= 360.0 ? longitude - 360.0 : longitude < 0.0 ? longitude + 360.0 : longitude;
+    }
+
+    public double getRamcStep() {
+        return ramcStep;
+    }
+
+    public double getLatitudeStep() {
+        return latitudeStep;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    public double getObliquityStart() {
+        return obliquityStart;
+    }
+
+    public double getObliquityEnd() {
+        return obliquityEnd;
+    }
+}
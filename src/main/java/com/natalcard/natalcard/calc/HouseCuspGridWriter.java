@@ -0,0 +1,197 @@
+package com.natalcard.natalcard.calc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Offline generator for {@link HouseCuspGrid} files
+ *
+ * Solves every node with the system's own {@link HouseSystem} and stores the
+ * intermediate cusps. The default grid covers 1800-2200 (obliquity) and latitudes up to
+ * ±60° for Placidus, the one iterative system: the closed-form systems (Koch,
+ * Regiomontanus, ...) are cheaper to evaluate than to interpolate (see
+ * HouseCuspGridBenchmarkTest), but any system can be tabulated.
+ *
+ * Usage:
+ *   java -cp target/classes com.natalcard.natalcard.calc.HouseCuspGridWriter [file] [ramcStep] [latitudeStep]
+ */
+public class HouseCuspGridWriter {
+
+    public static final String DEFAULT_FILE = "data/house-cusps.bin";
+    public static final double DEFAULT_RAMC_STEP = 0.5;
+    public static final double DEFAULT_LATITUDE_STEP = 0.5;
+    public static final double DEFAULT_MAX_LATITUDE = 60.0;
+    public static final int DEFAULT_OBLIQUITY_NODES = 3;
+    public static final Set<HouseSystemType> DEFAULT_SYSTEMS = EnumSet.of(HouseSystemType.PLACIDUS);
+
+    private static final int[] CUSP_INDEX = { 10, 11, 1, 2 };
+
+    /**
+     * Grid dimensions
+     *
+     * @param ramcStep RAMC spacing, degrees (must divide 360)
+     * @param latitudeStep Latitude spacing, degrees (must divide 2·maxLatitude)
+     * @param maxLatitude Grid covers latitudes in [−maxLatitude, maxLatitude]
+     * @param obliquityStart Smallest tabulated obliquity, degrees
+     * @param obliquityEnd Largest tabulated obliquity, degrees
+     * @param obliquityNodes Obliquity layers (1 for a single epoch)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Spec {
+        private final double ramcStep;
+        private final double latitudeStep;
+        private final double maxLatitude;
+        private final double obliquityStart;
+        private final double obliquityEnd;
+        private final int obliquityNodes;
+
+        /**
+         * Default steps over the obliquity range of the default Chebyshev table dates (1800-2200)
+         */
+        public static Spec defaults(double ramcStep, double latitudeStep) {
+            ObliquityService obliquity = new ObliquityService();
+            return new Spec(ramcStep, latitudeStep, DEFAULT_MAX_LATITUDE,
+                obliquity.calculateMeanObliquity(JulianDate.toJulianCenturies(ChebyshevEphemerisWriter.DEFAULT_END_JD)),
+                obliquity.calculateMeanObliquity(JulianDate.toJulianCenturies(ChebyshevEphemerisWriter.DEFAULT_START_JD)),
+                DEFAULT_OBLIQUITY_NODES);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        double ramcStep = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_RAMC_STEP;
+        double latitudeStep = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_LATITUDE_STEP;
+
+        HouseService houses = HouseService.withDefaultSystems(new PlacidusHouseService());
+        List<HouseSystem> systems = DEFAULT_SYSTEMS.stream().map(houses::getSystem).toList();
+        Spec spec = Spec.defaults(ramcStep, latitudeStep);
+        write(file, systems, spec);
+
+        HouseCuspGrid grid = HouseCuspGrid.open(file);
+        System.out.println("Wrote " + file + " (" + Files.size(file) + " bytes)");
+        for (HouseSystem system : systems) {
+            System.out.printf("  %-14s max interpolation error %.2e deg%n",
+                system.getType(), maxError(grid, system, 200_000));
+        }
+    }
+
+    /**
+     * Solve every node and write the grid file
+     *
+     * @throws IllegalStateException if a system has no cusps at a node (e.g. circumpolar)
+     */
+    public static void write(Path file, List<HouseSystem> systems, Spec spec) throws IOException {
+        int ramcCount = nodeCount(360.0, spec.getRamcStep(), "RAMC");
+        int latitudeCount = nodeCount(2.0 * spec.getMaxLatitude(), spec.getLatitudeStep(), "latitude") + 1;
+        if (ramcCount < 4 || latitudeCount < 4 || spec.getObliquityNodes() < 1) {
+            throw new IllegalArgumentException("Grid needs at least 4 RAMC and 4 latitude nodes and 1 obliquity node");
+        }
+        double obliquityStep = spec.getObliquityNodes() > 1
+            ? (spec.getObliquityEnd() - spec.getObliquityStart()) / (spec.getObliquityNodes() - 1)
+            : 0.0;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        long systemBytes = (long) spec.getObliquityNodes() * latitudeCount * ramcCount * HouseCuspGrid.CUSPS * Double.BYTES;
+        long offset = HouseCuspGrid.HEADER_BYTES + (long) systems.size() * HouseCuspGrid.DIRECTORY_ENTRY_BYTES;
+        AnglesService anglesService = new AnglesService();
+
+        try (OutputStream os = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+
+            // Header
+            out.writeInt(HouseCuspGrid.MAGIC);
+            out.writeInt(HouseCuspGrid.VERSION);
+            out.writeDouble(spec.getRamcStep());
+            out.writeDouble(spec.getLatitudeStep());
+            out.writeDouble(spec.getMaxLatitude());
+            out.writeDouble(spec.getObliquityStart());
+            out.writeDouble(obliquityStep);
+            out.writeInt(ramcCount);
+            out.writeInt(latitudeCount);
+            out.writeInt(spec.getObliquityNodes());
+            out.writeInt(systems.size());
+
+            // System directory
+            for (int i = 0; i < systems.size(); i++) {
+                byte[] name = new byte[HouseCuspGrid.NAME_BYTES];
+                byte[] ascii = systems.get(i).getType().name().getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(ascii, 0, name, 0, ascii.length);
+                Arrays.fill(name, ascii.length, name.length, (byte) ' ');
+                out.write(name);
+                out.writeLong(offset + i * systemBytes);
+            }
+
+            // Nodes
+            EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+            for (HouseSystem system : systems) {
+                for (int row = 0; row < latitudeCount; row++) {
+                    double latitude = -spec.getMaxLatitude() + row * spec.getLatitudeStep();
+                    for (int col = 0; col < ramcCount; col++) {
+                        double ramc = col * spec.getRamcStep();
+                        for (int layer = 0; layer < spec.getObliquityNodes(); layer++) {
+                            double obliquity = spec.getObliquityStart() + layer * obliquityStep;
+                            ChartContext context = ChartContext.forHouses(ramc, latitude, obliquity);
+                            double[] angles = anglesService.calculateAngles(context);
+                            double[] cusps = system.calculateCusps(context, angles[0], angles[1], warnings);
+                            if (!warnings.isEmpty()) {
+                                throw new IllegalStateException(system.getType() + " has no cusps at RAMC " + ramc
+                                    + ", latitude " + latitude + ": " + warnings);
+                            }
+                            for (int k = 0; k < CUSP_INDEX.length; k++) {
+                                out.writeDouble(AstroMath.minimalAngleDifference(
+                                    ramc + HouseCuspGrid.RA_OFFSET[k], cusps[CUSP_INDEX[k]]));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Largest cusp difference between the grid and the solver over random covered frames
+     */
+    public static double maxError(HouseCuspGrid grid, HouseSystem system, int samples) {
+        AnglesService anglesService = new AnglesService();
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        Random random = new Random(21);
+        double max = 0.0;
+        for (int i = 0; i < samples; i++) {
+            ChartContext context = ChartContext.forHouses(random.nextDouble() * 360.0,
+                (random.nextDouble() * 2.0 - 1.0) * grid.getMaxLatitude(),
+                grid.getObliquityStart() + random.nextDouble() * (grid.getObliquityEnd() - grid.getObliquityStart()));
+            double[] angles = anglesService.calculateAngles(context);
+            double[] solved = system.calculateCusps(context, angles[0], angles[1], warnings);
+            double[] interpolated = grid.cusps(system.getType(), context, angles[0], angles[1]);
+            for (int k : CUSP_INDEX) {
+                max = Math.max(max, Math.abs(AstroMath.minimalAngleDifference(solved[k], interpolated[k])));
+            }
+        }
+        return max;
+    }
+
+    private static int nodeCount(double span, double step, String axis) {
+        double count = span / step;
+        if (!(step > 0.0) || Math.abs(count - Math.rint(count)) > 1e-9) {
+            throw new IllegalArgumentException(axis + " step must divide " + span + ": " + step);
+        }
+        return (int) Math.rint(count);
+    }
+}
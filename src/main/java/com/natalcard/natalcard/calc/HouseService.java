@@ -1,91 +1,78 @@
 package com.natalcard.natalcard.calc;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Main house calculation service with system selection
+ * Main house calculation service: a registry of {@link HouseSystem} strategies keyed by type
+ *
+ * Every {@link HouseSystem} bean is registered under its {@link HouseSystemType}; each
+ * type must have exactly one. Adding a system is adding a bean and an enum constant.
+ * With a {@link HouseCuspGrid}, the systems it tabulates are read from the grid where it
+ * covers the chart (see config/HouseConfig).
  */
-@Service
-@RequiredArgsConstructor
 public class HouseService {
 
-    private final PlacidusHouseService placidusHouseService;
+    private final Map<HouseSystemType, HouseSystem> systems = new EnumMap<>(HouseSystemType.class);
+
+    public HouseService(List<HouseSystem> systems) {
+        this(systems, null);
+    }
 
     /**
-     * Calculate house cusps based on requested system
-     *
-     * @param houseSystem "PLACIDUS", "EQUAL", or "WHOLE_SIGN"
-     * @param julianCenturiesT Julian centuries from J2000
-     * @param latitude Geographic latitude
-     * @param longitude Geographic longitude
-     * @param asc Ascendant longitude
-     * @param mc Midheaven longitude
-     * @param warnings List to add warnings to
-     * @return Array of 12 house cusps (indices 0-11 for houses 1-12)
+     * @param grid Precomputed cusps for some systems, or null to solve every chart
      */
-    public double[] calculateHouses(String houseSystem, double julianCenturiesT,
-                                   double latitude, double longitude,
-                                   double asc, double mc, List<String> warnings) {
-
-        if ("WHOLE_SIGN".equalsIgnoreCase(houseSystem)) {
-            return calculateWholeSignHouses(asc);
+    public HouseService(List<HouseSystem> systems, HouseCuspGrid grid) {
+        for (HouseSystem system : systems) {
+            if (grid != null && grid.getSystems().contains(system.getType())) {
+                system = new GridHouseSystem(system, grid);
+            }
+            HouseSystem previous = this.systems.put(system.getType(), system);
+            if (previous != null) {
+                throw new IllegalStateException("Two house systems registered for " + system.getType()
+                    + ": " + previous.getClass().getSimpleName() + ", " + system.getClass().getSimpleName());
+            }
         }
-
-        if ("EQUAL".equalsIgnoreCase(houseSystem)) {
-            return calculateEqualHouses(asc);
+        for (HouseSystemType type : HouseSystemType.values()) {
+            if (!this.systems.containsKey(type)) {
+                throw new IllegalStateException("No house system registered for " + type);
+            }
         }
-
-        // Default to Placidus (with automatic fallback)
-        return placidusHouseService.calculatePlacidusHouses(
-            julianCenturiesT, latitude, longitude, asc, mc, warnings
-        );
     }
 
     /**
-     * Calculate Whole Sign houses
-     *
-     * CRITICAL: Whole Sign differs from Equal!
-     * - cusp[1] = sign start of ASC (NOT ASC itself)
-     * - cusp[n] = cusp[1] + (n-1)*30°
-     *
-     * Example: ASC = 172.56° (Virgo 22°)
-     *   → cusp[1] = 150° (0° Virgo)
-     *   → cusp[2] = 180° (0° Libra)
-     *   → cusp[3] = 210° (0° Scorpio)
-     *
-     * @param asc Ascendant longitude
-     * @return Array of 12 cusps, each at sign boundary (0° of each sign)
+     * Registry with every built-in system, for use outside Spring (tests, tools)
      */
-    private double[] calculateWholeSignHouses(double asc) {
-        double[] cusps = new double[12];
-
-        // Find the sign start of ASC (burç başlangıcı)
-        // signIndex = floor(asc / 30)
-        // signStart = signIndex * 30
-        double ascNormalized = AstroMath.normalize360(asc);
-        int signIndex = (int) Math.floor(ascNormalized / 30.0);
-        double cusp1 = signIndex * 30.0; // Sign boundary (0° of sign)
-
-        // Each house = one zodiac sign (30°)
-        for (int i = 0; i < 12; i++) {
-            cusps[i] = AstroMath.normalize360(cusp1 + i * 30.0);
-        }
+    public static HouseService withDefaultSystems(PlacidusHouseService placidus) {
+        return new HouseService(List.of(
+            placidus,
+            new WholeSignHouseSystem(),
+            new EqualHouseSystem(),
+            new KochHouseSystem(),
+            new RegiomontanusHouseSystem(),
+            new CampanusHouseSystem(),
+            new PorphyryHouseSystem(),
+            new AlcabitiusHouseSystem()));
+    }
 
-        return cusps;
+    public HouseSystem getSystem(HouseSystemType houseSystem) {
+        return systems.get(houseSystem);
     }
 
     /**
-     * Calculate Equal houses
-     * cusp[n] = ASC + (n-1)*30°
+     * Calculate house cusps based on requested system
+     *
+     * @param houseSystem Requested system
+     * @param context Chart instant and place
+     * @param asc Ascendant longitude
+     * @param mc Midheaven longitude
+     * @param warnings Set to add warnings to (a fallback changes the effective system, see ChartWarning)
+     * @return Array of 12 house cusps (indices 0-11 for houses 1-12)
      */
-    private double[] calculateEqualHouses(double asc) {
-        double[] cusps = new double[12];
-        for (int i = 0; i < 12; i++) {
-            cusps[i] = AstroMath.normalize360(asc + i * 30.0);
-        }
-        return cusps;
+    public double[] calculateHouses(HouseSystemType houseSystem, ChartContext context,
+                                   double asc, double mc, Set<ChartWarning> warnings) {
+        return systems.get(houseSystem).calculateCusps(context, asc, mc, warnings);
     }
 }
@@ -0,0 +1,27 @@
+package com.natalcard.natalcard.calc;
+
+import java.util.Set;
+
+/**
+ * A house system: the 12 cusps of a chart
+ *
+ * Implementations are registered with {@link HouseService} under {@link #getType()}.
+ * Everything that depends only on the instant and place (RAMC, obliquity and latitude
+ * sines/cosines) comes from the shared {@link ChartContext}, so a system adds no
+ * sidereal time or obliquity work of its own. Implementations must be thread-safe.
+ */
+public interface HouseSystem {
+
+    HouseSystemType getType();
+
+    /**
+     * Calculate the cusps
+     *
+     * @param context Chart instant and place
+     * @param asc Ascendant longitude
+     * @param mc Midheaven longitude
+     * @param warnings Set to add warnings to (a warning with a fallback changes the effective system)
+     * @return Array of 12 house cusps (indices 0-11 for houses 1-12)
+     */
+    double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings);
+}
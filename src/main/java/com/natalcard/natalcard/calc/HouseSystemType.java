@@ -0,0 +1,45 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * House systems known to the API
+ */
+public enum HouseSystemType {
+    PLACIDUS,
+    WHOLE_SIGN,
+    EQUAL,
+    KOCH,
+    REGIOMONTANUS,
+    CAMPANUS,
+    PORPHYRY,
+    ALCABITIUS;
+
+    /** Cached values() — values() clones the array on every call */
+    public static final HouseSystemType[] ALL = values();
+
+    /** Bit mask with every system set (see {@link #mask()}) */
+    public static final int ALL_MASK = (1 << ALL.length) - 1;
+
+    /**
+     * Single-bit mask of this system, for system subsets
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Look up a system by name (case-insensitive)
+     *
+     * @return The system, or null if the name is not known
+     */
+    public static HouseSystemType find(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (HouseSystemType type : values()) {
+            if (type.name().equalsIgnoreCase(value.trim())) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -4,19 +4,114 @@ import org.springframework.stereotype.Component;
 
 /**
  * House-related utilities
+ *
+ * Cusps are unwrapped once into a monotone search table (cusp 1 first, each cusp the
+ * previous one plus the forward arc), so the house of a point is a fixed four-step
+ * binary search instead of a walk over the 12 cusps.
  */
 @Component
 public class HouseUtil {
 
+    private static final int TABLE_SIZE = 16; // 12 cusps + sentinels up to the next power of two
+
     /**
      * Determine which house a planet is in based on house cusps
      * Uses forward zodiac arc between cusps
      *
+     * One point walks the cusps; for several points of a chart use {@link #determineHouses}
+     * (or {@link #searchTable} and {@link #findHouse}), which unwraps the cusps once.
+     *
      * @param planetLon Planet longitude (0-360)
      * @param cusps Array of 12 house cusps (1-12), starting at index 0
      * @return House number (1-12)
      */
     public static int determineHouse(double planetLon, double[] cusps) {
+        return scanHouse(planetLon, cusps);
+    }
+
+    /**
+     * Determine the houses of many points (planets, asteroids, fixed stars, lots) with one search table
+     *
+     * @param longitudes Point longitudes
+     * @param cusps Array of 12 house cusps (1-12), starting at index 0
+     * @param houses Output: house number (1-12) of each point, at least longitudes.length long
+     */
+    public static void determineHouses(double[] longitudes, double[] cusps, int[] houses) {
+        double[] table = searchTable(cusps);
+        if (table == null) {
+            for (int i = 0; i < longitudes.length; i++) {
+                houses[i] = scanHouse(longitudes[i], cusps);
+            }
+            return;
+        }
+        for (int i = 0; i < longitudes.length; i++) {
+            houses[i] = findHouse(longitudes[i], table);
+        }
+    }
+
+    /**
+     * Determine the houses of many points
+     *
+     * @return House number (1-12) of each point
+     */
+    public static int[] determineHouses(double[] longitudes, double[] cusps) {
+        int[] houses = new int[longitudes.length];
+        determineHouses(longitudes, cusps, houses);
+        return houses;
+    }
+
+    /**
+     * Unwrap the cusps into a search table for {@link #findHouse}
+     * table[0..11] run from cusp 1 upward (may exceed 360), table[12..15] are +∞ sentinels
+     *
+     * @return The table, or null if the cusps do not go once around the zodiac in house
+     *         order (possible for quadrant systems near the polar circles); then use
+     *         {@link #determineHouse}, which walks the cusps
+     */
+    public static double[] searchTable(double[] cusps) {
+        double[] table = new double[TABLE_SIZE];
+        double previous = AstroMath.normalize360(cusps[0]);
+        double turn = 0.0;
+        table[0] = previous;
+        for (int i = 1; i < 12; i++) {
+            double cusp = AstroMath.normalize360(cusps[i]);
+            if (cusp < previous) {
+                turn += 360.0; // crossed 0° Aries; cusp + 360 matches findHouse's x + 360 exactly
+            }
+            previous = cusp;
+            table[i] = cusp + turn;
+        }
+        if (!(table[11] - table[0] < 360.0)) {
+            return null;
+        }
+        for (int i = 12; i < TABLE_SIZE; i++) {
+            table[i] = Double.POSITIVE_INFINITY;
+        }
+        return table;
+    }
+
+    /**
+     * House of a longitude from a {@link #searchTable}: the last cusp at or before it
+     *
+     * @return House number (1-12)
+     */
+    public static int findHouse(double lon, double[] table) {
+        double x = lon >= 0.0 && lon < 360.0 ? lon : AstroMath.normalize360(lon);
+        if (x < table[0]) {
+            x += 360.0;
+        }
+        int k = table[8] <= x ? 8 : 0;
+        k += table[k + 4] <= x ? 4 : 0;
+        k += table[k + 2] <= x ? 2 : 0;
+        k += table[k + 1] <= x ? 1 : 0;
+        return Math.min(k, 11) + 1; // x + 360 can round onto cusp 1 + 360
+    }
+
+    /**
+     * Linear walk over the cusps, first house in order 1-12 whose forward arc holds the point
+     * (single points, and cusps that are not in zodiac order)
+     */
+    private static int scanHouse(double planetLon, double[] cusps) {
         planetLon = AstroMath.normalize360(planetLon);
 
         for (int house = 1; house <= 12; house++) {
@@ -0,0 +1,365 @@
+package com.natalcard.natalcard.calc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ephemeris backed by a JPL DE binary file (DE440, DE441, ...)
+ *
+ * The file is mapped with {@link FileChannel#map} and coefficients are read in
+ * place, so nothing is copied onto the heap and the OS page cache is shared by
+ * every JVM on the host. Files larger than 2 GB (DE441) are mapped as several
+ * segments, each holding whole records.
+ *
+ * Layout (see JPL "ASCII/binary ephemeris format"):
+ * - record 0: titles, constant names, start/end/step, NCON, AU, EMRAT, IPT, DENUM, LPT
+ * - record 1: constant values
+ * - record 2+: one data record per step, first two doubles are its JD range
+ *
+ * Positions are ICRF equatorial in km. Longitudes returned here are geometric
+ * geocentric positions corrected for light-time, rotated to the ecliptic and
+ * precessed to the equinox of date. The UT argument is moved to TDB with
+ * {@link DeltaT} (TT and TDB are treated as equal); speeds come from the
+ * derivative of the same Chebyshev blocks.
+ */
+public class JplEphemeris implements EphemerisEngine {
+
+    // Body indices in the IPT table
+    static final int MERCURY = 0;
+    static final int VENUS = 1;
+    static final int EARTH_MOON_BARYCENTER = 2;
+    static final int MARS = 3;
+    static final int JUPITER = 4;
+    static final int SATURN = 5;
+    static final int URANUS = 6;
+    static final int NEPTUNE = 7;
+    static final int PLUTO = 8;
+    static final int MOON = 9;
+    static final int SUN = 10;
+
+    // IPT index per Body ordinal
+    private static final int[] BODY_INDEX = {
+        SUN, MOON, MERCURY, VENUS, MARS, JUPITER, SATURN, URANUS, NEPTUNE, PLUTO
+    };
+
+    // Header offsets in record 0
+    static final int OFFSET_SS = 2652;
+    static final int OFFSET_NCON = 2676;
+    static final int OFFSET_AU = 2680;
+    static final int OFFSET_EMRAT = 2688;
+    static final int OFFSET_IPT = 2696;
+    static final int OFFSET_DENUM = 2840;
+    static final int OFFSET_LPT = 2844;
+    static final int OFFSET_CONSTANT_NAMES_EXT = 2856;
+
+    private static final double LIGHT_KM_PER_DAY = 299792.458 * 86400.0;
+    private static final double LIGHT_TIME_MARGIN_DAYS = 1.0;
+    private static final double J2000_OBLIQUITY_RAD = Math.toRadians(84381.406 / 3600.0);
+    private static final double COS_EPS = Math.cos(J2000_OBLIQUITY_RAD);
+    private static final double SIN_EPS = Math.sin(J2000_OBLIQUITY_RAD);
+
+    // Per-thread Earth state, body state (position, velocity) and {longitude, speed}
+    private static final int EARTH = 0;
+    private static final int TARGET = 6;
+    private static final int RESULT = 12;
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[14]);
+
+    private final ByteBuffer[] segments;
+    private final int recordsPerSegment;
+    private final int recordBytes;
+    private final int recordCount;
+
+    private final double startJd;
+    private final double endJd;
+    private final double stepDays;
+    private final double emrat;
+    private final int denum;
+
+    // IPT: 1-based coefficient offset, coefficients per component, subintervals
+    private final int[][] ipt = new int[13][3];
+
+    private JplEphemeris(ByteBuffer[] segments, int recordsPerSegment, long recordsInFile, Header header) {
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.recordBytes = header.recordBytes;
+        this.startJd = header.startJd;
+        this.stepDays = header.stepDays;
+        this.emrat = header.emrat;
+        this.denum = header.denum;
+
+        // Truncated files keep the original header; trust the records actually present
+        this.recordCount = (int) Math.min(Math.round((header.endJd - startJd) / stepDays), recordsInFile);
+        this.endJd = Math.min(header.endJd, startJd + recordCount * stepDays);
+        for (int i = 0; i < ipt.length; i++) {
+            System.arraycopy(header.ipt[i], 0, ipt[i], 0, 3);
+        }
+    }
+
+    /**
+     * Open and map a DE binary file (read-only)
+     */
+    public static JplEphemeris open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer headerBuffer = ByteBuffer.allocate((int) Math.min(channel.size(), 8192));
+            channel.read(headerBuffer, 0);
+            Header header = Header.parse(headerBuffer);
+
+            // The first data record starts with startJd; use it to confirm the record length
+            if (header.recordBytesWithTimeBlock != header.recordBytes
+                    && readDouble(channel, 2L * header.recordBytes, header.order) != header.startJd
+                    && readDouble(channel, 2L * header.recordBytesWithTimeBlock, header.order) == header.startJd) {
+                header.recordBytes = header.recordBytesWithTimeBlock;
+            }
+
+            // Split the data area into segments of whole records, each below 2 GB
+            long dataBytes = channel.size() - 2L * header.recordBytes;
+            long recordsInFile = dataBytes / header.recordBytes;
+            if (recordsInFile <= 0) {
+                throw new IllegalArgumentException("JPL DE file has a header but no data records: " + file);
+            }
+            int recordsPerSegment = (int) Math.min(recordsInFile, Integer.MAX_VALUE / header.recordBytes);
+            int segmentCount = (int) ((recordsInFile + recordsPerSegment - 1) / recordsPerSegment);
+
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long first = (long) s * recordsPerSegment;
+                long count = Math.min(recordsPerSegment, recordsInFile - first);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                    (2 + first) * header.recordBytes, count * header.recordBytes);
+                segments[s] = mapped.order(header.order);
+            }
+
+            return new JplEphemeris(segments, recordsPerSegment, recordsInFile, header);
+        }
+    }
+
+    private static double readDouble(FileChannel channel, long position, ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES).order(order);
+        channel.read(buffer, position);
+        return buffer.getDouble(0);
+    }
+
+    @Override
+    public boolean covers(double julianDay) {
+        // Keep room for the light-time lookback at the start of the file
+        return julianDay >= startJd + LIGHT_TIME_MARGIN_DAYS && julianDay <= endJd;
+    }
+
+    @Override
+    public double calculateLongitude(Body body, double julianDay) {
+        double tdb = julianDay + DeltaT.days(julianDay);
+        double[] scratch = SCRATCH.get();
+        if (body != Body.MOON) {
+            earthState(tdb, scratch);
+        }
+        geocentric(body, tdb, scratch);
+        return scratch[RESULT];
+    }
+
+    @Override
+    public double calculateSpeed(Body body, double julianDay) {
+        double tdb = julianDay + DeltaT.days(julianDay);
+        double[] scratch = SCRATCH.get();
+        if (body != Body.MOON) {
+            earthState(tdb, scratch);
+        }
+        geocentric(body, tdb, scratch);
+        return scratch[RESULT + 1];
+    }
+
+    /**
+     * Calculate all bodies with one Earth state per instant
+     */
+    @Override
+    public void calculatePositions(double julianDay, PlanetVector out) {
+        double tdb = julianDay + DeltaT.days(julianDay);
+        double[] scratch = SCRATCH.get();
+        earthState(tdb, scratch);
+        for (Body body : Body.ALL) {
+            geocentric(body, tdb, scratch);
+            out.setLongitude(body, scratch[RESULT]);
+            out.setSpeed(body, scratch[RESULT + 1]);
+        }
+        out.setSpeedsKnown(true);
+    }
+
+    public double getStartJd() {
+        return startJd;
+    }
+
+    public double getEndJd() {
+        return endJd;
+    }
+
+    public int getDenum() {
+        return denum;
+    }
+
+    /**
+     * Earth = EMB - Moon / (1 + EMRAT), position and velocity into scratch[EARTH..]
+     * Uses the TARGET slots for the Moon
+     */
+    private void earthState(double tdb, double[] scratch) {
+        state(EARTH_MOON_BARYCENTER, tdb, scratch, EARTH);
+        state(MOON, tdb, scratch, TARGET);
+        double factor = 1.0 / (1.0 + emrat);
+        for (int c = 0; c < 6; c++) {
+            scratch[EARTH + c] -= scratch[TARGET + c] * factor;
+        }
+    }
+
+    /**
+     * Geocentric longitude and daily motion of one body into scratch[RESULT..]
+     * Planets, Sun and Pluto need the Earth state in scratch[EARTH..]
+     */
+    private void geocentric(Body body, double tdb, double[] scratch) {
+        if (body == Body.MOON) {
+            // Moon is stored geocentric; light-time is ~1.3 s and ignored
+            state(MOON, tdb, scratch, TARGET);
+        } else {
+            // One light-time iteration: planet position when the light left it
+            int index = BODY_INDEX[body.ordinal()];
+            state(index, tdb, scratch, TARGET);
+            double dx = scratch[TARGET] - scratch[EARTH];
+            double dy = scratch[TARGET + 1] - scratch[EARTH + 1];
+            double dz = scratch[TARGET + 2] - scratch[EARTH + 2];
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            state(index, tdb - distance / LIGHT_KM_PER_DAY, scratch, TARGET);
+            for (int c = 0; c < 6; c++) {
+                scratch[TARGET + c] -= scratch[EARTH + c];
+            }
+        }
+        eclipticOfDate(scratch, TARGET, tdb, scratch, RESULT);
+    }
+
+    /**
+     * Evaluate the Chebyshev series of one body: position (km, ICRF equatorial) and
+     * velocity (km/day) into out[offset..offset+6)
+     * Record and subinterval are found with plain offset arithmetic.
+     */
+    void state(int body, double jd, double[] out, int offset) {
+        int record = (int) ((jd - startJd) / stepDays);
+        if (record == recordCount) {
+            record--; // jd == endJd belongs to the last record
+        }
+        if (record < 0 || record >= recordCount) {
+            throw new IllegalArgumentException("Julian day outside DE file range: " + jd);
+        }
+
+        ByteBuffer segment = segments[record / recordsPerSegment];
+        int recordBase = (record % recordsPerSegment) * recordBytes;
+        double recordStart = startJd + record * stepDays;
+
+        int coefficientCount = ipt[body][1];
+        int subintervals = ipt[body][2];
+        double subLength = stepDays / subintervals;
+        int sub = Math.min((int) ((jd - recordStart) / subLength), subintervals - 1);
+        double x = 2.0 * (jd - recordStart - sub * subLength) / subLength - 1.0;
+
+        int base = recordBase + (ipt[body][0] - 1 + sub * coefficientCount * 3) * Double.BYTES;
+        for (int c = 0; c < 3; c++) {
+            int component = base + c * coefficientCount * Double.BYTES;
+            out[offset + c] = ChebyshevEphemeris.clenshaw(segment, component, coefficientCount, x);
+            // dx/dt = 2 / subLength
+            out[offset + 3 + c] = ChebyshevEphemeris.clenshawDerivative(segment, component, coefficientCount, x)
+                * 2.0 / subLength;
+        }
+    }
+
+    /**
+     * Ecliptic longitude of date and its daily motion from an equatorial J2000 state
+     */
+    private static void eclipticOfDate(double[] state, int offset, double tdb, double[] out, int outOffset) {
+        double x = state[offset];
+        double y = state[offset + 1] * COS_EPS + state[offset + 2] * SIN_EPS;
+        double vx = state[offset + 3];
+        double vy = state[offset + 4] * COS_EPS + state[offset + 5] * SIN_EPS;
+        double lonJ2000 = Math.toDegrees(AstroMath.atan2(y, x));
+        double rate = (x * vy - y * vx) / (x * x + y * y);
+
+        // General precession in longitude (IAU 2006), J2000 -> equinox of date
+        double T = JulianDate.toJulianCenturies(tdb);
+        double precession = (5028.796195 * T + 1.1054348 * T * T) / 3600.0;
+        double precessionRate = (5028.796195 + 2.0 * 1.1054348 * T) / 3600.0 / 36525.0;
+
+        out[outOffset] = AstroMath.normalize360(lonJ2000 + precession);
+        out[outOffset + 1] = Math.toDegrees(rate) + precessionRate;
+    }
+
+    /**
+     * Parsed record 0 of a DE file
+     */
+    static final class Header {
+        ByteOrder order;
+        double startJd;
+        double endJd;
+        double stepDays;
+        double emrat;
+        int denum;
+        int recordBytes;
+        int recordBytesWithTimeBlock;
+        final int[][] ipt = new int[13][3];
+
+        static Header parse(ByteBuffer buffer) {
+            Header header = new Header();
+
+            // DENUM is a small positive number; use it to detect byte order
+            header.order = ByteOrder.LITTLE_ENDIAN;
+            buffer.order(header.order);
+            int denum = buffer.getInt(OFFSET_DENUM);
+            if (denum <= 0 || denum > 10_000) {
+                header.order = ByteOrder.BIG_ENDIAN;
+                buffer.order(header.order);
+                denum = buffer.getInt(OFFSET_DENUM);
+            }
+            if (denum <= 0 || denum > 10_000) {
+                throw new IllegalArgumentException("Not a JPL DE binary file");
+            }
+            header.denum = denum;
+
+            header.startJd = buffer.getDouble(OFFSET_SS);
+            header.endJd = buffer.getDouble(OFFSET_SS + 8);
+            header.stepDays = buffer.getDouble(OFFSET_SS + 16);
+            header.emrat = buffer.getDouble(OFFSET_EMRAT);
+
+            for (int i = 0; i < 12; i++) {
+                for (int j = 0; j < 3; j++) {
+                    header.ipt[i][j] = buffer.getInt(OFFSET_IPT + (i * 3 + j) * 4);
+                }
+            }
+            for (int j = 0; j < 3; j++) {
+                header.ipt[12][j] = buffer.getInt(OFFSET_LPT + j * 4);
+            }
+
+            // Record length in doubles: end of the last coefficient block
+            int ncon = buffer.getInt(OFFSET_NCON);
+            int doubles = 2;
+            for (int i = 0; i < 13; i++) {
+                int dimensions = i == 11 ? 2 : 3; // nutations have two components
+                doubles = Math.max(doubles, header.ipt[i][0] - 1 + header.ipt[i][1] * header.ipt[i][2] * dimensions);
+            }
+            header.recordBytes = doubles * Double.BYTES;
+            header.recordBytesWithTimeBlock = header.recordBytes;
+
+            if (ncon > 400) {
+                // DE430t and later may append a TT-TDB block after the extra constant names
+                int offset = OFFSET_CONSTANT_NAMES_EXT + (ncon - 400) * 6;
+                if (offset + 12 <= buffer.limit()) {
+                    int start = buffer.getInt(offset);
+                    int count = buffer.getInt(offset + 4);
+                    int subs = buffer.getInt(offset + 8);
+                    if (start > 0 && count > 0 && subs > 0) {
+                        header.recordBytesWithTimeBlock = Math.max(doubles, start - 1 + count * subs) * Double.BYTES;
+                    }
+                }
+            }
+
+            return header;
+        }
+    }
+}
@@ -33,6 +33,13 @@ public class JulianDate {
         return (jd - J2000) / 36525.0;
     }
 
+    /**
+     * Convert Julian centuries from J2000.0 back to a Julian Date
+     */
+    public static double fromJulianCenturies(double T) {
+        return J2000 + T * 36525.0;
+    }
+
     /**
      * Convert Instant directly to Julian centuries
      */
@@ -0,0 +1,112 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Geocentric positions from Keplerian orbits
+ *
+ * All nine orbits (Earth-Moon barycenter included) are solved in one pass by
+ * {@link KeplerOrbits}; each planet is then the difference of its heliocentric
+ * vector and the Earth's. The Sun is the Earth's vector reversed and the Moon
+ * comes from {@link LunarSeries}.
+ *
+ * Accuracy is that of the JPL approximate elements, valid 1800-2050: within 0.07°
+ * of VSOP87 for most planets, 0.25° for Jupiter and Saturn (KeplerEphemerisTest).
+ * Outside that range {@link #covers} is false and callers fall back to the
+ * analytic engine.
+ */
+public class KeplerEphemeris implements EphemerisEngine {
+
+    /** 1800-01-01 00:00 UT */
+    public static final double START_JD = 2378496.5;
+    /** 2050-01-01 00:00 UT */
+    public static final double END_JD = 2469807.5;
+
+    // Kepler orbit index by body ordinal (-1: Sun and Moon)
+    private static final int[] ORBIT = new int[Body.COUNT];
+
+    static {
+        for (Body body : Body.ALL) {
+            ORBIT[body.ordinal()] = switch (body) {
+                case SUN, MOON -> -1;
+                case MERCURY -> KeplerOrbits.MERCURY;
+                case VENUS -> KeplerOrbits.VENUS;
+                case MARS -> KeplerOrbits.MARS;
+                case JUPITER -> KeplerOrbits.JUPITER;
+                case SATURN -> KeplerOrbits.SATURN;
+                case URANUS -> KeplerOrbits.URANUS;
+                case NEPTUNE -> KeplerOrbits.NEPTUNE;
+                case PLUTO -> KeplerOrbits.PLUTO;
+            };
+        }
+    }
+
+    // Per-thread solver state, Earth state and {longitude, speed}
+    private static final ThreadLocal<KeplerOrbits.State> STATE = ThreadLocal.withInitial(KeplerOrbits.State::new);
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[8]);
+
+    @Override
+    public boolean covers(double julianDay) {
+        return julianDay >= START_JD && julianDay <= END_JD;
+    }
+
+    @Override
+    public double calculateLongitude(Body body, double julianDay) {
+        PlanetVector vector = new PlanetVector();
+        calculatePositions(julianDay, vector);
+        return vector.getLongitude(body);
+    }
+
+    @Override
+    public double calculateSpeed(Body body, double julianDay) {
+        PlanetVector vector = new PlanetVector();
+        calculatePositions(julianDay, vector);
+        return vector.getSpeed(body);
+    }
+
+    /**
+     * Calculate all bodies from a single solve of every orbit
+     */
+    @Override
+    public void calculatePositions(double julianDay, PlanetVector out) {
+        double T = JulianDate.toJulianCenturies(julianDay);
+        KeplerOrbits.State state = STATE.get();
+        KeplerOrbits.solve(T, 0, KeplerOrbits.COUNT, state);
+
+        int emb = KeplerOrbits.EARTH_MOON_BARYCENTER;
+        double[] scratch = SCRATCH.get();
+        scratch[0] = state.x[emb];
+        scratch[1] = state.y[emb];
+        scratch[2] = state.z[emb];
+        scratch[3] = state.vx[emb];
+        scratch[4] = state.vy[emb];
+        scratch[5] = state.vz[emb];
+
+        // Sun: the Earth's heliocentric vector reversed
+        double x = scratch[0];
+        double y = scratch[1];
+        double sunRate = (x * scratch[4] - y * scratch[3]) / (x * x + y * y);
+        out.setLongitude(Body.SUN, AstroMath.normalize360(
+            Math.toDegrees(AstroMath.atan2(-y, -x)) + KeplerOrbits.precession(T)));
+        out.setSpeed(Body.SUN, Math.toDegrees(sunRate) + KeplerOrbits.precessionRate(T));
+
+        LunarSeries.calculate(T, out);
+
+        for (Body body : Body.ALL) {
+            int orbit = ORBIT[body.ordinal()];
+            if (orbit < 0) {
+                continue;
+            }
+            KeplerOrbits.geocentric(state, orbit, T, scratch, scratch, 6);
+            out.setLongitude(body, scratch[6]);
+            out.setSpeed(body, scratch[7]);
+        }
+        out.setSpeedsKnown(true);
+    }
+
+    /**
+     * Elements are good to arc minutes: reported as the FAST tier
+     */
+    @Override
+    public PrecisionTier getPrecision() {
+        return PrecisionTier.FAST;
+    }
+}
@@ -0,0 +1,231 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Keplerian orbits from JPL's approximate elements (Standish, "Keplerian Elements
+ * for Approximate Positions of the Major Planets", Table 1, valid 1800-2050)
+ *
+ * Elements are kept structure-of-arrays and every orbit goes through the same
+ * fixed number of Newton steps on Kepler's equation, so solving all nine orbits
+ * costs the same on every call. Output is heliocentric, ecliptic and equinox J2000.
+ */
+final class KeplerOrbits {
+
+    static final int MERCURY = 0;
+    static final int VENUS = 1;
+    static final int EARTH_MOON_BARYCENTER = 2;
+    static final int MARS = 3;
+    static final int JUPITER = 4;
+    static final int SATURN = 5;
+    static final int URANUS = 6;
+    static final int NEPTUNE = 7;
+    static final int PLUTO = 8;
+    static final int COUNT = 9;
+
+    /**
+     * Newton steps after the second-order starting guess
+     * The start is within e^3 of the root; three quadratic steps reach 1e-15 rad for e <= 0.25
+     */
+    static final int NEWTON_STEPS = 3;
+
+    private static final double DEGREES_PER_CENTURY_TO_RADIANS_PER_DAY = Math.PI / 180.0 / 36525.0;
+    private static final double LIGHT_TIME_DAYS_PER_AU = 0.0057755183;
+    private static final double GAUSSIAN_GRAVITY_SQUARED = 0.01720209895 * 0.01720209895; // au^3/day^2
+
+    // a (au), e, I, L, long. perihelion, long. node (degrees) at J2000 and rates per Julian century
+    private static final double[] A = {0.38709927, 0.72333566, 1.00000261, 1.52371034, 5.20288700, 9.53667594, 19.18916464, 30.06992276, 39.48211675};
+    private static final double[] A_RATE = {0.00000037, 0.00000390, 0.00000562, 0.00001847, -0.00011607, -0.00125060, -0.00196176, 0.00026291, -0.00031596};
+    private static final double[] E = {0.20563593, 0.00677672, 0.01671123, 0.09339410, 0.04838624, 0.05386179, 0.04725744, 0.00859048, 0.24882730};
+    private static final double[] E_RATE = {0.00001906, -0.00004107, -0.00004392, 0.00007882, -0.00013253, -0.00050991, -0.00004397, 0.00005105, 0.00005170};
+    private static final double[] I = {7.00497902, 3.39467605, -0.00001531, 1.84969142, 1.30439695, 2.48599187, 0.77263783, 1.77004347, 17.14001206};
+    private static final double[] I_RATE = {-0.00594749, -0.00078890, -0.01294668, -0.00813131, -0.00183714, 0.00193609, -0.00242939, 0.00035372, 0.00004818};
+    private static final double[] L = {252.25032350, 181.97909950, 100.46457166, -4.55343205, 34.39644051, 49.95424423, 313.23810451, -55.12002969, 238.92903833};
+    private static final double[] L_RATE = {149472.67411175, 58517.81538729, 35999.37244981, 19140.30268499, 3034.74612775, 1222.49362201, 428.48202785, 218.45945325, 145.20780515};
+    private static final double[] PERIHELION = {77.45779628, 131.60246718, 102.93768193, -23.94362959, 14.72847983, 92.59887831, 170.95427630, 44.96476227, 224.06891629};
+    private static final double[] PERIHELION_RATE = {0.16047689, 0.00268329, 0.32327364, 0.44441088, 0.21252668, -0.41897216, 0.40805281, -0.32241464, -0.04062942};
+    private static final double[] NODE = {48.33076593, 76.67984255, 0.0, 49.55953891, 100.47390909, 113.66242448, 74.01692503, 131.78422574, 110.30393684};
+    private static final double[] NODE_RATE = {-0.12534081, -0.27769418, 0.0, -0.29257343, 0.20469106, -0.28867794, 0.04240589, -0.00508664, -0.01183482};
+
+    private static final ThreadLocal<State> SCRATCH = ThreadLocal.withInitial(State::new);
+    private static final ThreadLocal<double[]> EARTH_SCRATCH = ThreadLocal.withInitial(() -> new double[6]);
+
+    private KeplerOrbits() {
+    }
+
+    /**
+     * Heliocentric states of a range of orbits, ecliptic J2000
+     * Positions in au, velocities in au/day
+     */
+    static final class State {
+        final double[] x = new double[COUNT];
+        final double[] y = new double[COUNT];
+        final double[] z = new double[COUNT];
+        final double[] vx = new double[COUNT];
+        final double[] vy = new double[COUNT];
+        final double[] vz = new double[COUNT];
+
+        // Solver arrays: mean anomaly, eccentricity, eccentric anomaly (radians)
+        final double[] meanAnomaly = new double[COUNT];
+        final double[] eccentricity = new double[COUNT];
+        final double[] eccentricAnomaly = new double[COUNT];
+    }
+
+    /**
+     * Solve orbits [from, to) at T
+     *
+     * @param T Julian centuries from J2000 (TT; UT is within the elements' accuracy)
+     */
+    static void solve(double T, int from, int to, State s) {
+        double[] M = s.meanAnomaly;
+        double[] e = s.eccentricity;
+        double[] ea = s.eccentricAnomaly;
+
+        for (int i = from; i < to; i++) {
+            e[i] = E[i] + E_RATE[i] * T;
+            double meanAnomaly = AstroMath.normalize360(L[i] + L_RATE[i] * T - (PERIHELION[i] + PERIHELION_RATE[i] * T));
+            M[i] = Math.toRadians(meanAnomaly > 180.0 ? meanAnomaly - 360.0 : meanAnomaly);
+        }
+
+        // Warm start: second-order series E = M + e sin M (1 + e cos M)
+        for (int i = from; i < to; i++) {
+            double sinM = AstroMath.sin(M[i]);
+            double cosM = AstroMath.cos(M[i]);
+            ea[i] = M[i] + e[i] * sinM * (1.0 + e[i] * cosM);
+        }
+
+        // Fixed Newton steps on E - e sin E - M = 0, every orbit in lockstep
+        for (int step = 0; step < NEWTON_STEPS; step++) {
+            for (int i = from; i < to; i++) {
+                double E0 = ea[i];
+                ea[i] = E0 - (E0 - e[i] * AstroMath.sin(E0) - M[i]) / (1.0 - e[i] * AstroMath.cos(E0));
+            }
+        }
+
+        for (int i = from; i < to; i++) {
+            double a = A[i] + A_RATE[i] * T;
+            double ecc = e[i];
+            double sinE = AstroMath.sin(ea[i]);
+            double cosE = AstroMath.cos(ea[i]);
+            double root = Math.sqrt(1.0 - ecc * ecc);
+
+            // Orbital plane, x toward perihelion
+            double xp = a * (cosE - ecc);
+            double yp = a * root * sinE;
+            double meanMotion = (L_RATE[i] - PERIHELION_RATE[i]) * DEGREES_PER_CENTURY_TO_RADIANS_PER_DAY;
+            double eDot = meanMotion / (1.0 - ecc * cosE);
+            double vxp = -a * sinE * eDot;
+            double vyp = a * root * cosE * eDot;
+
+            double node = Math.toRadians(NODE[i] + NODE_RATE[i] * T);
+            double perihelion = Math.toRadians(PERIHELION[i] + PERIHELION_RATE[i] * T);
+            double inclination = Math.toRadians(I[i] + I_RATE[i] * T);
+            double argument = perihelion - node;
+            double cosW = AstroMath.cos(argument);
+            double sinW = AstroMath.sin(argument);
+            double cosO = AstroMath.cos(node);
+            double sinO = AstroMath.sin(node);
+            double cosI = AstroMath.cos(inclination);
+            double sinI = AstroMath.sin(inclination);
+
+            double xx = cosW * cosO - sinW * sinO * cosI;
+            double xy = -sinW * cosO - cosW * sinO * cosI;
+            double yx = cosW * sinO + sinW * cosO * cosI;
+            double yy = -sinW * sinO + cosW * cosO * cosI;
+            double zx = sinW * sinI;
+            double zy = cosW * sinI;
+
+            s.x[i] = xx * xp + xy * yp;
+            s.y[i] = yx * xp + yy * yp;
+            s.z[i] = zx * xp + zy * yp;
+            s.vx[i] = xx * vxp + xy * vyp;
+            s.vy[i] = yx * vxp + yy * vyp;
+            s.vz[i] = zx * vxp + zy * vyp;
+        }
+    }
+
+    /**
+     * Geocentric longitude (mean equinox of date) and daily motion of a solved orbit
+     *
+     * The planet is moved back along its velocity by the light time, which at
+     * these speeds matches a second solve at the retarded time.
+     *
+     * @param earth Earth's heliocentric J2000 ecliptic state {x, y, z, vx, vy, vz} (au, au/day)
+     * @param out Receives the longitude (degrees, 0-360) at out[offset] and the speed (degrees/day) at out[offset + 1]
+     */
+    static void geocentric(State s, int orbit, double T, double[] earth, double[] out, int offset) {
+        double px = s.x[orbit];
+        double py = s.y[orbit];
+        double pz = s.z[orbit];
+        double vx = s.vx[orbit];
+        double vy = s.vy[orbit];
+        double dx = px - earth[0];
+        double dy = py - earth[1];
+        double dz = pz - earth[2];
+        double dvx = vx - earth[3];
+        double dvy = vy - earth[4];
+        double dvz = s.vz[orbit] - earth[5];
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        double lightTime = LIGHT_TIME_DAYS_PER_AU * distance;
+        double lightTimeRate = LIGHT_TIME_DAYS_PER_AU * (dx * dvx + dy * dvy + dz * dvz) / distance;
+
+        // Retarded vector d - v*lt and its derivative d' - a*lt - v*lt' (a: solar gravity)
+        double r = Math.sqrt(px * px + py * py + pz * pz);
+        double gravity = GAUSSIAN_GRAVITY_SQUARED / (r * r * r) * lightTime;
+        dx -= vx * lightTime;
+        dy -= vy * lightTime;
+        dvx += px * gravity - vx * lightTimeRate;
+        dvy += py * gravity - vy * lightTimeRate;
+
+        double rate = (dx * dvy - dy * dvx) / (dx * dx + dy * dy);
+
+        out[offset] = AstroMath.normalize360(Math.toDegrees(AstroMath.atan2(dy, dx)) + precession(T));
+        out[offset + 1] = Math.toDegrees(rate) + precessionRate(T);
+    }
+
+    /**
+     * Geocentric longitude and daily motion of one orbit, Earth given in the ecliptic of date
+     * Lets series engines (VSOP87D, of date) place a body they do not model, such as Pluto
+     *
+     * @param earth Earth's heliocentric state of date {x, y, z, vx, vy, vz} (au, au/day)
+     * @param out Receives the longitude (degrees, 0-360) at out[offset] and the speed (degrees/day) at out[offset + 1]
+     */
+    static void geocentricFromEarthOfDate(int orbit, double T, double[] earth, double[] out, int offset) {
+        State s = SCRATCH.get();
+        solve(T, orbit, orbit + 1, s);
+
+        // Rotate the Earth back to the J2000 equinox
+        double p = Math.toRadians(precession(T));
+        double cosP = Math.cos(p);
+        double sinP = Math.sin(p);
+        double[] earthJ2000 = EARTH_SCRATCH.get();
+        earthJ2000[0] = earth[0] * cosP + earth[1] * sinP;
+        earthJ2000[1] = -earth[0] * sinP + earth[1] * cosP;
+        earthJ2000[2] = earth[2];
+        earthJ2000[3] = earth[3] * cosP + earth[4] * sinP;
+        earthJ2000[4] = -earth[3] * sinP + earth[4] * cosP;
+        earthJ2000[5] = earth[5];
+        geocentric(s, orbit, T, earthJ2000, out, offset);
+    }
+
+    /**
+     * Kepler residual E - e sin E - M of a solved orbit (radians)
+     */
+    static double residual(State s, int orbit) {
+        double E0 = s.eccentricAnomaly[orbit];
+        return E0 - s.eccentricity[orbit] * Math.sin(E0) - s.meanAnomaly[orbit];
+    }
+
+    /**
+     * General precession in longitude from J2000 to the equinox of date (degrees, IAU 1976)
+     * Adding it moves a J2000 ecliptic longitude to the mean equinox of date, as used by VSOP87D
+     */
+    static double precession(double T) {
+        return (5029.0966 * T + 1.11113 * T * T) / 3600.0;
+    }
+
+    /**
+     * Rate of {@link #precession} (degrees per day)
+     */
+    static double precessionRate(double T) {
+        return (5029.0966 + 2.0 * 1.11113 * T) / 3600.0 / 36525.0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Koch (birthplace) houses: the diurnal semi-arc of the MC degree trisected in oblique ascension
+ *
+ * With AD the ascensional difference of the MC degree, the MC rises at OA = RAMC − AD and
+ * cusps 11, 12, 1 follow at thirds of its semi-arc 90° + AD; cusps 2, 3 trisect the way
+ * on to the IC (OA = RAMC + 180° + AD). Every cusp uses the pole of the birthplace:
+ *
+ *   cusp 11: OA = RAMC +  30 − 2·AD/3    cusp 2: OA = RAMC + 120 + AD/3
+ *   cusp 12: OA = RAMC +  60 − AD/3      cusp 3: OA = RAMC + 150 + 2·AD/3
+ *
+ * Where the MC degree is circumpolar (beyond about ±66.5°) there is no semi-arc and the
+ * chart falls back to Equal houses with QUADRANT_FALLBACK_EQUAL_HIGH_LAT.
+ */
+@Service
+public class KochHouseSystem implements HouseSystem {
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.KOCH;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        double sinAd = QuadrantHouses.sinAscensionalDifference(mc, context);
+        if (!(Math.abs(sinAd) < 1.0)) {
+            warnings.add(ChartWarning.QUADRANT_FALLBACK_EQUAL_HIGH_LAT);
+            return EqualHouseSystem.cusps(asc);
+        }
+        double third = AstroMath.toDegrees(Math.asin(sinAd)) / 3.0;
+        double ramc = context.getLst();
+        double tanLatitude = context.getTanLatitude();
+
+        return QuadrantHouses.cusps(asc, mc,
+            QuadrantHouses.eclipticLongitude(ramc + 30.0 - 2.0 * third, tanLatitude, context),
+            QuadrantHouses.eclipticLongitude(ramc + 60.0 - third, tanLatitude, context),
+            QuadrantHouses.eclipticLongitude(ramc + 120.0 + third, tanLatitude, context),
+            QuadrantHouses.eclipticLongitude(ramc + 150.0 + 2.0 * third, tanLatitude, context));
+    }
+}
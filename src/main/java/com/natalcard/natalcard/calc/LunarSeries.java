@@ -0,0 +1,442 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Geocentric Moon from the Meeus chapter 47 series (abridged ELP-2000/82)
+ *
+ * Longitude and latitude are referred to the mean equinox of date (no nutation),
+ * accurate to about 10" in longitude and 4" in latitude.
+ *
+ * Only the four fundamental arguments D, M, M' and F go through Math.sin; their
+ * cosines come from the quadrant and a square root, and every multiple k*x is
+ * built with angle-addition recurrences. Each periodic term then costs a few
+ * multiplications instead of a transcendental call.
+ */
+public final class LunarSeries {
+
+    // Range of multiples in the tables
+    private static final int D_MAX = 4;
+    private static final int M_MAX = 2;
+    private static final int M_PRIME_MAX = 4;
+    private static final int F_MAX = 3;
+
+    // Scratch layout: sin/cos of k*x for k = -max..max, one block per argument
+    private static final int D_OFFSET = D_MAX;
+    private static final int M_OFFSET = D_OFFSET + D_MAX + 1 + M_MAX;
+    private static final int M_PRIME_OFFSET = M_OFFSET + M_MAX + 1 + M_PRIME_MAX;
+    private static final int F_OFFSET = M_PRIME_OFFSET + M_PRIME_MAX + 1 + F_MAX;
+    private static final int SCRATCH_SIZE = F_OFFSET + F_MAX + 1;
+
+    // Linear rates of the fundamental arguments (degrees per Julian century)
+    private static final double MEAN_LONGITUDE_RATE = 481267.88123421;
+    private static final double D_RATE = 445267.1114034;
+    private static final double M_RATE = 35999.0502909;
+    private static final double M_PRIME_RATE = 477198.8675055;
+    private static final double F_RATE = 483202.0175233;
+
+    private static final ThreadLocal<double[][]> SCRATCH =
+        ThreadLocal.withInitial(() -> new double[][]{new double[SCRATCH_SIZE], new double[SCRATCH_SIZE]});
+
+    // Table 47.A: D, M, M', F, longitude (1e-6 deg), distance (1e-3 km)
+    private static final int[] LONGITUDE_DISTANCE_TERMS = {
+        0, 0, 1, 0, 6288774, -20905355,
+        2, 0, -1, 0, 1274027, -3699111,
+        2, 0, 0, 0, 658314, -2955968,
+        0, 0, 2, 0, 213618, -569925,
+        0, 1, 0, 0, -185116, 48888,
+        0, 0, 0, 2, -114332, -3149,
+        2, 0, -2, 0, 58793, 246158,
+        2, -1, -1, 0, 57066, -152138,
+        2, 0, 1, 0, 53322, -170733,
+        2, -1, 0, 0, 45758, -204586,
+        0, 1, -1, 0, -40923, -129620,
+        1, 0, 0, 0, -34720, 108743,
+        0, 1, 1, 0, -30383, 104755,
+        2, 0, 0, -2, 15327, 10321,
+        0, 0, 1, 2, -12528, 0,
+        0, 0, 1, -2, 10980, 79661,
+        4, 0, -1, 0, 10675, -34782,
+        0, 0, 3, 0, 10034, -23210,
+        4, 0, -2, 0, 8548, -21636,
+        2, 1, -1, 0, -7888, 24208,
+        2, 1, 0, 0, -6766, 30824,
+        1, 0, -1, 0, -5163, -8379,
+        1, 1, 0, 0, 4987, -16675,
+        2, -1, 1, 0, 4036, -12831,
+        2, 0, 2, 0, 3994, -10445,
+        4, 0, 0, 0, 3861, -11650,
+        2, 0, -3, 0, 3665, 14403,
+        0, 1, -2, 0, -2689, -7003,
+        2, 0, -1, 2, -2602, 0,
+        2, -1, -2, 0, 2390, 10056,
+        1, 0, 1, 0, -2348, 6322,
+        2, -2, 0, 0, 2236, -9884,
+        0, 1, 2, 0, -2120, 5751,
+        0, 2, 0, 0, -2069, 0,
+        2, -2, -1, 0, 2048, -4950,
+        2, 0, 1, -2, -1773, 4130,
+        2, 0, 0, 2, -1595, 0,
+        4, -1, -1, 0, 1215, -3958,
+        0, 0, 2, 2, -1110, 0,
+        3, 0, -1, 0, -892, 3258,
+        2, 1, 1, 0, -810, 2616,
+        4, -1, -2, 0, 759, -1897,
+        0, 2, -1, 0, -713, -2117,
+        2, 2, -1, 0, -700, 2354,
+        2, 1, -2, 0, 691, 0,
+        2, -1, 0, -2, 596, 0,
+        4, 0, 1, 0, 549, -1423,
+        0, 0, 4, 0, 537, -1117,
+        4, -1, 0, 0, 520, -1571,
+        1, 0, -2, 0, -487, -1739,
+        2, 1, 0, -2, -399, 0,
+        0, 0, 2, -2, -381, -4421,
+        1, 1, 1, 0, 351, 0,
+        3, 0, -2, 0, -340, 0,
+        4, 0, -3, 0, 330, 0,
+        2, -1, 2, 0, 327, 0,
+        0, 2, 1, 0, -323, 1165,
+        1, 1, -1, 0, 299, 0,
+        2, 0, 3, 0, 294, 0,
+        2, 0, -1, -2, 0, 8752
+    };
+
+    // Table 47.B: D, M, M', F, latitude (1e-6 deg)
+    private static final int[] LATITUDE_TERMS = {
+        0, 0, 0, 1, 5128122,
+        0, 0, 1, 1, 280602,
+        0, 0, 1, -1, 277693,
+        2, 0, 0, -1, 173237,
+        2, 0, -1, 1, 55413,
+        2, 0, -1, -1, 46271,
+        2, 0, 0, 1, 32573,
+        0, 0, 2, 1, 17198,
+        2, 0, 1, -1, 9266,
+        0, 0, 2, -1, 8822,
+        2, -1, 0, -1, 8216,
+        2, 0, -2, -1, 4324,
+        2, 0, 1, 1, 4200,
+        2, 1, 0, -1, -3359,
+        2, -1, -1, 1, 2463,
+        2, -1, 0, 1, 2211,
+        2, -1, -1, -1, 2065,
+        0, 1, -1, -1, -1870,
+        4, 0, -1, -1, 1828,
+        0, 1, 0, 1, -1794,
+        0, 0, 0, 3, -1749,
+        0, 1, -1, 1, -1565,
+        1, 0, 0, 1, -1491,
+        0, 1, 1, 1, -1475,
+        0, 1, 1, -1, -1410,
+        0, 1, 0, -1, -1344,
+        1, 0, 0, -1, -1335,
+        0, 0, 3, 1, 1107,
+        4, 0, 0, -1, 1021,
+        4, 0, -1, 1, 833,
+        0, 0, 1, -3, 777,
+        4, 0, -2, 1, 671,
+        2, 0, 0, -3, 607,
+        2, 0, 2, -1, 596,
+        2, -1, 1, -1, 491,
+        2, 0, -2, 1, -451,
+        0, 0, 3, -1, 439,
+        2, 0, 2, 1, 422,
+        2, 0, -3, -1, 421,
+        2, 1, -1, 1, -366,
+        2, 1, 0, 1, -351,
+        4, 0, 0, 1, 331,
+        2, -1, 1, 1, 315,
+        2, -2, 0, -1, 302,
+        0, 0, 1, 3, -283,
+        2, 1, 1, -1, -229,
+        1, 1, 0, -1, 223,
+        1, 1, 0, 1, 223,
+        0, 1, -2, -1, -220,
+        2, 1, -1, -1, -220,
+        1, 0, 1, 1, -185,
+        2, -1, -2, -1, 181,
+        0, 1, 2, 1, -177,
+        4, 0, -2, -1, 176,
+        4, -1, -1, -1, 166,
+        1, 0, 1, -1, -164,
+        4, 0, 1, -1, 132,
+        1, 0, -1, -1, -119,
+        4, -1, 0, -1, 115,
+        2, -2, 0, 1, 107
+    };
+
+    // Rate of each table 47.A argument (radians per Julian century)
+    private static final double[] LONGITUDE_ARGUMENT_RATES = new double[LONGITUDE_DISTANCE_TERMS.length / 6];
+
+    static {
+        int[] t = LONGITUDE_DISTANCE_TERMS;
+        for (int i = 0; i < t.length; i += 6) {
+            LONGITUDE_ARGUMENT_RATES[i / 6] = Math.toRadians(
+                t[i] * D_RATE + t[i + 1] * M_RATE + t[i + 2] * M_PRIME_RATE + t[i + 3] * F_RATE);
+        }
+    }
+
+    private LunarSeries() {
+    }
+
+    /**
+     * Geocentric ecliptic longitude of the Moon
+     *
+     * @param T Julian centuries from J2000
+     * @return Longitude in degrees (0-360), mean equinox of date
+     */
+    public static double longitude(double T) {
+        return longitude(T,
+            FundamentalArguments.moonMeanLongitude(T),
+            FundamentalArguments.meanElongation(T),
+            FundamentalArguments.sunMeanAnomaly(T),
+            FundamentalArguments.moonMeanAnomaly(T),
+            FundamentalArguments.moonArgumentOfLatitude(T));
+    }
+
+    /**
+     * Geocentric ecliptic longitude of the Moon from the arguments already in a chart context
+     */
+    public static double longitude(ChartContext context) {
+        return longitude(context.getJulianCenturies(),
+            context.getMoonMeanLongitude(),
+            context.getMeanElongation(),
+            context.getSunMeanAnomaly(),
+            context.getMoonMeanAnomaly(),
+            context.getMoonArgumentOfLatitude());
+    }
+
+    private static double longitude(double T, double meanLongitude, double D, double M, double MPrime, double F) {
+        double[][] scratch = SCRATCH.get();
+        prepare(T, D, M, MPrime, F, scratch[0], scratch[1]);
+        return AstroMath.normalize360(meanLongitude + sumLongitude(T, meanLongitude, F, scratch[0], scratch[1]) / 1e6);
+    }
+
+    /**
+     * Longitude and daily motion of the Moon into a planet vector
+     *
+     * The speed is the analytic derivative of the same series: each term's
+     * cosine comes from the angle additions already used for its sine.
+     *
+     * @param T Julian centuries from J2000
+     * @param out Receives the MOON longitude (deg) and speed (deg/day)
+     */
+    public static void calculate(double T, PlanetVector out) {
+        calculate(T,
+            FundamentalArguments.moonMeanLongitude(T),
+            FundamentalArguments.meanElongation(T),
+            FundamentalArguments.sunMeanAnomaly(T),
+            FundamentalArguments.moonMeanAnomaly(T),
+            FundamentalArguments.moonArgumentOfLatitude(T),
+            out);
+    }
+
+    /**
+     * Longitude and daily motion of the Moon from the arguments in a chart context
+     */
+    public static void calculate(ChartContext context, PlanetVector out) {
+        calculate(context.getJulianCenturies(),
+            context.getMoonMeanLongitude(),
+            context.getMeanElongation(),
+            context.getSunMeanAnomaly(),
+            context.getMoonMeanAnomaly(),
+            context.getMoonArgumentOfLatitude(),
+            out);
+    }
+
+    private static void calculate(double T, double meanLongitude, double D, double M, double MPrime, double F,
+                                  PlanetVector out) {
+        double[][] scratch = SCRATCH.get();
+        double[] sin = scratch[0];
+        double[] cos = scratch[1];
+        prepare(T, D, M, MPrime, F, sin, cos);
+
+        double longitude = meanLongitude + sumLongitude(T, meanLongitude, F, sin, cos) / 1e6;
+        double ratePerCentury = MEAN_LONGITUDE_RATE - 2 * 0.0015786 * T
+                              + sumLongitudeRate(T, meanLongitude, F, sin, cos) / 1e6;
+        out.setLongitude(Body.MOON, AstroMath.normalize360(longitude));
+        out.setSpeed(Body.MOON, ratePerCentury / 36525.0);
+    }
+
+    /**
+     * Geocentric ecliptic position of the Moon
+     *
+     * @param T Julian centuries from J2000
+     * @param out Receives longitude (deg, 0-360), latitude (deg) and distance (km)
+     */
+    public static void position(double T, double[] out) {
+        double[][] scratch = SCRATCH.get();
+        double[] sin = scratch[0];
+        double[] cos = scratch[1];
+        double meanLongitude = FundamentalArguments.moonMeanLongitude(T);
+        double F = FundamentalArguments.moonArgumentOfLatitude(T);
+        prepare(T, FundamentalArguments.meanElongation(T), FundamentalArguments.sunMeanAnomaly(T),
+            FundamentalArguments.moonMeanAnomaly(T), F, sin, cos);
+
+        out[0] = AstroMath.normalize360(meanLongitude + sumLongitude(T, meanLongitude, F, sin, cos) / 1e6);
+        out[1] = sumLatitude(T, meanLongitude, sin, cos) / 1e6;
+        out[2] = 385000.56 + sumDistance(sin, cos) / 1e3;
+    }
+
+    /**
+     * Fill the multiple-angle tables for D, M, M' and F
+     * Multiples of M carry the eccentricity factor E^|k| of the Earth's orbit
+     */
+    private static void prepare(double T, double D, double M, double MPrime, double F,
+                                double[] sin, double[] cos) {
+        double E = 1.0 - 0.002516 * T - 0.0000074 * T * T;
+
+        fillMultiples(D, D_OFFSET, D_MAX, 1.0, sin, cos);
+        fillMultiples(M, M_OFFSET, M_MAX, E, sin, cos);
+        fillMultiples(MPrime, M_PRIME_OFFSET, M_PRIME_MAX, 1.0, sin, cos);
+        fillMultiples(F, F_OFFSET, F_MAX, 1.0, sin, cos);
+    }
+
+    /**
+     * sin/cos of k*x for k = -max..max at offset + k, scaled by factor^|k|
+     * One Math.sin per argument; the rest are angle-addition recurrences
+     */
+    private static void fillMultiples(double degrees, int offset, int max, double factor,
+                                      double[] sin, double[] cos) {
+        double s = sinDegrees(degrees);
+        double c = cosFromSin(degrees, s);
+
+        sin[offset] = 0.0;
+        cos[offset] = 1.0;
+        double sk = 0.0;
+        double ck = 1.0;
+        double scale = 1.0;
+        for (int k = 1; k <= max; k++) {
+            double next = sk * c + ck * s;
+            ck = ck * c - sk * s;
+            sk = next;
+            scale *= factor;
+            sin[offset + k] = sk * scale;
+            cos[offset + k] = ck * scale;
+            sin[offset - k] = -sk * scale;
+            cos[offset - k] = ck * scale;
+        }
+    }
+
+    private static double sumLongitude(double T, double meanLongitude, double F, double[] sin, double[] cos) {
+        double sum = 0.0;
+        int[] t = LONGITUDE_DISTANCE_TERMS;
+        for (int i = 0; i < t.length; i += 6) {
+            if (t[i + 4] != 0) {
+                sum += t[i + 4] * sinOfArgument(t, i, sin, cos);
+            }
+        }
+
+        // Venus (A1), Jupiter (A2) and flattening of the Earth
+        double A1 = 119.75 + 131.849 * T;
+        double A2 = 53.09 + 479264.290 * T;
+        sum += 3958 * sinDegrees(A1)
+             + 1962 * sinDegrees(meanLongitude - F)
+             + 318 * sinDegrees(A2);
+        return sum;
+    }
+
+    /**
+     * d(sum of longitude terms)/dT in 1e-6 degrees per Julian century
+     * E and the quadratic parts of the arguments are treated as constant
+     */
+    private static double sumLongitudeRate(double T, double meanLongitude, double F, double[] sin, double[] cos) {
+        double sum = 0.0;
+        int[] t = LONGITUDE_DISTANCE_TERMS;
+        for (int i = 0; i < t.length; i += 6) {
+            if (t[i + 4] != 0) {
+                sum += t[i + 4] * cosOfArgument(t, i, sin, cos) * LONGITUDE_ARGUMENT_RATES[i / 6];
+            }
+        }
+
+        double A1 = 119.75 + 131.849 * T;
+        double A2 = 53.09 + 479264.290 * T;
+        double nodeDistance = meanLongitude - F;
+        sum += 3958 * cosFromSin(A1, sinDegrees(A1)) * Math.toRadians(131.849)
+             + 1962 * cosFromSin(nodeDistance, sinDegrees(nodeDistance)) * Math.toRadians(MEAN_LONGITUDE_RATE - F_RATE)
+             + 318 * cosFromSin(A2, sinDegrees(A2)) * Math.toRadians(479264.290);
+        return sum;
+    }
+
+    private static double sumDistance(double[] sin, double[] cos) {
+        double sum = 0.0;
+        int[] t = LONGITUDE_DISTANCE_TERMS;
+        for (int i = 0; i < t.length; i += 6) {
+            if (t[i + 5] != 0) {
+                sum += t[i + 5] * cosOfArgument(t, i, sin, cos);
+            }
+        }
+        return sum;
+    }
+
+    private static double sumLatitude(double T, double meanLongitude, double[] sin, double[] cos) {
+        double sum = 0.0;
+        int[] t = LATITUDE_TERMS;
+        for (int i = 0; i < t.length; i += 5) {
+            sum += t[i + 4] * sinOfArgument(t, i, sin, cos);
+        }
+
+        double A1 = 119.75 + 131.849 * T;
+        double A3 = 313.45 + 481266.484 * T;
+        double sinA1 = sinDegrees(A1);
+        double cosA1 = cosFromSin(A1, sinA1);
+        double sinL = sinDegrees(meanLongitude);
+        double cosL = cosFromSin(meanLongitude, sinL);
+        double sinF = sin[F_OFFSET + 1];
+        double cosF = cos[F_OFFSET + 1];
+        double sinMPrime = sin[M_PRIME_OFFSET + 1];
+        double cosMPrime = cos[M_PRIME_OFFSET + 1];
+
+        sum += -2235 * sinL
+             + 382 * sinDegrees(A3)
+             + 175 * (sinA1 * cosF - cosA1 * sinF)                 // A1 - F
+             + 175 * (sinA1 * cosF + cosA1 * sinF)                 // A1 + F
+             + 127 * (sinL * cosMPrime - cosL * sinMPrime)         // L' - M'
+             - 115 * (sinL * cosMPrime + cosL * sinMPrime);        // L' + M'
+        return sum;
+    }
+
+    /**
+     * sin(dD + mM + m'M' + fF) for the term at index i, by angle addition
+     */
+    private static double sinOfArgument(int[] t, int i, double[] sin, double[] cos) {
+        int d = D_OFFSET + t[i];
+        int m = M_OFFSET + t[i + 1];
+        int mp = M_PRIME_OFFSET + t[i + 2];
+        int f = F_OFFSET + t[i + 3];
+
+        double s = sin[d] * cos[m] + cos[d] * sin[m];
+        double c = cos[d] * cos[m] - sin[d] * sin[m];
+        double s2 = s * cos[mp] + c * sin[mp];
+        double c2 = c * cos[mp] - s * sin[mp];
+        return s2 * cos[f] + c2 * sin[f];
+    }
+
+    /**
+     * cos(dD + mM + m'M' + fF) for the term at index i, by angle addition
+     */
+    private static double cosOfArgument(int[] t, int i, double[] sin, double[] cos) {
+        int d = D_OFFSET + t[i];
+        int m = M_OFFSET + t[i + 1];
+        int mp = M_PRIME_OFFSET + t[i + 2];
+        int f = F_OFFSET + t[i + 3];
+
+        double s = sin[d] * cos[m] + cos[d] * sin[m];
+        double c = cos[d] * cos[m] - sin[d] * sin[m];
+        double s2 = s * cos[mp] + c * sin[mp];
+        double c2 = c * cos[mp] - s * sin[mp];
+        return c2 * cos[f] - s2 * sin[f];
+    }
+
+    private static double sinDegrees(double degrees) {
+        return AstroMath.sin(Math.toRadians(AstroMath.normalize360(degrees)));
+    }
+
+    /**
+     * Cosine from a known sine: sign from the quadrant, magnitude from sqrt(1 - sin^2)
+     */
+    private static double cosFromSin(double degrees, double sin) {
+        double magnitude = Math.sqrt((1.0 - sin) * (1.0 + sin));
+        double normalized = AstroMath.normalize360(degrees);
+        return normalized < 90.0 || normalized > 270.0 ? magnitude : -magnitude;
+    }
+}
@@ -0,0 +1,26 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Implementation behind the AstroMath trigonometry and angle normalization
+ *
+ * - JDK: java.lang.Math intrinsics and the % based normalize (default)
+ * - FAST: {@link FastMath} tables and polynomials, errors documented there
+ */
+public enum MathMode {
+    JDK,
+    FAST;
+
+    /**
+     * Parse a mode name (case-insensitive)
+     *
+     * @throws IllegalArgumentException if the name is not a known mode
+     */
+    public static MathMode parse(String value) {
+        for (MathMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported math mode: " + value + " (expected JDK or FAST)");
+    }
+}
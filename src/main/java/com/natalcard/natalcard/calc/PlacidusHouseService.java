@@ -1,109 +1,247 @@
 package com.natalcard.natalcard.calc;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
+import lombok.Getter;
 
-import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Calculate Placidus houses using numerical methods
+ * Calculate Placidus houses by iterating the semi-arc condition
+ *
+ * A Placidus cusp is the ecliptic point whose hour angle is a fixed fraction of
+ * its own semi-arc (cusp 11: 1/3 of the diurnal semi-arc east of the MC, cusp 12: 2/3,
+ * cusps 2 and 3: 2/3 and 1/3 of the nocturnal semi-arc above the IC). With AD the
+ * ascensional difference asin(tan φ · tan δ) this gives the right ascension
+ *
+ *   cusp 11: α = RAMC +  30 + AD/3      cusp 2: α = RAMC + 120 + 2·AD/3
+ *   cusp 12: α = RAMC +  60 + 2·AD/3    cusp 3: α = RAMC + 150 + AD/3
+ *
+ * and δ depends on the cusp longitude, so each cusp is a fixed point
+ * λ = ecliptic(α(δ(λ))), solved by Newton steps. Iteration stops when λ moves by
+ * less than the tolerance.
+ * A cold start begins at AD = 0 (exact on the equator, about 4 steps per cusp elsewhere);
+ * a warm start begins at the cusps of a nearby instant or place (about 3 steps per cusp
+ * for charts a minute apart), which pays off in time sweeps and relocation grids.
+ *
+ * Charts where a cusp does not converge within the iteration cap (or has no semi-arc)
+ * fall back to Equal houses with PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL.
+ * Solves, iterations and fallbacks are counted (see {@link #stats()}).
  */
-@Service
-@RequiredArgsConstructor
-public class PlacidusHouseService {
+public class PlacidusHouseService implements HouseSystem {
 
-    private final SiderealTimeService siderealTimeService;
-    private final ObliquityService obliquityService;
+    public static final double DEFAULT_TOLERANCE = 1e-9; // degrees
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    // Base right ascension offset from RAMC and ascensional-difference factor of cusps 11, 12, 2, 3
+    private static final int[] CUSP_INDEX = { 10, 11, 1, 2 };
+    private static final double[] RA_OFFSET = { 30.0, 60.0, 120.0, 150.0 };
+    private static final double[] AD_FACTOR = { 1.0 / 3.0, 2.0 / 3.0, 2.0 / 3.0, 1.0 / 3.0 };
+
+    private final double tolerance;
+    private final int maxIterations;
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder warmStarts = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder notConverged = new LongAdder();
+    private final LongAdder highLatitude = new LongAdder();
+    private final LongAdder gridLookups = new LongAdder();
+
+    public PlacidusHouseService() {
+        this(DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * @param tolerance Convergence threshold on the cusp longitude, degrees
+     * @param maxIterations Iteration cap per cusp; a cusp that needs more falls back to Equal houses
+     */
+    public PlacidusHouseService(double tolerance, int maxIterations) {
+        if (!(tolerance > 0.0) || maxIterations < 1) {
+            throw new IllegalArgumentException("Placidus tolerance must be > 0 and max iterations >= 1");
+        }
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.PLACIDUS;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        return calculatePlacidusHouses(context, asc, mc, null, warnings);
+    }
 
     /**
      * Calculate Placidus house cusps with automatic fallback
      *
-     * @param julianCenturiesT Julian centuries
-     * @param latitude Geographic latitude
-     * @param longitude Geographic longitude
+     * @param context Chart instant and place
      * @param asc Ascendant longitude
      * @param mc Midheaven longitude
-     * @param warnings List to add warnings to
+     * @param warnings Set to add warnings to
+     * @return Array of 12 house cusps
+     */
+    public double[] calculatePlacidusHouses(ChartContext context, double asc, double mc,
+                                           Set<ChartWarning> warnings) {
+        return calculatePlacidusHouses(context, asc, mc, null, warnings);
+    }
+
+    /**
+     * Calculate Placidus house cusps, starting the iteration from the cusps of a nearby chart
+     *
+     * @param seed Cusps of a nearby instant or place (12 values, house 1 at index 0), or null for a cold start
+     * @param warnings Set to add warnings to
      * @return Array of 12 house cusps
      */
-    public double[] calculatePlacidusHouses(double julianCenturiesT, double latitude,
-                                           double longitude, double asc, double mc,
-                                           List<String> warnings) {
+    public double[] calculatePlacidusHouses(ChartContext context, double asc, double mc, double[] seed,
+                                           Set<ChartWarning> warnings) {
 
         // Check for high latitude
-        if (Math.abs(latitude) >= 66.0) {
-            warnings.add("PLACIDUS_FALLBACK_EQUAL_HIGH_LAT");
-            return calculateEqualHouses(asc);
+        if (Math.abs(context.getLatitude()) >= 66.0) {
+            highLatitude.increment();
+            warnings.add(ChartWarning.PLACIDUS_FALLBACK_EQUAL_HIGH_LAT);
+            return EqualHouseSystem.cusps(asc);
         }
 
-        try {
-            return calculatePlacidusInternal(julianCenturiesT, latitude, longitude, asc, mc);
-        } catch (Exception e) {
-            warnings.add("PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL");
-            return calculateEqualHouses(asc);
+        double[] cusps = calculatePlacidusInternal(context, asc, mc, seed);
+        if (cusps == null) {
+            notConverged.increment();
+            warnings.add(ChartWarning.PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL);
+            return EqualHouseSystem.cusps(asc);
         }
+        return cusps;
     }
 
     /**
-     * Internal Placidus calculation using numerical methods
+     * Solver counters since startup
      */
-    private double[] calculatePlacidusInternal(double julianCenturiesT, double latitude,
-                                              double longitude, double asc, double mc) {
-        double[] cusps = new double[12];
-
-        // Fixed cusps
-        cusps[0] = asc;              // Cusp 1 = ASC
-        cusps[3] = AstroMath.normalize360(asc + 180.0);  // Cusp 4 = IC (opposite ASC)
-        cusps[6] = AstroMath.normalize360(asc + 180.0);  // Cusp 7 = DSC (opposite ASC)
-        cusps[9] = mc;               // Cusp 10 = MC
-
-        double obliquity = obliquityService.calculateMeanObliquity(julianCenturiesT);
-        double gmst = siderealTimeService.calculateGMST(julianCenturiesT);
-        double lst = siderealTimeService.calculateLST(gmst, longitude);
-
-        // Calculate intermediate cusps using semi-arc method
-        // This is a simplified Placidus implementation
-        double latRad = AstroMath.toRadians(latitude);
-        double oblRad = AstroMath.toRadians(obliquity);
-
-        // Calculate cusps 11, 12, 2, 3 (above horizon)
-        cusps[10] = calculateIntermediateCusp(lst, 30.0, oblRad);  // Cusp 11
-        cusps[11] = calculateIntermediateCusp(lst, 60.0, oblRad);  // Cusp 12
-        cusps[1] = calculateIntermediateCusp(lst, 120.0, oblRad);  // Cusp 2
-        cusps[2] = calculateIntermediateCusp(lst, 150.0, oblRad);  // Cusp 3
-
-        // Calculate cusps 5, 6, 8, 9 (below horizon) - opposite side
-        cusps[4] = AstroMath.normalize360(cusps[10] + 180.0);  // Cusp 5
-        cusps[5] = AstroMath.normalize360(cusps[11] + 180.0);  // Cusp 6
-        cusps[7] = AstroMath.normalize360(cusps[1] + 180.0);   // Cusp 8
-        cusps[8] = AstroMath.normalize360(cusps[2] + 180.0);   // Cusp 9
+    public Stats stats() {
+        return new Stats(solves.sum(), warmStarts.sum(), iterations.sum(), notConverged.sum(), highLatitude.sum(),
+            gridLookups.sum(), tolerance, maxIterations);
+    }
 
-        return cusps;
+    /**
+     * Count a chart whose cusps came from the house cusp grid instead of this solver
+     */
+    void recordGridLookup() {
+        gridLookups.increment();
     }
 
     /**
-     * Calculate intermediate cusp using simplified semi-arc method
+     * Internal Placidus calculation
+     *
+     * @return The cusps, or null if a cusp did not converge
      */
-    private double calculateIntermediateCusp(double lst, double offset, double oblRad) {
-        double lstWithOffset = AstroMath.normalize360(lst + offset);
-        double lstRad = AstroMath.toRadians(lstWithOffset);
+    private double[] calculatePlacidusInternal(ChartContext context, double asc, double mc, double[] seed) {
+        double ramc = context.getLst();
+        double tanLatitude = context.getTanLatitude();
+        double sinObliquity = context.getSinObliquity();
+        double cosObliquity = context.getCosObliquity();
+
+        // Cusps 11, 12, 2, 3 (eastern half) by iteration
+        boolean warm = seed != null;
+        solves.increment();
+        if (warm) {
+            warmStarts.increment();
+        }
+        double[] solved = new double[CUSP_INDEX.length];
+        for (int i = 0; i < CUSP_INDEX.length; i++) {
+            double start = warm ? seed[CUSP_INDEX[i]] : Double.NaN;
+            solved[i] = solveCusp(ramc + RA_OFFSET[i], AD_FACTOR[i], start,
+                tanLatitude, sinObliquity, cosObliquity);
+            if (Double.isNaN(solved[i])) {
+                return null;
+            }
+        }
 
-        // Simplified calculation
-        double y = Math.sin(lstRad) * Math.cos(oblRad);
-        double x = Math.cos(lstRad);
+        // Angles fixed, cusps 5, 6, 8, 9 opposite
+        return QuadrantHouses.cusps(asc, mc, solved[0], solved[1], solved[2], solved[3]);
+    }
+
+    /**
+     * Newton iteration for one cusp on g(λ) = F(λ) − λ, F(λ) = ecliptic(baseRa + adFactor·AD(δ(λ)))
+     *
+     * F' = dλ/dα · adFactor · dAD/dδ · dδ/dλ is analytic, so the solve converges
+     * quadratically: a start near the root (warm start) skips the first, coarse steps.
+     *
+     * @param start Starting longitude, NaN to start from AD = 0
+     * @return Cusp longitude, or NaN if it did not converge
+     */
+    private double solveCusp(double baseRa, double adFactor, double start,
+                             double tanLatitude, double sinObliquity, double cosObliquity) {
+        double longitude = Double.isNaN(start) ? eclipticLongitude(baseRa, cosObliquity) : start;
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            double lambda = AstroMath.toRadians(longitude);
+            double sinDeclination = sinObliquity * AstroMath.sin(lambda);
+            double cosDeclination = Math.sqrt(1.0 - sinDeclination * sinDeclination);
+            double sinAd = tanLatitude * sinDeclination / cosDeclination;
+            if (Math.abs(sinAd) >= 1.0) {
+                iterations.add(iteration);
+                return Double.NaN; // circumpolar: no semi-arc
+            }
+            double cosAd = Math.sqrt(1.0 - sinAd * sinAd);
+            double ra = AstroMath.toRadians(baseRa + adFactor * AstroMath.toDegrees(Math.asin(sinAd)));
+            double sinRa = AstroMath.sin(ra);
+            double cosRa = AstroMath.cos(ra);
+            double image = AstroMath.atan2Degrees(sinRa, cosRa * cosObliquity);
+
+            // Slope of F: dλ/dα · adFactor · dAD/dδ · dδ/dλ
+            double dLambdaDRa = cosObliquity / (sinRa * sinRa + cosRa * cosRa * cosObliquity * cosObliquity);
+            double dAdDDeclination = tanLatitude / (cosDeclination * cosDeclination * cosAd);
+            double dDeclinationDLambda = sinObliquity * AstroMath.cos(lambda) / cosDeclination;
+            double slope = dLambdaDRa * adFactor * dAdDDeclination * dDeclinationDLambda;
+
+            double step = AstroMath.minimalAngleDifference(longitude, image) / (1.0 - slope);
+            longitude = AstroMath.normalize360(longitude + step);
+            if (Math.abs(step) < tolerance) {
+                iterations.add(iteration);
+                return longitude;
+            }
+        }
+        iterations.add(maxIterations);
+        return Double.NaN;
+    }
 
-        return AstroMath.atan2Degrees(y, x);
+    /**
+     * Ecliptic longitude of the ecliptic point with right ascension α: tan λ = tan α / cos ε
+     */
+    private static double eclipticLongitude(double rightAscension, double cosObliquity) {
+        double ra = AstroMath.toRadians(rightAscension);
+        return AstroMath.atan2Degrees(AstroMath.sin(ra), AstroMath.cos(ra) * cosObliquity);
     }
 
     /**
-     * Calculate Equal houses
-     * cusp[n] = ASC + (n-1)*30
+     * Snapshot of the solver counters
      */
-    private double[] calculateEqualHouses(double asc) {
-        double[] cusps = new double[12];
-        for (int i = 0; i < 12; i++) {
-            cusps[i] = AstroMath.normalize360(asc + i * 30.0);
+    @Getter
+    public static final class Stats {
+        private final long solves;          // charts solved (not counting high-latitude fallbacks)
+        private final long warmStarts;      // of which started from seed cusps
+        private final long iterations;      // iterations over all cusps
+        private final long notConverged;    // charts that fell back to Equal houses
+        private final long highLatitude;    // charts above the polar circle (Equal houses)
+        private final long gridLookups;     // charts interpolated from the cusp grid (GRID mode), not solved
+        private final double tolerance;
+        private final int maxIterations;
+
+        Stats(long solves, long warmStarts, long iterations, long notConverged, long highLatitude,
+              long gridLookups, double tolerance, int maxIterations) {
+            this.solves = solves;
+            this.warmStarts = warmStarts;
+            this.iterations = iterations;
+            this.notConverged = notConverged;
+            this.highLatitude = highLatitude;
+            this.gridLookups = gridLookups;
+            this.tolerance = tolerance;
+            this.maxIterations = maxIterations;
+        }
+
+        /**
+         * Mean iterations per cusp (four iterated cusps per chart)
+         */
+        public double getMeanIterations() {
+            return solves > 0 ? (double) iterations / (4.0 * solves) : 0.0;
         }
-        return cusps;
     }
 }
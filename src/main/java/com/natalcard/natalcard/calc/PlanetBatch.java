@@ -0,0 +1,61 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Planet positions for many instants, structure-of-arrays
+ *
+ * One contiguous double[] per body, indexed by instant, so batch evaluation
+ * writes (and transit sweeps read) each body's track sequentially.
+ * Instances are reusable scratch buffers like {@link PlanetVector}.
+ */
+public final class PlanetBatch {
+
+    private final double[][] longitudes;
+    private int size;
+
+    public PlanetBatch(int capacity) {
+        longitudes = new double[Body.COUNT][capacity];
+    }
+
+    public int capacity() {
+        return longitudes[0].length;
+    }
+
+    /**
+     * Number of instants filled by the last calculation
+     */
+    public int size() {
+        return size;
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Ecliptic longitude in degrees (0-360) of a body at one instant
+     */
+    public double getLongitude(Body body, int index) {
+        return longitudes[body.ordinal()][index];
+    }
+
+    public void setLongitude(Body body, int index, double longitude) {
+        longitudes[body.ordinal()][index] = longitude;
+    }
+
+    /**
+     * Backing array of one body's longitudes; valid up to {@link #size()}
+     */
+    public double[] longitudes(Body body) {
+        return longitudes[body.ordinal()];
+    }
+
+    /**
+     * Copy one instant into a per-chart vector
+     */
+    public void copyTo(int index, PlanetVector out) {
+        for (Body body : Body.ALL) {
+            out.setLongitude(body, longitudes[body.ordinal()][index]);
+        }
+        out.setSpeedsKnown(false);
+    }
+}
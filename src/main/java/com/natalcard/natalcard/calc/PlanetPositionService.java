@@ -1,220 +1,170 @@
 package com.natalcard.natalcard.calc;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
- * Calculate planet positions using simplified VSOP87 algorithms
- * This is a simplified implementation for tropical zodiac calculations
+ * Calculate planet positions for a chart
+ *
+ * Delegates to the configured {@link EphemerisEngine} (see EphemerisConfig).
+ * Dates outside the engine's coverage are served by the analytic engine
+ * at the requested {@link PrecisionTier}, through the {@link PositionCache}
+ * when it is enabled (see CacheConfig).
  */
 @Service
+@RequiredArgsConstructor
 public class PlanetPositionService {
 
-    private static final String[] PLANET_NAMES = {
-        "SUN", "MOON", "MERCURY", "VENUS", "MARS",
-        "JUPITER", "SATURN", "URANUS", "NEPTUNE", "PLUTO"
-    };
+    private final EphemerisEngine ephemerisEngine;
+    private final AnalyticEphemeris analyticEphemeris;
+    private final PositionCache positionCache;
 
     /**
      * Calculate all planet positions at given instant
      *
      * @param instant Birth time in UTC
-     * @return Map of planet name to ecliptic longitude (0-360°)
+     * @return New vector of ecliptic longitudes (0-360°) and daily motions
      */
-    public Map<String, Double> calculatePlanetPositions(Instant instant) {
-        Map<String, Double> positions = new LinkedHashMap<>();
-
-        double jd = JulianDate.fromInstant(instant);
-        double T = JulianDate.toJulianCenturies(jd);
-
-        // Calculate positions using simplified formulas
-        positions.put("SUN", calculateSunPosition(T));
-        positions.put("MOON", calculateMoonPosition(T));
-        positions.put("MERCURY", calculateMercuryPosition(T));
-        positions.put("VENUS", calculateVenusPosition(T));
-        positions.put("MARS", calculateMarsPosition(T));
-        positions.put("JUPITER", calculateJupiterPosition(T));
-        positions.put("SATURN", calculateSaturnPosition(T));
-        positions.put("URANUS", calculateUranusPosition(T));
-        positions.put("NEPTUNE", calculateNeptunePosition(T));
-        positions.put("PLUTO", calculatePlutoPosition(T));
-
+    public PlanetVector calculatePlanetPositions(Instant instant) {
+        PlanetVector positions = new PlanetVector();
+        calculatePlanetPositions(JulianDate.fromInstant(instant), positions);
         return positions;
     }
 
     /**
-     * Calculate Sun's ecliptic longitude (simplified)
-     * Based on VSOP87 with major terms only
-     */
-    private double calculateSunPosition(double T) {
-        // Sun's mean longitude
-        double L0 = 280.46646 + 36000.76983 * T + 0.0003032 * T * T;
-
-        // Mean anomaly
-        double M = 357.52911 + 35999.05029 * T - 0.0001537 * T * T;
-        double MRad = Math.toRadians(M);
-
-        // Equation of center
-        double C = (1.914602 - 0.004817 * T - 0.000014 * T * T) * Math.sin(MRad)
-                 + (0.019993 - 0.000101 * T) * Math.sin(2 * MRad)
-                 + 0.000289 * Math.sin(3 * MRad);
-
-        // True longitude
-        double sunLon = L0 + C;
-
-        return AstroMath.normalize360(sunLon);
-    }
-
-    /**
-     * Calculate Moon's ecliptic longitude (simplified)
-     * Based on ELP2000 with major terms
-     */
-    private double calculateMoonPosition(double T) {
-        // Moon's mean longitude
-        double L = 218.3164477 + 481267.88123421 * T
-                 - 0.0015786 * T * T
-                 + T * T * T / 538841.0
-                 - T * T * T * T / 65194000.0;
-
-        // Mean elongation
-        double D = 297.8501921 + 445267.1114034 * T
-                 - 0.0018819 * T * T
-                 + T * T * T / 545868.0
-                 - T * T * T * T / 113065000.0;
-
-        // Sun's mean anomaly
-        double M = 357.5291092 + 35999.0502909 * T
-                 - 0.0001536 * T * T
-                 + T * T * T / 24490000.0;
-
-        // Moon's mean anomaly
-        double MPrime = 134.9633964 + 477198.8675055 * T
-                      + 0.0087414 * T * T
-                      + T * T * T / 69699.0
-                      - T * T * T * T / 14712000.0;
-
-        // Moon's argument of latitude
-        double F = 93.2720950 + 483202.0175233 * T
-                 - 0.0036539 * T * T
-                 - T * T * T / 3526000.0
-                 + T * T * T * T / 863310000.0;
-
-        // Convert to radians
-        double DRad = Math.toRadians(D);
-        double MRad = Math.toRadians(M);
-        double MPrimeRad = Math.toRadians(MPrime);
-        double FRad = Math.toRadians(F);
-
-        // Major periodic terms (simplified - top 10 terms)
-        double correction = 0;
-        correction += 6.288774 * Math.sin(MPrimeRad);
-        correction += 1.274027 * Math.sin(2 * DRad - MPrimeRad);
-        correction += 0.658314 * Math.sin(2 * DRad);
-        correction += 0.213618 * Math.sin(2 * MPrimeRad);
-        correction -= 0.185116 * Math.sin(MRad);
-        correction -= 0.114332 * Math.sin(2 * FRad);
-        correction += 0.058793 * Math.sin(2 * DRad - 2 * MPrimeRad);
-        correction += 0.057066 * Math.sin(2 * DRad - MRad - MPrimeRad);
-        correction += 0.053322 * Math.sin(2 * DRad + MPrimeRad);
-        correction += 0.045758 * Math.sin(2 * DRad - MRad);
-
-        double moonLon = L + correction;
-
-        return AstroMath.normalize360(moonLon);
-    }
-
-    /**
-     * Calculate Mercury's position (simplified VSOP87)
-     */
-    private double calculateMercuryPosition(double T) {
-        double L = 252.250906 + 149472.6746358 * T;
-        double a = 0.387098;
-        return calculateInnerPlanet(L, a, T, 0.205635, 7.004986);
-    }
-
-    /**
-     * Calculate Venus's position (simplified VSOP87)
-     */
-    private double calculateVenusPosition(double T) {
-        double L = 181.979801 + 58517.8156760 * T;
-        double a = 0.723330;
-        return calculateInnerPlanet(L, a, T, 0.006772, 3.394662);
-    }
-
-    /**
-     * Calculate Mars's position (simplified VSOP87)
-     */
-    private double calculateMarsPosition(double T) {
-        double L = 355.433000 + 19140.2993039 * T;
-        double a = 1.523688;
-        return calculateOuterPlanet(L, a, T, 0.093405, 1.849726);
-    }
-
-    /**
-     * Calculate Jupiter's position (simplified VSOP87)
+     * Calculate all planet positions into a caller-owned vector (no allocation)
+     * Uses the configured default precision tier
+     *
+     * @param julianDay Julian Date (UT)
+     * @param out Vector to fill
      */
-    private double calculateJupiterPosition(double T) {
-        double L = 34.351519 + 3034.9056606 * T;
-        double a = 5.202603;
-        return calculateOuterPlanet(L, a, T, 0.048498, 1.303267);
+    public void calculatePlanetPositions(double julianDay, PlanetVector out) {
+        calculatePlanetPositions(julianDay, analyticEphemeris.getDefaultTier(), out);
     }
 
     /**
-     * Calculate Saturn's position (simplified VSOP87)
+     * Calculate all planet positions with a requested precision tier
+     *
+     * The tier only applies to the analytic series. When a table, JPL or Kepler
+     * engine covers the date it is used instead and reports its own tier
+     * (PRECISE for tables and JPL, FAST for Kepler orbits).
+     *
+     * @param julianDay Julian Date (UT)
+     * @param precision Requested truncation tier
+     * @param out Vector to fill
+     * @return Tier actually applied
      */
-    private double calculateSaturnPosition(double T) {
-        double L = 50.077444 + 1222.1138488 * T;
-        double a = 9.554909;
-        return calculateOuterPlanet(L, a, T, 0.055546, 2.488879);
+    public PrecisionTier calculatePlanetPositions(double julianDay, PrecisionTier precision, PlanetVector out) {
+        if (ephemerisEngine != analyticEphemeris && ephemerisEngine.covers(julianDay)) {
+            ephemerisEngine.calculatePositions(julianDay, out);
+            return ephemerisEngine.getPrecision();
+        }
+
+        positionCache.calculatePositions(julianDay, precision, out);
+        return precision;
     }
 
     /**
-     * Calculate Uranus's position (simplified)
+     * Calculate all planet positions for a chart context
+     * The analytic path interpolates cached nodes, or (cache disabled) reuses the
+     * context's fundamental arguments for the Moon
+     *
+     * @param context Chart instant
+     * @param precision Requested truncation tier
+     * @param out Vector to fill
+     * @return Tier actually applied
      */
-    private double calculateUranusPosition(double T) {
-        double L = 314.055005 + 428.4669983 * T;
-        double a = 19.218446;
-        return calculateOuterPlanet(L, a, T, 0.046381, 0.772556);
+    public PrecisionTier calculatePlanetPositions(ChartContext context, PrecisionTier precision, PlanetVector out) {
+        double julianDay = context.getJulianDay();
+        if (positionCache.isEnabled()
+                || (ephemerisEngine != analyticEphemeris && ephemerisEngine.covers(julianDay))) {
+            return calculatePlanetPositions(julianDay, precision, out);
+        }
+
+        analyticEphemeris.calculatePositions(context, precision, out);
+        return precision;
     }
 
     /**
-     * Calculate Neptune's position (simplified)
+     * Calculate a subset of bodies for a chart context (sign-only and projected requests)
+     * Only the selected bodies are evaluated; entries of other bodies are left untouched
+     *
+     * @param context Chart instant
+     * @param precision Requested truncation tier
+     * @param bodies Bit mask of bodies (see {@link Body#mask()}); 0 evaluates nothing
+     * @param out Vector to fill
+     * @return Tier actually applied
      */
-    private double calculateNeptunePosition(double T) {
-        double L = 304.348665 + 218.4862002 * T;
-        double a = 30.110387;
-        return calculateOuterPlanet(L, a, T, 0.009456, 1.769953);
+    public PrecisionTier calculatePlanetPositions(ChartContext context, PrecisionTier precision, int bodies,
+                                                  PlanetVector out) {
+        if (bodies == Body.ALL_MASK) {
+            return calculatePlanetPositions(context, precision, out);
+        }
+
+        double julianDay = context.getJulianDay();
+        if (ephemerisEngine != analyticEphemeris && ephemerisEngine.covers(julianDay)) {
+            for (Body body : Body.ALL) {
+                if ((bodies & body.mask()) != 0) {
+                    out.setLongitude(body, ephemerisEngine.calculateLongitude(body, julianDay));
+                    out.setSpeed(body, ephemerisEngine.calculateSpeed(body, julianDay));
+                }
+            }
+            out.setSpeedsKnown(true);
+            return ephemerisEngine.getPrecision();
+        }
+
+        positionCache.calculatePositions(julianDay, precision, bodies, out);
+        return precision;
     }
 
     /**
-     * Calculate Pluto's position (simplified)
+     * Calculate all planet positions for many instants (transit sweeps, batch charts)
+     *
+     * Table and JPL engines are used when they cover every instant; otherwise the
+     * whole batch goes through the analytic series, vectorized when available
+     * (see {@link SeriesKernel}).
+     *
+     * @param julianCenturies Julian centuries from J2000, one per instant
+     * @param count Number of instants (at most out.capacity())
+     * @param precision Requested truncation tier
+     * @param out Batch to fill
+     * @return Tier actually applied
      */
-    private double calculatePlutoPosition(double T) {
-        // Simplified formula for Pluto
-        double L = 238.92881 + 145.18042 * T;
-        return AstroMath.normalize360(L);
+    public PrecisionTier calculatePlanetPositions(double[] julianCenturies, int count,
+                                                  PrecisionTier precision, PlanetBatch out) {
+        if (ephemerisEngine != analyticEphemeris && coversAll(julianCenturies, count)) {
+            if (count > out.capacity()) {
+                throw new IllegalArgumentException("Batch of " + count + " exceeds capacity " + out.capacity());
+            }
+            for (int j = 0; j < count; j++) {
+                double julianDay = JulianDate.fromJulianCenturies(julianCenturies[j]);
+                for (Body body : Body.ALL) {
+                    out.setLongitude(body, j, ephemerisEngine.calculateLongitude(body, julianDay));
+                }
+            }
+            out.setSize(count);
+            return ephemerisEngine.getPrecision();
+        }
+
+        analyticEphemeris.calculatePositions(julianCenturies, count, precision, out);
+        return precision;
     }
 
-    /**
-     * Helper: Calculate inner planet position
-     */
-    private double calculateInnerPlanet(double L, double a, double T, double e, double i) {
-        // This is a simplified calculation
-        // In a production system, you would use full VSOP87 terms
-        double correction = e * Math.sin(Math.toRadians(L)) * 57.2958; // Rough equation of center
-        return AstroMath.normalize360(L + correction);
+    private boolean coversAll(double[] julianCenturies, int count) {
+        for (int j = 0; j < count; j++) {
+            if (!ephemerisEngine.covers(JulianDate.fromJulianCenturies(julianCenturies[j]))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Helper: Calculate outer planet position
+     * Tier used when a request does not specify one
      */
-    private double calculateOuterPlanet(double L, double a, double T, double e, double i) {
-        // This is a simplified calculation
-        // In a production system, you would use full VSOP87 terms
-        double correction = e * Math.sin(Math.toRadians(L)) * 57.2958; // Rough equation of center
-        return AstroMath.normalize360(L + correction);
+    public PrecisionTier getDefaultPrecision() {
+        return analyticEphemeris.getDefaultTier();
     }
 }
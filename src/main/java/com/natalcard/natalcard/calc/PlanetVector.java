@@ -0,0 +1,57 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Flat, enum-indexed planet positions and daily motions
+ *
+ * Replaces Map&lt;String, Double&gt; in the chart pipeline: no boxing, no string
+ * hashing. Instances are mutable scratch buffers; callers that keep a vector
+ * beyond the current calculation should {@link #copy()} it.
+ */
+public final class PlanetVector {
+
+    private final double[] longitudes = new double[Body.COUNT];
+    private final double[] speeds = new double[Body.COUNT];
+    private boolean speedsKnown;
+
+    /**
+     * Ecliptic longitude in degrees (0-360)
+     */
+    public double getLongitude(Body body) {
+        return longitudes[body.ordinal()];
+    }
+
+    public void setLongitude(Body body, double longitude) {
+        longitudes[body.ordinal()] = longitude;
+    }
+
+    /**
+     * Daily motion in degrees/day; only meaningful when {@link #hasSpeeds()}
+     */
+    public double getSpeed(Body body) {
+        return speeds[body.ordinal()];
+    }
+
+    public void setSpeed(Body body, double speed) {
+        speeds[body.ordinal()] = speed;
+    }
+
+    public boolean hasSpeeds() {
+        return speedsKnown;
+    }
+
+    public void setSpeedsKnown(boolean speedsKnown) {
+        this.speedsKnown = speedsKnown;
+    }
+
+    public void copyFrom(PlanetVector other) {
+        System.arraycopy(other.longitudes, 0, longitudes, 0, Body.COUNT);
+        System.arraycopy(other.speeds, 0, speeds, 0, Body.COUNT);
+        speedsKnown = other.speedsKnown;
+    }
+
+    public PlanetVector copy() {
+        PlanetVector copy = new PlanetVector();
+        copy.copyFrom(this);
+        return copy;
+    }
+}
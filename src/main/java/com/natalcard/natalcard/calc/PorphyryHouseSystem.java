@@ -0,0 +1,29 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Porphyry houses: each ecliptic quadrant between the angles trisected in longitude
+ */
+@Service
+public class PorphyryHouseSystem implements HouseSystem {
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.PORPHYRY;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        double upper = AstroMath.normalize360(asc - mc); // MC → ASC
+        double lower = 180.0 - upper;                    // ASC → IC
+
+        return QuadrantHouses.cusps(asc, mc,
+            AstroMath.normalize360(mc + upper / 3.0),
+            AstroMath.normalize360(mc + 2.0 * upper / 3.0),
+            AstroMath.normalize360(asc + lower / 3.0),
+            AstroMath.normalize360(asc + 2.0 * lower / 3.0));
+    }
+}
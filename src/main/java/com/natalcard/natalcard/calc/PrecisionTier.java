@@ -0,0 +1,51 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Truncation tiers for the VSOP87 series
+ *
+ * A tier keeps only the terms whose amplitude is at or above its threshold
+ * (radians for L and B, au for R). Lower tiers evaluate fewer terms and trade
+ * arc-seconds for throughput; see Vsop87BenchmarkTest for ns/op and max error.
+ */
+public enum PrecisionTier {
+    FAST(1e-5),
+    STANDARD(1e-6),
+    PRECISE(0.0);
+
+    private final double minAmplitude;
+
+    PrecisionTier(double minAmplitude) {
+        this.minAmplitude = minAmplitude;
+    }
+
+    public double getMinAmplitude() {
+        return minAmplitude;
+    }
+
+    /**
+     * Parse a tier name (case-insensitive)
+     *
+     * @throws IllegalArgumentException if the name is not a known tier
+     */
+    public static PrecisionTier parse(String value) {
+        PrecisionTier tier = find(value);
+        if (tier == null) {
+            throw new IllegalArgumentException("Unsupported precision: " + value + " (expected FAST, STANDARD or PRECISE)");
+        }
+        return tier;
+    }
+
+    /**
+     * Look up a tier by name (case-insensitive)
+     *
+     * @return The tier, or null if the name is not known
+     */
+    public static PrecisionTier find(String value) {
+        for (PrecisionTier tier : values()) {
+            if (tier.name().equalsIgnoreCase(value.trim())) {
+                return tier;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Spherical helpers shared by the quadrant house systems
+ *
+ * Quadrant systems fix cusps 1, 4, 7, 10 at the angles and compute 11, 12, 2 and 3;
+ * cusps 5, 6, 8 and 9 are the opposite points.
+ */
+final class QuadrantHouses {
+
+    private QuadrantHouses() {
+    }
+
+    /**
+     * Ecliptic longitude of the point with the given oblique ascension under a pole
+     * λ = atan2(sin R, cos R·cos ε − tan P·sin ε)
+     *
+     * With R = RAMC + 90° and P = latitude this is the Ascendant; with P = 0 it is the
+     * ecliptic point of right ascension R.
+     *
+     * @param obliqueAscension Oblique ascension R, degrees
+     * @param tanPole tan of the pole height P
+     */
+    static double eclipticLongitude(double obliqueAscension, double tanPole, ChartContext context) {
+        double r = AstroMath.toRadians(obliqueAscension);
+        return AstroMath.atan2Degrees(AstroMath.sin(r),
+            AstroMath.cos(r) * context.getCosObliquity() - tanPole * context.getSinObliquity());
+    }
+
+    /**
+     * Sine of the ascensional difference of an ecliptic point: tan φ · tan δ, sin δ = sin ε · sin λ
+     * A magnitude of 1 or more means the point never rises or never sets (no semi-arc)
+     */
+    static double sinAscensionalDifference(double longitude, ChartContext context) {
+        double sinDeclination = context.getSinObliquity() * AstroMath.sin(AstroMath.toRadians(longitude));
+        return context.getTanLatitude() * sinDeclination / Math.sqrt(1.0 - sinDeclination * sinDeclination);
+    }
+
+    /**
+     * Assemble the 12 cusps from the angles and the four computed cusps (all in [0, 360))
+     */
+    static double[] cusps(double asc, double mc, double cusp11, double cusp12, double cusp2, double cusp3) {
+        double[] cusps = new double[12];
+        cusps[0] = asc;                     // Cusp 1 = ASC
+        cusps[1] = cusp2;
+        cusps[2] = cusp3;
+        cusps[3] = opposite(mc);            // Cusp 4 = IC
+        cusps[4] = opposite(cusp11);        // Cusp 5
+        cusps[5] = opposite(cusp12);        // Cusp 6
+        cusps[6] = opposite(asc);           // Cusp 7 = DSC
+        cusps[7] = opposite(cusp2);         // Cusp 8
+        cusps[8] = opposite(cusp3);         // Cusp 9
+        cusps[9] = mc;                      // Cusp 10 = MC
+        cusps[10] = cusp11;
+        cusps[11] = cusp12;
+        return cusps;
+    }
+
+    /**
+     * The opposite point of a longitude in [0, 360), without a floating-point remainder
+     */
+    static double opposite(double longitude) {
+        return longitude < 180.0 ? longitude + 180.0 : longitude - 180.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Regiomontanus houses: the celestial equator divided into 30° arcs from the meridian
+ *
+ * The house circle through the north and south points of the horizon and the equator
+ * point at hour angle H has pole tan P = tan φ · sin H; the cusp is the ecliptic point
+ * of oblique ascension RAMC + H under that pole (H = 30°, 60°, 120°, 150° for cusps 11, 12, 2, 3).
+ */
+@Service
+public class RegiomontanusHouseSystem implements HouseSystem {
+
+    private static final double[] HOUR_ANGLES = { 30.0, 60.0, 120.0, 150.0 };
+    private static final double[] SIN_HOUR_ANGLES = { 0.5, Math.sqrt(3.0) / 2.0, Math.sqrt(3.0) / 2.0, 0.5 };
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.REGIOMONTANUS;
+    }
+
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        double ramc = context.getLst();
+        double tanLatitude = context.getTanLatitude();
+        double[] cusp = new double[4];
+        for (int i = 0; i < 4; i++) {
+            cusp[i] = QuadrantHouses.eclipticLongitude(ramc + HOUR_ANGLES[i], tanLatitude * SIN_HOUR_ANGLES[i], context);
+        }
+        return QuadrantHouses.cusps(asc, mc, cusp[0], cusp[1], cusp[2], cusp[3]);
+    }
+}
@@ -0,0 +1,39 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * How batch series evaluation runs over many instants
+ *
+ * - SCALAR: one instant at a time, cosines through AstroMath.cos (JDK or FAST mode)
+ * - VECTOR: instants packed into SIMD lanes with the JDK Vector API
+ *
+ * VECTOR needs the incubator module at runtime (--add-modules jdk.incubator.vector).
+ * Without it {@link #preferred()} returns SCALAR and nothing from the module is loaded.
+ */
+public enum SeriesKernel {
+    SCALAR,
+    VECTOR;
+
+    private static final boolean VECTOR_AVAILABLE = detectVector();
+
+    public boolean isAvailable() {
+        return this == SCALAR || VECTOR_AVAILABLE;
+    }
+
+    /**
+     * VECTOR when the Vector API is usable, otherwise SCALAR
+     */
+    public static SeriesKernel preferred() {
+        return VECTOR_AVAILABLE ? VECTOR : SCALAR;
+    }
+
+    private static boolean detectVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorSeries.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
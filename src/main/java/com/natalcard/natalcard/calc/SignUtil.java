@@ -8,19 +8,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class SignUtil {
 
-    private static final String[] SIGNS = {
-        "ARIES", "TAURUS", "GEMINI", "CANCER", "LEO", "VIRGO",
-        "LIBRA", "SCORPIO", "SAGITTARIUS", "CAPRICORN", "AQUARIUS", "PISCES"
-    };
-
     /**
      * Get zodiac sign from ecliptic longitude
      * @param longitude Ecliptic longitude in degrees (0-360)
      * @return Sign name (ARIES, TAURUS, etc.)
      */
     public static String getSign(double longitude) {
-        int index = (int) Math.floor(AstroMath.normalize360(longitude) / 30.0);
-        return SIGNS[index % 12];
+        return ZodiacSign.of(longitude).name();
     }
 
     /**
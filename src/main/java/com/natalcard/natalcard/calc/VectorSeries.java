@@ -0,0 +1,48 @@
+package com.natalcard.natalcard.calc;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel for VSOP87 series: one lane per instant
+ *
+ * Only referenced through {@link SeriesKernel#VECTOR}, so the class (and the
+ * incubator module) is never loaded when the scalar kernel is in use.
+ */
+final class VectorSeries {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorSeries() {
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * sums[j] = sum of A * cos(B + C * tau[j]) over the (A, B, C) triples in terms[from, to)
+     * Full vectors of instants go through SIMD lanes, the remainder goes through
+     * {@link AstroMath#cos} like the scalar kernel
+     */
+    static void accumulate(double[] terms, int from, int to, double[] tau, int count, double[] sums) {
+        int bound = SPECIES.loopBound(count);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, tau, j);
+            DoubleVector sum = DoubleVector.zero(SPECIES);
+            for (int i = from; i < to; i += 3) {
+                DoubleVector cos = t.mul(terms[i + 2]).add(terms[i + 1]).lanewise(VectorOperators.COS);
+                sum = sum.add(cos.mul(terms[i]));
+            }
+            sum.intoArray(sums, j);
+        }
+        for (int j = bound; j < count; j++) {
+            double sum = 0.0;
+            for (int i = from; i < to; i += 3) {
+                sum += terms[i] * AstroMath.cos(terms[i + 1] + terms[i + 2] * tau[j]);
+            }
+            sums[j] = sum;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.natalcard.natalcard.calc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * VSOP87D planetary theory: heliocentric ecliptic L, B, R referred to the mean equinox of date
+ *
+ * Terms are read once from /vsop87/{planet}.txt and packed into one double[] per
+ * planet as (A, B, C) triples, each contributing A * cos(B + C * tau) with tau in
+ * Julian millennia from J2000. Within a series the terms are sorted by descending
+ * amplitude, so a {@link PrecisionTier} is just a shorter prefix of every series.
+ */
+public final class Vsop87 {
+
+    // Planet indices (file order)
+    public static final int MERCURY = 0;
+    public static final int VENUS = 1;
+    public static final int EARTH = 2;
+    public static final int MARS = 3;
+    public static final int JUPITER = 4;
+    public static final int SATURN = 5;
+    public static final int URANUS = 6;
+    public static final int NEPTUNE = 7;
+
+    // Coordinates
+    public static final int L = 0;
+    public static final int B = 1;
+    public static final int R = 2;
+
+    static final String[] PLANET_FILES = {
+        "mercury", "venus", "earth", "mars", "jupiter", "saturn", "uranus", "neptune"
+    };
+    static final int MAX_POWER = 6;
+    private static final int SERIES_PER_PLANET = 3 * MAX_POWER;
+    private static final String COORDINATES = "LBR";
+    private static final PrecisionTier RATE_TIER = PrecisionTier.FAST;
+
+    private final double[][] terms;        // [planet] -> A, B, C triples, series after series
+    private final int[][] seriesStart;     // [planet][series] -> first triple
+    private final int[][][] seriesEnd;     // [tier][planet][series] -> end triple (exclusive)
+
+    private static final class Holder {
+        static final Vsop87 INSTANCE = load();
+    }
+
+    private Vsop87(double[][] terms, int[][] seriesStart, int[][][] seriesEnd) {
+        this.terms = terms;
+        this.seriesStart = seriesStart;
+        this.seriesEnd = seriesEnd;
+    }
+
+    /**
+     * Shared instance, loaded from the classpath on first use
+     */
+    public static Vsop87 getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Evaluate one heliocentric coordinate
+     *
+     * @param planet Planet index (MERCURY..NEPTUNE)
+     * @param coordinate L, B or R
+     * @param tau Julian millennia from J2000
+     * @param tier Truncation tier
+     * @return Radians for L and B, au for R
+     */
+    public double evaluate(int planet, int coordinate, double tau, PrecisionTier tier) {
+        double[] t = terms[planet];
+        int[] start = seriesStart[planet];
+        int[] end = seriesEnd[tier.ordinal()][planet];
+
+        // Horner over the powers of tau
+        double result = 0.0;
+        for (int power = MAX_POWER - 1; power >= 0; power--) {
+            int series = coordinate * MAX_POWER + power;
+            double sum = 0.0;
+            for (int i = start[series] * 3, last = end[series] * 3; i < last; i += 3) {
+                sum += t[i] * AstroMath.cos(t[i + 1] + t[i + 2] * tau);
+            }
+            result = result * tau + sum;
+        }
+        return result;
+    }
+
+    /**
+     * Evaluate one heliocentric coordinate and its rate from the same terms
+     *
+     * d/dtau of A*cos(B + C*tau) is -A*C*sin(B + C*tau); the sine is recovered from
+     * the cosine already computed (see {@link AstroMath#sinFromCos}), so no term is
+     * evaluated twice. Rates are summed over the FAST prefix of each series only:
+     * the dropped terms change the speed by a few 1e-4 deg/day at most (inner
+     * planets), enough for retrograde and applying/separating decisions.
+     * The value is bit-identical to {@link #evaluate(int, int, double, PrecisionTier)}.
+     *
+     * @param out Receives the value at offset and its rate per Julian millennium at offset + 1
+     */
+    public void evaluateWithRate(int planet, int coordinate, double tau, PrecisionTier tier,
+                                 double[] out, int offset) {
+        double[] t = terms[planet];
+        int[] start = seriesStart[planet];
+        int[] end = seriesEnd[tier.ordinal()][planet];
+        int[] rateEnd = seriesEnd[RATE_TIER.ordinal()][planet];
+
+        // Horner over the powers of tau, with the derivative of the polynomial alongside
+        double result = 0.0;
+        double slope = 0.0;
+        double rate = 0.0;
+        for (int power = MAX_POWER - 1; power >= 0; power--) {
+            int series = coordinate * MAX_POWER + power;
+            int last = end[series] * 3;
+            int rateLast = Math.min(rateEnd[series] * 3, last);
+            double sum = 0.0;
+            double sumRate = 0.0;
+            int i = start[series] * 3;
+            for (; i < rateLast; i += 3) {
+                double argument = t[i + 1] + t[i + 2] * tau;
+                double cos = AstroMath.cos(argument);
+                sum += t[i] * cos;
+                sumRate -= t[i] * t[i + 2] * AstroMath.sinFromCos(argument, cos);
+            }
+            for (; i < last; i += 3) {
+                sum += t[i] * AstroMath.cos(t[i + 1] + t[i + 2] * tau);
+            }
+            slope = slope * tau + result;
+            result = result * tau + sum;
+            rate = rate * tau + sumRate;
+        }
+        out[offset] = result;
+        out[offset + 1] = slope + rate;
+    }
+
+    /**
+     * Evaluate one heliocentric coordinate for many instants
+     *
+     * With {@link SeriesKernel#SCALAR} every result is bit-identical to
+     * {@link #evaluate(int, int, double, PrecisionTier)}.
+     *
+     * @param tau Julian millennia from J2000, one per instant
+     * @param count Number of instants to evaluate
+     * @param kernel SCALAR or VECTOR (must be available)
+     * @param out Receives radians for L and B, au for R
+     * @param sums Scratch of at least count elements
+     */
+    public void evaluate(int planet, int coordinate, double[] tau, int count, PrecisionTier tier,
+                         SeriesKernel kernel, double[] out, double[] sums) {
+        double[] t = terms[planet];
+        int[] start = seriesStart[planet];
+        int[] end = seriesEnd[tier.ordinal()][planet];
+
+        Arrays.fill(out, 0, count, 0.0);
+        for (int power = MAX_POWER - 1; power >= 0; power--) {
+            int series = coordinate * MAX_POWER + power;
+            int from = start[series] * 3;
+            int to = end[series] * 3;
+            if (kernel == SeriesKernel.VECTOR) {
+                VectorSeries.accumulate(t, from, to, tau, count, sums);
+            } else {
+                for (int j = 0; j < count; j++) {
+                    double sum = 0.0;
+                    for (int i = from; i < to; i += 3) {
+                        sum += t[i] * AstroMath.cos(t[i + 1] + t[i + 2] * tau[j]);
+                    }
+                    sums[j] = sum;
+                }
+            }
+            for (int j = 0; j < count; j++) {
+                out[j] = out[j] * tau[j] + sums[j];
+            }
+        }
+    }
+
+    /**
+     * Number of terms evaluated for one full L, B, R position of every planet
+     */
+    public int termCount(PrecisionTier tier) {
+        int count = 0;
+        for (int planet = 0; planet < PLANET_FILES.length; planet++) {
+            for (int series = 0; series < SERIES_PER_PLANET; series++) {
+                count += seriesEnd[tier.ordinal()][planet][series] - seriesStart[planet][series];
+            }
+        }
+        return count;
+    }
+
+    static Vsop87 load() {
+        PrecisionTier[] tiers = PrecisionTier.values();
+        double[][] terms = new double[PLANET_FILES.length][];
+        int[][] seriesStart = new int[PLANET_FILES.length][SERIES_PER_PLANET];
+        int[][][] seriesEnd = new int[tiers.length][PLANET_FILES.length][SERIES_PER_PLANET];
+
+        for (int planet = 0; planet < PLANET_FILES.length; planet++) {
+            List<List<double[]>> series = readSeries(PLANET_FILES[planet]);
+
+            int total = 0;
+            for (List<double[]> s : series) {
+                total += s.size();
+            }
+            double[] packed = new double[total * 3];
+
+            int next = 0;
+            for (int s = 0; s < SERIES_PER_PLANET; s++) {
+                List<double[]> sorted = series.get(s);
+                sorted.sort(Comparator.comparingDouble((double[] term) -> term[0]).reversed());
+
+                seriesStart[planet][s] = next;
+                for (double[] term : sorted) {
+                    System.arraycopy(term, 0, packed, next * 3, 3);
+                    next++;
+                }
+                for (PrecisionTier tier : tiers) {
+                    int end = seriesStart[planet][s];
+                    while (end < next && packed[end * 3] >= tier.getMinAmplitude()) {
+                        end++;
+                    }
+                    seriesEnd[tier.ordinal()][planet][s] = end;
+                }
+            }
+            terms[planet] = packed;
+        }
+        return new Vsop87(terms, seriesStart, seriesEnd);
+    }
+
+    /**
+     * Read one planet file: series headers (L0..R5) followed by "A B C" lines,
+     * A in units of 1e-8 rad or 1e-8 au
+     */
+    private static List<List<double[]>> readSeries(String planet) {
+        String resource = "/vsop87/" + planet + ".txt";
+        List<List<double[]>> series = new ArrayList<>();
+        for (int s = 0; s < SERIES_PER_PLANET; s++) {
+            series.add(new ArrayList<>());
+        }
+
+        try (InputStream in = Vsop87.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("VSOP87 series not found: " + resource);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+            List<double[]> current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (Character.isLetter(line.charAt(0))) {
+                    int coordinate = COORDINATES.indexOf(line.charAt(0));
+                    int power = line.charAt(1) - '0';
+                    if (coordinate < 0 || power < 0 || power >= MAX_POWER) {
+                        throw new IllegalStateException("Bad series header '" + line + "' in " + resource);
+                    }
+                    current = series.get(coordinate * MAX_POWER + power);
+                    continue;
+                }
+                if (current == null) {
+                    throw new IllegalStateException("Term before series header in " + resource);
+                }
+                String[] fields = line.split("\\s+");
+                current.add(new double[]{
+                    Double.parseDouble(fields[0]) * 1e-8,
+                    Double.parseDouble(fields[1]),
+                    Double.parseDouble(fields[2])
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,48 @@
+package com.natalcard.natalcard.calc;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Whole Sign houses
+ *
+ * CRITICAL: Whole Sign differs from Equal!
+ * - cusp[1] = sign start of ASC (NOT ASC itself)
+ * - cusp[n] = cusp[1] + (n-1)*30°
+ *
+ * Example: ASC = 172.56° (Virgo 22°)
+ *   → cusp[1] = 150° (0° Virgo)
+ *   → cusp[2] = 180° (0° Libra)
+ *   → cusp[3] = 210° (0° Scorpio)
+ */
+@Service
+public class WholeSignHouseSystem implements HouseSystem {
+
+    @Override
+    public HouseSystemType getType() {
+        return HouseSystemType.WHOLE_SIGN;
+    }
+
+    /**
+     * @return Array of 12 cusps, each at sign boundary (0° of each sign)
+     */
+    @Override
+    public double[] calculateCusps(ChartContext context, double asc, double mc, Set<ChartWarning> warnings) {
+        double[] cusps = new double[12];
+
+        // Find the sign start of ASC (burç başlangıcı)
+        // signIndex = floor(asc / 30)
+        // signStart = signIndex * 30
+        double ascNormalized = AstroMath.normalize360(asc);
+        int signIndex = (int) Math.floor(ascNormalized / 30.0);
+        double cusp1 = signIndex * 30.0; // Sign boundary (0° of sign)
+
+        // Each house = one zodiac sign (30°)
+        for (int i = 0; i < 12; i++) {
+            cusps[i] = AstroMath.normalize360(cusp1 + i * 30.0);
+        }
+
+        return cusps;
+    }
+}
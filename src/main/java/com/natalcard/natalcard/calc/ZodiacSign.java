@@ -0,0 +1,29 @@
+package com.natalcard.natalcard.calc;
+
+/**
+ * Tropical zodiac signs, 30° each from 0° Aries
+ */
+public enum ZodiacSign {
+    ARIES,
+    TAURUS,
+    GEMINI,
+    CANCER,
+    LEO,
+    VIRGO,
+    LIBRA,
+    SCORPIO,
+    SAGITTARIUS,
+    CAPRICORN,
+    AQUARIUS,
+    PISCES;
+
+    /** Cached values() — values() clones the array on every call */
+    public static final ZodiacSign[] ALL = values();
+
+    /**
+     * Sign containing an ecliptic longitude
+     */
+    public static ZodiacSign of(double longitude) {
+        return ALL[SignUtil.getSignNumber(longitude)];
+    }
+}
@@ -0,0 +1,47 @@
+package com.natalcard.natalcard.config;
+
+import com.natalcard.natalcard.calc.AspectProfile;
+import com.natalcard.natalcard.calc.AspectProfiles;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aspect profile configuration
+ *
+ * Built in: MAJOR (five major aspects, the original orbs) and EXTENDED (majors plus minors)
+ *
+ * natalcard.aspects.profiles.NAME: extra profiles (or replacements of the built-ins),
+ *   comma-separated TYPE:orb[:luminaryOrb][;BODY-BODY=orb...] tokens (see {@link AspectProfile})
+ * natalcard.aspects.default-profile: profile used when a request names none
+ *
+ * An invalid profile fails startup.
+ */
+@Configuration
+@Slf4j
+public class AspectConfig {
+
+    @Bean
+    public AspectProfiles aspectProfiles(
+            Environment environment,
+            @Value("${natalcard.aspects.default-profile:MAJOR}") String defaultProfile) {
+
+        List<AspectProfile> profiles = new ArrayList<>(List.of(AspectProfile.MAJOR, AspectProfile.EXTENDED));
+        Map<String, String> specs = Binder.get(environment)
+            .bind("natalcard.aspects.profiles", Bindable.mapOf(String.class, String.class))
+            .orElse(Map.of());
+        specs.forEach((name, spec) -> profiles.add(AspectProfile.parse(name, spec)));
+
+        AspectProfiles registry = new AspectProfiles(profiles, defaultProfile);
+        log.info("Aspect profiles {}, default {}", registry.getNames(), registry.getDefault());
+        return registry;
+    }
+}
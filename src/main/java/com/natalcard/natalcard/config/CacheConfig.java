@@ -1,15 +1,51 @@
 package com.natalcard.natalcard.config;
 
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.PositionCache;
+import com.natalcard.natalcard.service.ChartResultCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
- * Cache configuration - DISABLED
+ * Cache configuration
+ *
+ * Spring's @Cacheable abstraction stays disabled; caches are explicit Caffeine
+ * instances owned by the services that use them.
+ *
+ * natalcard.cache.positions.max-nodes: interpolation nodes kept by the
+ * {@link PositionCache} (0 disables it, every chart evaluates the series).
  *
- * Caching is disabled to simplify the application.
- * All calculations are done fresh on each request.
+ * natalcard.cache.charts.*: language-neutral chart cores in the {@link ChartResultCache}
+ * - max-size: entries kept (0 disables the cache)
+ * - expire-after-write-minutes: time-based eviction
+ * - coordinate-decimals: latitude/longitude rounding in the request fingerprint
  */
 @Configuration
-// @EnableCaching - DISABLED for simplicity
+@Slf4j
 public class CacheConfig {
-    // All cache beans removed
+
+    @Bean
+    public PositionCache positionCache(
+            AnalyticEphemeris analyticEphemeris,
+            @Value("${natalcard.cache.positions.max-nodes:100000}") long maxNodes) {
+        if (maxNodes <= 0) {
+            log.info("Position node cache disabled");
+        }
+        return new PositionCache(analyticEphemeris, maxNodes);
+    }
+
+    @Bean
+    public ChartResultCache chartResultCache(
+            @Value("${natalcard.cache.charts.max-size:10000}") long maxSize,
+            @Value("${natalcard.cache.charts.expire-after-write-minutes:60}") long expireMinutes,
+            @Value("${natalcard.cache.charts.coordinate-decimals:4}") int coordinateDecimals) {
+        if (maxSize <= 0) {
+            log.info("Chart result cache disabled");
+        }
+        return new ChartResultCache(maxSize, Duration.ofMinutes(expireMinutes), coordinateDecimals);
+    }
 }
@@ -0,0 +1,102 @@
+package com.natalcard.natalcard.config;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.ChebyshevEphemeris;
+import com.natalcard.natalcard.calc.EphemerisEngine;
+import com.natalcard.natalcard.calc.JplEphemeris;
+import com.natalcard.natalcard.calc.KeplerEphemeris;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import com.natalcard.natalcard.calc.SeriesKernel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Ephemeris engine selection
+ *
+ * natalcard.ephemeris.engine:
+ * - ANALYTIC (default): series evaluated per request
+ * - TABLE: memory-mapped Chebyshev tables from natalcard.ephemeris.table-file
+ * - JPL: memory-mapped JPL DE binary file from natalcard.ephemeris.jpl-file
+ * - KEPLER: Keplerian orbits from approximate elements (1800-2050, arc-minute accuracy)
+ *
+ * If the configured file is missing or unreadable, the analytic engine is used.
+ *
+ * natalcard.ephemeris.precision: default VSOP87 tier for the analytic engine
+ * (FAST, STANDARD or PRECISE); requests may override it.
+ *
+ * natalcard.ephemeris.vector: run batch evaluation on the JDK Vector API when the
+ * JVM was started with --add-modules jdk.incubator.vector (scalar otherwise).
+ */
+@Configuration
+@Slf4j
+public class EphemerisConfig {
+
+    @Bean
+    public AnalyticEphemeris analyticEphemeris(
+            @Value("${natalcard.ephemeris.precision:STANDARD}") String precision,
+            @Value("${natalcard.ephemeris.vector:true}") boolean vector) {
+        SeriesKernel kernel = vector ? SeriesKernel.preferred() : SeriesKernel.SCALAR;
+        if (vector && kernel == SeriesKernel.SCALAR) {
+            log.info("jdk.incubator.vector not available, batch ephemeris uses the scalar kernel");
+        }
+        return new AnalyticEphemeris(PrecisionTier.parse(precision), kernel);
+    }
+
+    @Bean
+    @Primary
+    public EphemerisEngine ephemerisEngine(
+            AnalyticEphemeris analyticEphemeris,
+            @Value("${natalcard.ephemeris.engine:ANALYTIC}") String engine,
+            @Value("${natalcard.ephemeris.table-file:data/ephemeris-1800-2200.bin}") String tableFile,
+            @Value("${natalcard.ephemeris.jpl-file:data/linux_p1550p2650.440}") String jplFile) {
+
+        if ("TABLE".equalsIgnoreCase(engine)) {
+            Path path = Paths.get(tableFile);
+            if (!Files.isReadable(path)) {
+                log.warn("Ephemeris table {} not found, using analytic engine", path.toAbsolutePath());
+                return analyticEphemeris;
+            }
+            try {
+                ChebyshevEphemeris table = ChebyshevEphemeris.open(path);
+                log.info("Using Chebyshev ephemeris table {} (JD {} - {})",
+                    path, table.getStartJd(), table.getEndJd());
+                return table;
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to open ephemeris table {}, using analytic engine", path, e);
+                return analyticEphemeris;
+            }
+        }
+
+        if ("JPL".equalsIgnoreCase(engine)) {
+            Path path = Paths.get(jplFile);
+            if (!Files.isReadable(path)) {
+                log.warn("JPL ephemeris {} not found, using analytic engine", path.toAbsolutePath());
+                return analyticEphemeris;
+            }
+            try {
+                JplEphemeris de = JplEphemeris.open(path);
+                log.info("Using JPL DE{} ephemeris {} (JD {} - {})",
+                    de.getDenum(), path, de.getStartJd(), de.getEndJd());
+                return de;
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to open JPL ephemeris {}, using analytic engine", path, e);
+                return analyticEphemeris;
+            }
+        }
+
+        if ("KEPLER".equalsIgnoreCase(engine)) {
+            log.info("Using Kepler-orbit ephemeris (JD {} - {})", KeplerEphemeris.START_JD, KeplerEphemeris.END_JD);
+            return new KeplerEphemeris();
+        }
+
+        return analyticEphemeris;
+    }
+}
@@ -0,0 +1,69 @@
+package com.natalcard.natalcard.config;
+
+import com.natalcard.natalcard.calc.HouseCuspGrid;
+import com.natalcard.natalcard.calc.HouseService;
+import com.natalcard.natalcard.calc.HouseSystem;
+import com.natalcard.natalcard.calc.PlacidusHouseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * House system configuration
+ *
+ * natalcard.houses.placidus.*: convergence control of the iterative Placidus solver
+ * - tolerance: stop when a cusp moves by less than this many degrees
+ * - max-iterations: iteration cap per cusp; charts that need more fall back to Equal houses
+ *
+ * natalcard.houses.mode:
+ * - SOLVE (default): cusps computed per chart
+ * - GRID: systems in the memory-mapped cusp grid natalcard.houses.grid-file are interpolated
+ *   where the grid covers the chart (generate with HouseCuspGridWriter), solved elsewhere
+ *
+ * If the grid file is missing or unreadable, every chart is solved.
+ */
+@Configuration
+@Slf4j
+public class HouseConfig {
+
+    @Bean
+    public PlacidusHouseService placidusHouseService(
+            @Value("${natalcard.houses.placidus.tolerance:1e-9}") double tolerance,
+            @Value("${natalcard.houses.placidus.max-iterations:100}") int maxIterations) {
+        log.info("Placidus solver: tolerance {}°, at most {} iterations per cusp", tolerance, maxIterations);
+        return new PlacidusHouseService(tolerance, maxIterations);
+    }
+
+    @Bean
+    public HouseService houseService(
+            List<HouseSystem> systems,
+            @Value("${natalcard.houses.mode:SOLVE}") String mode,
+            @Value("${natalcard.houses.grid-file:data/house-cusps.bin}") String gridFile) {
+
+        if ("GRID".equalsIgnoreCase(mode)) {
+            Path path = Paths.get(gridFile);
+            if (!Files.isReadable(path)) {
+                log.warn("House cusp grid {} not found, solving every chart", path.toAbsolutePath());
+                return new HouseService(systems);
+            }
+            try {
+                HouseCuspGrid grid = HouseCuspGrid.open(path);
+                log.info("Using house cusp grid {} for {} (latitudes up to ±{}°, RAMC step {}°, latitude step {}°)",
+                    path, grid.getSystems(), grid.getMaxLatitude(), grid.getRamcStep(), grid.getLatitudeStep());
+                return new HouseService(systems, grid);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to open house cusp grid {}, solving every chart", path, e);
+                return new HouseService(systems);
+            }
+        }
+
+        return new HouseService(systems);
+    }
+}
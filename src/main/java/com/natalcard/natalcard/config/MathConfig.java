@@ -0,0 +1,35 @@
+package com.natalcard.natalcard.config;
+
+import com.natalcard.natalcard.calc.AstroMath;
+import com.natalcard.natalcard.calc.MathMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Math implementation selection
+ *
+ * natalcard.math.mode:
+ * - JDK (default): java.lang.Math
+ * - FAST: table-driven sin/cos/tan/atan2 and division-free normalize (see FastMath)
+ *
+ * AstroMath reads the mode once per JVM, from -Dnatalcard.math.mode or NATALCARD_MATH_MODE,
+ * so every context and every static initializer sees the same math. A mode set only in a
+ * properties file or profile cannot reach it and fails startup instead of being ignored.
+ */
+@Configuration
+@Slf4j
+public class MathConfig {
+
+    @Bean
+    public MathMode mathMode(@Value("${natalcard.math.mode:JDK}") String mode) {
+        MathMode mathMode = MathMode.parse(mode);
+        if (mathMode != AstroMath.getMode()) {
+            throw new IllegalStateException("natalcard.math.mode=" + mathMode + " but AstroMath runs "
+                + AstroMath.getMode() + ": set it with -D" + AstroMath.MODE_PROPERTY + " or " + AstroMath.MODE_ENV);
+        }
+        log.info("AstroMath uses {} math", mathMode);
+        return mathMode;
+    }
+}
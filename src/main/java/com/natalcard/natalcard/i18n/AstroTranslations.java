@@ -1,196 +1,169 @@
 package com.natalcard.natalcard.i18n;
 
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.ZodiacSign;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
 
 /**
- * Astrology term translations (Turkish/English)
+ * Astrology term translations
+ *
+ * Loaded once from the i18n/astro_&lt;language&gt;.properties bundles (UTF-8) into
+ * dense String[language][enum ordinal] tables, so a lookup is two array loads.
+ * Resolve the language once per response with {@link #languageIndex(String)}.
+ *
+ * English is index 0 and the fallback: keys missing from another bundle and
+ * unknown languages get the English text. Adding a language means adding a bundle.
  */
 @Component
 public class AstroTranslations {
 
-    // Zodiac signs translations
-    private static final Map<String, Map<String, String>> SIGN_TRANSLATIONS = new HashMap<>();
+    public static final String DEFAULT_LANGUAGE = "en";
+    private static final String BUNDLE_PATTERN = "classpath*:i18n/astro_*.properties";
 
-    // Planet names translations
-    private static final Map<String, Map<String, String>> PLANET_TRANSLATIONS = new HashMap<>();
+    private final String[] languages;
+    private final Map<String, Integer> languageIndexes = new HashMap<>();
 
-    // Aspect types translations
-    private static final Map<String, Map<String, String>> ASPECT_TRANSLATIONS = new HashMap<>();
+    private final String[][] signs;
+    private final String[][] planets;
+    private final String[][] aspects;
+    private final String[][] houseSystems;
+    private final String[][] warnings;
 
-    // House system translations
-    private static final Map<String, Map<String, String>> HOUSE_SYSTEM_TRANSLATIONS = new HashMap<>();
-
-    // Warning translations
-    private static final Map<String, Map<String, String>> WARNING_TRANSLATIONS = new HashMap<>();
-
-    static {
-        // ZODIAC SIGNS
-        initSignTranslations();
-
-        // PLANETS
-        initPlanetTranslations();
-
-        // ASPECTS
-        initAspectTranslations();
-
-        // HOUSE SYSTEMS
-        initHouseSystemTranslations();
-
-        // WARNINGS
-        initWarningTranslations();
+    public AstroTranslations() {
+        this(loadBundles());
     }
 
-    private static void initSignTranslations() {
-        addTranslation(SIGN_TRANSLATIONS, "ARIES", "en", "Aries");
-        addTranslation(SIGN_TRANSLATIONS, "ARIES", "tr", "Koç");
-
-        addTranslation(SIGN_TRANSLATIONS, "TAURUS", "en", "Taurus");
-        addTranslation(SIGN_TRANSLATIONS, "TAURUS", "tr", "Boğa");
-
-        addTranslation(SIGN_TRANSLATIONS, "GEMINI", "en", "Gemini");
-        addTranslation(SIGN_TRANSLATIONS, "GEMINI", "tr", "İkizler");
-
-        addTranslation(SIGN_TRANSLATIONS, "CANCER", "en", "Cancer");
-        addTranslation(SIGN_TRANSLATIONS, "CANCER", "tr", "Yengeç");
-
-        addTranslation(SIGN_TRANSLATIONS, "LEO", "en", "Leo");
-        addTranslation(SIGN_TRANSLATIONS, "LEO", "tr", "Aslan");
-
-        addTranslation(SIGN_TRANSLATIONS, "VIRGO", "en", "Virgo");
-        addTranslation(SIGN_TRANSLATIONS, "VIRGO", "tr", "Başak");
-
-        addTranslation(SIGN_TRANSLATIONS, "LIBRA", "en", "Libra");
-        addTranslation(SIGN_TRANSLATIONS, "LIBRA", "tr", "Terazi");
-
-        addTranslation(SIGN_TRANSLATIONS, "SCORPIO", "en", "Scorpio");
-        addTranslation(SIGN_TRANSLATIONS, "SCORPIO", "tr", "Akrep");
-
-        addTranslation(SIGN_TRANSLATIONS, "SAGITTARIUS", "en", "Sagittarius");
-        addTranslation(SIGN_TRANSLATIONS, "SAGITTARIUS", "tr", "Yay");
-
-        addTranslation(SIGN_TRANSLATIONS, "CAPRICORN", "en", "Capricorn");
-        addTranslation(SIGN_TRANSLATIONS, "CAPRICORN", "tr", "Oğlak");
-
-        addTranslation(SIGN_TRANSLATIONS, "AQUARIUS", "en", "Aquarius");
-        addTranslation(SIGN_TRANSLATIONS, "AQUARIUS", "tr", "Kova");
-
-        addTranslation(SIGN_TRANSLATIONS, "PISCES", "en", "Pisces");
-        addTranslation(SIGN_TRANSLATIONS, "PISCES", "tr", "Balık");
+    /**
+     * @param bundles Properties by language code; must contain {@link #DEFAULT_LANGUAGE}
+     */
+    AstroTranslations(Map<String, Properties> bundles) {
+        Properties english = bundles.get(DEFAULT_LANGUAGE);
+        if (english == null) {
+            throw new IllegalStateException("Missing i18n/astro_" + DEFAULT_LANGUAGE + ".properties");
+        }
+
+        List<String> codes = new ArrayList<>();
+        codes.add(DEFAULT_LANGUAGE);
+        for (String code : bundles.keySet()) {
+            if (!code.equals(DEFAULT_LANGUAGE)) {
+                codes.add(code);
+            }
+        }
+        this.languages = codes.toArray(new String[0]);
+
+        Properties[] ordered = new Properties[languages.length];
+        for (int i = 0; i < languages.length; i++) {
+            languageIndexes.put(languages[i], i);
+            ordered[i] = bundles.get(languages[i]);
+        }
+
+        this.signs = table(ordered, "sign.", ZodiacSign.ALL);
+        this.planets = table(ordered, "planet.", Body.ALL);
+        this.aspects = table(ordered, "aspect.", AspectService.AspectType.values());
+        this.houseSystems = table(ordered, "houseSystem.", HouseSystemType.values());
+        this.warnings = table(ordered, "warning.", ChartWarning.values());
     }
 
-    private static void initPlanetTranslations() {
-        addTranslation(PLANET_TRANSLATIONS, "SUN", "en", "Sun");
-        addTranslation(PLANET_TRANSLATIONS, "SUN", "tr", "Güneş");
-
-        addTranslation(PLANET_TRANSLATIONS, "MOON", "en", "Moon");
-        addTranslation(PLANET_TRANSLATIONS, "MOON", "tr", "Ay");
-
-        addTranslation(PLANET_TRANSLATIONS, "MERCURY", "en", "Mercury");
-        addTranslation(PLANET_TRANSLATIONS, "MERCURY", "tr", "Merkür");
-
-        addTranslation(PLANET_TRANSLATIONS, "VENUS", "en", "Venus");
-        addTranslation(PLANET_TRANSLATIONS, "VENUS", "tr", "Venüs");
-
-        addTranslation(PLANET_TRANSLATIONS, "MARS", "en", "Mars");
-        addTranslation(PLANET_TRANSLATIONS, "MARS", "tr", "Mars");
-
-        addTranslation(PLANET_TRANSLATIONS, "JUPITER", "en", "Jupiter");
-        addTranslation(PLANET_TRANSLATIONS, "JUPITER", "tr", "Jüpiter");
-
-        addTranslation(PLANET_TRANSLATIONS, "SATURN", "en", "Saturn");
-        addTranslation(PLANET_TRANSLATIONS, "SATURN", "tr", "Satürn");
-
-        addTranslation(PLANET_TRANSLATIONS, "URANUS", "en", "Uranus");
-        addTranslation(PLANET_TRANSLATIONS, "URANUS", "tr", "Uranüs");
-
-        addTranslation(PLANET_TRANSLATIONS, "NEPTUNE", "en", "Neptune");
-        addTranslation(PLANET_TRANSLATIONS, "NEPTUNE", "tr", "Neptün");
-
-        addTranslation(PLANET_TRANSLATIONS, "PLUTO", "en", "Pluto");
-        addTranslation(PLANET_TRANSLATIONS, "PLUTO", "tr", "Plüton");
+    /**
+     * Language codes with a bundle, English first
+     */
+    public List<String> getLanguages() {
+        return List.of(languages);
     }
 
-    private static void initAspectTranslations() {
-        addTranslation(ASPECT_TRANSLATIONS, "CONJUNCTION", "en", "Conjunction");
-        addTranslation(ASPECT_TRANSLATIONS, "CONJUNCTION", "tr", "Kavuşum");
-
-        addTranslation(ASPECT_TRANSLATIONS, "SEXTILE", "en", "Sextile");
-        addTranslation(ASPECT_TRANSLATIONS, "SEXTILE", "tr", "Sekstil");
-
-        addTranslation(ASPECT_TRANSLATIONS, "SQUARE", "en", "Square");
-        addTranslation(ASPECT_TRANSLATIONS, "SQUARE", "tr", "Kare");
-
-        addTranslation(ASPECT_TRANSLATIONS, "TRINE", "en", "Trine");
-        addTranslation(ASPECT_TRANSLATIONS, "TRINE", "tr", "Trigon");
-
-        addTranslation(ASPECT_TRANSLATIONS, "OPPOSITION", "en", "Opposition");
-        addTranslation(ASPECT_TRANSLATIONS, "OPPOSITION", "tr", "Karşıt");
+    /**
+     * Table index of a language code (case-insensitive); unknown or null codes map to English
+     */
+    public int languageIndex(String language) {
+        if (language == null) {
+            return 0;
+        }
+        Integer index = languageIndexes.get(language);
+        if (index == null) {
+            index = languageIndexes.get(language.trim().toLowerCase(Locale.ROOT));
+        }
+        return index != null ? index : 0;
     }
 
-    private static void initHouseSystemTranslations() {
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "PLACIDUS", "en", "Placidus");
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "PLACIDUS", "tr", "Placidus");
-
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "WHOLE_SIGN", "en", "Whole Sign");
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "WHOLE_SIGN", "tr", "Tam Burç");
+    // Hot-path lookups by language index and enum
 
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "EQUAL", "en", "Equal");
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "EQUAL", "tr", "Eşit");
-
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "KOCH", "en", "Koch");
-        addTranslation(HOUSE_SYSTEM_TRANSLATIONS, "KOCH", "tr", "Koch");
+    public String translate(ZodiacSign sign, int language) {
+        return signs[language][sign.ordinal()];
     }
 
-    private static void initWarningTranslations() {
-        addTranslation(WARNING_TRANSLATIONS, "PLACIDUS_FALLBACK_EQUAL_HIGH_LAT", "en",
-            "Placidus not reliable at high latitudes, using Equal houses");
-        addTranslation(WARNING_TRANSLATIONS, "PLACIDUS_FALLBACK_EQUAL_HIGH_LAT", "tr",
-            "Placidus yüksek enlemlerde güvenilir değil, Eşit ev sistemi kullanıldı");
-
-        addTranslation(WARNING_TRANSLATIONS, "PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL", "en",
-            "Placidus calculation failed, using Equal houses");
-        addTranslation(WARNING_TRANSLATIONS, "PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL", "tr",
-            "Placidus hesaplama başarısız, Eşit ev sistemi kullanıldı");
+    public String translate(Body planet, int language) {
+        return planets[language][planet.ordinal()];
     }
 
-    private static void addTranslation(Map<String, Map<String, String>> map,
-                                      String key, String lang, String value) {
-        map.computeIfAbsent(key, k -> new HashMap<>()).put(lang, value);
+    public String translate(AspectService.AspectType aspect, int language) {
+        return aspects[language][aspect.ordinal()];
     }
 
-    // Public translation methods
-
-    public String translateSign(String sign, String language) {
-        return translate(SIGN_TRANSLATIONS, sign, language);
+    public String translate(HouseSystemType houseSystem, int language) {
+        return houseSystems[language][houseSystem.ordinal()];
     }
 
-    public String translatePlanet(String planet, String language) {
-        return translate(PLANET_TRANSLATIONS, planet, language);
+    public String translate(ChartWarning warning, int language) {
+        return warnings[language][warning.ordinal()];
     }
 
-    public String translateAspect(String aspect, String language) {
-        return translate(ASPECT_TRANSLATIONS, aspect, language);
-    }
+    // Lookups by code for free-form values; unknown codes are returned unchanged
 
-    public String translateHouseSystem(String houseSystem, String language) {
-        return translate(HOUSE_SYSTEM_TRANSLATIONS, houseSystem, language);
+    public String translateHouseSystem(String houseSystem, int language) {
+        HouseSystemType type = HouseSystemType.find(houseSystem);
+        return type != null ? translate(type, language) : houseSystem;
     }
 
-    public String translateWarning(String warning, String language) {
-        return translate(WARNING_TRANSLATIONS, warning, language);
+    public String translateWarning(String warning, int language) {
+        ChartWarning code = ChartWarning.find(warning);
+        return code != null ? translate(code, language) : warning;
     }
 
-    private String translate(Map<String, Map<String, String>> translations,
-                            String key, String language) {
-        if (key == null) return key;
-
-        Map<String, String> langMap = translations.get(key);
-        if (langMap == null) return key; // Return original if not found
+    private static String[][] table(Properties[] bundles, String prefix, Enum<?>[] keys) {
+        String[][] table = new String[bundles.length][keys.length];
+        for (Enum<?> key : keys) {
+            String english = bundles[0].getProperty(prefix + key.name(), key.name());
+            for (int language = 0; language < bundles.length; language++) {
+                table[language][key.ordinal()] = bundles[language].getProperty(prefix + key.name(), english);
+            }
+        }
+        return table;
+    }
 
-        String translated = langMap.get(language);
-        return translated != null ? translated : langMap.get("en"); // Fallback to English
+    private static Map<String, Properties> loadBundles() {
+        Map<String, Properties> bundles = new LinkedHashMap<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(BUNDLE_PATTERN);
+            for (Resource resource : resources) {
+                String fileName = resource.getFilename();
+                String code = fileName.substring("astro_".length(), fileName.length() - ".properties".length());
+                Properties properties = new Properties();
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                bundles.put(code.toLowerCase(Locale.ROOT), properties);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load translation bundles", e);
+        }
+        return bundles;
     }
 }
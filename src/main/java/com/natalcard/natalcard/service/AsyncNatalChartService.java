@@ -8,6 +8,7 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Async wrapper for NatalChartService
@@ -55,6 +56,30 @@ public class AsyncNatalChartService {
         }
     }
 
+    /**
+     * Calculate a validated natal chart request asynchronously
+     *
+     * @param request Request already checked by {@link ChartRequestNormalizer}
+     * @return CompletableFuture containing natal chart response
+     */
+    @Async("natalChartExecutor")
+    public CompletableFuture<NatalChartResponseDTO> calculateNatalChartAsync(NormalizedChartRequest request) {
+        try {
+            long startTime = System.currentTimeMillis();
+
+            NatalChartResponseDTO response = natalChartService.calculateNatalChart(request);
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Natal chart calculation completed in {}ms", duration);
+
+            return CompletableFuture.completedFuture(response);
+
+        } catch (Exception e) {
+            log.error("Async natal chart calculation failed", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Calculate multiple natal charts in parallel
      * Useful for batch operations or comparison features
@@ -64,6 +89,22 @@ public class AsyncNatalChartService {
      */
     @Async("natalChartExecutor")
     public CompletableFuture<NatalChartResponseDTO[]> calculateMultipleAsync(NatalChartRequestDTO[] requests) {
+        return calculateAll(requests, this::calculateNatalChartAsync);
+    }
+
+    /**
+     * Calculate multiple validated natal charts in parallel
+     *
+     * @param requests Array of requests already checked by {@link ChartRequestNormalizer}
+     * @return CompletableFuture containing array of responses
+     */
+    @Async("natalChartExecutor")
+    public CompletableFuture<NatalChartResponseDTO[]> calculateMultipleAsync(NormalizedChartRequest[] requests) {
+        return calculateAll(requests, this::calculateNatalChartAsync);
+    }
+
+    private <T> CompletableFuture<NatalChartResponseDTO[]> calculateAll(
+            T[] requests, Function<T, CompletableFuture<NatalChartResponseDTO>> calculation) {
         try {
             log.info("Batch calculation started for {} charts", requests.length);
 
@@ -71,7 +112,7 @@ public class AsyncNatalChartService {
                 new CompletableFuture[requests.length];
 
             for (int i = 0; i < requests.length; i++) {
-                futures[i] = calculateNatalChartAsync(requests[i]);
+                futures[i] = calculation.apply(requests[i]);
             }
 
             // Wait for all to complete
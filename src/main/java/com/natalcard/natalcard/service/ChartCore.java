@@ -0,0 +1,114 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Language-neutral result of a chart calculation
+ *
+ * Everything astronomy produces for one request: angles, cusps, planet positions
+ * and houses, aspects and warnings, plus the cusps and houses of any compared
+ * house systems. Rendering into a response for a given
+ * language is done by {@link ChartLocalizationService}, so a core is cached once
+ * and shared by every language.
+ *
+ * Immutable after construction; the arrays and vector are private copies and
+ * must not be modified through the getters.
+ */
+@Getter
+public final class ChartCore {
+
+    private final double ascendant;
+    private final double midHeaven;
+    private final double[] cusps;          // 12 cusps, house 1 at index 0
+    private final PlanetVector planets;    // longitudes and (when known) speeds
+    private final int[] houses;            // house (1-12) by body ordinal
+    private final List<AspectService.Aspect> aspects; // empty when aspects were not requested
+    private final HouseSystemType requestedHouseSystem;
+    private final HouseSystemType effectiveHouseSystem;
+    private final PrecisionTier precision;
+    private final int warningMask;         // ChartWarning bits, localized at rendering
+    private final List<HouseSystemResult> comparedHouseSystems; // in HouseSystemType order, empty when none requested
+
+    ChartCore(double ascendant, double midHeaven, double[] cusps, PlanetVector planets, int[] houses,
+              List<AspectService.Aspect> aspects, HouseSystemType requestedHouseSystem,
+              HouseSystemType effectiveHouseSystem,
+              PrecisionTier precision, int warningMask, List<HouseSystemResult> comparedHouseSystems) {
+        this.ascendant = ascendant;
+        this.midHeaven = midHeaven;
+        this.cusps = cusps.clone();
+        this.planets = planets.copy();
+        this.houses = houses.clone();
+        this.aspects = List.copyOf(aspects);
+        this.requestedHouseSystem = requestedHouseSystem;
+        this.effectiveHouseSystem = effectiveHouseSystem;
+        this.precision = precision;
+        this.warningMask = warningMask;
+        this.comparedHouseSystems = List.copyOf(comparedHouseSystems);
+    }
+
+    /**
+     * Cusps and body houses of one compared house system, on the chart's shared angles and points
+     */
+    @Getter
+    public static final class HouseSystemResult {
+
+        private final HouseSystemType requestedHouseSystem;
+        private final HouseSystemType effectiveHouseSystem;
+        private final double[] cusps;      // 12 cusps, house 1 at index 0
+        private final int[] houses;        // house (1-12) by body ordinal
+        private final int warningMask;     // ChartWarning bits of this system alone
+
+        HouseSystemResult(HouseSystemType requestedHouseSystem, HouseSystemType effectiveHouseSystem,
+                          double[] cusps, int[] houses, int warningMask) {
+            this.requestedHouseSystem = requestedHouseSystem;
+            this.effectiveHouseSystem = effectiveHouseSystem;
+            this.cusps = cusps.clone();
+            this.houses = houses.clone();
+            this.warningMask = warningMask;
+        }
+
+        /**
+         * House (1-12) of a body in this system
+         */
+        public int getHouse(Body body) {
+            return houses[body.ordinal()];
+        }
+
+        public boolean hasWarning(ChartWarning warning) {
+            return (warningMask & warning.mask()) != 0;
+        }
+    }
+
+    /**
+     * House (1-12) of a body
+     */
+    public int getHouse(Body body) {
+        return houses[body.ordinal()];
+    }
+
+    public boolean hasWarning(ChartWarning warning) {
+        return (warningMask & warning.mask()) != 0;
+    }
+
+    /**
+     * Warnings as a new set, in declaration order
+     */
+    public EnumSet<ChartWarning> getWarnings() {
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        for (ChartWarning warning : ChartWarning.ALL) {
+            if (hasWarning(warning)) {
+                warnings.add(warning);
+            }
+        }
+        return warnings;
+    }
+}
@@ -0,0 +1,59 @@
+package com.natalcard.natalcard.service;
+
+/**
+ * Fields of a streamed chart, with their full and short names
+ * The full names are those of NatalChartResponseDTO
+ */
+enum ChartField {
+    META("meta", "m"),
+    REQUESTED_HOUSE_SYSTEM("requestedHouseSystem", "rh"),
+    EFFECTIVE_HOUSE_SYSTEM("effectiveHouseSystem", "eh"),
+    PRECISION("precision", "pr"),
+    WARNINGS("warnings", "w"),
+    REQUESTED_HOUSE_SYSTEM_LOCALIZED("requestedHouseSystemLocalized", "rhL"),
+    EFFECTIVE_HOUSE_SYSTEM_LOCALIZED("effectiveHouseSystemLocalized", "ehL"),
+    WARNINGS_LOCALIZED("warningsLocalized", "wL"),
+    ANGLES("angles", "an"),
+    ASCENDANT_LONGITUDE("ascendantLongitude", "asc"),
+    MID_HEAVEN_LONGITUDE("midHeavenLongitude", "mc"),
+    ASCENDANT_SIGN("ascendantSign", "ascS"),
+    MID_HEAVEN_SIGN("midHeavenSign", "mcS"),
+    ASCENDANT_SIGN_LOCALIZED("ascendantSignLocalized", "ascSL"),
+    MID_HEAVEN_SIGN_LOCALIZED("midHeavenSignLocalized", "mcSL"),
+    HOUSES("houses", "h"),
+    NUMBER("number", "n"),
+    CUSP_LONGITUDE("cuspLongitude", "c"),
+    SIGN("sign", "s"),
+    SIGN_LOCALIZED("signLocalized", "sL"),
+    HOUSE_SYSTEMS("houseSystems", "hss"),
+    HOUSE_SYSTEM("houseSystem", "hs"),
+    CUSPS("cusps", "cs"),
+    POINT_HOUSES("pointHouses", "ph"),
+    HOUSE_SYSTEM_LOCALIZED("houseSystemLocalized", "hsL"),
+    POINTS("points", "p"),
+    NAME("name", "nm"),
+    LONGITUDE("longitude", "lon"),
+    HOUSE("house", "hn"),
+    SIGN_DEGREE("signDegree", "sd"),
+    SPEED("speed", "v"),
+    RETROGRADE("retrograde", "r"),
+    NAME_LOCALIZED("nameLocalized", "nmL"),
+    ASPECTS("aspects", "as"),
+    PLANET1("planet1", "p1"),
+    PLANET2("planet2", "p2"),
+    ASPECT_TYPE("aspectType", "t"),
+    ANGLE("angle", "ang"),
+    ORB("orb", "o"),
+    IS_APPLYING("isApplying", "ap"),
+    PLANET1_LOCALIZED("planet1Localized", "p1L"),
+    PLANET2_LOCALIZED("planet2Localized", "p2L"),
+    ASPECT_TYPE_LOCALIZED("aspectTypeLocalized", "tL");
+
+    final String fullName;
+    final String shortName;
+
+    ChartField(String fullName, String shortName) {
+        this.fullName = fullName;
+        this.shortName = shortName;
+    }
+}
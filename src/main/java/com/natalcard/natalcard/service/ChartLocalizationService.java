@@ -0,0 +1,178 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.api.dto.NatalChartResponseDTO;
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.SignUtil;
+import com.natalcard.natalcard.calc.ZodiacSign;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a language-neutral {@link ChartCore} into a localized response
+ * Pure rendering: no astronomy, so switching language never recalculates a chart
+ */
+@Service
+@RequiredArgsConstructor
+public class ChartLocalizationService {
+
+    private final AstroTranslations translations;
+
+    /**
+     * Build the response for a chart core in the given language
+     *
+     * @param language Translation index (see AstroTranslations.languageIndex)
+     */
+    public NatalChartResponseDTO localize(ChartCore core, int language) {
+        HouseSystemType requestedHouseSystem = core.getRequestedHouseSystem();
+        HouseSystemType effectiveHouseSystem = core.getEffectiveHouseSystem();
+
+        // Translate warnings
+        List<String> warnings = new ArrayList<>();
+        List<String> warningsLocalized = new ArrayList<>();
+        for (ChartWarning warning : core.getWarnings()) {
+            warnings.add(warning.name());
+            warningsLocalized.add(translations.translate(warning, language));
+        }
+
+        return NatalChartResponseDTO.builder()
+            .meta(NatalChartResponseDTO.MetaDTO.builder()
+                .requestedHouseSystem(requestedHouseSystem.name())
+                .effectiveHouseSystem(effectiveHouseSystem.name())
+                .precision(core.getPrecision().name())
+                .warnings(warnings)
+                // Localized
+                .requestedHouseSystemLocalized(translations.translate(requestedHouseSystem, language))
+                .effectiveHouseSystemLocalized(translations.translate(effectiveHouseSystem, language))
+                .warningsLocalized(warningsLocalized)
+                .build())
+            .angles(buildAnglesDTO(core.getAscendant(), core.getMidHeaven(), language))
+            .houses(buildHousesDTO(core.getCusps(), language))
+            .houseSystems(buildHouseSystemsDTO(core.getComparedHouseSystems(), language))
+            .points(buildPointsDTO(core, language))
+            .aspects(buildAspectsDTO(core.getAspects(), language))
+            .build();
+    }
+
+    private NatalChartResponseDTO.AnglesDTO buildAnglesDTO(double asc, double mc, int language) {
+        ZodiacSign ascSign = ZodiacSign.of(asc);
+        ZodiacSign mcSign = ZodiacSign.of(mc);
+
+        return NatalChartResponseDTO.AnglesDTO.builder()
+            .ascendantLongitude(asc)
+            .midHeavenLongitude(mc)
+            .ascendantSign(ascSign.name())
+            .midHeavenSign(mcSign.name())
+            // Localized
+            .ascendantSignLocalized(translations.translate(ascSign, language))
+            .midHeavenSignLocalized(translations.translate(mcSign, language))
+            .build();
+    }
+
+    private List<NatalChartResponseDTO.HouseDTO> buildHousesDTO(double[] cusps, int language) {
+        List<NatalChartResponseDTO.HouseDTO> houses = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ZodiacSign sign = ZodiacSign.of(cusps[i]);
+            houses.add(NatalChartResponseDTO.HouseDTO.builder()
+                .number(i + 1)
+                .cuspLongitude(cusps[i])
+                .sign(sign.name())
+                // Localized
+                .signLocalized(translations.translate(sign, language))
+                .build());
+        }
+        return houses;
+    }
+
+    private List<NatalChartResponseDTO.HouseSystemDTO> buildHouseSystemsDTO(
+            List<ChartCore.HouseSystemResult> systems, int language) {
+        if (systems.isEmpty()) {
+            return null;
+        }
+        List<NatalChartResponseDTO.HouseSystemDTO> result = new ArrayList<>(systems.size());
+        for (ChartCore.HouseSystemResult system : systems) {
+            List<String> warnings = new ArrayList<>();
+            for (ChartWarning warning : ChartWarning.ALL) {
+                if (system.hasWarning(warning)) {
+                    warnings.add(warning.name());
+                }
+            }
+            List<Double> cusps = new ArrayList<>(12);
+            for (double cusp : system.getCusps()) {
+                cusps.add(cusp);
+            }
+            Map<String, Integer> pointHouses = new LinkedHashMap<>();
+            for (Body body : Body.ALL) {
+                pointHouses.put(body.name(), system.getHouse(body));
+            }
+
+            result.add(NatalChartResponseDTO.HouseSystemDTO.builder()
+                .houseSystem(system.getRequestedHouseSystem().name())
+                .effectiveHouseSystem(system.getEffectiveHouseSystem().name())
+                .warnings(warnings)
+                .cusps(cusps)
+                .pointHouses(pointHouses)
+                // Localized
+                .houseSystemLocalized(translations.translate(system.getRequestedHouseSystem(), language))
+                .build());
+        }
+        return result;
+    }
+
+    private Map<String, NatalChartResponseDTO.PlanetPointDTO> buildPointsDTO(ChartCore core, int language) {
+        Map<String, NatalChartResponseDTO.PlanetPointDTO> points = new LinkedHashMap<>();
+        PlanetVector planetPositions = core.getPlanets();
+
+        for (Body body : Body.ALL) {
+            String planetName = body.name();
+            double longitude = planetPositions.getLongitude(body);
+            ZodiacSign sign = ZodiacSign.of(longitude);
+            Double speed = planetPositions.hasSpeeds() ? planetPositions.getSpeed(body) : null;
+
+            points.put(planetName, NatalChartResponseDTO.PlanetPointDTO.builder()
+                .name(planetName)
+                .longitude(longitude)
+                .sign(sign.name())
+                .house(core.getHouse(body))
+                .signDegree(SignUtil.getSignDegree(longitude))
+                .speed(speed)
+                .retrograde(speed != null ? speed < 0.0 : null)
+                // Localized
+                .nameLocalized(translations.translate(body, language))
+                .signLocalized(translations.translate(sign, language))
+                .build());
+        }
+
+        return points;
+    }
+
+    private List<NatalChartResponseDTO.AspectDTO> buildAspectsDTO(List<AspectService.Aspect> aspects, int language) {
+        List<NatalChartResponseDTO.AspectDTO> result = new ArrayList<>();
+
+        for (AspectService.Aspect aspect : aspects) {
+            result.add(NatalChartResponseDTO.AspectDTO.builder()
+                .planet1(aspect.getPlanet1().name())
+                .planet2(aspect.getPlanet2().name())
+                .aspectType(aspect.getType().getName())
+                .angle(aspect.getAngle())
+                .orb(aspect.getOrb())
+                .isApplying(aspect.getApplying())
+                // Localized
+                .planet1Localized(translations.translate(aspect.getPlanet1(), language))
+                .planet2Localized(translations.translate(aspect.getPlanet2(), language))
+                .aspectTypeLocalized(translations.translate(aspect.getType(), language))
+                .build());
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,249 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.calc.Body;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Which parts of a chart a request asks for (the fields= selector)
+ *
+ * Selector: comma-separated tokens
+ * - section: meta, angles, houses, houseSystems, points, aspects (the whole section)
+ * - section.field: one field of a section, by its full name (points.sign, angles.ascendantSign)
+ * - points.BODY: only these bodies (points.SUN, points.MOON)
+ * - presets: sunSignOnly, moonSignOnly, bigThree (Sun, Moon and ascendant signs)
+ *
+ * Besides filtering the output, a projection tells the pipeline which stages to run
+ * (see {@link #getBodies()}, {@link #needsAngles()}, {@link #needsHouses()}, {@link #needsAspects()}):
+ * a sun-sign widget evaluates one body and no houses, aspects or localization.
+ */
+public final class ChartProjection {
+
+    /**
+     * Top-level chart sections, in output order, with the fields they contain
+     */
+    public enum Section {
+        META(ChartField.META, ChartField.REQUESTED_HOUSE_SYSTEM, ChartField.EFFECTIVE_HOUSE_SYSTEM,
+            ChartField.PRECISION, ChartField.WARNINGS, ChartField.REQUESTED_HOUSE_SYSTEM_LOCALIZED,
+            ChartField.EFFECTIVE_HOUSE_SYSTEM_LOCALIZED, ChartField.WARNINGS_LOCALIZED),
+        ANGLES(ChartField.ANGLES, ChartField.ASCENDANT_LONGITUDE, ChartField.MID_HEAVEN_LONGITUDE,
+            ChartField.ASCENDANT_SIGN, ChartField.MID_HEAVEN_SIGN, ChartField.ASCENDANT_SIGN_LOCALIZED,
+            ChartField.MID_HEAVEN_SIGN_LOCALIZED),
+        HOUSES(ChartField.HOUSES, ChartField.NUMBER, ChartField.CUSP_LONGITUDE, ChartField.SIGN,
+            ChartField.SIGN_LOCALIZED),
+        HOUSE_SYSTEMS(ChartField.HOUSE_SYSTEMS, ChartField.HOUSE_SYSTEM, ChartField.EFFECTIVE_HOUSE_SYSTEM,
+            ChartField.WARNINGS, ChartField.CUSPS, ChartField.POINT_HOUSES, ChartField.HOUSE_SYSTEM_LOCALIZED),
+        POINTS(ChartField.POINTS, ChartField.NAME, ChartField.LONGITUDE, ChartField.SIGN, ChartField.HOUSE,
+            ChartField.SIGN_DEGREE, ChartField.SPEED, ChartField.RETROGRADE, ChartField.NAME_LOCALIZED,
+            ChartField.SIGN_LOCALIZED),
+        ASPECTS(ChartField.ASPECTS, ChartField.PLANET1, ChartField.PLANET2, ChartField.ASPECT_TYPE,
+            ChartField.ANGLE, ChartField.ORB, ChartField.IS_APPLYING, ChartField.PLANET1_LOCALIZED,
+            ChartField.PLANET2_LOCALIZED, ChartField.ASPECT_TYPE_LOCALIZED);
+
+        private final ChartField name;
+        private final long fields;
+
+        Section(ChartField name, ChartField... fields) {
+            this.name = name;
+            long mask = 0;
+            for (ChartField field : fields) {
+                mask |= bit(field);
+            }
+            this.fields = mask;
+        }
+
+        static final Section[] ALL = values();
+    }
+
+    /** Every section, field and body */
+    public static final ChartProjection ALL = all();
+
+    private static final long NEEDS_HOUSES_META = bit(ChartField.EFFECTIVE_HOUSE_SYSTEM)
+        | bit(ChartField.EFFECTIVE_HOUSE_SYSTEM_LOCALIZED) | bit(ChartField.WARNINGS)
+        | bit(ChartField.WARNINGS_LOCALIZED);
+
+    private final long[] fields = new long[Section.ALL.length]; // selected fields by section, 0 = not written
+    private int bodies = Body.ALL_MASK;                          // points written (and evaluated)
+
+    private ChartProjection() {
+    }
+
+    /**
+     * Parse a selector; a null or blank selector selects everything
+     *
+     * @param unknown Receives the tokens that are not understood
+     * @return The projection, or null if any token was unknown
+     */
+    public static ChartProjection parse(String selector, List<String> unknown) {
+        if (selector == null || selector.isBlank()) {
+            return ALL;
+        }
+        ChartProjection projection = new ChartProjection();
+        EnumSet<Section> wholeSections = EnumSet.noneOf(Section.class);
+        int selectedBodies = 0;
+
+        for (String token : expand(selector).split(",")) {
+            token = token.trim();
+            if (token.isEmpty()) {
+                continue;
+            }
+            int dot = token.indexOf('.');
+            Section section = findSection(dot < 0 ? token : token.substring(0, dot));
+            if (section == null) {
+                unknown.add(token);
+                continue;
+            }
+            if (dot < 0) {
+                wholeSections.add(section);
+                continue;
+            }
+
+            String part = token.substring(dot + 1);
+            ChartField field = findField(section, part);
+            if (field != null) {
+                projection.fields[section.ordinal()] |= bit(field);
+                continue;
+            }
+            Body body = section == Section.POINTS ? findBody(part) : null;
+            if (body != null) {
+                selectedBodies |= body.mask();
+                continue;
+            }
+            unknown.add(token);
+        }
+        if (!unknown.isEmpty()) {
+            return null;
+        }
+
+        if (selectedBodies != 0) {
+            projection.bodies = selectedBodies;
+            if (projection.fields[Section.POINTS.ordinal()] == 0) {
+                wholeSections.add(Section.POINTS); // points.SUN alone: every field of the Sun
+            }
+        }
+        for (Section section : wholeSections) {
+            projection.fields[section.ordinal()] = section.fields;
+        }
+        return projection;
+    }
+
+    public boolean includes(Section section) {
+        return fields[section.ordinal()] != 0;
+    }
+
+    /**
+     * Selected fields of a section as a bit mask (see {@link #bit(ChartField)})
+     */
+    long getFields(Section section) {
+        return fields[section.ordinal()];
+    }
+
+    public boolean includes(Body body) {
+        return (bodies & body.mask()) != 0;
+    }
+
+    /**
+     * Bodies to evaluate: all of them when aspects are written, the written points otherwise
+     * (also placed in each compared house system for houseSystems.pointHouses)
+     */
+    public int getBodies() {
+        if (needsAspects()) {
+            return Body.ALL_MASK;
+        }
+        return includes(Section.POINTS) || (getFields(Section.HOUSE_SYSTEMS) & bit(ChartField.POINT_HOUSES)) != 0
+            ? bodies
+            : 0;
+    }
+
+    /**
+     * Ascendant and Midheaven (also the input of every house system)
+     */
+    public boolean needsAngles() {
+        return includes(Section.ANGLES) || needsHouses() || needsComparedHouses();
+    }
+
+    /**
+     * House cusps: the houses section, the house of each point, or the effective system and its warnings
+     */
+    public boolean needsHouses() {
+        return includes(Section.HOUSES)
+            || (getFields(Section.POINTS) & bit(ChartField.HOUSE)) != 0
+            || (getFields(Section.META) & NEEDS_HOUSES_META) != 0;
+    }
+
+    /**
+     * Cusps of the request's compareHouseSystems (nothing to do when none are requested)
+     */
+    public boolean needsComparedHouses() {
+        return includes(Section.HOUSE_SYSTEMS);
+    }
+
+    public boolean needsAspects() {
+        return includes(Section.ASPECTS);
+    }
+
+    /**
+     * The stages this projection runs, for the result cache key
+     * Projections with the same stages share chart cores
+     */
+    public int getStages() {
+        return getBodies()
+            | (needsAngles() ? 1 << Body.COUNT : 0)
+            | (needsHouses() ? 1 << (Body.COUNT + 1) : 0)
+            | (needsAspects() ? 1 << (Body.COUNT + 2) : 0);
+    }
+
+    static long bit(ChartField field) {
+        return 1L << field.ordinal();
+    }
+
+    private static String expand(String selector) {
+        String trimmed = selector.trim();
+        if ("sunSignOnly".equalsIgnoreCase(trimmed)) {
+            return "points.SUN,points.sign";
+        }
+        if ("moonSignOnly".equalsIgnoreCase(trimmed)) {
+            return "points.MOON,points.sign";
+        }
+        if ("bigThree".equalsIgnoreCase(trimmed)) {
+            return "points.SUN,points.MOON,points.sign,angles.ascendantSign";
+        }
+        return selector;
+    }
+
+    private static Section findSection(String name) {
+        for (Section section : Section.ALL) {
+            if (section.name.fullName.equalsIgnoreCase(name)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    private static ChartField findField(Section section, String name) {
+        for (ChartField field : ChartField.values()) {
+            if ((section.fields & bit(field)) != 0 && field.fullName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static Body findBody(String name) {
+        for (Body body : Body.ALL) {
+            if (body.name().equalsIgnoreCase(name)) {
+                return body;
+            }
+        }
+        return null;
+    }
+
+    private static ChartProjection all() {
+        ChartProjection projection = new ChartProjection();
+        for (Section section : Section.ALL) {
+            projection.fields[section.ordinal()] = section.fields;
+        }
+        return projection;
+    }
+}
@@ -0,0 +1,358 @@
+package com.natalcard.natalcard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.api.dto.ValidationErrorResponseDTO.FieldErrorDTO;
+import com.natalcard.natalcard.calc.AspectProfile;
+import com.natalcard.natalcard.calc.AspectProfiles;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a chart request into its calculation form, or a list of field errors
+ *
+ * - birthDateTimeLocal: hand-rolled ISO scanner (yyyy-MM-ddTHH:mm[:ss[.fraction]]),
+ *   whitespace anywhere is ignored as before; no regex, no DateTimeFormatter
+ * - timeZoneId: resolved ZoneRules kept in a bounded cache
+ * - houseSystem, precision: mapped to enums once; language to its translation index
+ * - aspectProfile: looked up in the configured {@link AspectProfiles}
+ * - compareHouseSystems: comma-separated systems (or ALL) as a HouseSystemType bit mask
+ * - fieldNames, longitudeDecimals: response encoding options (see {@link ChartStreamWriter})
+ * - fields: parsed once into a {@link ChartProjection}
+ *
+ * Invalid input is reported as structured errors, never as exceptions.
+ */
+@Service
+public class ChartRequestNormalizer {
+
+    static final int MAX_LONGITUDE_DECIMALS = 10;
+
+    private final AstroTranslations translations;
+    private final AspectProfiles aspectProfiles;
+    private final Cache<String, ZoneRules> zoneRules;
+
+    @Autowired
+    public ChartRequestNormalizer(AstroTranslations translations, AspectProfiles aspectProfiles,
+                                  @Value("${natalcard.cache.zones.max-size:512}") long maxZones) {
+        this.translations = translations;
+        this.aspectProfiles = aspectProfiles;
+        this.zoneRules = Caffeine.newBuilder().maximumSize(Math.max(1, maxZones)).build();
+    }
+
+    /**
+     * Normalizer with the built-in aspect profiles
+     */
+    public ChartRequestNormalizer(AstroTranslations translations, long maxZones) {
+        this(translations, AspectProfiles.defaults(), maxZones);
+    }
+
+    /**
+     * Outcome of normalization: a request when valid, field errors otherwise
+     */
+    public static final class Result {
+        private final NormalizedChartRequest request;
+        private final List<FieldErrorDTO> errors;
+
+        private Result(NormalizedChartRequest request, List<FieldErrorDTO> errors) {
+            this.request = request;
+            this.errors = errors;
+        }
+
+        public boolean isValid() {
+            return request != null;
+        }
+
+        public NormalizedChartRequest getRequest() {
+            return request;
+        }
+
+        public List<FieldErrorDTO> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Validate and normalize a request
+     */
+    public Result normalize(NatalChartRequestDTO request) {
+        List<FieldErrorDTO> errors = new ArrayList<>(0);
+
+        // Zodiac (only TROPICAL supported)
+        if (request.getZodiac() != null && !"TROPICAL".equalsIgnoreCase(request.getZodiac())) {
+            errors.add(error("zodiac", "UNSUPPORTED", "Only TROPICAL zodiac is supported"));
+        }
+
+        // Local date/time
+        LocalDateTime localDateTime = null;
+        if (isBlank(request.getBirthDateTimeLocal())) {
+            errors.add(error("birthDateTimeLocal", "REQUIRED", "Birth date/time is required"));
+        } else {
+            localDateTime = scanLocalDateTime(request.getBirthDateTimeLocal());
+            if (localDateTime == null) {
+                errors.add(error("birthDateTimeLocal", "INVALID_FORMAT",
+                    "Expected ISO local date-time, e.g. 1996-04-23T14:35:00"));
+            }
+        }
+
+        // Time zone
+        ZoneRules rules = null;
+        if (isBlank(request.getTimeZoneId())) {
+            errors.add(error("timeZoneId", "REQUIRED", "Timezone is required"));
+        } else {
+            rules = zoneRules(request.getTimeZoneId().trim());
+            if (rules == null) {
+                errors.add(error("timeZoneId", "UNKNOWN_TIMEZONE", "must be a valid IANA timezone ID"));
+            }
+        }
+
+        // Coordinates
+        Double latitude = request.getLatitude();
+        Double longitude = request.getLongitude();
+        if (latitude == null) {
+            errors.add(error("latitude", "REQUIRED", "Latitude is required"));
+        } else if (!(latitude >= -90.0 && latitude <= 90.0)) {
+            errors.add(error("latitude", "OUT_OF_RANGE", "must be between -90 and 90"));
+        }
+        if (longitude == null) {
+            errors.add(error("longitude", "REQUIRED", "Longitude is required"));
+        } else if (!(longitude >= -180.0 && longitude <= 180.0)) {
+            errors.add(error("longitude", "OUT_OF_RANGE", "must be between -180 and 180"));
+        }
+
+        // House system (default: PLACIDUS)
+        HouseSystemType houseSystem = HouseSystemType.PLACIDUS;
+        if (request.getHouseSystem() != null) {
+            houseSystem = HouseSystemType.find(request.getHouseSystem());
+            if (houseSystem == null) {
+                errors.add(error("houseSystem", "UNSUPPORTED",
+                    "Unsupported house system: " + request.getHouseSystem()));
+            }
+        }
+
+        // House systems to compare (default: none)
+        int comparedHouseSystems = 0;
+        if (request.getCompareHouseSystems() != null) {
+            List<String> unknownSystems = new ArrayList<>(0);
+            comparedHouseSystems = houseSystemMask(request.getCompareHouseSystems(), unknownSystems);
+            if (!unknownSystems.isEmpty()) {
+                errors.add(error("compareHouseSystems", "UNSUPPORTED",
+                    "Unsupported house system: " + String.join(", ", unknownSystems)));
+            }
+        }
+
+        // Aspect profile (default: server setting)
+        AspectProfile aspectProfile = aspectProfiles.getDefault();
+        if (request.getAspectProfile() != null) {
+            aspectProfile = aspectProfiles.find(request.getAspectProfile());
+            if (aspectProfile == null) {
+                errors.add(error("aspectProfile", "UNSUPPORTED", "Unsupported aspect profile: "
+                    + request.getAspectProfile() + " (expected one of " + String.join(", ", aspectProfiles.getNames()) + ")"));
+            }
+        }
+
+        // Precision (default: server setting)
+        PrecisionTier precision = null;
+        if (request.getPrecision() != null) {
+            precision = PrecisionTier.find(request.getPrecision());
+            if (precision == null) {
+                errors.add(error("precision", "UNSUPPORTED",
+                    "Unsupported precision: " + request.getPrecision() + " (expected FAST, STANDARD or PRECISE)"));
+            }
+        }
+
+        // Response encoding options
+        boolean shortFieldNames = false;
+        if (request.getFieldNames() != null) {
+            shortFieldNames = "SHORT".equalsIgnoreCase(request.getFieldNames().trim());
+            if (!shortFieldNames && !"FULL".equalsIgnoreCase(request.getFieldNames().trim())) {
+                errors.add(error("fieldNames", "UNSUPPORTED", "Expected FULL or SHORT"));
+            }
+        }
+        int longitudeDecimals = NormalizedChartRequest.FULL_PRECISION;
+        if (request.getLongitudeDecimals() != null) {
+            longitudeDecimals = request.getLongitudeDecimals();
+            if (longitudeDecimals < 0 || longitudeDecimals > MAX_LONGITUDE_DECIMALS) {
+                errors.add(error("longitudeDecimals", "OUT_OF_RANGE",
+                    "must be between 0 and " + MAX_LONGITUDE_DECIMALS));
+            }
+        }
+        List<String> unknownFields = new ArrayList<>(0);
+        ChartProjection projection = ChartProjection.parse(request.getFields(), unknownFields);
+        if (projection == null) {
+            errors.add(error("fields", "UNSUPPORTED", "Unknown field selector: " + String.join(", ", unknownFields)));
+        }
+
+        if (!errors.isEmpty()) {
+            return new Result(null, errors);
+        }
+
+        boolean includeAspects = request.getIncludeAspects() == null || request.getIncludeAspects();
+        return new Result(new NormalizedChartRequest(
+            toInstant(localDateTime, rules),
+            latitude,
+            longitude,
+            houseSystem,
+            comparedHouseSystems,
+            includeAspects,
+            aspectProfile,
+            translations.languageIndex(request.getLanguage()),
+            precision,
+            shortFieldNames,
+            longitudeDecimals,
+            projection), List.of());
+    }
+
+    /**
+     * Resolve a time zone ID through the bounded cache
+     *
+     * @return The zone's rules, or null if the ID is not valid
+     */
+    ZoneRules zoneRules(String zoneId) {
+        ZoneRules rules = zoneRules.getIfPresent(zoneId);
+        if (rules == null) {
+            try {
+                rules = ZoneId.of(zoneId).getRules();
+            } catch (DateTimeException e) {
+                return null; // Unknown IDs are not cached
+            }
+            zoneRules.put(zoneId, rules);
+        }
+        return rules;
+    }
+
+    /**
+     * Parse a comma-separated list of house systems; ALL selects every system
+     *
+     * @param unknown Receives the names that are not known
+     * @return HouseSystemType bits of the known names
+     */
+    static int houseSystemMask(String list, List<String> unknown) {
+        int mask = 0;
+        for (String name : list.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if ("ALL".equalsIgnoreCase(name)) {
+                mask |= HouseSystemType.ALL_MASK;
+                continue;
+            }
+            HouseSystemType type = HouseSystemType.find(name);
+            if (type != null) {
+                mask |= type.mask();
+            } else {
+                unknown.add(name);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Local date-time to instant with LocalDateTime.atZone semantics:
+     * a time in a gap moves forward by the gap, an overlap takes the earlier offset
+     */
+    static Instant toInstant(LocalDateTime localDateTime, ZoneRules rules) {
+        ZoneOffset offset;
+        if (rules.isFixedOffset()) {
+            offset = rules.getOffset(Instant.EPOCH);
+        } else {
+            List<ZoneOffset> validOffsets = rules.getValidOffsets(localDateTime);
+            if (validOffsets.isEmpty()) {
+                ZoneOffsetTransition gap = rules.getTransition(localDateTime);
+                localDateTime = localDateTime.plusSeconds(gap.getDuration().getSeconds());
+                offset = gap.getOffsetAfter();
+            } else {
+                offset = validOffsets.get(0);
+            }
+        }
+        return Instant.ofEpochSecond(localDateTime.toEpochSecond(offset), localDateTime.getNano());
+    }
+
+    /**
+     * Scan yyyy-MM-ddTHH:mm[:ss[.fraction]] (fraction up to 9 digits), skipping whitespace
+     *
+     * @return The date-time, or null if the text is malformed or a field is out of range
+     */
+    static LocalDateTime scanLocalDateTime(String text) {
+        int length = text.length();
+        int[] fields = new int[7]; // year, month, day, hour, minute, second, nano
+        int field = 0;
+        int digits = 0;
+        int value = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c >= '0' && c <= '9') {
+                if (digits == (field == 0 ? 4 : field == 6 ? 9 : 2)) {
+                    return null; // Too many digits
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                continue;
+            }
+            // Separator closes the current field: it must be complete and be followed by the expected one
+            char expected = switch (field) {
+                case 0, 1 -> '-';
+                case 2 -> 'T';
+                case 3, 4 -> ':';
+                case 5 -> '.';
+                default -> 0;
+            };
+            if (Character.toUpperCase(c) != expected || digits != (field == 0 ? 4 : 2)) {
+                return null;
+            }
+            fields[field++] = value;
+            value = 0;
+            digits = 0;
+        }
+
+        // Last field: minute, second or fraction
+        if (field < 4 || digits == 0 || (field < 6 && digits != 2)) {
+            return null;
+        }
+        if (field == 6) {
+            for (int d = digits; d < 9; d++) {
+                value *= 10;
+            }
+        }
+        fields[field] = value;
+
+        int year = fields[0];
+        int month = fields[1];
+        int day = fields[2];
+        if (month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year))
+                || fields[3] > 23 || fields[4] > 59 || fields[5] > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, fields[3], fields[4], fields[5], fields[6]);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static FieldErrorDTO error(String field, String code, String message) {
+        return FieldErrorDTO.builder().field(field).code(code).message(message).build();
+    }
+}
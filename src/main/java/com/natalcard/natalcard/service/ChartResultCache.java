@@ -0,0 +1,122 @@
+package com.natalcard.natalcard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.natalcard.natalcard.calc.AspectProfile;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PrecisionTier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Language-neutral chart cores keyed by a canonical 64-bit request fingerprint
+ *
+ * The fingerprint covers everything that changes the astronomy: UTC instant,
+ * latitude/longitude rounded to coordinateDecimals, house system and compared systems,
+ * aspect flag and profile, precision tier and the pipeline stages a field projection
+ * runs. Language is not part of it: every language renders the same {@link ChartCore},
+ * so the footprint does not grow with languages. The time zone only matters through
+ * the instant, so the same birth entered with two equivalent zones shares one entry.
+ *
+ * While the cache is enabled charts are computed at the rounded coordinates,
+ * so a cached core is exactly what a fresh calculation would return.
+ * At the default 4 decimals (about 11 m) the angles move by less than 0.001°.
+ *
+ * A maximumSize of 0 disables the cache.
+ */
+public class ChartResultCache {
+
+    private final Cache<Long, ChartCore> charts; // null when disabled
+    private final double coordinateScale;
+
+    public ChartResultCache(long maximumSize, Duration expireAfterWrite, int coordinateDecimals) {
+        this.charts = maximumSize > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build()
+            : null;
+        this.coordinateScale = Math.pow(10.0, coordinateDecimals);
+    }
+
+    public boolean isEnabled() {
+        return charts != null;
+    }
+
+    /**
+     * Coordinate used for calculation: rounded while the cache is enabled, unchanged otherwise
+     */
+    public double canonicalCoordinate(double degrees) {
+        return charts != null ? Math.round(degrees * coordinateScale) / coordinateScale : degrees;
+    }
+
+    /**
+     * Canonical fingerprint of a chart request
+     *
+     * @param comparedHouseSystems HouseSystemType bits of the compared systems (0: none)
+     * @param aspectProfile Aspect profile, by its 64-bit fingerprint (ignored without aspects)
+     * @param stages Stages the chart was computed with (see ChartProjection.getStages)
+     */
+    public long fingerprint(Instant instant, double latitude, double longitude, HouseSystemType houseSystem,
+                            int comparedHouseSystems, boolean includeAspects, AspectProfile aspectProfile,
+                            PrecisionTier precision, int stages) {
+        long hash = 0x6A09E667F3BCC908L;
+        hash = mix(hash, instant.getEpochSecond());
+        hash = mix(hash, instant.getNano());
+        hash = mix(hash, Math.round(latitude * coordinateScale));
+        hash = mix(hash, Math.round(longitude * coordinateScale));
+        hash = mix(hash, houseSystem.ordinal());
+        hash = mix(hash, comparedHouseSystems);
+        hash = mix(hash, includeAspects ? 1 : 0);
+        hash = mix(hash, includeAspects ? aspectProfile.getFingerprint() : 0);
+        hash = mix(hash, precision.ordinal());
+        hash = mix(hash, stages);
+        return finish(hash);
+    }
+
+    /**
+     * Return the cached core for a fingerprint, calculating and storing it on a miss
+     */
+    public ChartCore get(long fingerprint, Supplier<ChartCore> calculation) {
+        if (charts == null) {
+            return calculation.get();
+        }
+        return charts.get(fingerprint, key -> calculation.get());
+    }
+
+    /**
+     * Hit/miss/eviction counters (empty stats when disabled)
+     */
+    public CacheStats stats() {
+        return charts != null ? charts.stats() : CacheStats.empty();
+    }
+
+    public long size() {
+        return charts != null ? charts.estimatedSize() : 0;
+    }
+
+    public void invalidateAll() {
+        if (charts != null) {
+            charts.invalidateAll();
+        }
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    // MurmurHash3 fmix64 finalizer
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85D53L;
+        return hash ^ (hash >>> 33);
+    }
+}
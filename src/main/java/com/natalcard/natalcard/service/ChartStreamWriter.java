@@ -0,0 +1,387 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.SignUtil;
+import com.natalcard.natalcard.calc.ZodiacSign;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+import java.util.List;
+
+/**
+ * Writes a chart straight from its {@link ChartCore} to a Jackson generator
+ *
+ * Same document as serializing the NatalChartResponseDTO built by
+ * {@link ChartLocalizationService} (same fields, same order, nulls omitted),
+ * without the builder graph and reflection. Works for any generator: JSON, CBOR, Smile.
+ *
+ * Options from the request:
+ * - shortFieldNames: abbreviated field names (see {@link ChartField})
+ * - longitudeDecimals: longitudes, sign degrees and orbs rounded to that many decimals
+ * - projection: only the selected sections, fields and points (see {@link ChartProjection})
+ */
+@Service
+@RequiredArgsConstructor
+public class ChartStreamWriter {
+
+    // Pre-encoded names: the generator copies the bytes instead of encoding each time
+    private static final SerializableString[] FULL_NAMES = names(false);
+    private static final SerializableString[] SHORT_NAMES = names(true);
+    private static final SerializableString[] SIGN_CODES = codes(ZodiacSign.ALL);
+    private static final SerializableString[] BODY_CODES = codes(Body.ALL);
+    private static final SerializableString[] WARNING_CODES = codes(ChartWarning.ALL);
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10
+    };
+
+    private final AstroTranslations translations;
+
+    /**
+     * Write a chart as one document
+     * Sections, fields and points outside the request's projection are skipped, translations included
+     */
+    public void write(ChartView view, JsonGenerator generator) {
+        ChartCore core = view.getCore();
+        NormalizedChartRequest request = view.getRequest();
+        ChartProjection projection = request.getProjection();
+        double scale = request.getLongitudeDecimals() == NormalizedChartRequest.FULL_PRECISION
+            ? 0.0
+            : POWERS_OF_TEN[request.getLongitudeDecimals()];
+        Output out = new Output(generator, request.isShortFieldNames() ? SHORT_NAMES : FULL_NAMES, scale);
+        int language = request.getLanguage();
+
+        generator.writeStartObject();
+        if (projection.includes(ChartProjection.Section.META)) {
+            out.fields = projection.getFields(ChartProjection.Section.META);
+            writeMeta(core, language, out);
+        }
+        if (projection.includes(ChartProjection.Section.ANGLES)) {
+            out.fields = projection.getFields(ChartProjection.Section.ANGLES);
+            writeAngles(core, language, out);
+        }
+        if (projection.includes(ChartProjection.Section.HOUSES)) {
+            out.fields = projection.getFields(ChartProjection.Section.HOUSES);
+            writeHouses(core.getCusps(), language, out);
+        }
+        if (projection.includes(ChartProjection.Section.HOUSE_SYSTEMS) && !core.getComparedHouseSystems().isEmpty()) {
+            out.fields = projection.getFields(ChartProjection.Section.HOUSE_SYSTEMS);
+            writeHouseSystems(core.getComparedHouseSystems(), projection, language, out);
+        }
+        if (projection.includes(ChartProjection.Section.POINTS)) {
+            out.fields = projection.getFields(ChartProjection.Section.POINTS);
+            writePoints(core, projection, language, out);
+        }
+        if (projection.includes(ChartProjection.Section.ASPECTS)) {
+            out.fields = projection.getFields(ChartProjection.Section.ASPECTS);
+            writeAspects(core.getAspects(), language, out);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeMeta(ChartCore core, int language, Output out) {
+        HouseSystemType requested = core.getRequestedHouseSystem();
+        HouseSystemType effective = core.getEffectiveHouseSystem();
+        JsonGenerator generator = out.generator;
+
+        out.name(ChartField.META);
+        generator.writeStartObject();
+        out.string(ChartField.REQUESTED_HOUSE_SYSTEM, requested.name());
+        out.string(ChartField.EFFECTIVE_HOUSE_SYSTEM, effective.name());
+        out.string(ChartField.PRECISION, core.getPrecision().name());
+        if (out.has(ChartField.WARNINGS)) {
+            out.name(ChartField.WARNINGS);
+            generator.writeStartArray();
+            for (ChartWarning warning : ChartWarning.ALL) {
+                if (core.hasWarning(warning)) {
+                    generator.writeString(WARNING_CODES[warning.ordinal()]);
+                }
+            }
+            generator.writeEndArray();
+        }
+        // Localized
+        if (out.has(ChartField.REQUESTED_HOUSE_SYSTEM_LOCALIZED)) {
+            out.string(ChartField.REQUESTED_HOUSE_SYSTEM_LOCALIZED, translations.translate(requested, language));
+        }
+        if (out.has(ChartField.EFFECTIVE_HOUSE_SYSTEM_LOCALIZED)) {
+            out.string(ChartField.EFFECTIVE_HOUSE_SYSTEM_LOCALIZED, translations.translate(effective, language));
+        }
+        if (out.has(ChartField.WARNINGS_LOCALIZED)) {
+            out.name(ChartField.WARNINGS_LOCALIZED);
+            generator.writeStartArray();
+            for (ChartWarning warning : ChartWarning.ALL) {
+                if (core.hasWarning(warning)) {
+                    generator.writeString(translations.translate(warning, language));
+                }
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeAngles(ChartCore core, int language, Output out) {
+        double asc = out.ecliptic(core.getAscendant());
+        double mc = out.ecliptic(core.getMidHeaven());
+        ZodiacSign ascSign = ZodiacSign.of(asc);
+        ZodiacSign mcSign = ZodiacSign.of(mc);
+
+        out.name(ChartField.ANGLES);
+        out.generator.writeStartObject();
+        out.longitude(ChartField.ASCENDANT_LONGITUDE, asc);
+        out.longitude(ChartField.MID_HEAVEN_LONGITUDE, mc);
+        out.string(ChartField.ASCENDANT_SIGN, SIGN_CODES[ascSign.ordinal()]);
+        out.string(ChartField.MID_HEAVEN_SIGN, SIGN_CODES[mcSign.ordinal()]);
+        // Localized
+        if (out.has(ChartField.ASCENDANT_SIGN_LOCALIZED)) {
+            out.string(ChartField.ASCENDANT_SIGN_LOCALIZED, translations.translate(ascSign, language));
+        }
+        if (out.has(ChartField.MID_HEAVEN_SIGN_LOCALIZED)) {
+            out.string(ChartField.MID_HEAVEN_SIGN_LOCALIZED, translations.translate(mcSign, language));
+        }
+        out.generator.writeEndObject();
+    }
+
+    private void writeHouses(double[] cusps, int language, Output out) {
+        out.name(ChartField.HOUSES);
+        out.generator.writeStartArray();
+        for (int i = 0; i < 12; i++) {
+            double cusp = out.ecliptic(cusps[i]);
+            ZodiacSign sign = ZodiacSign.of(cusp);
+            out.generator.writeStartObject();
+            out.number(ChartField.NUMBER, i + 1);
+            out.longitude(ChartField.CUSP_LONGITUDE, cusp);
+            out.string(ChartField.SIGN, SIGN_CODES[sign.ordinal()]);
+            // Localized
+            if (out.has(ChartField.SIGN_LOCALIZED)) {
+                out.string(ChartField.SIGN_LOCALIZED, translations.translate(sign, language));
+            }
+            out.generator.writeEndObject();
+        }
+        out.generator.writeEndArray();
+    }
+
+    private void writeHouseSystems(List<ChartCore.HouseSystemResult> systems, ChartProjection projection,
+                                   int language, Output out) {
+        JsonGenerator generator = out.generator;
+        out.name(ChartField.HOUSE_SYSTEMS);
+        generator.writeStartArray();
+        for (ChartCore.HouseSystemResult system : systems) {
+            generator.writeStartObject();
+            out.string(ChartField.HOUSE_SYSTEM, system.getRequestedHouseSystem().name());
+            out.string(ChartField.EFFECTIVE_HOUSE_SYSTEM, system.getEffectiveHouseSystem().name());
+            if (out.has(ChartField.WARNINGS)) {
+                out.name(ChartField.WARNINGS);
+                generator.writeStartArray();
+                for (ChartWarning warning : ChartWarning.ALL) {
+                    if (system.hasWarning(warning)) {
+                        generator.writeString(WARNING_CODES[warning.ordinal()]);
+                    }
+                }
+                generator.writeEndArray();
+            }
+            if (out.has(ChartField.CUSPS)) {
+                out.name(ChartField.CUSPS);
+                generator.writeStartArray();
+                for (double cusp : system.getCusps()) {
+                    generator.writeNumber(out.ecliptic(cusp));
+                }
+                generator.writeEndArray();
+            }
+            if (out.has(ChartField.POINT_HOUSES)) {
+                out.name(ChartField.POINT_HOUSES);
+                generator.writeStartObject();
+                for (Body body : Body.ALL) {
+                    if (projection.includes(body)) {
+                        generator.writeName(BODY_CODES[body.ordinal()]);
+                        generator.writeNumber(system.getHouse(body));
+                    }
+                }
+                generator.writeEndObject();
+            }
+            // Localized
+            if (out.has(ChartField.HOUSE_SYSTEM_LOCALIZED)) {
+                out.string(ChartField.HOUSE_SYSTEM_LOCALIZED,
+                    translations.translate(system.getRequestedHouseSystem(), language));
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private void writePoints(ChartCore core, ChartProjection projection, int language, Output out) {
+        PlanetVector planets = core.getPlanets();
+        boolean hasSpeeds = planets.hasSpeeds();
+
+        out.name(ChartField.POINTS);
+        out.generator.writeStartObject();
+        for (Body body : Body.ALL) {
+            if (!projection.includes(body)) {
+                continue;
+            }
+            double longitude = out.ecliptic(planets.getLongitude(body));
+            ZodiacSign sign = ZodiacSign.of(longitude);
+
+            out.generator.writeName(BODY_CODES[body.ordinal()]);
+            out.generator.writeStartObject();
+            out.string(ChartField.NAME, BODY_CODES[body.ordinal()]);
+            out.longitude(ChartField.LONGITUDE, longitude);
+            out.string(ChartField.SIGN, SIGN_CODES[sign.ordinal()]);
+            out.number(ChartField.HOUSE, core.getHouse(body));
+            if (out.has(ChartField.SIGN_DEGREE)) {
+                out.longitude(ChartField.SIGN_DEGREE, SignUtil.getSignDegree(longitude));
+            }
+            if (hasSpeeds) {
+                double speed = planets.getSpeed(body);
+                out.number(ChartField.SPEED, speed);
+                out.bool(ChartField.RETROGRADE, speed < 0.0);
+            }
+            // Localized
+            if (out.has(ChartField.NAME_LOCALIZED)) {
+                out.string(ChartField.NAME_LOCALIZED, translations.translate(body, language));
+            }
+            if (out.has(ChartField.SIGN_LOCALIZED)) {
+                out.string(ChartField.SIGN_LOCALIZED, translations.translate(sign, language));
+            }
+            out.generator.writeEndObject();
+        }
+        out.generator.writeEndObject();
+    }
+
+    private void writeAspects(List<AspectService.Aspect> aspects, int language, Output out) {
+        out.name(ChartField.ASPECTS);
+        out.generator.writeStartArray();
+        for (AspectService.Aspect aspect : aspects) {
+            out.generator.writeStartObject();
+            out.string(ChartField.PLANET1, BODY_CODES[aspect.getPlanet1().ordinal()]);
+            out.string(ChartField.PLANET2, BODY_CODES[aspect.getPlanet2().ordinal()]);
+            out.string(ChartField.ASPECT_TYPE, aspect.getType().getName());
+            out.number(ChartField.ANGLE, aspect.getAngle());
+            out.longitude(ChartField.ORB, aspect.getOrb());
+            if (aspect.getApplying() != null) {
+                out.bool(ChartField.IS_APPLYING, aspect.getApplying());
+            }
+            // Localized
+            if (out.has(ChartField.PLANET1_LOCALIZED)) {
+                out.string(ChartField.PLANET1_LOCALIZED, translations.translate(aspect.getPlanet1(), language));
+            }
+            if (out.has(ChartField.PLANET2_LOCALIZED)) {
+                out.string(ChartField.PLANET2_LOCALIZED, translations.translate(aspect.getPlanet2(), language));
+            }
+            if (out.has(ChartField.ASPECT_TYPE_LOCALIZED)) {
+                out.string(ChartField.ASPECT_TYPE_LOCALIZED, translations.translate(aspect.getType(), language));
+            }
+            out.generator.writeEndObject();
+        }
+        out.generator.writeEndArray();
+    }
+
+    /**
+     * Generator plus the name table, rounding and selected fields of the section being written
+     * Field writers do nothing for fields outside the selection
+     */
+    private static final class Output {
+        final JsonGenerator generator;
+        final SerializableString[] names;
+        final double scale; // 0: full precision
+        long fields;
+
+        Output(JsonGenerator generator, SerializableString[] names, double scale) {
+            this.generator = generator;
+            this.names = names;
+            this.scale = scale;
+        }
+
+        boolean has(ChartField field) {
+            return (fields & ChartProjection.bit(field)) != 0;
+        }
+
+        void name(ChartField field) {
+            generator.writeName(names[field.ordinal()]);
+        }
+
+        void string(ChartField field, String value) {
+            if (has(field)) {
+                name(field);
+                generator.writeString(value);
+            }
+        }
+
+        void string(ChartField field, SerializableString value) {
+            if (has(field)) {
+                name(field);
+                generator.writeString(value);
+            }
+        }
+
+        void number(ChartField field, int value) {
+            if (has(field)) {
+                name(field);
+                generator.writeNumber(value);
+            }
+        }
+
+        void number(ChartField field, double value) {
+            if (has(field)) {
+                name(field);
+                generator.writeNumber(value);
+            }
+        }
+
+        /**
+         * Ecliptic longitude as written: rounded, then wrapped into [0, 360) (359.9996° at 3 decimals is 0°)
+         * Signs and sign degrees are derived from this value, so they agree with the written longitude
+         */
+        double ecliptic(double value) {
+            double rounded = round(value, scale);
+            return rounded >= 360.0 ? rounded - 360.0 : rounded;
+        }
+
+        /**
+         * Degree value subject to the requested rounding
+         */
+        void longitude(ChartField field, double value) {
+            if (has(field)) {
+                name(field);
+                generator.writeNumber(round(value, scale));
+            }
+        }
+
+        void bool(ChartField field, boolean value) {
+            if (has(field)) {
+                name(field);
+                generator.writeBoolean(value);
+            }
+        }
+    }
+
+    /**
+     * Round to the requested decimals; scale 0 keeps full precision
+     */
+    private static double round(double value, double scale) {
+        return scale == 0.0 ? value : Math.round(value * scale) / scale;
+    }
+
+    private static SerializableString[] names(boolean abbreviated) {
+        ChartField[] fields = ChartField.values();
+        SerializableString[] names = new SerializableString[fields.length];
+        for (ChartField field : fields) {
+            names[field.ordinal()] = new SerializedString(abbreviated ? field.shortName : field.fullName);
+        }
+        return names;
+    }
+
+    private static SerializableString[] codes(Enum<?>[] values) {
+        SerializableString[] codes = new SerializableString[values.length];
+        for (Enum<?> value : values) {
+            codes[value.ordinal()] = new SerializedString(value.name());
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.natalcard.natalcard.service;
+
+import lombok.Getter;
+
+/**
+ * A chart core together with the request options it is rendered with
+ * Written straight to the response by {@link ChartStreamWriter}, no DTO graph in between
+ */
+@Getter
+public final class ChartView {
+
+    private final ChartCore core;
+    private final NormalizedChartRequest request; // language, field names, longitude rounding
+
+    ChartView(ChartCore core, NormalizedChartRequest request) {
+        this.core = core;
+        this.request = request;
+    }
+}
@@ -2,22 +2,24 @@ package com.natalcard.natalcard.service;
 
 import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
 import com.natalcard.natalcard.api.dto.NatalChartResponseDTO;
+import com.natalcard.natalcard.api.dto.ValidationErrorResponseDTO;
 import com.natalcard.natalcard.calc.*;
-import com.natalcard.natalcard.i18n.AstroTranslations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Main service for natal chart calculation
+ *
+ * Two stages: a language-neutral {@link ChartCore} (cached in the
+ * {@link ChartResultCache}) and a per-request localization into the response
+ * by {@link ChartLocalizationService}.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,153 +30,194 @@ public class NatalChartService {
     private final AnglesService anglesService;
     private final HouseService houseService;
     private final AspectService aspectService;
-    private final AstroTranslations translations;
+    private final ChartLocalizationService chartLocalizationService;
+    private final ChartResultCache chartResultCache;
+    private final ChartRequestNormalizer chartRequestNormalizer;
+
+    // Per-thread scratch vector: the astronomy stage allocates nothing until the core is built
+    private static final ThreadLocal<PlanetVector> PLANET_SCRATCH = ThreadLocal.withInitial(PlanetVector::new);
+
+    // Cusps of a projection that skips the house stage
+    private static final double[] NO_CUSPS = nanCusps();
 
     /**
      * Calculate complete natal chart
+     * For programmatic callers: invalid input is reported as an IllegalArgumentException
+     * carrying the first field error (the API uses the {@link ChartRequestNormalizer} directly)
      */
     public NatalChartResponseDTO calculateNatalChart(NatalChartRequestDTO request) {
-        List<String> warnings = new ArrayList<>();
+        return calculateNatalChart(normalize(request));
+    }
 
-        // Validate zodiac (only TROPICAL supported)
-        if (!"TROPICAL".equalsIgnoreCase(request.getZodiac())) {
-            throw new IllegalArgumentException("Only TROPICAL zodiac is supported");
-        }
+    /**
+     * Calculate complete natal chart from a validated request
+     * The language-neutral core is served from the {@link ChartResultCache}; only localization runs per request
+     */
+    public NatalChartResponseDTO calculateNatalChart(NormalizedChartRequest request) {
+        return chartLocalizationService.localize(calculateChartCore(request), request.getLanguage());
+    }
 
-        // Convert local datetime to UTC Instant (trim spaces for flexible parsing)
-        String birthDateTime = request.getBirthDateTimeLocal().replaceAll("\\s+", "");
-        LocalDateTime localDateTime = LocalDateTime.parse(birthDateTime);
-        ZoneId zoneId = ZoneId.of(request.getTimeZoneId());
-        Instant instant = localDateTime.atZone(zoneId).toInstant();
+    /**
+     * Chart core of a validated request, ready to be streamed by {@link ChartStreamWriter}
+     * Only the stages the request's {@link ChartProjection} needs are run
+     */
+    public ChartView calculateChartView(NormalizedChartRequest request) {
+        return new ChartView(calculateChartCore(request, request.getProjection()), request);
+    }
 
-        // Calculate Julian centuries
-        double julianCenturiesT = JulianDate.instantToJulianCenturies(instant);
+    /**
+     * Calculate (or fetch) the language-neutral chart core of a request
+     */
+    public ChartCore calculateChartCore(NatalChartRequestDTO request) {
+        return calculateChartCore(normalize(request));
+    }
+
+    /**
+     * Calculate (or fetch) the language-neutral chart core of a validated request
+     */
+    public ChartCore calculateChartCore(NormalizedChartRequest request) {
+        return calculateChartCore(request, ChartProjection.ALL);
+    }
+
+    private ChartCore calculateChartCore(NormalizedChartRequest request, ChartProjection projection) {
+        Instant instant = request.getInstant();
+        // Without angles the location does not matter: such projections share one entry per instant
+        boolean located = projection.needsAngles();
+        double latitude = located ? chartResultCache.canonicalCoordinate(request.getLatitude()) : 0.0;
+        double longitude = located ? chartResultCache.canonicalCoordinate(request.getLongitude()) : 0.0;
+        HouseSystemType houseSystem = request.getHouseSystem();
+        int comparedHouseSystems = projection.needsComparedHouses() ? request.getComparedHouseSystems() : 0;
+        boolean includeAspects = request.isIncludeAspects();
+        AspectProfile aspectProfile = request.getAspectProfile();
+        PrecisionTier precision = request.getPrecision() != null
+            ? request.getPrecision()
+            : planetPositionService.getDefaultPrecision();
+
+        long fingerprint = chartResultCache.fingerprint(
+            instant, latitude, longitude, houseSystem, comparedHouseSystems, includeAspects, aspectProfile, precision,
+            projection.getStages());
+        return chartResultCache.get(fingerprint, () -> calculateChartCore(
+            instant, latitude, longitude, houseSystem, comparedHouseSystems, includeAspects, aspectProfile, precision,
+            projection));
+    }
 
-        // Calculate planet positions
-        Map<String, Double> planetPositions = planetPositionService.calculatePlanetPositions(instant);
+    private NormalizedChartRequest normalize(NatalChartRequestDTO request) {
+        ChartRequestNormalizer.Result result = chartRequestNormalizer.normalize(request);
+        if (!result.isValid()) {
+            ValidationErrorResponseDTO.FieldErrorDTO error = result.getErrors().get(0);
+            throw new IllegalArgumentException(error.getField() + ": " + error.getMessage());
+        }
+        return result.getRequest();
+    }
+
+    private ChartCore calculateChartCore(Instant instant, double latitude, double longitude,
+                                         HouseSystemType requestedHouseSystem, int comparedHouseSystems,
+                                         boolean includeAspects, AspectProfile aspectProfile,
+                                         PrecisionTier requestedPrecision,
+                                         ChartProjection projection) {
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+
+        // Per-instant quantities (JD, sidereal time, obliquity, fundamental arguments) computed once
+        ChartContext context = ChartContext.of(JulianDate.fromInstant(instant), latitude, longitude);
+
+        // Calculate planet positions (only the bodies the projection evaluates; the rest stay NaN)
+        int bodies = projection.getBodies();
+        PlanetVector planetPositions = PLANET_SCRATCH.get();
+        if (bodies != Body.ALL_MASK) {
+            for (Body body : Body.ALL) {
+                planetPositions.setLongitude(body, Double.NaN);
+                planetPositions.setSpeed(body, Double.NaN);
+            }
+        }
+        PrecisionTier precision = planetPositionService.calculatePlanetPositions(
+            context, requestedPrecision, bodies, planetPositions);
 
         // Calculate angles (ASC and MC)
-        double[] angles = anglesService.calculateAngles(
-            julianCenturiesT,
-            request.getLatitude(),
-            request.getLongitude()
-        );
-        double asc = angles[0];
-        double mc = angles[1];
+        double asc = Double.NaN;
+        double mc = Double.NaN;
+        if (projection.needsAngles()) {
+            double[] angles = anglesService.calculateAngles(context);
+            asc = angles[0];
+            mc = angles[1];
+        }
 
         // Calculate houses
-        String requestedHouseSystem = request.getHouseSystem().toUpperCase();
-        double[] houseCusps = houseService.calculateHouses(
-            requestedHouseSystem,
-            julianCenturiesT,
-            request.getLatitude(),
-            request.getLongitude(),
-            asc,
-            mc,
-            warnings
-        );
-
-        // Determine effective house system
-        String effectiveHouseSystem = determineEffectiveHouseSystem(requestedHouseSystem, warnings);
-
-        // Get language (default: "en")
-        String language = request.getLanguage() != null ? request.getLanguage() : "en";
-
-        // Translate warnings
-        List<String> warningsLocalized = new ArrayList<>();
-        for (String warning : warnings) {
-            warningsLocalized.add(translations.translateWarning(warning, language));
+        double[] houseCusps = NO_CUSPS;
+        HouseSystemType effectiveHouseSystem = requestedHouseSystem;
+        int[] houses = new int[Body.COUNT];
+        double[] longitudes = projection.needsHouses() || comparedHouseSystems != 0
+            ? longitudes(planetPositions)
+            : null;
+        if (projection.needsHouses()) {
+            houseCusps = houseService.calculateHouses(
+                requestedHouseSystem,
+                context,
+                asc,
+                mc,
+                warnings
+            );
+
+            // Determine effective house system
+            effectiveHouseSystem = ChartWarning.effectiveHouseSystem(requestedHouseSystem, ChartWarning.mask(warnings));
+            assignHouses(effectiveHouseSystem, houseCusps, asc, longitudes, bodies, houses);
         }
 
-        // Build response
-        return NatalChartResponseDTO.builder()
-            .meta(NatalChartResponseDTO.MetaDTO.builder()
-                .requestedHouseSystem(requestedHouseSystem)
-                .effectiveHouseSystem(effectiveHouseSystem)
-                .warnings(warnings)
-                // Localized
-                .requestedHouseSystemLocalized(translations.translateHouseSystem(requestedHouseSystem, language))
-                .effectiveHouseSystemLocalized(translations.translateHouseSystem(effectiveHouseSystem, language))
-                .warningsLocalized(warningsLocalized)
-                .build())
-            .angles(buildAnglesDTO(asc, mc, language))
-            .houses(buildHousesDTO(houseCusps, language))
-            .points(buildPointsDTO(planetPositions, houseCusps, asc, effectiveHouseSystem, language))
-            .aspects(request.getIncludeAspects() ? buildAspectsDTO(planetPositions, language) : new ArrayList<>())
-            .build();
-    }
-
-    private String determineEffectiveHouseSystem(String requested, List<String> warnings) {
-        for (String warning : warnings) {
-            if (warning.contains("FALLBACK_EQUAL")) {
-                return "EQUAL";
+        // Compared house systems: same context, angles and points, one strategy each
+        List<ChartCore.HouseSystemResult> compared = new ArrayList<>(Integer.bitCount(comparedHouseSystems));
+        for (HouseSystemType type : HouseSystemType.ALL) {
+            if ((comparedHouseSystems & type.mask()) == 0) {
+                continue;
+            }
+            if (type == requestedHouseSystem && projection.needsHouses()) {
+                compared.add(new ChartCore.HouseSystemResult(type, effectiveHouseSystem, houseCusps, houses,
+                    ChartWarning.mask(warnings)));
+                continue;
             }
+            EnumSet<ChartWarning> systemWarnings = EnumSet.noneOf(ChartWarning.class);
+            double[] cusps = houseService.calculateHouses(type, context, asc, mc, systemWarnings);
+            int systemWarningMask = ChartWarning.mask(systemWarnings);
+            HouseSystemType effective = ChartWarning.effectiveHouseSystem(type, systemWarningMask);
+            int[] systemHouses = new int[Body.COUNT];
+            assignHouses(effective, cusps, asc, longitudes, bodies, systemHouses);
+            compared.add(new ChartCore.HouseSystemResult(type, effective, cusps, systemHouses, systemWarningMask));
         }
-        return requested;
-    }
 
-    private NatalChartResponseDTO.AnglesDTO buildAnglesDTO(double asc, double mc, String language) {
-        String ascSign = SignUtil.getSign(asc);
-        String mcSign = SignUtil.getSign(mc);
-
-        return NatalChartResponseDTO.AnglesDTO.builder()
-            .ascendantLongitude(asc)
-            .midHeavenLongitude(mc)
-            .ascendantSign(ascSign)
-            .midHeavenSign(mcSign)
-            // Localized
-            .ascendantSignLocalized(translations.translateSign(ascSign, language))
-            .midHeavenSignLocalized(translations.translateSign(mcSign, language))
-            .build();
+        List<AspectService.Aspect> aspects = includeAspects && projection.needsAspects()
+            ? aspectService.calculateAspects(planetPositions, aspectProfile)
+            : List.of();
+
+        return new ChartCore(asc, mc, houseCusps, planetPositions, houses, aspects,
+            requestedHouseSystem, effectiveHouseSystem, precision, ChartWarning.mask(warnings), compared);
     }
 
-    private List<NatalChartResponseDTO.HouseDTO> buildHousesDTO(double[] cusps, String language) {
-        List<NatalChartResponseDTO.HouseDTO> houses = new ArrayList<>();
-        for (int i = 0; i < 12; i++) {
-            String sign = SignUtil.getSign(cusps[i]);
-            houses.add(NatalChartResponseDTO.HouseDTO.builder()
-                .number(i + 1)
-                .cuspLongitude(cusps[i])
-                .sign(sign)
-                // Localized
-                .signLocalized(translations.translateSign(sign, language))
-                .build());
+    private static double[] longitudes(PlanetVector planets) {
+        double[] longitudes = new double[Body.COUNT];
+        for (Body body : Body.ALL) {
+            longitudes[body.ordinal()] = planets.getLongitude(body);
         }
-        return houses;
+        return longitudes;
     }
 
-    private Map<String, NatalChartResponseDTO.PlanetPointDTO> buildPointsDTO(
-            Map<String, Double> planetPositions, double[] houseCusps, double asc, String houseSystem, String language) {
-
-        Map<String, NatalChartResponseDTO.PlanetPointDTO> points = new LinkedHashMap<>();
-
-        for (Map.Entry<String, Double> entry : planetPositions.entrySet()) {
-            String planetName = entry.getKey();
-            Double longitude = entry.getValue();
+    private static double[] nanCusps() {
+        double[] cusps = new double[12];
+        Arrays.fill(cusps, Double.NaN);
+        return cusps;
+    }
 
-            // Determine house based on system
-            int house;
-            if ("WHOLE_SIGN".equalsIgnoreCase(houseSystem)) {
-                house = determineWholeSignHouse(longitude, asc);
-            } else {
-                house = HouseUtil.determineHouse(longitude, houseCusps);
+    /**
+     * House of each evaluated body (bodies outside the projection are NaN and get house 1)
+     */
+    private void assignHouses(HouseSystemType effectiveHouseSystem, double[] cusps, double asc,
+                              double[] longitudes, int bodies, int[] houses) {
+        if (effectiveHouseSystem == HouseSystemType.WHOLE_SIGN) {
+            for (Body body : Body.ALL) {
+                if ((bodies & body.mask()) != 0) {
+                    houses[body.ordinal()] = determineWholeSignHouse(longitudes[body.ordinal()], asc);
+                }
             }
-
-            String sign = SignUtil.getSign(longitude);
-
-            points.put(planetName, NatalChartResponseDTO.PlanetPointDTO.builder()
-                .name(planetName)
-                .longitude(longitude)
-                .sign(sign)
-                .house(house)
-                .signDegree(SignUtil.getSignDegree(longitude))
-                // Localized
-                .nameLocalized(translations.translatePlanet(planetName, language))
-                .signLocalized(translations.translateSign(sign, language))
-                .build());
+        } else {
+            HouseUtil.determineHouses(longitudes, cusps, houses);
         }
-
-        return points;
     }
 
     /**
@@ -186,26 +229,4 @@ public class NatalChartService {
         int ascSign = SignUtil.getSignNumber(ascLon);
         return ((planetSign - ascSign + 12) % 12) + 1;
     }
-
-    private List<NatalChartResponseDTO.AspectDTO> buildAspectsDTO(Map<String, Double> planetPositions, String language) {
-        List<AspectService.Aspect> aspects = aspectService.calculateAspects(planetPositions);
-        List<NatalChartResponseDTO.AspectDTO> result = new ArrayList<>();
-
-        for (AspectService.Aspect aspect : aspects) {
-            result.add(NatalChartResponseDTO.AspectDTO.builder()
-                .planet1(aspect.getPlanet1())
-                .planet2(aspect.getPlanet2())
-                .aspectType(aspect.getType().getName())
-                .angle(aspect.getAngle())
-                .orb(aspect.getOrb())
-                .isApplying(aspect.getApplying())
-                // Localized
-                .planet1Localized(translations.translatePlanet(aspect.getPlanet1(), language))
-                .planet2Localized(translations.translatePlanet(aspect.getPlanet2(), language))
-                .aspectTypeLocalized(translations.translateAspect(aspect.getType().getName(), language))
-                .build());
-        }
-
-        return result;
-    }
 }
@@ -0,0 +1,49 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.calc.AspectProfile;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Chart request after validation, with every field in its calculation form
+ * Produced by {@link ChartRequestNormalizer}; immutable
+ */
+@Getter
+public final class NormalizedChartRequest {
+
+    private final Instant instant;
+    private final double latitude;
+    private final double longitude;
+    private final HouseSystemType houseSystem;
+    private final int comparedHouseSystems; // HouseSystemType bits, 0: no comparison
+    private final boolean includeAspects;
+    private final AspectProfile aspectProfile;
+    private final int language;            // AstroTranslations language index
+    private final PrecisionTier precision; // null: server default
+    private final boolean shortFieldNames;
+    private final int longitudeDecimals;   // FULL_PRECISION: not rounded
+    private final ChartProjection projection;
+
+    public static final int FULL_PRECISION = -1;
+
+    NormalizedChartRequest(Instant instant, double latitude, double longitude, HouseSystemType houseSystem,
+                           int comparedHouseSystems, boolean includeAspects, AspectProfile aspectProfile, int language,
+                           PrecisionTier precision, boolean shortFieldNames, int longitudeDecimals,
+                           ChartProjection projection) {
+        this.instant = instant;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.houseSystem = houseSystem;
+        this.comparedHouseSystems = comparedHouseSystems;
+        this.includeAspects = includeAspects;
+        this.aspectProfile = aspectProfile;
+        this.language = language;
+        this.precision = precision;
+        this.shortFieldNames = shortFieldNames;
+        this.longitudeDecimals = longitudeDecimals;
+        this.projection = projection;
+    }
+}
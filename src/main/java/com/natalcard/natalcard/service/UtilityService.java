@@ -1,6 +1,8 @@
 package com.natalcard.natalcard.service;
 
 import com.natalcard.natalcard.api.dto.UtilityDTOs.*;
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.HouseSystemType;
 import com.natalcard.natalcard.i18n.AstroTranslations;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -120,7 +122,7 @@ public class UtilityService {
             HouseSystemDTO.builder()
                 .code("PLACIDUS")
                 .name("Placidus")
-                .nameLocalized(translations.translateHouseSystem("PLACIDUS", language))
+                .nameLocalized(translations.translate(HouseSystemType.PLACIDUS, translations.languageIndex(language)))
                 .description("Most popular house system, quadrant-based")
                 .descriptionLocalized(isTurkish ?
                     "En popüler ev sistemi, kadran tabanlı" :
@@ -135,7 +137,7 @@ public class UtilityService {
             HouseSystemDTO.builder()
                 .code("WHOLE_SIGN")
                 .name("Whole Sign")
-                .nameLocalized(translations.translateHouseSystem("WHOLE_SIGN", language))
+                .nameLocalized(translations.translate(HouseSystemType.WHOLE_SIGN, translations.languageIndex(language)))
                 .description("Traditional Hellenistic system, each house = one sign")
                 .descriptionLocalized(isTurkish ?
                     "Geleneksel Helenistik sistem, her ev = bir burç" :
@@ -150,7 +152,7 @@ public class UtilityService {
             HouseSystemDTO.builder()
                 .code("EQUAL")
                 .name("Equal")
-                .nameLocalized(translations.translateHouseSystem("EQUAL", language))
+                .nameLocalized(translations.translate(HouseSystemType.EQUAL, translations.languageIndex(language)))
                 .description("Simplest system, each house exactly 30 degrees")
                 .descriptionLocalized(isTurkish ?
                     "En basit sistem, her ev tam 30 derece" :
@@ -165,7 +167,7 @@ public class UtilityService {
             HouseSystemDTO.builder()
                 .code("KOCH")
                 .name("Koch")
-                .nameLocalized(translations.translateHouseSystem("KOCH", language))
+                .nameLocalized(translations.translate(HouseSystemType.KOCH, translations.languageIndex(language)))
                 .description("Birthplace system, similar to Placidus")
                 .descriptionLocalized(isTurkish ?
                     "Doğum yeri sistemi, Placidus'a benzer" :
@@ -175,19 +177,79 @@ public class UtilityService {
                 .bestForLocalized(isTurkish ?
                     "Çoğu enlem" :
                     "Most latitudes")
+                .build(),
+
+            HouseSystemDTO.builder()
+                .code("REGIOMONTANUS")
+                .name("Regiomontanus")
+                .nameLocalized(translations.translate(HouseSystemType.REGIOMONTANUS, translations.languageIndex(language)))
+                .description("Quadrant system dividing the celestial equator into equal arcs")
+                .descriptionLocalized(isTurkish ?
+                    "Gök ekvatorunu eşit yaylara bölen kadran sistemi" :
+                    "Quadrant system dividing the celestial equator into equal arcs")
+                .recommended(false)
+                .bestFor("Horary and electional astrology")
+                .bestForLocalized(isTurkish ?
+                    "Saat ve seçim astrolojisi" :
+                    "Horary and electional astrology")
+                .build(),
+
+            HouseSystemDTO.builder()
+                .code("CAMPANUS")
+                .name("Campanus")
+                .nameLocalized(translations.translate(HouseSystemType.CAMPANUS, translations.languageIndex(language)))
+                .description("Quadrant system dividing the prime vertical into equal arcs")
+                .descriptionLocalized(isTurkish ?
+                    "İlk dikey daireyi eşit yaylara bölen kadran sistemi" :
+                    "Quadrant system dividing the prime vertical into equal arcs")
+                .recommended(false)
+                .bestFor("Most latitudes")
+                .bestForLocalized(isTurkish ?
+                    "Çoğu enlem" :
+                    "Most latitudes")
+                .build(),
+
+            HouseSystemDTO.builder()
+                .code("PORPHYRY")
+                .name("Porphyry")
+                .nameLocalized(translations.translate(HouseSystemType.PORPHYRY, translations.languageIndex(language)))
+                .description("Each quadrant between the angles divided into three equal parts")
+                .descriptionLocalized(isTurkish ?
+                    "Açılar arasındaki her kadran üç eşit parçaya bölünür" :
+                    "Each quadrant between the angles divided into three equal parts")
+                .recommended(false)
+                .bestFor("All latitudes, simple quadrant houses")
+                .bestForLocalized(isTurkish ?
+                    "Tüm enlemler, basit kadran evleri" :
+                    "All latitudes, simple quadrant houses")
+                .build(),
+
+            HouseSystemDTO.builder()
+                .code("ALCABITIUS")
+                .name("Alcabitius")
+                .nameLocalized(translations.translate(HouseSystemType.ALCABITIUS, translations.languageIndex(language)))
+                .description("Medieval system dividing the semi-arcs of the Ascendant degree")
+                .descriptionLocalized(isTurkish ?
+                    "Yükselen derecesinin yarı yaylarını bölen Orta Çağ sistemi" :
+                    "Medieval system dividing the semi-arcs of the Ascendant degree")
+                .recommended(false)
+                .bestFor("Medieval and traditional astrology")
+                .bestForLocalized(isTurkish ?
+                    "Orta Çağ ve geleneksel astroloji" :
+                    "Medieval and traditional astrology")
                 .build()
         );
     }
 
     /**
-     * Get aspect types
+     * Get aspect types: the five majors, then the minors of the EXTENDED profile
      */
     public List<AspectTypeDTO> getAspectTypes(String language) {
         return Arrays.asList(
             AspectTypeDTO.builder()
                 .code("CONJUNCTION")
                 .name("Conjunction")
-                .nameLocalized(translations.translateAspect("CONJUNCTION", language))
+                .nameLocalized(translations.translate(AspectService.AspectType.CONJUNCTION, translations.languageIndex(language)))
                 .angle(0.0)
                 .symbol("☌")
                 .meaning("Unity, blending")
@@ -199,7 +261,7 @@ public class UtilityService {
             AspectTypeDTO.builder()
                 .code("SEXTILE")
                 .name("Sextile")
-                .nameLocalized(translations.translateAspect("SEXTILE", language))
+                .nameLocalized(translations.translate(AspectService.AspectType.SEXTILE, translations.languageIndex(language)))
                 .angle(60.0)
                 .symbol("⚹")
                 .meaning("Opportunity, harmony")
@@ -211,7 +273,7 @@ public class UtilityService {
             AspectTypeDTO.builder()
                 .code("SQUARE")
                 .name("Square")
-                .nameLocalized(translations.translateAspect("SQUARE", language))
+                .nameLocalized(translations.translate(AspectService.AspectType.SQUARE, translations.languageIndex(language)))
                 .angle(90.0)
                 .symbol("□")
                 .meaning("Tension, challenge")
@@ -223,7 +285,7 @@ public class UtilityService {
             AspectTypeDTO.builder()
                 .code("TRINE")
                 .name("Trine")
-                .nameLocalized(translations.translateAspect("TRINE", language))
+                .nameLocalized(translations.translate(AspectService.AspectType.TRINE, translations.languageIndex(language)))
                 .angle(120.0)
                 .symbol("△")
                 .meaning("Flow, ease, talent")
@@ -235,13 +297,85 @@ public class UtilityService {
             AspectTypeDTO.builder()
                 .code("OPPOSITION")
                 .name("Opposition")
-                .nameLocalized(translations.translateAspect("OPPOSITION", language))
+                .nameLocalized(translations.translate(AspectService.AspectType.OPPOSITION, translations.languageIndex(language)))
                 .angle(180.0)
                 .symbol("☍")
                 .meaning("Polarity, awareness")
                 .meaningLocalized("tr".equalsIgnoreCase(language) ?
                     "Karşıtlık, farkındalık" : "Polarity, awareness")
                 .color("#FF9800") // Orange
+                .build(),
+
+            AspectTypeDTO.builder()
+                .code("SEMISEXTILE")
+                .name("Semi-sextile")
+                .nameLocalized(translations.translate(AspectService.AspectType.SEMISEXTILE, translations.languageIndex(language)))
+                .angle(30.0)
+                .symbol("⚺")
+                .meaning("Subtle growth, adjustment")
+                .meaningLocalized("tr".equalsIgnoreCase(language) ?
+                    "Hafif gelişim, uyum sağlama" : "Subtle growth, adjustment")
+                .color("#8BC34A") // Light green
+                .build(),
+
+            AspectTypeDTO.builder()
+                .code("SEMISQUARE")
+                .name("Semi-square")
+                .nameLocalized(translations.translate(AspectService.AspectType.SEMISQUARE, translations.languageIndex(language)))
+                .angle(45.0)
+                .symbol("∠")
+                .meaning("Friction, irritation")
+                .meaningLocalized("tr".equalsIgnoreCase(language) ?
+                    "Sürtüşme, huzursuzluk" : "Friction, irritation")
+                .color("#E57373") // Light red
+                .build(),
+
+            AspectTypeDTO.builder()
+                .code("QUINTILE")
+                .name("Quintile")
+                .nameLocalized(translations.translate(AspectService.AspectType.QUINTILE, translations.languageIndex(language)))
+                .angle(72.0)
+                .symbol("Q")
+                .meaning("Talent, creativity")
+                .meaningLocalized("tr".equalsIgnoreCase(language) ?
+                    "Yetenek, yaratıcılık" : "Talent, creativity")
+                .color("#00BCD4") // Cyan
+                .build(),
+
+            AspectTypeDTO.builder()
+                .code("SESQUIQUADRATE")
+                .name("Sesquiquadrate")
+                .nameLocalized(translations.translate(AspectService.AspectType.SESQUIQUADRATE, translations.languageIndex(language)))
+                .angle(135.0)
+                .symbol("⚼")
+                .meaning("Agitation, restlessness")
+                .meaningLocalized("tr".equalsIgnoreCase(language) ?
+                    "Çalkantı, tedirginlik" : "Agitation, restlessness")
+                .color("#FF5722") // Deep orange
+                .build(),
+
+            AspectTypeDTO.builder()
+                .code("BIQUINTILE")
+                .name("Bi-quintile")
+                .nameLocalized(translations.translate(AspectService.AspectType.BIQUINTILE, translations.languageIndex(language)))
+                .angle(144.0)
+                .symbol("bQ")
+                .meaning("Inner gifts, expression")
+                .meaningLocalized("tr".equalsIgnoreCase(language) ?
+                    "İçsel yetenek, ifade" : "Inner gifts, expression")
+                .color("#009688") // Teal
+                .build(),
+
+            AspectTypeDTO.builder()
+                .code("QUINCUNX")
+                .name("Quincunx")
+                .nameLocalized(translations.translate(AspectService.AspectType.QUINCUNX, translations.languageIndex(language)))
+                .angle(150.0)
+                .symbol("⚻")
+                .meaning("Adjustment, awkwardness")
+                .meaningLocalized("tr".equalsIgnoreCase(language) ?
+                    "Ayarlama, uyumsuzluk" : "Adjustment, awkwardness")
+                .color("#795548") // Brown
                 .build()
         );
     }
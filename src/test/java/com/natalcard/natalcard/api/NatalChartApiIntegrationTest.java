@@ -9,9 +9,17 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.context.TestPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestPropertySource(properties = "spring.cache.type=none") // Disable cache for tests
 class NatalChartApiIntegrationTest {
@@ -85,4 +93,128 @@ class NatalChartApiIntegrationTest {
         System.out.println("\nAspects: " + map.get("aspects"));
         System.out.println("\n========================================\n");
     }
+
+    @Test
+    void testInvalidRequestReturnsFieldErrors() throws Exception {
+        NatalChartRequestDTO request = NatalChartRequestDTO.builder()
+                .birthDateTimeLocal("1996-13-23T14:35:00")
+                .timeZoneId("Mars/Olympus")
+                .latitude(95.0)
+                .longitude(29.029)
+                .houseSystem("TOPOCENTRIC")
+                .build();
+
+        String responseBody = webTestClient.post()
+                .uri("/api/astro/natal-chart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        Map<?,?> map = objectMapper.readValue(responseBody, Map.class);
+        assertEquals(400, map.get("status"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) map.get("errors");
+        assertEquals(List.of("birthDateTimeLocal", "timeZoneId", "latitude", "houseSystem"),
+                errors.stream().map(error -> error.get("field")).toList());
+        assertEquals(List.of("INVALID_FORMAT", "UNKNOWN_TIMEZONE", "OUT_OF_RANGE", "UNSUPPORTED"),
+                errors.stream().map(error -> error.get("code")).toList());
+    }
+
+    @Test
+    void testBinaryEncodingsNegotiated() {
+        NatalChartRequestDTO request = NatalChartRequestDTO.builder()
+                .birthDateTimeLocal("1996-04-23T14:35:00")
+                .timeZoneId("Europe/Istanbul")
+                .latitude(40.983)
+                .longitude(29.029)
+                .fieldNames("SHORT")
+                .longitudeDecimals(2)
+                .build();
+
+        for (ChartEncoding encoding : ChartEncoding.values()) {
+            byte[] body = webTestClient.post()
+                    .uri("/api/astro/natal-chart")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(encoding.getMediaType())
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(encoding.getMediaType())
+                    .expectBody(byte[].class)
+                    .returnResult()
+                    .getResponseBody();
+
+            System.out.println(encoding + ": " + body.length + " bytes");
+            JsonNode chart = switch (encoding) {
+                case JSON -> new JsonMapper().readTree(body);
+                case CBOR -> new CBORMapper().readTree(body);
+                case SMILE -> new SmileMapper().readTree(body);
+            };
+            assertTrue(chart.has("m") && chart.get("p").has("SUN"), encoding + " written by the chart stream writer");
+        }
+    }
+
+    @Test
+    void testFieldSelectorQueryParameter() {
+        NatalChartRequestDTO request = NatalChartRequestDTO.builder()
+                .birthDateTimeLocal("1996-04-23T14:35:00")
+                .timeZoneId("Europe/Istanbul")
+                .latitude(40.983)
+                .longitude(29.029)
+                .fields("houses")
+                .build();
+
+        // The query parameter overrides the body
+        JsonNode chart = new JsonMapper().readTree(webTestClient.post()
+                .uri("/api/astro/natal-chart?fields=bigThree")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody());
+
+        assertEquals(List.of("angles", "points"), List.copyOf(chart.propertyNames()));
+        assertEquals(List.of("SUN", "MOON"), List.copyOf(chart.get("points").propertyNames()));
+        assertTrue(chart.get("angles").has("ascendantSign"));
+
+        webTestClient.post()
+                .uri("/api/astro/natal-chart?fields=planets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].field").isEqualTo("fields");
+    }
+
+    @Test
+    void testPlacidusStats() {
+        webTestClient.post()
+                .uri("/api/astro/natal-chart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(NatalChartRequestDTO.builder()
+                        .birthDateTimeLocal("1988-11-02T06:10:00")
+                        .timeZoneId("Europe/London")
+                        .latitude(51.5)
+                        .longitude(-0.13)
+                        .houseSystem("PLACIDUS")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get()
+                .uri("/api/astro/natal-chart/placidus-stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.solves").value(solves -> assertTrue(((Number) solves).longValue() >= 1))
+                .jsonPath("$.maxIterations").isEqualTo(100);
+    }
 }
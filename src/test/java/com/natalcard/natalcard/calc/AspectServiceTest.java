@@ -0,0 +1,289 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for aspect detection and applying/separating
+ */
+class AspectServiceTest {
+
+    private final AspectService aspectService = new AspectService();
+
+    @Test
+    void testApplyingAndSeparating() {
+        // Faster Moon behind the Sun closes the conjunction
+        assertEquals(Boolean.TRUE, conjunction(10.0, 1.0, 6.0, 13.0).getApplying());
+        // Faster Moon ahead of the Sun widens it
+        assertEquals(Boolean.FALSE, conjunction(10.0, 1.0, 14.0, 13.0).getApplying());
+    }
+
+    @Test
+    void testApplyingAcrossAriesPoint() {
+        // Moon at 357° behind the Sun at 2°: conjunction applying
+        assertEquals(Boolean.TRUE, conjunction(2.0, 1.0, 357.0, 13.0).getApplying());
+    }
+
+    @Test
+    void testRetrogradeSquareApplying() {
+        // Mars at 95° from the Sun, retrograde: separation shrinks toward 90°
+        PlanetVector vector = new PlanetVector();
+        place(vector, Body.SUN, 0.0, 1.0);
+        place(vector, Body.MARS, 95.0, -0.3);
+        vector.setSpeedsKnown(true);
+
+        AspectService.Aspect square = find(aspectService.calculateAspects(vector), Body.SUN, Body.MARS);
+        assertEquals(AspectService.AspectType.SQUARE, square.getType());
+        assertEquals(Boolean.TRUE, square.getApplying());
+    }
+
+    @Test
+    void testApplyingUnknownWithoutSpeeds() {
+        PlanetVector vector = spread();
+        vector.setLongitude(Body.SUN, 10.0);
+        vector.setLongitude(Body.MOON, 12.0);
+        vector.setSpeedsKnown(false);
+
+        assertNull(find(aspectService.calculateAspects(vector), Body.SUN, Body.MOON).getApplying());
+    }
+
+    @Test
+    void testMajorProfileMatchesBodyOrbs() {
+        // The compiled MAJOR table gives the original rule: five majors, 8° with a luminary, 6° otherwise
+        double[] orbs = new double[Body.COUNT];
+        for (Body body : Body.ALL) {
+            orbs[body.ordinal()] = body.isLuminary() ? 8.0 : 6.0;
+        }
+        Random random = new Random(25);
+        for (int trial = 0; trial < 200; trial++) {
+            PlanetVector vector = new PlanetVector();
+            double[] longitudes = new double[Body.COUNT];
+            for (Body body : Body.ALL) {
+                longitudes[body.ordinal()] = random.nextDouble() * 360.0;
+                vector.setLongitude(body, longitudes[body.ordinal()]);
+            }
+
+            List<AspectService.PointAspect> expected = AspectService.findAspectsPairwise(longitudes, orbs, true);
+            List<AspectService.Aspect> actual = aspectService.calculateAspects(vector, AspectProfile.MAJOR);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(Body.ALL[expected.get(i).getPoint1()], actual.get(i).getPlanet1());
+                assertEquals(Body.ALL[expected.get(i).getPoint2()], actual.get(i).getPlanet2());
+                assertEquals(expected.get(i).getType(), actual.get(i).getType());
+                assertEquals(expected.get(i).getOrb(), actual.get(i).getOrb());
+            }
+        }
+    }
+
+    @Test
+    void testExtendedProfileFindsMinorAspects() {
+        PlanetVector vector = spread();
+        vector.setLongitude(Body.SUN, 10.0);
+        vector.setLongitude(Body.MARS, 162.5);
+
+        assertTrue(aspectService.calculateAspects(vector, AspectProfile.MAJOR).stream()
+            .noneMatch(a -> a.getPlanet1() == Body.SUN && a.getPlanet2() == Body.MARS));
+        AspectService.Aspect quincunx = find(aspectService.calculateAspects(vector, AspectProfile.EXTENDED), Body.SUN, Body.MARS);
+        assertEquals(AspectService.AspectType.QUINCUNX, quincunx.getType());
+        assertEquals(150.0, quincunx.getAngle());
+        assertEquals(2.5, quincunx.getOrb(), 1e-12);
+    }
+
+    @Test
+    void testAspectProfileParse() {
+        AspectProfile profile = AspectProfile.parse("tight", " conjunction:3:5 , QUINCUNX:1.5 ");
+        assertEquals("TIGHT", profile.getName());
+        assertEquals(2, profile.getTypeCount());
+        assertEquals(AspectService.AspectType.QUINCUNX, profile.getType(1));
+        assertEquals(150.0, profile.getAngle(1));
+        assertEquals(5.0, profile.orb(AspectProfile.pair(Body.MOON, Body.VENUS), 0));
+        assertEquals(5.0, profile.orb(AspectProfile.pair(Body.VENUS, Body.MOON), 0));
+        assertEquals(3.0, profile.orb(AspectProfile.pair(Body.MARS, Body.VENUS), 0));
+        assertEquals(1.5, profile.orb(AspectProfile.pair(Body.SUN, Body.VENUS), 1));
+        assertEquals(5.0, profile.getMaxOrb());
+
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "NOVILE:1"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:wide"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:90"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:6,TRINE:8"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", " , "));
+
+        AspectProfiles profiles = new AspectProfiles(List.of(AspectProfile.MAJOR, profile), "tight");
+        assertSame(profile, profiles.getDefault());
+        assertSame(AspectProfile.MAJOR, profiles.find(" major"));
+        assertNull(profiles.find("EXTENDED"));
+        assertThrows(IllegalArgumentException.class, () -> new AspectProfiles(List.of(profile), "MAJOR"));
+    }
+
+    @Test
+    void testAspectProfilePairOverrides() {
+        AspectProfile profile = AspectProfile.parse("pairs",
+            "CONJUNCTION:6:8;SUN-MOON=10;mercury - venus=4, TRINE:5;MOON-SUN=7");
+        assertEquals(10.0, profile.orb(AspectProfile.pair(Body.SUN, Body.MOON), 0));
+        assertEquals(10.0, profile.orb(AspectProfile.pair(Body.MOON, Body.SUN), 0));
+        assertEquals(4.0, profile.orb(AspectProfile.pair(Body.VENUS, Body.MERCURY), 0));
+        assertEquals(8.0, profile.orb(AspectProfile.pair(Body.SUN, Body.MARS), 0));
+        assertEquals(6.0, profile.orb(AspectProfile.pair(Body.MARS, Body.VENUS), 0));
+        // Overrides belong to their type
+        assertEquals(7.0, profile.orb(AspectProfile.pair(Body.SUN, Body.MOON), 1));
+        assertEquals(5.0, profile.orb(AspectProfile.pair(Body.MERCURY, Body.VENUS), 1));
+        assertEquals(10.0, profile.getMaxOrb(Body.MOON, 0));
+        assertEquals(8.0, profile.getMaxOrb(Body.MARS, 0));
+
+        // 9° apart: a conjunction for the Sun and Moon only
+        PlanetVector vector = spread();
+        vector.setLongitude(Body.SUN, 100.0);
+        vector.setLongitude(Body.MOON, 109.0);
+        assertEquals(AspectService.AspectType.CONJUNCTION,
+            find(aspectService.calculateAspects(vector, profile), Body.SUN, Body.MOON).getType());
+        assertTrue(aspectService.calculateAspects(vector, AspectProfile.MAJOR).stream()
+            .noneMatch(a -> a.getPlanet1() == Body.SUN && a.getPlanet2() == Body.MOON));
+
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:6;SUN-CHIRON=3"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:6;SUN=3"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:6;SUN-MOON"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:6;SUN-MOON=wide"));
+        assertThrows(IllegalArgumentException.class, () -> AspectProfile.parse("bad", "TRINE:6;SUN-MOON=95"));
+    }
+
+    @Test
+    void testSweepMatchesPairwise() {
+        Random random = new Random(24);
+        for (int count : new int[] { 2, 10, 60, 500 }) {
+            for (int trial = 0; trial < 20; trial++) {
+                double[] longitudes = new double[count];
+                double[] orbs = new double[count];
+                for (int i = 0; i < count; i++) {
+                    longitudes[i] = random.nextDouble() * 360.0;
+                    // Odd trials use whole-degree orbs, so many pairs tie on their orb
+                    orbs[i] = trial % 2 == 0 ? 1.0 + random.nextDouble() * 9.0 : 1 + random.nextInt(9);
+                }
+                // Exact ties: same longitude, exact opposition, exact aspects across 0° Aries
+                longitudes[count - 1] = longitudes[0];
+                if (count > 2) {
+                    longitudes[1] = AstroMath.normalize360(longitudes[0] + 180.0);
+                    longitudes[count - 2] = 0.0;
+                    longitudes[count / 2] = 300.0;
+                }
+
+                for (boolean firstAspectOnly : new boolean[] { true, false }) {
+                    assertSameAspects(AspectService.findAspectsPairwise(longitudes, orbs, firstAspectOnly),
+                        AspectService.findAspectsSweep(longitudes, orbs, firstAspectOnly));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testProfileSweepMatchesPairwise() {
+        // Points filed under bodies take the profile's pair orbs, as the ten chart bodies do
+        Random random = new Random(25);
+        for (int count : new int[] { 10, 300, 2000 }) {
+            double[] longitudes = new double[count];
+            Body[] bodies = new Body[count];
+            for (int i = 0; i < count; i++) {
+                longitudes[i] = random.nextDouble() * 360.0;
+                bodies[i] = i < Body.COUNT ? Body.ALL[i] : Body.ALL[random.nextInt(Body.COUNT)];
+            }
+            AspectService.PointOrbs orbs = AspectService.PointOrbs.of(AspectProfile.EXTENDED, bodies);
+            AspectService.AspectType[] types = new AspectService.AspectType[AspectProfile.EXTENDED.getTypeCount()];
+            for (int t = 0; t < types.length; t++) {
+                types[t] = AspectProfile.EXTENDED.getType(t);
+            }
+
+            for (boolean firstAspectOnly : new boolean[] { true, false }) {
+                List<AspectService.PointAspect> pairwise = AspectService.findAspectsPairwise(longitudes, types, orbs, firstAspectOnly);
+                assertSameAspects(pairwise, AspectService.findAspectsSweep(longitudes, types, orbs, firstAspectOnly));
+                assertSameAspects(pairwise, aspectService.findAspects(longitudes, bodies, AspectProfile.EXTENDED, firstAspectOnly));
+            }
+        }
+        assertEquals(8.0, AspectProfile.EXTENDED.getMaxOrb(Body.MARS, 0));
+        assertEquals(4.0, AspectProfile.EXTENDED.getMaxOrb(Body.MARS, 8)); // QUINCUNX with a luminary
+    }
+
+    @Test
+    void testAllAspectsPerPairWhenOrbsOverlap() {
+        // 75° apart with a 15° orb: sextile and square both within orb
+        double[] longitudes = { 10.0, 85.0 };
+        double[] orbs = { 15.0, 15.0 };
+        assertEquals(List.of(AspectService.AspectType.SEXTILE), types(aspectService.findAspects(longitudes, orbs, true)));
+        assertEquals(List.of(AspectService.AspectType.SEXTILE, AspectService.AspectType.SQUARE),
+            types(aspectService.findAspects(longitudes, orbs, false)));
+    }
+
+    @Test
+    void testPointSearchWithProfileTypes() {
+        // 148° apart: outside the trine orb, within the quincunx orb
+        double[] longitudes = { 0.0, 148.0, 250.0 };
+        double[] orbs = { 2.0, 2.0, 2.0 };
+        AspectService.AspectType[] types = { AspectService.AspectType.TRINE, AspectService.AspectType.QUINCUNX };
+        AspectService.PointOrbs pointOrbs = AspectService.PointOrbs.larger(orbs);
+        assertEquals(List.of(AspectService.AspectType.QUINCUNX),
+            types(aspectService.findAspects(longitudes, types, pointOrbs, true)));
+        assertSameAspects(AspectService.findAspectsPairwise(longitudes, types, pointOrbs, false),
+            AspectService.findAspectsSweep(longitudes, types, pointOrbs, false));
+    }
+
+    @Test
+    void testSortByLongitude() {
+        double[] longitudes = { 200.0, 10.0, 359.5, 10.0, 0.0 };
+        assertArrayEquals(new int[] { 4, 1, 3, 0, 2 }, AspectService.sortByLongitude(longitudes));
+        assertArrayEquals(new int[0], AspectService.sortByLongitude(new double[0]));
+    }
+
+    private static void assertSameAspects(List<AspectService.PointAspect> expected, List<AspectService.PointAspect> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            AspectService.PointAspect e = expected.get(i);
+            AspectService.PointAspect a = actual.get(i);
+            assertEquals(e.getPoint1(), a.getPoint1());
+            assertEquals(e.getPoint2(), a.getPoint2());
+            assertEquals(e.getType(), a.getType());
+            assertEquals(e.getOrb(), a.getOrb());
+            assertEquals(e.getSignedDiff(), a.getSignedDiff());
+        }
+    }
+
+    private static List<AspectService.AspectType> types(List<AspectService.PointAspect> aspects) {
+        return aspects.stream().map(AspectService.PointAspect::getType).toList();
+    }
+
+    private AspectService.Aspect conjunction(double sun, double sunSpeed, double moon, double moonSpeed) {
+        PlanetVector vector = spread();
+        place(vector, Body.SUN, sun, sunSpeed);
+        place(vector, Body.MOON, moon, moonSpeed);
+        vector.setSpeedsKnown(true);
+
+        AspectService.Aspect aspect = find(aspectService.calculateAspects(vector), Body.SUN, Body.MOON);
+        assertEquals(AspectService.AspectType.CONJUNCTION, aspect.getType());
+        return aspect;
+    }
+
+    /**
+     * Other bodies spaced so they form no aspect with the Sun or Moon under test
+     */
+    private static PlanetVector spread() {
+        PlanetVector vector = new PlanetVector();
+        for (Body body : Body.ALL) {
+            vector.setLongitude(body, 200.0 + 1.0 * body.ordinal());
+        }
+        return vector;
+    }
+
+    private static void place(PlanetVector vector, Body body, double longitude, double speed) {
+        vector.setLongitude(body, longitude);
+        vector.setSpeed(body, speed);
+    }
+
+    private static AspectService.Aspect find(List<AspectService.Aspect> aspects, Body planet1, Body planet2) {
+        return aspects.stream()
+            .filter(a -> a.getPlanet1() == planet1 && a.getPlanet2() == planet2)
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -1,6 +1,9 @@
 package com.natalcard.natalcard.calc;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -17,6 +20,22 @@ class AstroMathTest {
         assertEquals(0.0, AstroMath.normalize360(720.0), 0.0001);
     }
 
+    @Test
+    void testNormalize360SameBitsAsRemainder() {
+        Random random = new Random(20);
+        double[] edges = { 0.0, -0.0, 359.99999999999994, 360.0, 719.9999999999999, 720.0, -1e-20, -1e-300,
+            -359.99999999999994, -360.0, -360.00000000000006, 1e6 + 0.1, -1e6 - 0.1 };
+        for (int i = 0; i < 100_000 + edges.length; i++) {
+            double angle = i < edges.length ? edges[i] : (random.nextDouble() - 0.5) * 3000.0;
+            double remainder = angle % 360.0;
+            if (remainder < 0) {
+                remainder += 360.0;
+            }
+            assertEquals(Double.doubleToRawLongBits(remainder), Double.doubleToRawLongBits(AstroMath.normalize360(angle)),
+                "normalize360(" + angle + ")");
+        }
+    }
+
     @Test
     void testMinimalAngleDifference() {
         assertEquals(10.0, AstroMath.minimalAngleDifference(350.0, 0.0), 0.0001);
@@ -32,4 +51,36 @@ class AstroMathTest {
         double backToDegrees = AstroMath.toDegrees(radians);
         assertEquals(degrees, backToDegrees, 0.0001);
     }
+
+    @Test
+    void testFastModeDispatch() {
+        MathMode previous = AstroMath.getMode();
+        try {
+            AstroMath.setMode(MathMode.FAST);
+            assertEquals(MathMode.FAST, AstroMath.getMode());
+            assertEquals(315.0, AstroMath.normalize360(-45.0), 0.0);
+            assertEquals(135.0, AstroMath.atan2Degrees(1.0, -1.0), 1e-12);
+            assertEquals(FastMath.sin(2.0), AstroMath.sin(2.0));
+        } finally {
+            AstroMath.setMode(previous);
+        }
+        assertThrows(IllegalArgumentException.class, () -> MathMode.parse("SLOPPY"));
+    }
+
+    @Test
+    void testConfiguredModeFromSystemProperty() {
+        String previous = System.getProperty(AstroMath.MODE_PROPERTY);
+        try {
+            System.setProperty(AstroMath.MODE_PROPERTY, "fast");
+            assertEquals(MathMode.FAST, AstroMath.configuredMode());
+            System.setProperty(AstroMath.MODE_PROPERTY, "SLOPPY");
+            assertThrows(IllegalArgumentException.class, AstroMath::configuredMode);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(AstroMath.MODE_PROPERTY);
+            } else {
+                System.setProperty(AstroMath.MODE_PROPERTY, previous);
+            }
+        }
+    }
 }
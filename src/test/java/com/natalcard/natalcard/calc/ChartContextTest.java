@@ -0,0 +1,71 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared per-instant chart context
+ */
+class ChartContextTest {
+
+    private static final double JD = 2448724.5;   // 1992-04-12 00:00 UT
+    private static final double LATITUDE = 41.0082;
+    private static final double LONGITUDE = 28.9784;
+
+    @Test
+    void testMatchesIndividualServices() {
+        ChartContext context = ChartContext.of(JD, LATITUDE, LONGITUDE);
+        double T = JulianDate.toJulianCenturies(JD);
+
+        SiderealTimeService siderealTime = new SiderealTimeService();
+        double gmst = siderealTime.calculateGMST(T);
+        double obliquity = new ObliquityService().calculateMeanObliquity(T);
+
+        assertEquals(T, context.getJulianCenturies());
+        assertEquals(gmst, context.getGmst());
+        assertEquals(siderealTime.calculateLST(gmst, LONGITUDE), context.getLst());
+        assertEquals(obliquity, context.getObliquity());
+        assertEquals(Math.sin(Math.toRadians(obliquity)), context.getSinObliquity(), 1e-15);
+        assertEquals(Math.cos(Math.toRadians(context.getLst())), context.getCosLst(), 1e-15);
+    }
+
+    @Test
+    void testMoonFromContextMatchesSeries() {
+        ChartContext context = ChartContext.of(JD, LATITUDE, LONGITUDE);
+        assertEquals(LunarSeries.longitude(context.getJulianCenturies()), LunarSeries.longitude(context));
+
+        PlanetVector fromContext = new PlanetVector();
+        PlanetVector fromJulianDay = new PlanetVector();
+        AnalyticEphemeris analytic = new AnalyticEphemeris();
+        analytic.calculatePositions(context, PrecisionTier.STANDARD, fromContext);
+        analytic.calculatePositions(JD, PrecisionTier.STANDARD, fromJulianDay);
+        for (Body body : Body.ALL) {
+            assertEquals(fromJulianDay.getLongitude(body), fromContext.getLongitude(body), body.name());
+        }
+    }
+
+    @Test
+    void testAnglesFromContext() {
+        // At LST 0 the MC is 0° Aries
+        double jd = 2451545.0;
+        ChartContext context = ChartContext.of(jd, 0.0, -ChartContext.of(jd, 0.0, 0.0).getGmst());
+        double[] angles = new AnglesService().calculateAngles(context);
+
+        assertEquals(0.0, Math.abs(AstroMath.minimalAngleDifference(0.0, angles[1])), 1e-9);
+    }
+
+    @Test
+    void testHouseFrameContext() {
+        ChartContext chart = ChartContext.of(2451545.0, 51.5, -0.1);
+        ChartContext frame = ChartContext.forHouses(chart.getLst(), 51.5, chart.getObliquity());
+
+        assertEquals(chart.getSinLst(), frame.getSinLst());
+        assertEquals(chart.getTanLatitude(), frame.getTanLatitude());
+        assertEquals(chart.getCosObliquity(), frame.getCosObliquity());
+        assertArrayEquals(new AnglesService().calculateAngles(chart), new AnglesService().calculateAngles(frame));
+        assertTrue(Double.isNaN(frame.getJulianDay()));
+        assertTrue(Double.isNaN(frame.getGmst()));
+        assertTrue(Double.isNaN(frame.getMoonMeanLongitude()));
+    }
+}
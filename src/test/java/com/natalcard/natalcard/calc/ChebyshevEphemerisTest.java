@@ -0,0 +1,74 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for memory-mapped Chebyshev ephemeris tables
+ */
+class ChebyshevEphemerisTest {
+
+    private static final double START_JD = 2450083.5; // 1996-01-01
+    private static final double END_JD = 2450449.5;   // 1997-01-01
+
+    @TempDir
+    static Path tempDir;
+
+    private static ChebyshevEphemeris table;
+    private static final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @BeforeAll
+    static void writeTable() throws Exception {
+        Path file = tempDir.resolve("ephemeris-1996.bin");
+        ChebyshevEphemerisWriter.write(file, analytic, START_JD, END_JD);
+        table = ChebyshevEphemeris.open(file);
+    }
+
+    @Test
+    void testMatchesAnalyticEngine() {
+        for (Body planet : Body.ALL) {
+            for (double jd = START_JD; jd < END_JD; jd += 0.731) {
+                double diff = AstroMath.minimalAngleDifference(
+                    analytic.calculateLongitude(planet, jd),
+                    table.calculateLongitude(planet, jd));
+                assertEquals(0.0, diff, 1e-6, planet + " at JD " + jd);
+            }
+        }
+    }
+
+    @Test
+    void testSpeedMatchesAnalyticEngine() {
+        PlanetVector vector = new PlanetVector();
+        for (double jd = START_JD; jd < END_JD; jd += 3.17) {
+            analytic.calculatePositions(jd, analytic.getDefaultTier(), vector);
+            for (Body planet : Body.ALL) {
+                // Analytic rates use the FAST series prefix
+                assertEquals(vector.getSpeed(planet), table.calculateSpeed(planet, jd), 1e-3, planet + " at JD " + jd);
+            }
+        }
+    }
+
+    @Test
+    void testLongitudeNormalized() {
+        for (Body planet : Body.ALL) {
+            double lon = table.calculateLongitude(planet, START_JD + 100.25);
+            assertTrue(lon >= 0.0 && lon < 360.0, planet + " = " + lon);
+        }
+    }
+
+    @Test
+    void testCoverage() {
+        assertEquals(START_JD, table.getStartJd());
+        assertEquals(END_JD, table.getEndJd());
+        assertTrue(table.covers(START_JD));
+        assertTrue(table.covers(END_JD - 0.001));
+        assertFalse(table.covers(START_JD - 1.0));
+        assertFalse(table.covers(END_JD));
+        assertThrows(IllegalArgumentException.class, () -> table.calculateLongitude(Body.SUN, START_JD - 30.0));
+    }
+}
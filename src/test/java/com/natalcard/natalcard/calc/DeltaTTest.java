@@ -0,0 +1,38 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ΔT polynomials
+ */
+class DeltaTTest {
+
+    @Test
+    void testTabulatedValues() {
+        // Morrison & Stephenson / IERS values, seconds
+        assertEquals(120.0, DeltaT.seconds(julianDay(1600.0)), 1.0);
+        assertEquals(8.8, DeltaT.seconds(julianDay(1700.0)), 1.0);
+        assertEquals(13.7, DeltaT.seconds(julianDay(1800.0)), 1.0);
+        assertEquals(-2.8, DeltaT.seconds(julianDay(1900.0)), 1.0);
+        assertEquals(29.1, DeltaT.seconds(julianDay(1950.0)), 1.0);
+        assertEquals(63.8, DeltaT.seconds(julianDay(2000.0)), 1.0);
+        assertEquals(66.1, DeltaT.seconds(julianDay(2010.0)), 1.5);
+        assertEquals(63.8 / 86400.0, DeltaT.days(julianDay(2000.0)), 1.0 / 86400.0);
+    }
+
+    @Test
+    void testPiecesJoinUp() {
+        double[] boundaries = { 1700, 1800, 1860, 1900, 1920, 1941, 1961, 1986, 2005, 2050, 2150 };
+        for (double year : boundaries) {
+            double before = DeltaT.seconds(julianDay(year - 1e-6));
+            double after = DeltaT.seconds(julianDay(year));
+            assertEquals(before, after, 0.5, "ΔT at " + year);
+        }
+    }
+
+    private static double julianDay(double year) {
+        return JulianDate.J2000 + (year - 2000.0) * 365.25;
+    }
+}
@@ -0,0 +1,102 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Error sweeps of the fast-math implementations against StrictMath
+ */
+class FastMathTest {
+
+    private static final double SIN_COS_BOUND = 4e-16;
+    private static final double ATAN2_BOUND = 1e-15;
+
+    @Test
+    void testSinCosSweep() {
+        double maxError = 0.0;
+        // Every 1e-5 rad over four turns either side of zero (table nodes and midpoints included)
+        for (double x = -8.0 * Math.PI; x <= 8.0 * Math.PI; x += 1e-5) {
+            maxError = Math.max(maxError, sinCosError(x));
+        }
+        // VSOP87 arguments reach a few thousand radians
+        Random random = new Random(47);
+        for (int i = 0; i < 2_000_000; i++) {
+            maxError = Math.max(maxError, sinCosError((random.nextDouble() * 2.0 - 1.0) * FastMath.MAX_REDUCED_ARGUMENT));
+        }
+        assertTrue(maxError <= SIN_COS_BOUND, "max sin/cos error " + maxError);
+    }
+
+    @Test
+    void testTanSweep() {
+        double maxError = 0.0;
+        for (double x = -1.5; x <= 1.5; x += 1e-6) {
+            // d(tan)/dx = 1/cos²: scale the error back to the sin/cos bound
+            double cos = StrictMath.cos(x);
+            maxError = Math.max(maxError, Math.abs(FastMath.tan(x) - StrictMath.tan(x)) * cos * cos);
+        }
+        assertTrue(maxError <= SIN_COS_BOUND, "max tan error " + maxError);
+    }
+
+    @Test
+    void testAtan2Sweep() {
+        double maxError = 0.0;
+        // Every 1e-6 rad around the circle at radii from 1e-3 to 1e3
+        for (double radius = 1e-3; radius <= 1e3; radius *= 1e3) {
+            for (double angle = -Math.PI; angle <= Math.PI; angle += 1e-6) {
+                double y = radius * Math.sin(angle);
+                double x = radius * Math.cos(angle);
+                maxError = Math.max(maxError, Math.abs(FastMath.atan2(y, x) - StrictMath.atan2(y, x)));
+            }
+        }
+        assertTrue(maxError <= ATAN2_BOUND, "max atan2 error " + maxError);
+    }
+
+    @Test
+    void testAtan2SpecialValues() {
+        double[] values = {0.0, -0.0, 1.0, -1.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+        for (double y : values) {
+            for (double x : values) {
+                assertEquals(StrictMath.atan2(y, x), FastMath.atan2(y, x), "atan2(" + y + ", " + x + ")");
+            }
+        }
+        assertEquals(Math.PI, FastMath.atan2(0.0, -1.0));
+        assertEquals(-Math.PI, FastMath.atan2(-0.0, -1.0));
+    }
+
+    @Test
+    void testNormalizeMatchesRemainder() {
+        Random random = new Random(360);
+        for (int i = 0; i < 2_000_000; i++) {
+            double angle = (random.nextDouble() * 2.0 - 1.0) * Math.pow(10.0, random.nextInt(9));
+            double expected = angle % 360.0;
+            if (expected < 0) {
+                expected += 360.0;
+            }
+            double actual = FastMath.normalize360(angle);
+            assertTrue(actual >= 0.0 && actual < 360.0, angle + " -> " + actual);
+            if (expected != 360.0) {
+                assertEquals(expected, actual, "normalize " + angle);
+            }
+        }
+        for (int k = -1000; k <= 1000; k++) {
+            assertEquals(0.0, FastMath.normalize360(360.0 * k), "normalize " + 360.0 * k);
+        }
+        assertEquals(0.0, FastMath.normalize360(-1e-20));
+    }
+
+    @Test
+    void testLargeArgumentsFallBack() {
+        double x = 3.0 * FastMath.MAX_REDUCED_ARGUMENT;
+        assertEquals(Math.sin(x), FastMath.sin(x));
+        assertEquals(Math.cos(x), FastMath.cos(x));
+        assertTrue(Double.isNaN(FastMath.sin(Double.NaN)));
+        assertTrue(Double.isNaN(FastMath.cos(Double.POSITIVE_INFINITY)));
+    }
+
+    private static double sinCosError(double x) {
+        return Math.max(Math.abs(FastMath.sin(x) - StrictMath.sin(x)), Math.abs(FastMath.cos(x) - StrictMath.cos(x)));
+    }
+}
@@ -0,0 +1,122 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for memory-mapped house cusp grids
+ */
+class HouseCuspGridTest {
+
+    private static final double JD = 2450197.0; // 1996-04-23 12:00 UT
+    private static final double MAX_LATITUDE = 60.0;
+
+    @TempDir
+    static Path tempDir;
+
+    private static final HouseService solver = HouseService.withDefaultSystems(new PlacidusHouseService());
+    private static final List<HouseSystem> gridded = List.of(
+        solver.getSystem(HouseSystemType.PLACIDUS), solver.getSystem(HouseSystemType.KOCH));
+    private static HouseCuspGrid grid;
+
+    private final AnglesService anglesService = new AnglesService();
+
+    @BeforeAll
+    static void writeGrid() throws Exception {
+        Path file = tempDir.resolve("house-cusps.bin");
+        HouseCuspGridWriter.write(file, gridded, HouseCuspGridWriter.Spec.defaults(1.0, 1.0));
+        grid = HouseCuspGrid.open(file);
+    }
+
+    @Test
+    void testMatchesSolverWithinBound() {
+        // 1° steps (the default grid uses 0.5°): the bound is set by the steepest cusps near 60°
+        assertEquals(0.0, HouseCuspGridWriter.maxError(grid, gridded.get(0), 20_000), 1e-3, "PLACIDUS");
+        assertEquals(0.0, HouseCuspGridWriter.maxError(grid, gridded.get(1), 20_000), 1e-2, "KOCH");
+
+        // Mid latitudes are far tighter
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        for (HouseSystem system : gridded) {
+            for (double latitude = -45.0; latitude <= 45.0; latitude += 7.3) {
+                for (int hour = 0; hour < 24; hour++) {
+                    ChartContext context = ChartContext.of(JD + hour / 24.0, latitude, 29.029);
+                    double[] angles = anglesService.calculateAngles(context);
+                    double[] solved = system.calculateCusps(context, angles[0], angles[1], warnings);
+                    double[] interpolated = grid.cusps(system.getType(), context, angles[0], angles[1]);
+                    for (int i = 0; i < 12; i++) {
+                        assertEquals(0.0, AstroMath.minimalAngleDifference(solved[i], interpolated[i]), 3e-5,
+                            system.getType() + " cusp " + (i + 1) + " at " + latitude);
+                    }
+                }
+            }
+        }
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    void testCoverage() {
+        assertEquals(EnumSet.of(HouseSystemType.PLACIDUS, HouseSystemType.KOCH), grid.getSystems());
+        assertEquals(MAX_LATITUDE, grid.getMaxLatitude());
+
+        assertTrue(grid.covers(HouseSystemType.PLACIDUS, ChartContext.of(JD, MAX_LATITUDE, 0.0)));
+        assertTrue(grid.covers(HouseSystemType.KOCH, ChartContext.of(JD, -MAX_LATITUDE, 0.0)));
+        assertFalse(grid.covers(HouseSystemType.PLACIDUS, ChartContext.of(JD, 62.0, 0.0)));
+        assertFalse(grid.covers(HouseSystemType.REGIOMONTANUS, ChartContext.of(JD, 40.0, 0.0)));
+        assertFalse(grid.covers(HouseSystemType.PLACIDUS, ChartContext.forHouses(0.0, 40.0, 23.0)));
+        assertThrows(IllegalArgumentException.class,
+            () -> grid.cusps(HouseSystemType.CAMPANUS, ChartContext.of(JD, 40.0, 0.0), 0.0, 270.0));
+    }
+
+    @Test
+    void testServiceReadsGridWhereItCovers() {
+        PlacidusHouseService placidus = new PlacidusHouseService();
+        HouseService houses = new HouseService(List.of(
+            placidus, new WholeSignHouseSystem(), new EqualHouseSystem(), new KochHouseSystem(),
+            new RegiomontanusHouseSystem(), new CampanusHouseSystem(), new PorphyryHouseSystem(),
+            new AlcabitiusHouseSystem()), grid);
+
+        for (double latitude : new double[] { 41.0, 63.0 }) {
+            ChartContext context = ChartContext.of(JD, latitude, 29.029);
+            double[] angles = anglesService.calculateAngles(context);
+            EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+            double[] cusps = houses.calculateHouses(HouseSystemType.PLACIDUS, context, angles[0], angles[1], warnings);
+            double[] expected = grid.covers(HouseSystemType.PLACIDUS, context)
+                ? grid.cusps(HouseSystemType.PLACIDUS, context, angles[0], angles[1])
+                : solver.calculateHouses(HouseSystemType.PLACIDUS, context, angles[0], angles[1], warnings);
+            assertArrayEquals(expected, cusps);
+            assertEquals(angles[0], cusps[0]);
+            assertEquals(angles[1], cusps[9]);
+        }
+        // The 41° chart came from the grid, the 63° chart from the solver
+        assertEquals(1, placidus.stats().getGridLookups());
+        assertEquals(1, placidus.stats().getSolves());
+        // Systems outside the grid are solved
+        ChartContext context = ChartContext.of(JD, 41.0, 29.029);
+        double[] angles = anglesService.calculateAngles(context);
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        assertArrayEquals(
+            solver.calculateHouses(HouseSystemType.CAMPANUS, context, angles[0], angles[1], warnings),
+            houses.calculateHouses(HouseSystemType.CAMPANUS, context, angles[0], angles[1], warnings));
+    }
+
+    @Test
+    void testWriterRejectsUnusableGrids() throws Exception {
+        Path file = tempDir.resolve("bad.bin");
+        assertThrows(IllegalArgumentException.class, () -> HouseCuspGridWriter.write(file, gridded,
+            new HouseCuspGridWriter.Spec(0.7, 1.0, 60.0, 23.43, 23.44, 1)));
+        // Placidus has no cusps at 66°
+        assertThrows(IllegalStateException.class, () -> HouseCuspGridWriter.write(file, gridded,
+            new HouseCuspGridWriter.Spec(90.0, 33.0, 66.0, 23.43, 23.44, 1)));
+
+        Files.write(file, new byte[128]);
+        assertThrows(IllegalArgumentException.class, () -> HouseCuspGrid.open(file));
+    }
+}
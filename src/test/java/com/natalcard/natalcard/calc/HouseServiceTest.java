@@ -0,0 +1,58 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for house system selection and typed fallback warnings
+ */
+class HouseServiceTest {
+
+    private static final double JD = 2448724.5;   // 1992-04-12 00:00 UT
+
+    private final HouseService houseService = HouseService.withDefaultSystems(new PlacidusHouseService());
+    private final AnglesService anglesService = new AnglesService();
+
+    @Test
+    void testHighLatitudeFallsBackToEqual() {
+        ChartContext context = ChartContext.of(JD, 69.6492, 18.9553); // Tromsø
+        double[] angles = anglesService.calculateAngles(context);
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+
+        double[] cusps = houseService.calculateHouses(HouseSystemType.PLACIDUS, context, angles[0], angles[1], warnings);
+
+        assertEquals(EnumSet.of(ChartWarning.PLACIDUS_FALLBACK_EQUAL_HIGH_LAT), warnings);
+        assertEquals(HouseSystemType.EQUAL,
+            ChartWarning.effectiveHouseSystem(HouseSystemType.PLACIDUS, ChartWarning.mask(warnings)));
+        for (int i = 0; i < 12; i++) {
+            assertEquals(AstroMath.normalize360(angles[0] + 30.0 * i), cusps[i], 1e-9);
+        }
+    }
+
+    @Test
+    void testNoWarningKeepsRequestedSystem() {
+        ChartContext context = ChartContext.of(JD, 41.0082, 28.9784);
+        double[] angles = anglesService.calculateAngles(context);
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+
+        for (HouseSystemType type : HouseSystemType.values()) {
+            houseService.calculateHouses(type, context, angles[0], angles[1], warnings);
+            assertTrue(warnings.isEmpty(), type.name());
+            assertEquals(type, ChartWarning.effectiveHouseSystem(type, ChartWarning.mask(warnings)));
+        }
+    }
+
+    @Test
+    void testWarningMasks() {
+        int all = ChartWarning.mask(EnumSet.allOf(ChartWarning.class));
+        assertEquals((1 << ChartWarning.ALL.length) - 1, all);
+        for (ChartWarning warning : ChartWarning.ALL) {
+            assertNotNull(warning.getFallback(), warning.name());
+            assertSame(warning, ChartWarning.find(warning.name()));
+        }
+        assertNull(ChartWarning.find("FALLBACK_EQUAL"));
+    }
+}
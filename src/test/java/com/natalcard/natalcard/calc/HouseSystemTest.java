@@ -0,0 +1,234 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reference-cusp tests for the house system strategies
+ *
+ * Each quadrant system is checked against its defining condition, evaluated independently
+ * of the implementation: cusps are converted to equatorial and horizon coordinates and the
+ * divided arc (equator, prime vertical, semi-arc or ecliptic) is measured back.
+ */
+class HouseSystemTest {
+
+    private static final double JD = 2450197.0; // 1996-04-23 12:00 UT
+    private static final double[] LATITUDES = { -48.0, -33.9, 0.0, 23.4, 40.983, 51.5, 60.2, 65.0 };
+    private static final double[] THIRDS = { 1.0 / 3.0, 2.0 / 3.0 };
+    private static final double TOLERANCE = 1e-8;
+
+    private final AnglesService anglesService = new AnglesService();
+    private final HouseService houseService = HouseService.withDefaultSystems(new PlacidusHouseService());
+
+    @Test
+    void testRegistryCoversEveryType() {
+        for (HouseSystemType type : HouseSystemType.values()) {
+            assertEquals(type, houseService.getSystem(type).getType());
+        }
+        assertThrows(IllegalStateException.class,
+            () -> new HouseService(List.of(new EqualHouseSystem(), new EqualHouseSystem())));
+        assertThrows(IllegalStateException.class, () -> new HouseService(List.of(new EqualHouseSystem())));
+    }
+
+    @Test
+    void testAnglesOnHorizonAndMeridian() {
+        forEachChart(context -> {
+            double[] angles = anglesService.calculateAngles(context);
+            double[] asc = horizon(angles[0], context);
+            double[] mc = horizon(angles[1], context);
+            assertEquals(0.0, asc[2], TOLERANCE, "ASC on the horizon");
+            assertTrue(asc[1] > 0.0, "ASC rises in the east");
+            assertEquals(0.0, mc[1], TOLERANCE, "MC on the meridian");
+            assertEquals(0.0, AstroMath.minimalAngleDifference(context.getLst(), rightAscension(angles[1], context)),
+                TOLERANCE, "MC culminates at RAMC");
+        });
+    }
+
+    @Test
+    void testQuadrantSystemsShareAngles() {
+        forEachChart(context -> {
+            double[] angles = anglesService.calculateAngles(context);
+            for (HouseSystemType type : EnumSet.complementOf(EnumSet.of(HouseSystemType.WHOLE_SIGN, HouseSystemType.EQUAL))) {
+                double[] cusps = cusps(type, context);
+                assertEquals(angles[0], cusps[0], 1e-12, type.name());
+                assertEquals(angles[1], cusps[9], 1e-12, type.name());
+                for (int i = 0; i < 6; i++) {
+                    assertEquals(180.0, Math.abs(AstroMath.minimalAngleDifference(cusps[i], cusps[i + 6])), 1e-9,
+                        type + " cusps " + (i + 1) + " and " + (i + 7));
+                }
+            }
+        });
+    }
+
+    @Test
+    void testRegiomontanusDividesTheEquator() {
+        forEachChart(context -> {
+            double[] cusps = cusps(HouseSystemType.REGIOMONTANUS, context);
+            double cosLatitude = Math.cos(Math.toRadians(context.getLatitude()));
+            double[] expected = { 30.0, 60.0, 120.0, 150.0 };
+            int[] index = { 10, 11, 1, 2 };
+            for (int i = 0; i < 4; i++) {
+                double h = Math.toRadians(houseCircle(cusps[index[i]], context));
+                double hourAngle = Math.toDegrees(Math.atan2(cosLatitude * Math.sin(h), Math.cos(h)));
+                assertEquals(expected[i], hourAngle, TOLERANCE, "cusp " + (index[i] + 1) + " at " + context.getLatitude());
+            }
+        });
+    }
+
+    @Test
+    void testCampanusDividesThePrimeVertical() {
+        forEachChart(context -> {
+            double[] cusps = cusps(HouseSystemType.CAMPANUS, context);
+            double[] expected = { 30.0, 60.0, 120.0, 150.0 };
+            int[] index = { 10, 11, 1, 2 };
+            for (int i = 0; i < 4; i++) {
+                assertEquals(expected[i], houseCircle(cusps[index[i]], context), TOLERANCE,
+                    "cusp " + (index[i] + 1) + " at " + context.getLatitude());
+            }
+        });
+    }
+
+    @Test
+    void testKochTrisectsTheMidheavenSemiArc() {
+        forEachChart(context -> {
+            double[] cusps = cusps(HouseSystemType.KOCH, context);
+            double mcRising = obliqueAscension(cusps[9], context);
+            double diurnal = AstroMath.normalize360(obliqueAscension(cusps[0], context) - mcRising);
+            assertEquals(90.0 + ascensionalDifference(cusps[9], context), diurnal, TOLERANCE);
+            // Cusps 11 and 12 rise at thirds of the MC's climb; cusps 2 and 3 rise the same thirds after the ASC
+            for (int i = 0; i < 2; i++) {
+                assertEquals(THIRDS[i] * diurnal,
+                    AstroMath.normalize360(obliqueAscension(cusps[10 + i], context) - mcRising), TOLERANCE);
+                assertEquals(diurnal + (1.0 + i) / 3.0 * diurnal,
+                    AstroMath.normalize360(obliqueAscension(cusps[1 + i], context) - mcRising), TOLERANCE);
+            }
+        });
+    }
+
+    @Test
+    void testAlcabitiusTrisectsTheAscendantSemiArcs() {
+        forEachChart(context -> {
+            double[] cusps = cusps(HouseSystemType.ALCABITIUS, context);
+            double ramc = context.getLst();
+            double diurnal = 90.0 + ascensionalDifference(cusps[0], context);
+            assertEquals(diurnal, AstroMath.normalize360(rightAscension(cusps[0], context) - ramc), TOLERANCE);
+            for (int i = 0; i < 2; i++) {
+                assertEquals(THIRDS[i] * diurnal,
+                    AstroMath.normalize360(rightAscension(cusps[10 + i], context) - ramc), TOLERANCE);
+                assertEquals(diurnal + THIRDS[i] * (180.0 - diurnal),
+                    AstroMath.normalize360(rightAscension(cusps[1 + i], context) - ramc), TOLERANCE);
+            }
+        });
+    }
+
+    @Test
+    void testPorphyryTrisectsTheQuadrants() {
+        forEachChart(context -> {
+            double[] cusps = cusps(HouseSystemType.PORPHYRY, context);
+            for (int house = 10; house < 13; house++) {
+                double width = AstroMath.normalize360(cusps[house % 12] - cusps[house - 1]);
+                assertEquals(AstroMath.normalize360(cusps[0] - cusps[9]) / 3.0, width, 1e-9);
+            }
+            for (int house = 1; house < 4; house++) {
+                double width = AstroMath.normalize360(cusps[house] - cusps[house - 1]);
+                assertEquals(AstroMath.normalize360(cusps[3] - cusps[0]) / 3.0, width, 1e-9);
+            }
+        });
+    }
+
+    @Test
+    void testSemiArcSystemsAgreeOnTheEquator() {
+        // On the equator every semi-arc is 90° and the house circles are hour circles
+        ChartContext context = ChartContext.of(JD, 0.0, 29.029);
+        double[] placidus = cusps(HouseSystemType.PLACIDUS, context);
+        for (HouseSystemType type : EnumSet.of(HouseSystemType.KOCH, HouseSystemType.REGIOMONTANUS,
+                HouseSystemType.CAMPANUS, HouseSystemType.ALCABITIUS)) {
+            double[] cusps = cusps(type, context);
+            for (int i = 0; i < 12; i++) {
+                assertEquals(0.0, AstroMath.minimalAngleDifference(placidus[i], cusps[i]), 1e-9, type + " cusp " + (i + 1));
+            }
+        }
+    }
+
+    @Test
+    void testCircumpolarMidheavenFallsBackToEqual() {
+        int fallbacks = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            ChartContext context = ChartContext.of(JD + hour / 24.0, 78.2, 15.6); // Longyearbyen
+            double[] angles = anglesService.calculateAngles(context);
+            EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+            double[] cusps = houseService.calculateHouses(HouseSystemType.KOCH, context, angles[0], angles[1], warnings);
+            if (!warnings.isEmpty()) {
+                fallbacks++;
+                assertEquals(EnumSet.of(ChartWarning.QUADRANT_FALLBACK_EQUAL_HIGH_LAT), warnings);
+                assertArrayEquals(EqualHouseSystem.cusps(angles[0]), cusps);
+            }
+        }
+        assertTrue(fallbacks > 0);
+    }
+
+    private interface ChartCheck {
+        void check(ChartContext context);
+    }
+
+    private static void forEachChart(ChartCheck check) {
+        for (double latitude : LATITUDES) {
+            for (int hour = 0; hour < 24; hour += 2) {
+                check.check(ChartContext.of(JD + hour / 24.0, latitude, 29.029));
+            }
+        }
+    }
+
+    private double[] cusps(HouseSystemType type, ChartContext context) {
+        double[] angles = anglesService.calculateAngles(context);
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        double[] cusps = houseService.calculateHouses(type, context, angles[0], angles[1], warnings);
+        assertTrue(warnings.isEmpty(), type + " " + warnings);
+        return cusps;
+    }
+
+    private static double rightAscension(double longitude, ChartContext context) {
+        double lambda = Math.toRadians(longitude);
+        return AstroMath.normalize360(Math.toDegrees(
+            Math.atan2(Math.sin(lambda) * context.getCosObliquity(), Math.cos(lambda))));
+    }
+
+    private static double declination(double longitude, ChartContext context) {
+        return Math.asin(context.getSinObliquity() * Math.sin(Math.toRadians(longitude)));
+    }
+
+    private static double ascensionalDifference(double longitude, ChartContext context) {
+        return Math.toDegrees(Math.asin(context.getTanLatitude() * Math.tan(declination(longitude, context))));
+    }
+
+    // Oblique ascension under the pole of the birthplace
+    private static double obliqueAscension(double longitude, ChartContext context) {
+        return AstroMath.normalize360(rightAscension(longitude, context) - ascensionalDifference(longitude, context));
+    }
+
+    /**
+     * Horizon coordinates of an ecliptic point: x south, y east, z zenith
+     */
+    private static double[] horizon(double longitude, ChartContext context) {
+        double delta = declination(longitude, context);
+        double hourAngle = Math.toRadians(context.getLst() - rightAscension(longitude, context)); // westward
+        double phi = Math.toRadians(context.getLatitude());
+        double x = Math.cos(delta) * Math.cos(hourAngle) * Math.sin(phi) - Math.sin(delta) * Math.cos(phi);
+        double y = -Math.cos(delta) * Math.sin(hourAngle);
+        double z = Math.cos(delta) * Math.cos(hourAngle) * Math.cos(phi) + Math.sin(delta) * Math.sin(phi);
+        return new double[] { x, y, z };
+    }
+
+    /**
+     * Angle from the zenith, toward the east, of the great circle through the north and south
+     * points that contains the ecliptic point (0° meridian, 90° horizon)
+     */
+    private static double houseCircle(double longitude, ChartContext context) {
+        double[] point = horizon(longitude, context);
+        return Math.toDegrees(Math.atan2(point[1], point[2]));
+    }
+}
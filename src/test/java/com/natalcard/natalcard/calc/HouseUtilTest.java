@@ -0,0 +1,96 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for house assignment by binary search over unwrapped cusps
+ */
+class HouseUtilTest {
+
+    private static final double JD = 2450197.0; // 1996-04-23 12:00 UT
+
+    private final AnglesService anglesService = new AnglesService();
+    private final HouseService houseService = HouseService.withDefaultSystems(new PlacidusHouseService());
+
+    @Test
+    void testMatchesForwardArcWalk() {
+        Random random = new Random(22);
+        double[] longitudes = new double[500];
+        int[] houses = new int[longitudes.length];
+        for (HouseSystemType type : HouseSystemType.values()) {
+            for (int chart = 0; chart < 40; chart++) {
+                ChartContext context = ChartContext.of(JD + random.nextDouble() * 3650.0,
+                    -65.0 + random.nextDouble() * 130.0, -180.0 + random.nextDouble() * 360.0);
+                double[] angles = anglesService.calculateAngles(context);
+                double[] cusps = houseService.calculateHouses(type, context, angles[0], angles[1],
+                    EnumSet.noneOf(ChartWarning.class));
+
+                for (int i = 0; i < longitudes.length; i++) {
+                    longitudes[i] = random.nextDouble() * 360.0;
+                }
+                longitudes[0] = cusps[0];   // exactly on cusps: the house starting there
+                longitudes[1] = cusps[11];
+                longitudes[2] = cusps[4];
+                HouseUtil.determineHouses(longitudes, cusps, houses);
+                for (int i = 0; i < longitudes.length; i++) {
+                    assertEquals(walk(longitudes[i], cusps), houses[i], type + " at " + longitudes[i]);
+                    assertEquals(houses[i], HouseUtil.determineHouse(longitudes[i], cusps));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWrapAroundAndUnnormalizedInput() {
+        // Cusp 1 at 350°: house 1 spans 0° Aries
+        double[] cusps = EqualHouseSystem.cusps(350.0);
+        double[] table = HouseUtil.searchTable(cusps);
+        assertNotNull(table);
+        assertEquals(350.0, table[0]);
+        assertEquals(20.0 + 360.0, table[1]);
+        assertEquals(Double.POSITIVE_INFINITY, table[15]);
+
+        assertEquals(1, HouseUtil.findHouse(350.0, table));
+        assertEquals(1, HouseUtil.findHouse(5.0, table));
+        assertEquals(2, HouseUtil.findHouse(20.0, table));
+        assertEquals(12, HouseUtil.findHouse(349.999999, table));
+        assertEquals(12, HouseUtil.findHouse(Math.nextDown(350.0), table));
+        assertEquals(1, HouseUtil.findHouse(365.0, table));
+        assertEquals(12, HouseUtil.findHouse(-11.0, table));
+        assertArrayEquals(new int[] { 1, 2, 7, 12 }, HouseUtil.determineHouses(new double[] { 0.0, 21.0, 171.0, 349.0 }, cusps));
+    }
+
+    @Test
+    void testCuspsOutOfOrderFallBackToWalk() {
+        // Cusps 2 and 3 swapped: not once around the zodiac in order
+        double[] cusps = EqualHouseSystem.cusps(0.0);
+        cusps[1] = 60.0;
+        cusps[2] = 30.0;
+        assertNull(HouseUtil.searchTable(cusps));
+        for (double lon = 0.5; lon < 360.0; lon += 7.0) {
+            assertEquals(walk(lon, cusps), HouseUtil.determineHouse(lon, cusps));
+        }
+        assertEquals(1, HouseUtil.determineHouse(Double.NaN, cusps));
+        assertEquals(1, HouseUtil.determineHouse(Double.NaN, EqualHouseSystem.cusps(0.0)));
+    }
+
+    /**
+     * Reference: first house in order 1-12 whose forward arc from its cusp holds the point
+     */
+    private static int walk(double lon, double[] cusps) {
+        double x = AstroMath.normalize360(lon);
+        for (int house = 1; house <= 12; house++) {
+            double start = AstroMath.normalize360(cusps[house - 1]);
+            double end = AstroMath.normalize360(cusps[house % 12]);
+            if (start <= end ? x >= start && x < end : x >= start || x < end) {
+                return house;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,259 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JPL DE binary reader
+ *
+ * Uses a truncated DE-layout fixture: the header claims ten 32-day records but
+ * only three are present. Bodies sit at known ecliptic directions with the
+ * Earth at the origin, so expected longitudes are exact; Jupiter also moves
+ * linearly within each record to exercise the velocity series.
+ */
+class JplEphemerisTest {
+
+    private static final double START_JD = 2451536.5; // 1999-12-24
+    private static final double STEP_DAYS = 32.0;
+    private static final int RECORDS_PRESENT = 3;
+    private static final int RECORDS_IN_HEADER = 10;
+    private static final double EMRAT = 81.3005682214972;
+    private static final double J2000_OBLIQUITY_RAD = Math.toRadians(84381.406 / 3600.0);
+
+    private static final int COEFFICIENTS = 10;
+    private static final int MERCURY_SUBINTERVALS = 4;
+    private static final double JUPITER_DRIFT_KM = 5.0e6; // first Chebyshev coefficient, per component
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testHeaderAndTruncatedCoverage() throws Exception {
+        JplEphemeris de = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+
+        assertEquals(440, de.getDenum());
+        assertEquals(START_JD, de.getStartJd());
+        assertEquals(START_JD + RECORDS_PRESENT * STEP_DAYS, de.getEndJd());
+        assertTrue(de.covers(START_JD + 40.0));
+        assertFalse(de.covers(START_JD + 200.0));
+        assertFalse(de.covers(START_JD - 1.0));
+    }
+
+    @Test
+    void testRecordLookup() throws Exception {
+        JplEphemeris de = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+
+        for (int record = 0; record < RECORDS_PRESENT; record++) {
+            double jd = START_JD + record * STEP_DAYS + 13.0;
+            assertEquals(expected(marsLongitude(record), jd), de.calculateLongitude(Body.MARS, jd), 1e-7);
+            assertEquals(expected(moonLongitude(record), jd), de.calculateLongitude(Body.MOON, jd), 1e-7);
+            assertEquals(expected(sunLongitude(record), jd), de.calculateLongitude(Body.SUN, jd), 1e-7);
+        }
+    }
+
+    @Test
+    void testSubintervalLookup() throws Exception {
+        JplEphemeris de = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+        double subLength = STEP_DAYS / MERCURY_SUBINTERVALS;
+
+        for (int sub = 0; sub < MERCURY_SUBINTERVALS; sub++) {
+            double jd = START_JD + STEP_DAYS + sub * subLength + subLength / 2;
+            assertEquals(expected(mercuryLongitude(1, sub), jd), de.calculateLongitude(Body.MERCURY, jd), 1e-7);
+        }
+    }
+
+    @Test
+    void testBigEndianFile() throws Exception {
+        JplEphemeris little = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+        JplEphemeris big = JplEphemeris.open(writeFixture(ByteOrder.BIG_ENDIAN));
+
+        double jd = START_JD + 50.5;
+        for (Body planet : Body.ALL) {
+            assertEquals(little.calculateLongitude(planet, jd), big.calculateLongitude(planet, jd), 1e-12);
+        }
+    }
+
+    @Test
+    void testPositionsShareOneEarthState() throws Exception {
+        JplEphemeris de = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+        double jd = START_JD + 40.25;
+        PlanetVector vector = new PlanetVector();
+        de.calculatePositions(jd, vector);
+
+        assertTrue(vector.hasSpeeds());
+        for (Body body : Body.ALL) {
+            assertEquals(de.calculateLongitude(body, jd), vector.getLongitude(body), 1e-12, body.name());
+            assertEquals(de.calculateSpeed(body, jd), vector.getSpeed(body), 1e-12, body.name());
+        }
+    }
+
+    @Test
+    void testSpeedFromChebyshevDerivative() throws Exception {
+        JplEphemeris de = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+        double jd = START_JD + 40.25;
+        double h = 1.0 / 24.0;
+
+        double numeric = AstroMath.minimalAngleDifference(
+            de.calculateLongitude(Body.JUPITER, jd - h), de.calculateLongitude(Body.JUPITER, jd + h)) / (2.0 * h);
+        assertEquals(numeric, de.calculateSpeed(Body.JUPITER, jd), 1e-8);
+        assertTrue(Math.abs(numeric) > 0.01, "Jupiter moves in the fixture");
+
+        // Constant series: only the precession of the equinox moves Mars
+        double precessionRate = (5028.796195 + 2.0 * 1.1054348 * JulianDate.toJulianCenturies(jd)) / 3600.0 / 36525.0;
+        assertEquals(precessionRate, de.calculateSpeed(Body.MARS, jd), 1e-12);
+    }
+
+    @Test
+    void testDateIsMovedFromUtToTdb() throws Exception {
+        JplEphemeris de = JplEphemeris.open(writeFixture(ByteOrder.LITTLE_ENDIAN));
+        // ΔT ≈ 64 s: half a minute before the second record in UT is already in it in TDB
+        // (the Moon has no light-time step to pull it back)
+        double jd = START_JD + STEP_DAYS - 30.0 / 86400.0;
+        assertEquals(expected(moonLongitude(1), jd), de.calculateLongitude(Body.MOON, jd), 1e-7);
+    }
+
+    @Test
+    void testRejectsFileWithoutRecords() throws Exception {
+        Path full = writeFixture(ByteOrder.LITTLE_ENDIAN);
+        byte[] bytes = Files.readAllBytes(full);
+        Path headerOnly = tempDir.resolve("header-only.bin");
+        Files.write(headerOnly, Arrays.copyOf(bytes, bytes.length / (2 + RECORDS_PRESENT) * 2));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> JplEphemeris.open(headerOnly));
+        assertTrue(error.getMessage().contains("no data records"));
+    }
+
+    @Test
+    void testRejectsNonDeFile() throws Exception {
+        Path file = tempDir.resolve("garbage.bin");
+        Files.write(file, new byte[8192]);
+        assertThrows(IllegalArgumentException.class, () -> JplEphemeris.open(file));
+    }
+
+    // --- Fixture ---
+
+    private static double sunLongitude(int record) {
+        return 280.0 + record;
+    }
+
+    private static double moonLongitude(int record) {
+        return 20.0 + 40.0 * record;
+    }
+
+    private static double marsLongitude(int record) {
+        return 100.0 + 5.0 * record;
+    }
+
+    private static double mercuryLongitude(int record, int sub) {
+        return 350.0 + 10.0 * record + 3.0 * sub;
+    }
+
+    private static double otherLongitude(int body, int record) {
+        return 30.0 * body + record;
+    }
+
+    /**
+     * Ecliptic J2000 longitude precessed to the equinox of date
+     */
+    private static double expected(double lonJ2000, double jd) {
+        double T = JulianDate.toJulianCenturies(jd);
+        return AstroMath.normalize360(lonJ2000 + (5028.796195 * T + 1.1054348 * T * T) / 3600.0);
+    }
+
+    /**
+     * ICRF equatorial vector (km) for an ecliptic direction
+     */
+    private static double[] equatorial(double lonDeg, double distanceKm) {
+        double lon = Math.toRadians(lonDeg);
+        double x = Math.cos(lon);
+        double y = Math.sin(lon);
+        return new double[]{
+            distanceKm * x,
+            distanceKm * y * Math.cos(J2000_OBLIQUITY_RAD),
+            distanceKm * y * Math.sin(J2000_OBLIQUITY_RAD)
+        };
+    }
+
+    private Path writeFixture(ByteOrder order) throws Exception {
+        // IPT layout: every body has COEFFICIENTS per component, Mercury has 4 subintervals
+        int[][] ipt = new int[13][3];
+        int next = 3;
+        for (int body = 0; body <= 10; body++) {
+            int subs = body == JplEphemeris.MERCURY ? MERCURY_SUBINTERVALS : 1;
+            ipt[body] = new int[]{next, COEFFICIENTS, subs};
+            next += COEFFICIENTS * subs * 3;
+        }
+        int recordBytes = (next - 1) * Double.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate((2 + RECORDS_PRESENT) * recordBytes).order(order);
+
+        // Record 0: header
+        byte[] title = "JPL Planetary Ephemeris DE440 (test fixture)".getBytes(StandardCharsets.US_ASCII);
+        buffer.put(0, title);
+        buffer.putDouble(JplEphemeris.OFFSET_SS, START_JD);
+        buffer.putDouble(JplEphemeris.OFFSET_SS + 8, START_JD + RECORDS_IN_HEADER * STEP_DAYS);
+        buffer.putDouble(JplEphemeris.OFFSET_SS + 16, STEP_DAYS);
+        buffer.putInt(JplEphemeris.OFFSET_NCON, 400);
+        buffer.putDouble(JplEphemeris.OFFSET_AU, 149597870.7);
+        buffer.putDouble(JplEphemeris.OFFSET_EMRAT, EMRAT);
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 3; j++) {
+                buffer.putInt(JplEphemeris.OFFSET_IPT + (i * 3 + j) * 4, ipt[i][j]);
+            }
+        }
+        buffer.putInt(JplEphemeris.OFFSET_DENUM, 440);
+
+        // Records 2+: constant positions per record (and per Mercury subinterval)
+        for (int record = 0; record < RECORDS_PRESENT; record++) {
+            int base = (2 + record) * recordBytes;
+            double recordStart = START_JD + record * STEP_DAYS;
+            buffer.putDouble(base, recordStart);
+            buffer.putDouble(base + 8, recordStart + STEP_DAYS);
+
+            double[] moon = equatorial(moonLongitude(record), 384400.0);
+            double[] emb = {moon[0] / (1 + EMRAT), moon[1] / (1 + EMRAT), moon[2] / (1 + EMRAT)};
+
+            putConstant(buffer, base, ipt[JplEphemeris.MOON], 0, moon);
+            putConstant(buffer, base, ipt[JplEphemeris.EARTH_MOON_BARYCENTER], 0, emb);
+            putConstant(buffer, base, ipt[JplEphemeris.SUN], 0, equatorial(sunLongitude(record), 1.496e8));
+            putConstant(buffer, base, ipt[JplEphemeris.MARS], 0, equatorial(marsLongitude(record), 2.0e8));
+            for (int sub = 0; sub < MERCURY_SUBINTERVALS; sub++) {
+                putConstant(buffer, base, ipt[JplEphemeris.MERCURY], sub,
+                    equatorial(mercuryLongitude(record, sub), 1.0e8));
+            }
+            for (int body : new int[]{JplEphemeris.VENUS, JplEphemeris.JUPITER, JplEphemeris.SATURN,
+                                      JplEphemeris.URANUS, JplEphemeris.NEPTUNE, JplEphemeris.PLUTO}) {
+                putConstant(buffer, base, ipt[body], 0, equatorial(otherLongitude(body, record), 8.0e8));
+            }
+            // Jupiter: add a T1 term so it drifts across the record
+            int jupiter = base + (ipt[JplEphemeris.JUPITER][0] - 1) * Double.BYTES;
+            double[] drift = equatorial(otherLongitude(JplEphemeris.JUPITER, record) + 90.0, JUPITER_DRIFT_KM);
+            for (int c = 0; c < 3; c++) {
+                buffer.putDouble(jupiter + (c * COEFFICIENTS + 1) * Double.BYTES, drift[c]);
+            }
+        }
+
+        Path file = tempDir.resolve("de440-" + order + ".bin");
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    /**
+     * Constant series: only the zeroth Chebyshev coefficient is set
+     */
+    private static void putConstant(ByteBuffer buffer, int recordBase, int[] ipt, int sub, double[] value) {
+        int first = recordBase + (ipt[0] - 1 + sub * ipt[1] * 3) * Double.BYTES;
+        for (int c = 0; c < 3; c++) {
+            buffer.putDouble(first + c * ipt[1] * Double.BYTES, value[c]);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Keplerian orbits and the Kepler-orbit engine
+ */
+class KeplerEphemerisTest {
+
+    private final KeplerEphemeris kepler = new KeplerEphemeris();
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testNewtonStepsConverge() {
+        KeplerOrbits.State state = new KeplerOrbits.State();
+        for (double jd = KeplerEphemeris.START_JD; jd < KeplerEphemeris.END_JD; jd += 97.3) {
+            KeplerOrbits.solve(JulianDate.toJulianCenturies(jd), 0, KeplerOrbits.COUNT, state);
+            for (int orbit = 0; orbit < KeplerOrbits.COUNT; orbit++) {
+                assertEquals(0.0, KeplerOrbits.residual(state, orbit), 1e-14, "orbit " + orbit + " at JD " + jd);
+            }
+        }
+    }
+
+    @Test
+    void testPlanetsMatchVsop87() {
+        PlanetVector fromKepler = new PlanetVector();
+        PlanetVector fromVsop = new PlanetVector();
+        double[] worst = new double[Body.COUNT];
+        for (double jd = KeplerEphemeris.START_JD; jd < KeplerEphemeris.END_JD; jd += 37.1) {
+            kepler.calculatePositions(jd, fromKepler);
+            analytic.calculatePositions(jd, PrecisionTier.PRECISE, fromVsop);
+            for (Body body : Body.ALL) {
+                double error = Math.abs(AstroMath.minimalAngleDifference(
+                    fromVsop.getLongitude(body), fromKepler.getLongitude(body)));
+                worst[body.ordinal()] = Math.max(worst[body.ordinal()], error);
+            }
+        }
+        // Approximate elements omit the great inequality: Jupiter and Saturn drift furthest
+        for (Body body : Body.ALL) {
+            double tolerance = body == Body.JUPITER || body == Body.SATURN ? 0.25 : 0.07;
+            assertTrue(worst[body.ordinal()] < tolerance, body + " off by " + worst[body.ordinal()]);
+        }
+    }
+
+    @Test
+    void testPlutoIngressAquarius() {
+        // Pluto entered Aquarius (300°) on 2023-03-23; the old mean-motion formula put it near 273°
+        double jd = 2460026.5;
+        assertEquals(300.0, analytic.calculateLongitude(Body.PLUTO, jd), 0.05);
+        assertEquals(300.0, kepler.calculateLongitude(Body.PLUTO, jd), 0.05);
+    }
+
+    @Test
+    void testSpeedsMatchFiniteDifference() {
+        PlanetVector vector = new PlanetVector();
+        PlanetVector before = new PlanetVector();
+        PlanetVector after = new PlanetVector();
+        double h = 0.01;
+        for (double jd = KeplerEphemeris.START_JD; jd < KeplerEphemeris.END_JD; jd += 731.3) {
+            kepler.calculatePositions(jd, vector);
+            kepler.calculatePositions(jd - h, before);
+            kepler.calculatePositions(jd + h, after);
+            for (Body body : Body.ALL) {
+                double finiteDifference = AstroMath.minimalAngleDifference(
+                    before.getLongitude(body), after.getLongitude(body)) / (2.0 * h);
+                assertEquals(finiteDifference, vector.getSpeed(body), 1e-4, body + " at JD " + jd);
+            }
+        }
+    }
+
+    @Test
+    void testCoverage() {
+        assertTrue(kepler.covers(2451545.0));
+        assertFalse(kepler.covers(KeplerEphemeris.START_JD - 1.0));
+        assertFalse(kepler.covers(KeplerEphemeris.END_JD + 1.0));
+        assertEquals(PrecisionTier.FAST, kepler.getPrecision());
+    }
+}
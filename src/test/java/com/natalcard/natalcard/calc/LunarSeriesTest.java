@@ -0,0 +1,56 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Meeus chapter 47 lunar series
+ * Reference values from Meeus, Astronomical Algorithms (example 47.a)
+ */
+class LunarSeriesTest {
+
+    @Test
+    void testMeeusExample() {
+        // 1992 April 12.0 TD
+        double T = (2448724.5 - 2451545.0) / 36525.0;
+        double[] position = new double[3];
+        LunarSeries.position(T, position);
+
+        assertEquals(133.162655, position[0], 1e-6);
+        assertEquals(-3.229126, position[1], 1e-6);
+        assertEquals(368409.7, position[2], 0.1);
+        assertEquals(position[0], LunarSeries.longitude(T), 1e-12);
+    }
+
+    @Test
+    void testRecurrencesMatchDirectEvaluation() {
+        // Leading terms evaluated term by term with Math.sin, 1800-2200
+        for (double T = -2.0; T <= 2.0; T += 0.0137) {
+            double meanLongitude = 218.3164477 + 481267.88123421 * T;
+            double D = Math.toRadians(297.8501921 + 445267.1114034 * T);
+            double M = Math.toRadians(357.5291092 + 35999.0502909 * T);
+            double MPrime = Math.toRadians(134.9633964 + 477198.8675055 * T);
+            double F = Math.toRadians(93.2720950 + 483202.0175233 * T);
+
+            double direct = meanLongitude
+                + 6.288774 * Math.sin(MPrime)
+                + 1.274027 * Math.sin(2 * D - MPrime)
+                + 0.658314 * Math.sin(2 * D)
+                + 0.213618 * Math.sin(2 * MPrime)
+                - 0.185116 * Math.sin(M)
+                - 0.114332 * Math.sin(2 * F);
+
+            // The remaining terms sum to well under half a degree
+            double diff = AstroMath.minimalAngleDifference(direct, LunarSeries.longitude(T));
+            assertEquals(0.0, diff, 0.5, "T = " + T);
+        }
+    }
+
+    @Test
+    void testEphemerisUsesSeries() {
+        AnalyticEphemeris analytic = new AnalyticEphemeris();
+        double jd = 2448724.5;
+        assertEquals(133.162655, analytic.calculateLongitude(Body.MOON, jd), 1e-6);
+    }
+}
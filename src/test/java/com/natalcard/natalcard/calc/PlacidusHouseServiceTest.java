@@ -0,0 +1,122 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the iterative Placidus solver
+ */
+class PlacidusHouseServiceTest {
+
+    private static final double JD = 2450197.0; // 1996-04-23 12:00 UT
+    private static final double[] LATITUDES = { -55.0, -33.9, 0.0, 23.4, 40.983, 51.5, 60.2, 65.9 };
+
+    private final AnglesService anglesService = new AnglesService();
+
+    @Test
+    void testCuspsSatisfySemiArcCondition() {
+        PlacidusHouseService placidus = new PlacidusHouseService();
+        double[] fractions = { 1.0 / 3.0, 2.0 / 3.0 }; // cusps 11, 12 of the diurnal semi-arc
+        for (double latitude : LATITUDES) {
+            for (int hour = 0; hour < 24; hour += 3) {
+                ChartContext context = ChartContext.of(JD + hour / 24.0, latitude, 29.029);
+                double[] cusps = solve(placidus, context, null);
+                double ramc = context.getLst();
+
+                for (int i = 0; i < 2; i++) {
+                    double cusp = cusps[10 + i];
+                    double hourAngle = AstroMath.normalize360(rightAscension(cusp, context) - ramc);
+                    assertEquals(fractions[i] * (90.0 + ascensionalDifference(cusp, context)), hourAngle, 1e-7,
+                        "cusp " + (11 + i) + " at " + latitude);
+                }
+                for (int i = 0; i < 2; i++) {
+                    double cusp = cusps[1 + i]; // cusps 2, 3 measured back from the IC on the nocturnal semi-arc
+                    double fromIc = AstroMath.normalize360(ramc + 180.0 - rightAscension(cusp, context));
+                    assertEquals(fractions[1 - i] * (90.0 - ascensionalDifference(cusp, context)), fromIc, 1e-7,
+                        "cusp " + (2 + i) + " at " + latitude);
+                }
+                assertEquals(AstroMath.normalize360(cusps[9] + 180.0), cusps[3], 1e-12);
+                assertEquals(AstroMath.normalize360(cusps[10] + 180.0), cusps[4], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void testEquatorNeedsNoIteration() {
+        PlacidusHouseService placidus = new PlacidusHouseService();
+        ChartContext context = ChartContext.of(JD, 0.0, 29.029);
+        double[] cusps = solve(placidus, context, null);
+
+        // AD = 0 everywhere: cusp 11 is the ecliptic point 30° of RA past the RAMC
+        double ra = Math.toRadians(context.getLst() + 30.0);
+        double expected = AstroMath.normalize360(Math.toDegrees(
+            Math.atan2(Math.sin(ra), Math.cos(ra) * context.getCosObliquity())));
+        assertEquals(expected, cusps[10], 1e-9);
+        assertEquals(1.0, placidus.stats().getMeanIterations());
+    }
+
+    @Test
+    void testWarmStartConvergesFaster() {
+        PlacidusHouseService cold = new PlacidusHouseService();
+        PlacidusHouseService warm = new PlacidusHouseService();
+        double[] previous = null;
+
+        // One chart per minute over a day at 51.5° N
+        for (int minute = 0; minute < 1440; minute++) {
+            ChartContext context = ChartContext.of(JD + minute / 1440.0, 51.5, -0.13);
+            double[] coldCusps = solve(cold, context, null);
+            double[] warmCusps = solve(warm, context, previous);
+            for (int i = 0; i < 12; i++) {
+                assertEquals(0.0, AstroMath.minimalAngleDifference(coldCusps[i], warmCusps[i]), 1e-8);
+            }
+            previous = warmCusps;
+        }
+
+        PlacidusHouseService.Stats coldStats = cold.stats();
+        PlacidusHouseService.Stats warmStats = warm.stats();
+        System.out.printf("%nPlacidus iterations per cusp: cold %.2f, warm %.2f%n",
+            coldStats.getMeanIterations(), warmStats.getMeanIterations());
+        assertEquals(1439, warmStats.getWarmStarts());
+        assertTrue(coldStats.getMeanIterations() <= 5.0, "Newton steps converge quadratically");
+        assertTrue(warmStats.getMeanIterations() < 0.8 * coldStats.getMeanIterations());
+    }
+
+    @Test
+    void testNonConvergenceFallsBackToEqual() {
+        PlacidusHouseService placidus = new PlacidusHouseService(1e-12, 2);
+        ChartContext context = ChartContext.of(JD, 60.2, 24.9);
+        double[] angles = anglesService.calculateAngles(context);
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+
+        double[] cusps = placidus.calculatePlacidusHouses(context, angles[0], angles[1], warnings);
+
+        assertEquals(EnumSet.of(ChartWarning.PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL), warnings);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(AstroMath.normalize360(angles[0] + 30.0 * i), cusps[i], 1e-9);
+        }
+        assertEquals(1, placidus.stats().getNotConverged());
+        assertThrows(IllegalArgumentException.class, () -> new PlacidusHouseService(0.0, 10));
+    }
+
+    private double[] solve(PlacidusHouseService placidus, ChartContext context, double[] seed) {
+        double[] angles = anglesService.calculateAngles(context);
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        double[] cusps = placidus.calculatePlacidusHouses(context, angles[0], angles[1], seed, warnings);
+        assertTrue(warnings.isEmpty(), warnings::toString);
+        return cusps;
+    }
+
+    private static double rightAscension(double longitude, ChartContext context) {
+        double lambda = Math.toRadians(longitude);
+        return AstroMath.normalize360(Math.toDegrees(
+            Math.atan2(Math.sin(lambda) * context.getCosObliquity(), Math.cos(lambda))));
+    }
+
+    private static double ascensionalDifference(double longitude, ChartContext context) {
+        double declination = Math.asin(context.getSinObliquity() * Math.sin(Math.toRadians(longitude)));
+        return Math.toDegrees(Math.asin(context.getTanLatitude() * Math.tan(declination)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for batch ephemeris evaluation (scalar and Vector API kernels)
+ */
+class PlanetBatchTest {
+
+    private static final int COUNT = 203; // not a multiple of any lane count
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testScalarBatchMatchesPerInstant() {
+        double[] julianDays = new double[COUNT];
+        double[] centuries = new double[COUNT];
+        for (int j = 0; j < COUNT; j++) {
+            julianDays[j] = 2378496.5 + 719.7 * j;
+            centuries[j] = JulianDate.toJulianCenturies(julianDays[j]);
+        }
+        PlanetBatch batch = new PlanetBatch(COUNT);
+        analytic.calculatePositions(centuries, COUNT, PrecisionTier.STANDARD, SeriesKernel.SCALAR, batch);
+
+        PlanetVector single = new PlanetVector();
+        for (int j = 0; j < COUNT; j++) {
+            analytic.calculatePositions(julianDays[j], PrecisionTier.STANDARD, single);
+            for (Body body : Body.ALL) {
+                assertEquals(single.getLongitude(body), batch.getLongitude(body, j), body + " at " + j);
+            }
+        }
+        assertEquals(COUNT, batch.size());
+    }
+
+    @Test
+    void testVectorBatchMatchesScalar() {
+        assumeTrue(SeriesKernel.VECTOR.isAvailable(), "jdk.incubator.vector not available");
+
+        double[] centuries = centuries();
+        PlanetBatch scalar = new PlanetBatch(COUNT);
+        PlanetBatch vector = new PlanetBatch(COUNT);
+        analytic.calculatePositions(centuries, COUNT, PrecisionTier.PRECISE, SeriesKernel.SCALAR, scalar);
+        analytic.calculatePositions(centuries, COUNT, PrecisionTier.PRECISE, SeriesKernel.VECTOR, vector);
+
+        for (int j = 0; j < COUNT; j++) {
+            for (Body body : Body.ALL) {
+                double diff = AstroMath.minimalAngleDifference(scalar.getLongitude(body, j), vector.getLongitude(body, j));
+                assertEquals(0.0, diff, 1e-9, body + " at " + j);
+            }
+        }
+    }
+
+    @Test
+    void testBatchLargerThanCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+            analytic.calculatePositions(new double[8], 8, PrecisionTier.FAST, new PlanetBatch(4)));
+    }
+
+    private static double[] centuries() {
+        double[] centuries = new double[COUNT];
+        for (int j = 0; j < COUNT; j++) {
+            centuries[j] = -2.0 + 4.0 * j / COUNT;
+        }
+        return centuries;
+    }
+}
@@ -0,0 +1,64 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for analytic daily motions computed alongside longitudes
+ */
+class PlanetSpeedTest {
+
+    private static final double START_JD = 2378496.5; // 1800-01-01
+    private static final double END_JD = 2524593.5;   // 2200-01-01
+    private static final double STEP_DAYS = 0.005;
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testSpeedsMatchFiniteDifference() {
+        PlanetVector vector = new PlanetVector();
+        PlanetVector before = new PlanetVector();
+        PlanetVector after = new PlanetVector();
+
+        for (double jd = START_JD; jd < END_JD; jd += 1461.37) {
+            analytic.calculatePositions(jd, PrecisionTier.PRECISE, vector);
+            analytic.calculatePositions(jd - STEP_DAYS, PrecisionTier.PRECISE, before);
+            analytic.calculatePositions(jd + STEP_DAYS, PrecisionTier.PRECISE, after);
+            assertTrue(vector.hasSpeeds());
+
+            for (Body body : Body.ALL) {
+                double finiteDifference = AstroMath.minimalAngleDifference(
+                    before.getLongitude(body), after.getLongitude(body)) / (2.0 * STEP_DAYS);
+                // Rates use the FAST prefix of each series: about 1e-3 deg/day for the inner planets
+                assertEquals(finiteDifference, vector.getSpeed(body), 1e-3, body + " at JD " + jd);
+            }
+        }
+    }
+
+    @Test
+    void testPositionsUnchangedBySpeedPass() {
+        double jd = 2451545.0;
+        PlanetVector vector = new PlanetVector();
+        analytic.calculatePositions(jd, PrecisionTier.STANDARD, vector);
+        for (Body body : Body.ALL) {
+            assertEquals(analytic.calculateLongitude(body, jd, PrecisionTier.STANDARD), vector.getLongitude(body), 1e-9,
+                body.name());
+        }
+    }
+
+    @Test
+    void testKnownRetrogradeStations() {
+        PlanetVector vector = new PlanetVector();
+
+        // Mercury retrograde 2023-08-23 .. 2023-09-15
+        analytic.calculatePositions(2460188.5, PrecisionTier.STANDARD, vector);
+        assertTrue(vector.getSpeed(Body.MERCURY) < 0.0);
+
+        // Mars retrograde 2022-10-30 .. 2023-01-12
+        analytic.calculatePositions(2459944.5, PrecisionTier.STANDARD, vector);
+        assertTrue(vector.getSpeed(Body.MARS) < 0.0);
+        assertTrue(vector.getSpeed(Body.SUN) > 0.95 && vector.getSpeed(Body.SUN) < 1.03);
+        assertTrue(vector.getSpeed(Body.MOON) > 11.7 && vector.getSpeed(Body.MOON) < 15.4);
+    }
+}
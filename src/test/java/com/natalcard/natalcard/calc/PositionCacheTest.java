@@ -0,0 +1,91 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the interpolating position cache
+ */
+class PositionCacheTest {
+
+    private static final double START_JD = 2378496.5; // 1800-01-01
+    private static final double END_JD = 2524593.5;   // 2200-01-01
+    private static final double ERROR_BOUND = 1e-5;   // degrees
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testInterpolationErrorBound() {
+        PositionCache cache = new PositionCache(analytic, 1_000_000);
+        PlanetVector interpolated = new PlanetVector();
+        PlanetVector direct = new PlanetVector();
+        Random random = new Random(10);
+
+        double[] maxError = new double[Body.COUNT];
+        for (int i = 0; i < 5_000; i++) {
+            double jd = START_JD + random.nextDouble() * (END_JD - START_JD);
+            cache.calculatePositions(jd, PrecisionTier.STANDARD, interpolated);
+            analytic.calculatePositions(jd, PrecisionTier.STANDARD, direct);
+            for (Body body : Body.ALL) {
+                double error = Math.abs(AstroMath.minimalAngleDifference(
+                    direct.getLongitude(body), interpolated.getLongitude(body)));
+                maxError[body.ordinal()] = Math.max(maxError[body.ordinal()], error);
+                assertEquals(direct.getSpeed(body), interpolated.getSpeed(body), 1e-3, body + " speed at JD " + jd);
+            }
+        }
+        for (Body body : Body.ALL) {
+            assertTrue(maxError[body.ordinal()] < ERROR_BOUND, body + " max error " + maxError[body.ordinal()]);
+        }
+        assertTrue(interpolated.hasSpeeds());
+    }
+
+    @Test
+    void testNodesMatchDirectEvaluation() {
+        PositionCache cache = new PositionCache(analytic, 1_000);
+        PlanetVector interpolated = new PlanetVector();
+        PlanetVector direct = new PlanetVector();
+
+        // Whole Julian days (noon UT) lie on every body's grid
+        double jd = 2451545.0;
+        cache.calculatePositions(jd, PrecisionTier.PRECISE, interpolated);
+        analytic.calculatePositions(jd, PrecisionTier.PRECISE, direct);
+        for (Body body : Body.ALL) {
+            assertEquals(direct.getLongitude(body), interpolated.getLongitude(body), 1e-12, body.name());
+        }
+    }
+
+    @Test
+    void testClusteredTrafficHitRate() {
+        PositionCache cache = new PositionCache(analytic, 100_000);
+        PlanetVector vector = new PlanetVector();
+        Random random = new Random(1990);
+
+        // Births spread over a few popular years
+        double[] popularYears = {2447892.5, 2448257.5, 2451179.5}; // 1990, 1991, 1999
+        for (int i = 0; i < 50_000; i++) {
+            double jd = popularYears[random.nextInt(popularYears.length)] + random.nextDouble() * 365.0;
+            cache.calculatePositions(jd, PrecisionTier.STANDARD, vector);
+        }
+
+        assertTrue(cache.stats().hitRate() > 0.85, "hit rate " + cache.stats().hitRate());
+        assertTrue(cache.size() <= 100_000);
+    }
+
+    @Test
+    void testDisabledCacheEvaluatesDirectly() {
+        PositionCache cache = new PositionCache(analytic, 0);
+        PlanetVector cached = new PlanetVector();
+        PlanetVector direct = new PlanetVector();
+
+        cache.calculatePositions(2450197.1, PrecisionTier.STANDARD, cached);
+        analytic.calculatePositions(2450197.1, PrecisionTier.STANDARD, direct);
+        assertFalse(cache.isEnabled());
+        for (Body body : Body.ALL) {
+            assertEquals(direct.getLongitude(body), cached.getLongitude(body), body.name());
+        }
+        assertEquals(0, cache.stats().requestCount());
+    }
+}
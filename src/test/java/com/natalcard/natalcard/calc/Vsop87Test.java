@@ -0,0 +1,66 @@
+package com.natalcard.natalcard.calc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the VSOP87 series and truncation tiers
+ * Reference values from Meeus, Astronomical Algorithms (examples 25.b and 32.a)
+ */
+class Vsop87Test {
+
+    private final Vsop87 vsop87 = Vsop87.getInstance();
+
+    @Test
+    void testEarthHeliocentric() {
+        // 1992 October 13.0 TD
+        double tau = (2448908.5 - 2451545.0) / 365250.0;
+
+        assertEquals(19.907372, degrees(vsop87.evaluate(Vsop87.EARTH, Vsop87.L, tau, PrecisionTier.PRECISE)), 1e-6);
+        assertEquals(-0.000179, Math.toDegrees(vsop87.evaluate(Vsop87.EARTH, Vsop87.B, tau, PrecisionTier.PRECISE)), 1e-6);
+        assertEquals(0.99760775, vsop87.evaluate(Vsop87.EARTH, Vsop87.R, tau, PrecisionTier.PRECISE), 1e-8);
+    }
+
+    @Test
+    void testVenusHeliocentric() {
+        // 1992 December 20.0 TD
+        double tau = (2448976.5 - 2451545.0) / 365250.0;
+
+        assertEquals(26.11428, degrees(vsop87.evaluate(Vsop87.VENUS, Vsop87.L, tau, PrecisionTier.PRECISE)), 1e-5);
+        assertEquals(-2.62070, Math.toDegrees(vsop87.evaluate(Vsop87.VENUS, Vsop87.B, tau, PrecisionTier.PRECISE)), 1e-5);
+        assertEquals(0.724603, vsop87.evaluate(Vsop87.VENUS, Vsop87.R, tau, PrecisionTier.PRECISE), 1e-6);
+    }
+
+    @Test
+    void testGeocentricSun() {
+        AnalyticEphemeris analytic = new AnalyticEphemeris(PrecisionTier.PRECISE);
+        assertEquals(199.907372, analytic.calculateLongitude(Body.SUN, 2448908.5), 1e-6);
+    }
+
+    @Test
+    void testTiersAreNestedPrefixes() {
+        assertTrue(vsop87.termCount(PrecisionTier.FAST) < vsop87.termCount(PrecisionTier.STANDARD));
+        assertTrue(vsop87.termCount(PrecisionTier.STANDARD) < vsop87.termCount(PrecisionTier.PRECISE));
+
+        // Dropped terms are all below the tier threshold, so the error stays near it
+        for (double tau = -0.2; tau <= 0.2; tau += 0.013) {
+            for (int planet = Vsop87.MERCURY; planet <= Vsop87.NEPTUNE; planet++) {
+                double full = vsop87.evaluate(planet, Vsop87.L, tau, PrecisionTier.PRECISE);
+                double fast = vsop87.evaluate(planet, Vsop87.L, tau, PrecisionTier.FAST);
+                assertEquals(full, fast, 5e-4, "planet " + planet + " at tau " + tau);
+            }
+        }
+    }
+
+    @Test
+    void testParseTier() {
+        assertEquals(PrecisionTier.FAST, PrecisionTier.parse(" fast "));
+        assertEquals(PrecisionTier.PRECISE, PrecisionTier.parse("PRECISE"));
+        assertThrows(IllegalArgumentException.class, () -> PrecisionTier.parse("ULTRA"));
+    }
+
+    private static double degrees(double radians) {
+        return AstroMath.normalize360(Math.toDegrees(radians));
+    }
+}
@@ -0,0 +1,77 @@
+package com.natalcard.natalcard.i18n;
+
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.ZodiacSign;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bundle-backed translation tables
+ */
+class AstroTranslationsTest {
+
+    private final AstroTranslations translations = new AstroTranslations();
+
+    @Test
+    void testBundlesLoaded() {
+        assertEquals("en", translations.getLanguages().get(0));
+        assertTrue(translations.getLanguages().contains("tr"));
+
+        int tr = translations.languageIndex("tr");
+        assertEquals("Boğa", translations.translate(ZodiacSign.TAURUS, tr));
+        assertEquals("Güneş", translations.translate(Body.SUN, tr));
+        assertEquals("Kavuşum", translations.translate(AspectService.AspectType.CONJUNCTION, tr));
+        assertEquals("Tam Burç", translations.translate(HouseSystemType.WHOLE_SIGN, tr));
+        assertEquals("Placidus calculation failed, using Equal houses",
+            translations.translate(ChartWarning.PLACIDUS_SOLVER_FAILED_FALLBACK_EQUAL, 0));
+    }
+
+    @Test
+    void testEveryKeyTranslatedInEveryBundle() {
+        for (String language : translations.getLanguages()) {
+            int index = translations.languageIndex(language);
+            for (ZodiacSign sign : ZodiacSign.ALL) {
+                assertNotEquals(sign.name(), translations.translate(sign, index), language);
+            }
+            for (Body body : Body.ALL) {
+                assertNotNull(translations.translate(body, index), language);
+            }
+            for (ChartWarning warning : ChartWarning.values()) {
+                assertNotEquals(warning.name(), translations.translate(warning, index), language);
+            }
+        }
+    }
+
+    @Test
+    void testLanguageResolution() {
+        assertEquals(translations.languageIndex("tr"), translations.languageIndex("TR"));
+        assertEquals(0, translations.languageIndex("xx"));
+        assertEquals(0, translations.languageIndex(null));
+        assertEquals("KOCH_X", translations.translateHouseSystem("KOCH_X", 0));
+    }
+
+    @Test
+    void testMissingKeysFallBackToEnglish() {
+        Properties english = new Properties();
+        english.setProperty("planet.SUN", "Sun");
+        Properties german = new Properties();
+        german.setProperty("planet.MOON", "Mond");
+        Map<String, Properties> bundles = new LinkedHashMap<>();
+        bundles.put("de", german);
+        bundles.put("en", english);
+
+        AstroTranslations partial = new AstroTranslations(bundles);
+        int de = partial.languageIndex("de");
+        assertEquals("Mond", partial.translate(Body.MOON, de));
+        assertEquals("Sun", partial.translate(Body.SUN, de));
+        assertEquals("MARS", partial.translate(Body.MARS, de));
+    }
+}
@@ -0,0 +1,86 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AspectProfile;
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.PlanetVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ns per chart for the ten-body aspect search: compiled profile tables against the
+ * previous per-body orb rule (larger of the two body orbs, five majors)
+ */
+class AspectProfileBenchmarkTest {
+
+    private static final int CHARTS = 1000;
+    private static final int ROUNDS = 20;
+    private static final int WARMUP_ROUNDS = 30;
+
+    private final AspectService aspectService = new AspectService();
+
+    @Test
+    void testCompiledOrbTable() {
+        Random random = new Random(25);
+        PlanetVector[] charts = new PlanetVector[CHARTS];
+        double[][] longitudes = new double[CHARTS][Body.COUNT];
+        for (int c = 0; c < CHARTS; c++) {
+            charts[c] = new PlanetVector();
+            for (Body body : Body.ALL) {
+                longitudes[c][body.ordinal()] = random.nextDouble() * 360.0;
+                charts[c].setLongitude(body, longitudes[c][body.ordinal()]);
+            }
+            // No speeds: applying/separating is not part of either timing
+            charts[c].setSpeedsKnown(false);
+        }
+        double[] bodyOrbs = new double[Body.COUNT];
+        for (Body body : Body.ALL) {
+            bodyOrbs[body.ordinal()] = body.isLuminary() ? 8.0 : 6.0;
+        }
+
+        long bodyRule = 0;
+        long major = 0;
+        long extended = 0;
+        long majorAspects = 0;
+        long extendedAspects = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            long ruleCount = 0;
+            for (double[] chart : longitudes) {
+                ruleCount += AspectService.findAspectsPairwise(chart, bodyOrbs, true).size();
+            }
+            long middle = System.nanoTime();
+            majorAspects = 0;
+            for (PlanetVector chart : charts) {
+                majorAspects += aspectService.calculateAspects(chart, AspectProfile.MAJOR).size();
+            }
+            long end = System.nanoTime();
+            extendedAspects = 0;
+            for (PlanetVector chart : charts) {
+                extendedAspects += aspectService.calculateAspects(chart, AspectProfile.EXTENDED).size();
+            }
+            long last = System.nanoTime();
+            assertEquals(ruleCount, majorAspects);
+            if (round >= WARMUP_ROUNDS) {
+                bodyRule += middle - start;
+                major += end - middle;
+                extended += last - end;
+            }
+        }
+
+        double bodyRuleNanos = (double) bodyRule / ROUNDS / CHARTS;
+        double majorNanos = (double) major / ROUNDS / CHARTS;
+        double extendedNanos = (double) extended / ROUNDS / CHARTS;
+        System.out.println("\n=== Aspect profiles (" + CHARTS + " charts, " + Body.COUNT + " bodies) ===");
+        System.out.printf("🔭 body orb rule               %7.0f ns/chart%n", bodyRuleNanos);
+        System.out.printf("🔭 MAJOR table                 %7.0f ns/chart, %.1f aspects%n",
+            majorNanos, (double) majorAspects / CHARTS);
+        System.out.printf("🔭 EXTENDED table              %7.0f ns/chart, %.1f aspects%n%n",
+            extendedNanos, (double) extendedAspects / CHARTS);
+
+        assertTrue(extendedAspects > majorAspects, "Minor aspects add pairs");
+    }
+}
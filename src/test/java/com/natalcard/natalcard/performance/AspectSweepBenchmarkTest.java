@@ -0,0 +1,99 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AspectService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * µs per point set for pairwise vs sort-and-sweep aspect search, by point count
+ * Shows where the sweep starts to win (see AspectService.SWEEP_MIN_POINTS)
+ * Ten bodies with 8°/6° orbs plus extra points with 1° orbs, spread at random
+ */
+class AspectSweepBenchmarkTest {
+
+    private static final int[] POINT_COUNTS = { 10, 20, 30, 50, 100, 200, 500, 1000, 2000 };
+    private static final int SETS = 8;
+    private static final long TARGET_NANOS = 30_000_000L; // per method and count, after warmup
+
+    private final AspectService aspectService = new AspectService();
+
+    @Test
+    void testSweepCrossover() {
+        System.out.println("\n=== Aspect search (µs per point set, first aspect per pair) ===");
+        System.out.println("  points   pairwise      sweep   aspects");
+        int crossover = -1;
+        Random random = new Random(24);
+
+        double[][][] longitudes = new double[POINT_COUNTS.length][SETS][];
+        double[][][] orbs = new double[POINT_COUNTS.length][SETS][];
+        for (int c = 0; c < POINT_COUNTS.length; c++) {
+            int count = POINT_COUNTS[c];
+            for (int s = 0; s < SETS; s++) {
+                longitudes[c][s] = new double[count];
+                orbs[c][s] = new double[count];
+                for (int i = 0; i < count; i++) {
+                    longitudes[c][s][i] = random.nextDouble() * 360.0;
+                    // Ten bodies at the chart orbs, the extra points (asteroids, stars, midpoints) at 1°
+                    orbs[c][s][i] = i < 2 ? 8.0 : i < 10 ? 6.0 : 1.0;
+                }
+            }
+        }
+
+        // Warm both paths up at every size before measuring
+        for (int c = 0; c < POINT_COUNTS.length; c++) {
+            time(longitudes[c], orbs[c], true);
+            time(longitudes[c], orbs[c], false);
+        }
+
+        for (int c = 0; c < POINT_COUNTS.length; c++) {
+            int count = POINT_COUNTS[c];
+            double pairwise = time(longitudes[c], orbs[c], true);
+            double sweep = time(longitudes[c], orbs[c], false);
+            int aspects = aspectService.findAspects(longitudes[c][0], orbs[c][0], true).size();
+            System.out.printf("⚖️ %6d %10.1f %10.1f %9d%n", count, pairwise, sweep, aspects);
+            if (crossover < 0 && sweep < pairwise) {
+                crossover = count;
+            }
+        }
+        System.out.println("Sweep faster from " + crossover + " points (SWEEP_MIN_POINTS = "
+            + AspectService.SWEEP_MIN_POINTS + ")\n");
+
+        // Timings are informational; both searches must return the same aspects
+        for (int c = 0; c < POINT_COUNTS.length; c++) {
+            for (int s = 0; s < SETS; s++) {
+                assertEquals(AspectService.findAspectsPairwise(longitudes[c][s], orbs[c][s], true).size(),
+                    AspectService.findAspectsSweep(longitudes[c][s], orbs[c][s], true).size());
+            }
+        }
+    }
+
+    /**
+     * Mean µs per point set, repeated until the time budget is spent
+     */
+    private double time(double[][] longitudes, double[][] orbs, boolean pairwise) {
+        long checksum = 0;
+        long runs = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            checksum += run(longitudes, orbs, pairwise);
+            runs++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < TARGET_NANOS);
+        assertTrue(checksum >= 0);
+        return elapsed / 1000.0 / runs / longitudes.length;
+    }
+
+    private static long run(double[][] longitudes, double[][] orbs, boolean pairwise) {
+        long found = 0;
+        for (int s = 0; s < longitudes.length; s++) {
+            found += pairwise
+                ? AspectService.findAspectsPairwise(longitudes[s], orbs[s], true).size()
+                : AspectService.findAspectsSweep(longitudes[s], orbs[s], true).size();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,95 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.AstroMath;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.PlanetBatch;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import com.natalcard.natalcard.calc.SeriesKernel;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch ephemeris throughput: scalar vs Vector API kernel, ns per instant at several batch sizes
+ * Print-only timings; asserts that both kernels give the same positions
+ */
+class BatchEphemerisBenchmarkTest {
+
+    private static final int[] BATCH_SIZES = {1, 8, 64, 4096};
+    private static final int INSTANTS_PER_RUN = 4096;
+    private static final int WARMUP_ROUNDS = 2;
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testScalarVersusVectorThroughput() {
+        double[] centuries = new double[INSTANTS_PER_RUN];
+        for (int j = 0; j < centuries.length; j++) {
+            centuries[j] = -2.0 + 4.0 * j / centuries.length;
+        }
+
+        Map<SeriesKernel, double[]> nsPerInstant = new EnumMap<>(SeriesKernel.class);
+        for (SeriesKernel kernel : SeriesKernel.values()) {
+            if (!kernel.isAvailable()) {
+                continue;
+            }
+            double[] results = new double[BATCH_SIZES.length];
+            for (int s = 0; s < BATCH_SIZES.length; s++) {
+                results[s] = timeBatches(centuries, BATCH_SIZES[s], kernel);
+            }
+            nsPerInstant.put(kernel, results);
+        }
+
+        System.out.println("\n=== Batch ephemeris, STANDARD tier (ns per instant) ===");
+        for (Map.Entry<SeriesKernel, double[]> entry : nsPerInstant.entrySet()) {
+            StringBuilder line = new StringBuilder(String.format("⏱️  %-7s", entry.getKey()));
+            for (int s = 0; s < BATCH_SIZES.length; s++) {
+                line.append(String.format("  batch %4d: %8.0f", BATCH_SIZES[s], entry.getValue()[s]));
+            }
+            System.out.println(line);
+        }
+        if (!SeriesKernel.VECTOR.isAvailable()) {
+            System.out.println("   (jdk.incubator.vector not available, scalar only)");
+        }
+        System.out.println();
+
+        // Timings are informational (SIMD width and machine load decide them); only the output is checked
+        if (SeriesKernel.VECTOR.isAvailable()) {
+            PlanetBatch scalar = new PlanetBatch(INSTANTS_PER_RUN);
+            PlanetBatch vector = new PlanetBatch(INSTANTS_PER_RUN);
+            analytic.calculatePositions(centuries, INSTANTS_PER_RUN, PrecisionTier.STANDARD, SeriesKernel.SCALAR, scalar);
+            analytic.calculatePositions(centuries, INSTANTS_PER_RUN, PrecisionTier.STANDARD, SeriesKernel.VECTOR, vector);
+            for (int j = 0; j < INSTANTS_PER_RUN; j++) {
+                for (Body body : Body.ALL) {
+                    assertEquals(0.0, AstroMath.minimalAngleDifference(
+                        scalar.getLongitude(body, j), vector.getLongitude(body, j)), 1e-9, body + " at " + j);
+                }
+            }
+        }
+    }
+
+    private double timeBatches(double[] centuries, int batchSize, SeriesKernel kernel) {
+        PlanetBatch batch = new PlanetBatch(batchSize);
+        double[] chunk = new double[batchSize];
+        double sink = 0.0;
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int offset = 0; offset + batchSize <= centuries.length; offset += batchSize) {
+                System.arraycopy(centuries, offset, chunk, 0, batchSize);
+                analytic.calculatePositions(chunk, batchSize, PrecisionTier.STANDARD, kernel, batch);
+                sink += batch.getLongitude(Body.SATURN, batchSize - 1);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round == WARMUP_ROUNDS) {
+                assertTrue(sink > 0.0);
+                return (double) elapsed / (centuries.length / batchSize * batchSize);
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
@@ -0,0 +1,112 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.AspectService;
+import com.natalcard.natalcard.calc.AstroMath;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.PlanetPositionService;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.PositionCache;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation per chart: Map&lt;String, Double&gt; pipeline vs PlanetVector pipeline
+ * Covers planet positions + aspect detection (everything before DTO building)
+ */
+class ChartAllocationTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 10_000;
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+    private final PlanetPositionService planetPositionService = new PlanetPositionService(analytic, analytic, new PositionCache(analytic, 0));
+    private final AspectService aspectService = new AspectService();
+
+    @Test
+    void testAllocationPerChart() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationCounting(threads);
+
+        PlanetVector scratch = new PlanetVector();
+        double jd = 2450197.1;
+
+        // Warm up both paths so JIT escape analysis is in its steady state
+        for (int i = 0; i < WARMUP; i++) {
+            legacyChart(jd + i * 0.37);
+            vectorChart(jd + i * 0.37, scratch);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += legacyChart(jd + i * 0.37);
+        }
+        long legacyBytes = (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += vectorChart(jd + i * 0.37, scratch);
+        }
+        long vectorBytes = (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+
+        System.out.println("\n=== Allocation per chart (positions + aspects) ===");
+        System.out.println("📦 Map<String, Double> pipeline: " + legacyBytes + " bytes/chart");
+        System.out.println("📦 PlanetVector pipeline:        " + vectorBytes + " bytes/chart");
+        System.out.println("(aspects found: " + sink + ")\n");
+
+        assertTrue(vectorBytes < legacyBytes, "PlanetVector pipeline should allocate less");
+    }
+
+    private int vectorChart(double jd, PlanetVector scratch) {
+        planetPositionService.calculatePlanetPositions(jd, scratch);
+        return aspectService.calculateAspects(scratch).size();
+    }
+
+    /**
+     * The previous pipeline: boxed map of positions, key list copy, string orb checks
+     */
+    private int legacyChart(double jd) {
+        Map<String, Double> positions = new LinkedHashMap<>();
+        for (Body body : Body.ALL) {
+            positions.put(body.name(), analytic.calculateLongitude(body, jd));
+        }
+
+        List<AspectService.Aspect> aspects = new ArrayList<>();
+        List<String> planets = new ArrayList<>(positions.keySet());
+        for (int i = 0; i < planets.size(); i++) {
+            for (int j = i + 1; j < planets.size(); j++) {
+                String planet1 = planets.get(i);
+                String planet2 = planets.get(j);
+                double diff = Math.abs(AstroMath.minimalAngleDifference(
+                    positions.get(planet1), positions.get(planet2)));
+                boolean luminary = "SUN".equals(planet1) || "MOON".equals(planet1)
+                                || "SUN".equals(planet2) || "MOON".equals(planet2);
+                double allowedOrb = luminary ? 8.0 : 6.0;
+                for (AspectService.AspectType type : AspectService.AspectType.values()) {
+                    double orb = Math.abs(diff - type.getAngle());
+                    if (orb <= allowedOrb) {
+                        aspects.add(new AspectService.Aspect(Body.valueOf(planet1), Body.valueOf(planet2),
+                            type, type.getAngle(), orb, null));
+                        break;
+                    }
+                }
+            }
+        }
+        return aspects.size();
+    }
+
+    private static void assumeAllocationCounting(com.sun.management.ThreadMXBean threads) {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+}
@@ -0,0 +1,92 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.api.ChartEncoding;
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import com.natalcard.natalcard.service.*;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end µs per request (calculation + streaming) for the full chart and for field projections
+ * The chart cache is disabled, so every request runs the stages its projection needs
+ */
+class ChartProjectionBenchmarkTest {
+
+    private static final int REQUESTS = 200;
+    private static final int ROUNDS = 10;
+    private static final int WARMUP_ROUNDS = 15;
+
+    private final AstroTranslations translations = new AstroTranslations();
+    private final ChartRequestNormalizer normalizer = new ChartRequestNormalizer(translations, 16);
+    private final ChartStreamWriter writer = new ChartStreamWriter(translations);
+    private final NatalChartService service = TestCharts.newService(new ChartResultCache(0, Duration.ofMinutes(10), 4), normalizer);
+
+    @Test
+    void testProjectionSkipsStages() {
+        System.out.println("\n=== Chart projections (" + REQUESTS + " requests, cache off) ===");
+        double[] full = time(null);
+        double[] bigThree = time("bigThree");
+        double[] sunSign = time("sunSignOnly");
+        print("full chart", full);
+        print("bigThree", bigThree);
+        print("sunSignOnly", sunSign);
+        System.out.println();
+
+        // Timings are informational; payload sizes do not depend on the machine
+        assertTrue(sunSign[0] < 0.05 * full[0], "Sun sign payload is a few bytes");
+        assertTrue(bigThree[0] < full[0], "bigThree payload below the full chart");
+    }
+
+    private double[] time(String fields) {
+        NormalizedChartRequest[] requests = requests(fields);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        long bytes = 0;
+        long elapsed = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            bytes = 0;
+            for (NormalizedChartRequest request : requests) {
+                out.reset();
+                try (JsonGenerator generator = ChartEncoding.JSON.createGenerator(out)) {
+                    writer.write(service.calculateChartView(request), generator);
+                }
+                bytes += out.size();
+            }
+            if (round >= WARMUP_ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return new double[] { (double) bytes / requests.length, elapsed / 1000.0 / ROUNDS / requests.length };
+    }
+
+    private NormalizedChartRequest[] requests(String fields) {
+        Random random = new Random(17);
+        NormalizedChartRequest[] requests = new NormalizedChartRequest[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            String birth = String.format("%04d-%02d-%02dT%02d:%02d:00", 1950 + random.nextInt(70),
+                1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+            NatalChartRequestDTO request = NatalChartRequestDTO.builder()
+                .birthDateTimeLocal(birth)
+                .timeZoneId("UTC")
+                .latitude(-60.0 + random.nextDouble() * 120.0)
+                .longitude(-180.0 + random.nextDouble() * 360.0)
+                .includeAspects(true)
+                .language("tr")
+                .fields(fields)
+                .build();
+            requests[i] = normalizer.normalize(request).getRequest();
+        }
+        return requests;
+    }
+
+    private static void print(String label, double[] result) {
+        System.out.printf("🔎 %-14s %7.0f bytes  %6.1f µs/request%n", label, result[0], result[1]);
+    }
+}
@@ -0,0 +1,139 @@
+package com.natalcard.natalcard.performance;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.natalcard.natalcard.api.ChartEncoding;
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import com.natalcard.natalcard.service.*;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes and µs per chart for each response encoding
+ * Old path: localized DTO graph serialized by JsonMapper; new path: ChartStreamWriter on JSON, CBOR, Smile
+ * Chart cores are calculated up front, only rendering and encoding are timed
+ */
+class ChartSerializationBenchmarkTest {
+
+    private static final int CHARTS = 200;
+    private static final int ROUNDS = 20;
+    private static final int WARMUP_ROUNDS = 30;
+
+    private final AstroTranslations translations = new AstroTranslations();
+    private final ChartLocalizationService localizationService = new ChartLocalizationService(translations);
+    private final ChartStreamWriter writer = new ChartStreamWriter(translations);
+
+    @Test
+    void testPayloadAndSerializationTime() {
+        ChartRequestNormalizer normalizer = new ChartRequestNormalizer(translations, 16);
+        NatalChartService service = TestCharts.newService(new ChartResultCache(2 * CHARTS, Duration.ofMinutes(10), 4), normalizer);
+
+        Random random = new Random(16);
+        ChartView[] full = new ChartView[CHARTS];
+        ChartView[] compact = new ChartView[CHARTS];
+        for (int i = 0; i < CHARTS; i++) {
+            String birth = String.format("%04d-%02d-%02dT%02d:%02d:00", 1950 + random.nextInt(70),
+                1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+            double latitude = -60.0 + random.nextDouble() * 120.0;
+            double longitude = -180.0 + random.nextDouble() * 360.0;
+            full[i] = service.calculateChartView(normalizer.normalize(
+                request(birth, latitude, longitude, null, null)).getRequest());
+            compact[i] = service.calculateChartView(normalizer.normalize(
+                request(birth, latitude, longitude, "SHORT", 3)).getRequest());
+        }
+
+        JsonMapper mapper = JsonMapper.builder()
+            .changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(JsonInclude.Include.NON_NULL))
+            .build();
+        JsonMapper indentingMapper = mapper.rebuild().enable(SerializationFeature.INDENT_OUTPUT).build();
+
+        System.out.println("\n=== Chart serialization (" + CHARTS + " charts) ===");
+        double[] indented = timeDto(indentingMapper, full);
+        double[] dto = timeDto(mapper, full);
+        print("DTO + JsonMapper, indented", indented);
+        print("DTO + JsonMapper", dto);
+
+        double[] json = null;
+        double[] smallest = null;
+        for (ChartEncoding encoding : ChartEncoding.values()) {
+            double[] fullResult = timeStream(encoding, full);
+            double[] compactResult = timeStream(encoding, compact);
+            print("stream " + encoding, fullResult);
+            print("stream " + encoding + " short, 3 decimals", compactResult);
+            if (encoding == ChartEncoding.JSON) {
+                json = fullResult;
+            }
+            if (smallest == null || compactResult[0] < smallest[0]) {
+                smallest = compactResult;
+            }
+        }
+        System.out.println();
+
+        assertEquals(dto[0], json[0], 0.02 * dto[0], "Streamed JSON is the same document");
+        assertTrue(smallest[0] < 0.75 * dto[0], "Compact binary payload well below JSON");
+    }
+
+    private double[] timeDto(JsonMapper mapper, ChartView[] views) {
+        long bytes = 0;
+        long elapsed = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            bytes = 0;
+            for (ChartView view : views) {
+                bytes += mapper.writeValueAsBytes(
+                    localizationService.localize(view.getCore(), view.getRequest().getLanguage())).length;
+            }
+            if (round >= WARMUP_ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return new double[] { (double) bytes / views.length, elapsed / 1000.0 / ROUNDS / views.length };
+    }
+
+    private double[] timeStream(ChartEncoding encoding, ChartView[] views) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        long bytes = 0;
+        long elapsed = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            bytes = 0;
+            for (ChartView view : views) {
+                out.reset();
+                try (JsonGenerator generator = encoding.createGenerator(out)) {
+                    writer.write(view, generator);
+                }
+                bytes += out.size();
+            }
+            if (round >= WARMUP_ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return new double[] { (double) bytes / views.length, elapsed / 1000.0 / ROUNDS / views.length };
+    }
+
+    private static void print(String label, double[] result) {
+        System.out.printf("📦 %-38s %7.0f bytes  %6.1f µs/chart%n", label, result[0], result[1]);
+    }
+
+    private static NatalChartRequestDTO request(String birth, double latitude, double longitude,
+                                                String fieldNames, Integer longitudeDecimals) {
+        return NatalChartRequestDTO.builder()
+            .birthDateTimeLocal(birth)
+            .timeZoneId("UTC")
+            .latitude(latitude)
+            .longitude(longitude)
+            .includeAspects(true)
+            .language("tr")
+            .fieldNames(fieldNames)
+            .longitudeDecimals(longitudeDecimals)
+            .build();
+    }
+}
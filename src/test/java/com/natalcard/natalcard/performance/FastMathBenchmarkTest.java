@@ -0,0 +1,167 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.AstroMath;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.FastMath;
+import com.natalcard.natalcard.calc.MathMode;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JDK vs fast math: ns per call for each function, ns per chart and the chart-level error
+ */
+class FastMathBenchmarkTest {
+
+    private static final int SAMPLES = 4096;
+    private static final int ROUNDS = 400;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final double START_JD = 2378496.5; // 1800-01-01
+    private static final double END_JD = 2524593.5;   // 2200-01-01
+    private static final int CHARTS = 4_000;
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testFunctionThroughput() {
+        Random random = new Random(9);
+        double[] x = new double[SAMPLES];
+        double[] y = new double[SAMPLES];
+        double[] degrees = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            x[i] = (random.nextDouble() * 2.0 - 1.0) * 5000.0; // VSOP87 argument range
+            y[i] = random.nextGaussian();
+            degrees[i] = (random.nextDouble() * 2.0 - 1.0) * 1e6;
+        }
+
+        System.out.println("\n=== AstroMath functions (ns per call, JDK / FAST) ===");
+        report("sin", time("sin", false, y, x), time("sin", true, y, x));
+        report("cos", time("cos", false, y, x), time("cos", true, y, x));
+        report("atan2", time("atan2", false, y, x), time("atan2", true, y, x));
+        report("normalize360", time("normalize360", false, degrees, x), time("normalize360", true, degrees, x));
+        System.out.println();
+    }
+
+    @Test
+    void testChartThroughputAndError() {
+        double[] dates = new double[CHARTS];
+        for (int i = 0; i < CHARTS; i++) {
+            dates[i] = START_JD + (END_JD - START_JD) * i / CHARTS;
+        }
+
+        MathMode previous = AstroMath.getMode();
+        try {
+            AstroMath.setMode(MathMode.JDK);
+            double[] reference = positions(dates);
+            double jdkNs = timeCharts(dates);
+
+            AstroMath.setMode(MathMode.FAST);
+            double[] fast = positions(dates);
+            double fastNs = timeCharts(dates);
+
+            double maxError = 0.0;
+            for (int i = 0; i < reference.length; i++) {
+                maxError = Math.max(maxError, Math.abs(AstroMath.minimalAngleDifference(reference[i], fast[i])));
+            }
+
+            System.out.printf("%n=== Analytic chart, STANDARD tier ===%n⏱️  JDK %8.0f ns/chart  FAST %8.0f ns/chart  max |Δλ| %.2e°%n%n",
+                jdkNs, fastNs, maxError);
+            assertTrue(maxError < 1e-9, "fast math within 1e-9° of JDK math");
+        } finally {
+            AstroMath.setMode(previous);
+        }
+    }
+
+    private double[] positions(double[] dates) {
+        PlanetVector vector = new PlanetVector();
+        double[] longitudes = new double[dates.length * Body.COUNT];
+        for (int i = 0; i < dates.length; i++) {
+            analytic.calculatePositions(dates[i], PrecisionTier.STANDARD, vector);
+            for (Body body : Body.ALL) {
+                longitudes[i * Body.COUNT + body.ordinal()] = vector.getLongitude(body);
+            }
+        }
+        return longitudes;
+    }
+
+    private double timeCharts(double[] dates) {
+        PlanetVector vector = new PlanetVector();
+        double sink = 0.0;
+        long elapsed = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (double jd : dates) {
+                analytic.calculatePositions(jd, PrecisionTier.STANDARD, vector);
+                sink += vector.getLongitude(Body.SATURN);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        assertTrue(sink > 0.0);
+        return (double) elapsed / dates.length;
+    }
+
+    /**
+     * Time one function; each case has its own loop so the call inlines (no megamorphic lambda)
+     */
+    private static double time(String function, boolean fast, double[] y, double[] x) {
+        double sink = 0.0;
+        long elapsed = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                sink += sweep(function, fast, y, x);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        assertFalse(Double.isNaN(sink));
+        return (double) elapsed / ((long) ROUNDS * x.length);
+    }
+
+    private static double sweep(String function, boolean fast, double[] y, double[] x) {
+        double sum = 0.0;
+        switch (function) {
+            case "sin":
+                if (fast) {
+                    for (double value : x) sum += FastMath.sin(value);
+                } else {
+                    for (double value : x) sum += Math.sin(value);
+                }
+                break;
+            case "cos":
+                if (fast) {
+                    for (double value : x) sum += FastMath.cos(value);
+                } else {
+                    for (double value : x) sum += Math.cos(value);
+                }
+                break;
+            case "atan2":
+                if (fast) {
+                    for (int i = 0; i < x.length; i++) sum += FastMath.atan2(y[i], x[i]);
+                } else {
+                    for (int i = 0; i < x.length; i++) sum += Math.atan2(y[i], x[i]);
+                }
+                break;
+            default:
+                if (fast) {
+                    for (double value : y) sum += FastMath.normalize360(value);
+                } else {
+                    for (double value : y) sum += remainderNormalize(value);
+                }
+        }
+        return sum;
+    }
+
+    private static void report(String name, double jdkNs, double fastNs) {
+        System.out.printf("⏱️  %-13s %6.1f / %6.1f ns  (x%.1f)%n", name, jdkNs, fastNs, jdkNs / fastNs);
+    }
+
+    private static double remainderNormalize(double angle) {
+        double result = angle % 360.0;
+        return result < 0 ? result + 360.0 : result;
+    }
+}
@@ -0,0 +1,126 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnglesService;
+import com.natalcard.natalcard.calc.AstroMath;
+import com.natalcard.natalcard.calc.ChartContext;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseService;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.HouseUtil;
+import com.natalcard.natalcard.calc.PlacidusHouseService;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ns per point for house assignment: 12-cusp walk vs binary search over a per-chart table
+ * Each chart carries 500 points (planets plus asteroids, fixed stars and lots)
+ */
+class HouseAssignmentBenchmarkTest {
+
+    private static final int CHARTS = 200;
+    private static final int POINTS = 500;
+    private static final int ROUNDS = 20;
+    private static final int WARMUP_ROUNDS = 10;
+
+    @Test
+    void testBinarySearchVersusWalk() {
+        AnglesService anglesService = new AnglesService();
+        HouseService houseService = HouseService.withDefaultSystems(new PlacidusHouseService());
+        Random random = new Random(22);
+        double[][] cusps = new double[CHARTS][];
+        double[][] points = new double[CHARTS][POINTS];
+        for (int chart = 0; chart < CHARTS; chart++) {
+            ChartContext context = ChartContext.of(2433282.5 + random.nextDouble() * 27000.0,
+                -60.0 + random.nextDouble() * 120.0, -180.0 + random.nextDouble() * 360.0);
+            double[] angles = anglesService.calculateAngles(context);
+            cusps[chart] = houseService.calculateHouses(HouseSystemType.PLACIDUS, context, angles[0], angles[1],
+                EnumSet.noneOf(ChartWarning.class));
+            for (int i = 0; i < POINTS; i++) {
+                points[chart][i] = random.nextDouble() * 360.0;
+            }
+        }
+
+        int[] houses = new int[POINTS];
+        double walk = time(() -> {
+            long sum = 0;
+            for (int chart = 0; chart < CHARTS; chart++) {
+                for (int i = 0; i < POINTS; i++) {
+                    sum += walk(points[chart][i], cusps[chart]);
+                }
+            }
+            return sum;
+        });
+        double search = time(() -> {
+            long sum = 0;
+            for (int chart = 0; chart < CHARTS; chart++) {
+                double[] table = HouseUtil.searchTable(cusps[chart]);
+                for (int i = 0; i < POINTS; i++) {
+                    sum += HouseUtil.findHouse(points[chart][i], table);
+                }
+            }
+            return sum;
+        });
+        double batch = time(() -> {
+            long sum = 0;
+            for (int chart = 0; chart < CHARTS; chart++) {
+                HouseUtil.determineHouses(points[chart], cusps[chart], houses);
+                for (int house : houses) {
+                    sum += house;
+                }
+            }
+            return sum;
+        });
+
+        System.out.println("\n=== House assignment (" + CHARTS + " charts x " + POINTS + " points, ns per point) ===");
+        System.out.printf("🏠 12-cusp walk        %7.1f%n", walk);
+        System.out.printf("🏠 table + findHouse   %7.1f%n", search);
+        System.out.printf("🏠 batch               %7.1f%n%n", batch);
+
+        // Timings are informational; all three assignments must agree point by point
+        for (int chart = 0; chart < CHARTS; chart++) {
+            HouseUtil.determineHouses(points[chart], cusps[chart], houses);
+            double[] table = HouseUtil.searchTable(cusps[chart]);
+            for (int i = 0; i < POINTS; i++) {
+                assertEquals(walk(points[chart][i], cusps[chart]), houses[i]);
+                assertEquals(houses[i], HouseUtil.findHouse(points[chart][i], table));
+            }
+        }
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    private static double time(Workload workload) {
+        long checksum = 0;
+        long elapsed = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += workload.run();
+            if (round >= WARMUP_ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        assertTrue(checksum > 0);
+        return (double) elapsed / ROUNDS / CHARTS / POINTS;
+    }
+
+    /**
+     * The previous assignment: walk houses 1-12, normalizing both cusps of each
+     */
+    private static int walk(double lon, double[] cusps) {
+        double x = AstroMath.normalize360(lon);
+        for (int house = 1; house <= 12; house++) {
+            double start = AstroMath.normalize360(cusps[house - 1]);
+            double end = AstroMath.normalize360(cusps[house % 12]);
+            if (start <= end ? x >= start && x < end : x >= start || x < end) {
+                return house;
+            }
+        }
+        return 1;
+    }
+}
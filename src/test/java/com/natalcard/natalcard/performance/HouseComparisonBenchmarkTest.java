@@ -0,0 +1,85 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.calc.*;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import com.natalcard.natalcard.service.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * µs per comparison view: every house system in one request (compareHouseSystems=ALL)
+ * against one request per system
+ * The chart cache is disabled, so the separate requests repeat planets, angles and sidereal time
+ */
+class HouseComparisonBenchmarkTest {
+
+    private static final int CHARTS = 100;
+    private static final int ROUNDS = 10;
+    private static final int WARMUP_ROUNDS = 15;
+
+    private final AstroTranslations translations = new AstroTranslations();
+    private final ChartRequestNormalizer normalizer = new ChartRequestNormalizer(translations, 16);
+    private final NatalChartService service = TestCharts.newService(new ChartResultCache(0, Duration.ofMinutes(10), 4), normalizer);
+
+    @Test
+    void testOnePassBeatsOneRequestPerSystem() {
+        NormalizedChartRequest[] combined = new NormalizedChartRequest[CHARTS];
+        NormalizedChartRequest[][] separate = new NormalizedChartRequest[CHARTS][HouseSystemType.ALL.length];
+        Random random = new Random(23);
+        for (int i = 0; i < CHARTS; i++) {
+            NatalChartRequestDTO request = NatalChartRequestDTO.builder()
+                .birthDateTimeLocal(String.format("%04d-%02d-%02dT%02d:%02d:00", 1950 + random.nextInt(70),
+                    1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60)))
+                .timeZoneId("UTC")
+                .latitude(-60.0 + random.nextDouble() * 120.0)
+                .longitude(-180.0 + random.nextDouble() * 360.0)
+                .includeAspects(false)
+                .build();
+            for (HouseSystemType type : HouseSystemType.ALL) {
+                request.setHouseSystem(type.name());
+                separate[i][type.ordinal()] = normalizer.normalize(request).getRequest();
+            }
+            request.setHouseSystem(null);
+            request.setCompareHouseSystems("ALL");
+            combined[i] = normalizer.normalize(request).getRequest();
+        }
+
+        double checksum = 0.0;
+        long onePass = 0;
+        long perSystem = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (NormalizedChartRequest request : combined) {
+                for (ChartCore.HouseSystemResult system : service.calculateChartCore(request).getComparedHouseSystems()) {
+                    checksum += system.getCusps()[1];
+                }
+            }
+            long middle = System.nanoTime();
+            for (NormalizedChartRequest[] requests : separate) {
+                for (NormalizedChartRequest request : requests) {
+                    checksum -= service.calculateChartCore(request).getCusps()[1];
+                }
+            }
+            if (round >= WARMUP_ROUNDS) {
+                onePass += middle - start;
+                perSystem += System.nanoTime() - middle;
+            }
+        }
+
+        double onePassMicros = onePass / 1000.0 / ROUNDS / CHARTS;
+        double perSystemMicros = perSystem / 1000.0 / ROUNDS / CHARTS;
+        System.out.println("\n=== House system comparison (" + CHARTS + " charts, "
+            + HouseSystemType.ALL.length + " systems, cache off) ===");
+        System.out.printf("🏘️ one request         %7.1f µs/chart%n", onePassMicros);
+        System.out.printf("🏘️ request per system  %7.1f µs/chart%n", perSystemMicros);
+        System.out.printf("⚡ Speedup: %.1fx%n%n", perSystemMicros / onePassMicros);
+
+        // Timings are informational; same cusps either way
+        assertEquals(0.0, checksum, 1e-6);
+    }
+}
@@ -0,0 +1,90 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnglesService;
+import com.natalcard.natalcard.calc.ChartContext;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseCuspGrid;
+import com.natalcard.natalcard.calc.HouseCuspGridWriter;
+import com.natalcard.natalcard.calc.HouseService;
+import com.natalcard.natalcard.calc.HouseSystem;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PlacidusHouseService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Solved vs interpolated cusps: ns per chart over a relocation sweep (one instant, a latitude/longitude grid)
+ */
+class HouseCuspGridBenchmarkTest {
+
+    private static final double JD = 2460000.5;
+    private static final int ROUNDS = 20;
+    private static final int WARMUP_ROUNDS = 10;
+
+    @TempDir
+    Path tempDir;
+
+    private final AnglesService anglesService = new AnglesService();
+
+    @Test
+    void testGridLookupVersusSolver() throws Exception {
+        HouseService solver = HouseService.withDefaultSystems(new PlacidusHouseService());
+        List<HouseSystem> systems = List.of(solver.getSystem(HouseSystemType.PLACIDUS), solver.getSystem(HouseSystemType.KOCH));
+        Path file = tempDir.resolve("house-cusps.bin");
+        HouseCuspGridWriter.write(file, systems, HouseCuspGridWriter.Spec.defaults(1.0, 1.0));
+        HouseCuspGrid grid = HouseCuspGrid.open(file);
+
+        // Relocation sweep: every 1.5° of latitude and 2° of longitude inside the grid
+        int charts = 0;
+        ChartContext[] contexts = new ChartContext[80 * 180];
+        for (double latitude = -59.25; latitude < 60.0; latitude += 1.5) {
+            for (double longitude = -180.0; longitude < 180.0; longitude += 2.0) {
+                contexts[charts++] = ChartContext.of(JD, latitude, longitude);
+            }
+        }
+        double[][] angles = new double[charts][];
+        for (int i = 0; i < charts; i++) {
+            angles[i] = anglesService.calculateAngles(contexts[i]);
+        }
+
+        System.out.println("\n=== House cusp grid (" + charts + " relocated charts, ns per chart) ===");
+        for (HouseSystem system : systems) {
+            HouseSystemType type = system.getType();
+            double solved = time(charts, i -> system.calculateCusps(contexts[i], angles[i][0], angles[i][1],
+                EnumSet.noneOf(ChartWarning.class)));
+            double interpolated = time(charts, i -> grid.cusps(type, contexts[i], angles[i][0], angles[i][1]));
+            System.out.printf("🗺️ %-10s solved %7.1f   grid %7.1f   (%.1fx)%n",
+                type, solved, interpolated, solved / interpolated);
+        }
+        System.out.println();
+
+        // Timings are informational; the interpolated cusps must stay accurate
+        assertEquals(0.0, HouseCuspGridWriter.maxError(grid, systems.get(0), 20_000), 1e-3, "PLACIDUS");
+    }
+
+    private interface CuspSource {
+        double[] cusps(int chart);
+    }
+
+    private static double time(int charts, CuspSource source) {
+        double checksum = 0.0;
+        long elapsed = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < charts; i++) {
+                checksum += source.cusps(i)[11];
+            }
+            if (round >= WARMUP_ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        assertFalse(Double.isNaN(checksum));
+        return (double) elapsed / ROUNDS / charts;
+    }
+}
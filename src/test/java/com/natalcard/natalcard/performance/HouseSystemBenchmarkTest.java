@@ -0,0 +1,81 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnglesService;
+import com.natalcard.natalcard.calc.ChartContext;
+import com.natalcard.natalcard.calc.ChartWarning;
+import com.natalcard.natalcard.calc.HouseService;
+import com.natalcard.natalcard.calc.HouseSystem;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PlacidusHouseService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ns per chart for each house system, on shared per-instant contexts
+ * Contexts and angles are built once, so the timing is the cusp work alone
+ */
+class HouseSystemBenchmarkTest {
+
+    private static final int CHARTS = 2_000;
+    private static final int ROUNDS = 40;
+    private static final int WARMUP_ROUNDS = 20;
+
+    private final AnglesService anglesService = new AnglesService();
+    private final HouseService houseService = HouseService.withDefaultSystems(new PlacidusHouseService());
+
+    @Test
+    void testCuspsPerSystem() {
+        Random random = new Random(20);
+        ChartContext[] contexts = new ChartContext[CHARTS];
+        double[][] angles = new double[CHARTS][];
+        for (int i = 0; i < CHARTS; i++) {
+            double jd = 2433282.5 + random.nextDouble() * 27000.0; // 1950-2024
+            contexts[i] = ChartContext.of(jd, -60.0 + random.nextDouble() * 120.0, -180.0 + random.nextDouble() * 360.0);
+            angles[i] = anglesService.calculateAngles(contexts[i]);
+        }
+
+        // Each system through its own HouseSystem reference (no registry lookup); every round visits the
+        // systems in a new random order, so no system is always timed after the call site has seen the others
+        HouseSystem[] systems = new HouseSystem[HouseSystemType.ALL.length];
+        for (HouseSystemType type : HouseSystemType.ALL) {
+            systems[type.ordinal()] = houseService.getSystem(type);
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int s = 0; s < systems.length; s++) {
+            order.add(s);
+        }
+        long[] elapsed = new long[systems.length];
+        double[] checksums = new double[systems.length];
+        EnumSet<ChartWarning> warnings = EnumSet.noneOf(ChartWarning.class);
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            Collections.shuffle(order, random);
+            for (int s : order) {
+                HouseSystem system = systems[s];
+                long start = System.nanoTime();
+                for (int i = 0; i < CHARTS; i++) {
+                    checksums[s] += system.calculateCusps(contexts[i], angles[i][0], angles[i][1], warnings)[10];
+                }
+                if (round >= WARMUP_ROUNDS) {
+                    elapsed[s] += System.nanoTime() - start;
+                }
+            }
+        }
+
+        System.out.println("\n=== House systems (" + CHARTS + " charts, ns per chart) ===");
+        for (HouseSystemType type : HouseSystemType.ALL) {
+            System.out.printf("🏠 %-14s %7.1f ns/chart%n", type, (double) elapsed[type.ordinal()] / ROUNDS / CHARTS);
+            assertFalse(Double.isNaN(checksums[type.ordinal()]), type.name());
+        }
+        System.out.println();
+
+        // Below the polar circles every quadrant system has semi-arcs to divide
+        assertTrue(warnings.isEmpty(), warnings::toString);
+    }
+}
@@ -0,0 +1,53 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.EphemerisEngine;
+import com.natalcard.natalcard.calc.KeplerEphemeris;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ns per chart: Kepler orbits against the VSOP87 FAST tier (print-only, accuracy in KeplerEphemerisTest)
+ */
+class KeplerEphemerisBenchmarkTest {
+
+    private static final int CHARTS = 20_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    void testKeplerVersusVsop87() {
+        Random random = new Random(11);
+        double[] dates = new double[CHARTS];
+        for (int i = 0; i < CHARTS; i++) {
+            dates[i] = KeplerEphemeris.START_JD + random.nextDouble() * (KeplerEphemeris.END_JD - KeplerEphemeris.START_JD);
+        }
+
+        double vsopNs = time(new AnalyticEphemeris(PrecisionTier.FAST), dates);
+        double keplerNs = time(new KeplerEphemeris(), dates);
+
+        System.out.println("\n=== Kepler orbits vs VSOP87 FAST (" + CHARTS + " charts) ===");
+        System.out.printf("⏱️  VSOP87 FAST %8.0f ns/chart  Kepler %8.0f ns/chart%n%n", vsopNs, keplerNs);
+    }
+
+    private static double time(EphemerisEngine engine, double[] dates) {
+        PlanetVector vector = new PlanetVector();
+        double sink = 0.0;
+        long elapsed = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (double jd : dates) {
+                engine.calculatePositions(jd, vector);
+                sink += vector.getLongitude(Body.PLUTO);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        assertTrue(sink > 0.0);
+        return (double) elapsed / dates.length;
+    }
+}
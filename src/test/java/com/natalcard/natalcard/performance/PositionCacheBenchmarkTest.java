@@ -0,0 +1,60 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.PositionCache;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clustered chart traffic: ns per chart with and without the interpolation node cache
+ */
+class PositionCacheBenchmarkTest {
+
+    private static final int CHARTS = 20_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final double[] POPULAR_YEARS = {2447892.5, 2448257.5, 2451179.5}; // 1990, 1991, 1999
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testCachedVersusDirect() {
+        Random random = new Random(23);
+        double[] dates = new double[CHARTS];
+        for (int i = 0; i < CHARTS; i++) {
+            dates[i] = POPULAR_YEARS[random.nextInt(POPULAR_YEARS.length)] + random.nextDouble() * 365.0;
+        }
+
+        PositionCache cache = new PositionCache(analytic, 100_000);
+        double directNs = time(new PositionCache(analytic, 0), dates);
+        double cachedNs = time(cache, dates);
+
+        System.out.println("\n=== Position cache, clustered traffic (" + CHARTS + " charts, 3 birth years) ===");
+        System.out.printf("⏱️  direct %8.0f ns/chart  cached %8.0f ns/chart  hit rate %.1f%%  nodes %d%n%n",
+            directNs, cachedNs, 100.0 * cache.stats().hitRate(), cache.size());
+
+        // Timings are informational; the clustered dates must reuse cached nodes
+        assertTrue(cache.stats().hitCount() > 0, "clustered charts hit the node cache");
+    }
+
+    private static double time(PositionCache cache, double[] dates) {
+        PlanetVector vector = new PlanetVector();
+        double sink = 0.0;
+        long elapsed = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (double jd : dates) {
+                cache.calculatePositions(jd, PrecisionTier.STANDARD, vector);
+                sink += vector.getLongitude(Body.MOON);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        assertTrue(sink > 0.0);
+        return (double) elapsed / dates.length;
+    }
+}
@@ -0,0 +1,89 @@
+package com.natalcard.natalcard.performance;
+
+import com.natalcard.natalcard.calc.AnalyticEphemeris;
+import com.natalcard.natalcard.calc.AstroMath;
+import com.natalcard.natalcard.calc.Body;
+import com.natalcard.natalcard.calc.PlanetVector;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import com.natalcard.natalcard.calc.Vsop87;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VSOP87 truncation tiers: ns per chart (all bodies) and max error against PRECISE
+ */
+class Vsop87BenchmarkTest {
+
+    private static final double START_JD = 2378496.5; // 1800-01-01
+    private static final double END_JD = 2524593.5;   // 2200-01-01
+    private static final int SAMPLES = 4_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private final AnalyticEphemeris analytic = new AnalyticEphemeris();
+
+    @Test
+    void testTiersTradeErrorForThroughput() {
+        double[] dates = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            dates[i] = START_JD + (END_JD - START_JD) * i / SAMPLES;
+        }
+
+        PlanetVector reference = new PlanetVector();
+        PlanetVector vector = new PlanetVector();
+        Map<PrecisionTier, Double> maxErrorArcsec = new EnumMap<>(PrecisionTier.class);
+        Map<PrecisionTier, Double> nsPerChart = new EnumMap<>(PrecisionTier.class);
+
+        for (PrecisionTier tier : PrecisionTier.values()) {
+            double maxError = 0.0;
+            for (double jd : dates) {
+                analytic.calculatePositions(jd, PrecisionTier.PRECISE, reference);
+                analytic.calculatePositions(jd, tier, vector);
+                for (Body body : Body.ALL) {
+                    double diff = Math.abs(AstroMath.minimalAngleDifference(
+                        reference.getLongitude(body), vector.getLongitude(body)));
+                    maxError = Math.max(maxError, diff * 3600.0);
+                }
+            }
+            maxErrorArcsec.put(tier, maxError);
+            nsPerChart.put(tier, timeCharts(dates, tier, vector));
+        }
+
+        Vsop87 vsop87 = Vsop87.getInstance();
+        System.out.println("\n=== VSOP87 tiers (" + SAMPLES + " dates, 1800-2200) ===");
+        for (PrecisionTier tier : PrecisionTier.values()) {
+            System.out.printf("⏱️  %-8s %5d terms  %8.0f ns/chart  max error %7.2f\"%n",
+                tier, vsop87.termCount(tier), nsPerChart.get(tier), maxErrorArcsec.get(tier));
+        }
+        System.out.println();
+
+        assertTrue(vsop87.termCount(PrecisionTier.FAST) < vsop87.termCount(PrecisionTier.STANDARD));
+        assertTrue(vsop87.termCount(PrecisionTier.STANDARD) < vsop87.termCount(PrecisionTier.PRECISE));
+        assertEquals(0.0, maxErrorArcsec.get(PrecisionTier.PRECISE));
+        assertTrue(maxErrorArcsec.get(PrecisionTier.STANDARD) < 10.0, "STANDARD within 10 arcsec");
+        assertTrue(maxErrorArcsec.get(PrecisionTier.FAST) < 120.0, "FAST within 2 arcmin");
+    }
+
+    private double timeCharts(double[] dates, PrecisionTier tier, PlanetVector vector) {
+        double sink = 0.0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (double jd : dates) {
+                analytic.calculatePositions(jd, tier, vector);
+                sink += vector.getLongitude(Body.SATURN);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (double jd : dates) {
+            analytic.calculatePositions(jd, tier, vector);
+            sink += vector.getLongitude(Body.SATURN);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(sink > 0.0);
+        return (double) elapsed / dates.length;
+    }
+}
@@ -0,0 +1,102 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.calc.Body;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the fields= selector and the stages it implies
+ */
+class ChartProjectionTest {
+
+    @Test
+    void testBlankSelectorSelectsEverything() {
+        assertSame(ChartProjection.ALL, ChartProjection.parse(null, new ArrayList<>()));
+        assertSame(ChartProjection.ALL, ChartProjection.parse("  ", new ArrayList<>()));
+
+        for (ChartProjection.Section section : ChartProjection.Section.values()) {
+            assertTrue(ChartProjection.ALL.includes(section));
+        }
+        assertEquals(Body.ALL_MASK, ChartProjection.ALL.getBodies());
+        assertTrue(ChartProjection.ALL.needsAngles());
+        assertTrue(ChartProjection.ALL.needsHouses());
+        assertTrue(ChartProjection.ALL.needsAspects());
+    }
+
+    @Test
+    void testSunSignOnlyEvaluatesOneBody() {
+        ChartProjection sun = parse("sunSignOnly");
+
+        assertEquals(Body.SUN.mask(), sun.getBodies());
+        assertTrue(sun.includes(Body.SUN));
+        assertFalse(sun.includes(Body.MOON));
+        assertTrue(sun.includes(ChartProjection.Section.POINTS));
+        assertFalse(sun.includes(ChartProjection.Section.META));
+        assertEquals(ChartProjection.bit(ChartField.SIGN), sun.getFields(ChartProjection.Section.POINTS));
+        assertFalse(sun.needsAngles());
+        assertFalse(sun.needsHouses());
+        assertFalse(sun.needsAspects());
+    }
+
+    @Test
+    void testBigThreeNeedsAnglesButNoHouses() {
+        ChartProjection bigThree = parse("BIGTHREE");
+
+        assertEquals(Body.SUN.mask() | Body.MOON.mask(), bigThree.getBodies());
+        assertTrue(bigThree.needsAngles());
+        assertFalse(bigThree.needsHouses());
+        assertEquals(ChartProjection.bit(ChartField.ASCENDANT_SIGN), bigThree.getFields(ChartProjection.Section.ANGLES));
+    }
+
+    @Test
+    void testSectionsFieldsAndBodiesCombine() {
+        ChartProjection projection = parse("meta, points.MARS,points.house");
+
+        assertTrue(projection.includes(ChartProjection.Section.META));
+        assertEquals(Body.MARS.mask(), projection.getBodies());
+        assertTrue(projection.needsHouses());
+        assertTrue(projection.needsAngles());
+
+        // A body without fields selects every field of it
+        ChartProjection venus = parse("points.venus");
+        assertTrue(venus.includes(Body.VENUS));
+        assertTrue(venus.needsHouses());
+        assertNotEquals(0, venus.getFields(ChartProjection.Section.POINTS) & ChartProjection.bit(ChartField.SPEED));
+
+        // Aspects need every body, whatever points are written
+        assertEquals(Body.ALL_MASK, parse("aspects,points.SUN").getBodies());
+        assertNotEquals(parse("sunSignOnly").getStages(), parse("moonSignOnly").getStages());
+        assertEquals(parse("points.SUN,points.sign").getStages(), parse("sunSignOnly").getStages());
+    }
+
+    @Test
+    void testHouseSystemsSectionPlacesTheWrittenPoints() {
+        ChartProjection cusps = parse("houseSystems.cusps");
+        assertTrue(cusps.needsComparedHouses());
+        assertTrue(cusps.needsAngles());
+        assertFalse(cusps.needsHouses());
+        assertEquals(0, cusps.getBodies());
+
+        ChartProjection placements = parse("houseSystems,points.MOON");
+        assertEquals(Body.MOON.mask(), placements.getBodies());
+        assertFalse(parse("bigThree").needsComparedHouses());
+    }
+
+    @Test
+    void testUnknownTokensReported() {
+        List<String> unknown = new ArrayList<>();
+        assertNull(ChartProjection.parse("points.sign,planets,angles.house,points.CHIRON", unknown));
+        assertEquals(List.of("planets", "angles.house", "points.CHIRON"), unknown);
+    }
+
+    private static ChartProjection parse(String selector) {
+        List<String> unknown = new ArrayList<>();
+        ChartProjection projection = ChartProjection.parse(selector, unknown);
+        assertTrue(unknown.isEmpty(), unknown::toString);
+        return projection;
+    }
+}
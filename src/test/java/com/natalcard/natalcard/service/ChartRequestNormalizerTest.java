@@ -0,0 +1,156 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.api.dto.ValidationErrorResponseDTO.FieldErrorDTO;
+import com.natalcard.natalcard.calc.AspectProfile;
+import com.natalcard.natalcard.calc.HouseSystemType;
+import com.natalcard.natalcard.calc.PrecisionTier;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for request normalization: date-time scanner, zone handling and field errors
+ */
+class ChartRequestNormalizerTest {
+
+    private final AstroTranslations translations = new AstroTranslations();
+    private final ChartRequestNormalizer normalizer = new ChartRequestNormalizer(translations, 16);
+
+    @Test
+    void testScannerMatchesLocalDateTimeParse() {
+        String[] accepted = {
+            "1996-04-23T14:35", "1996-04-23T14:35:00", "1996-04-23T14:35:07.5",
+            "2000-02-29T00:00:00.123456789", "1999-12-31T23:59:59"
+        };
+        for (String text : accepted) {
+            assertEquals(LocalDateTime.parse(text), ChartRequestNormalizer.scanLocalDateTime(text), text);
+        }
+
+        // Whitespace is ignored, as the old replaceAll("\\s+", "") did; lower-case 't' is accepted
+        assertEquals(LocalDateTime.parse("1996-04-23T14:35:00"),
+            ChartRequestNormalizer.scanLocalDateTime(" 1996-04-23 T 14:35:00 "));
+        assertEquals(LocalDateTime.parse("1996-04-23T14:35:00"),
+            ChartRequestNormalizer.scanLocalDateTime("1996-04-23t14:35:00"));
+    }
+
+    @Test
+    void testScannerRejectsMalformedInput() {
+        String[] rejected = {
+            "", "1996-04-23", "1996-04-23T14", "1996-04-23T14:", "96-04-23T14:35", "1996-4-23T14:35",
+            "1996-04-23T14:35:0", "1996-04-23T14:35:00.", "1996-04-23T14:35:00.1234567890",
+            "1996/04/23T14:35", "1996-04-23 14:35x", "1996-13-01T00:00", "1996-00-01T00:00",
+            "1997-02-29T00:00", "1996-04-31T00:00", "1996-04-23T24:00", "1996-04-23T14:60",
+            "1996-04-23T14:35:60", "1996-04-23T14:35Z"
+        };
+        for (String text : rejected) {
+            assertNull(ChartRequestNormalizer.scanLocalDateTime(text), text);
+        }
+    }
+
+    @Test
+    void testInstantMatchesAtZoneAcrossTransitions() {
+        ZoneId[] zones = { ZoneId.of("Europe/Istanbul"), ZoneId.of("America/New_York"), ZoneId.of("UTC") };
+        LocalDateTime[] times = {
+            LocalDateTime.parse("2021-03-14T02:30:00"), // New York gap
+            LocalDateTime.parse("2021-11-07T01:30:00"), // New York overlap
+            LocalDateTime.parse("1996-04-23T14:35:00"),
+            LocalDateTime.parse("2016-09-07T00:00:00")  // Istanbul's move to permanent +03
+        };
+        for (ZoneId zone : zones) {
+            for (LocalDateTime time : times) {
+                assertEquals(time.atZone(zone).toInstant(),
+                    ChartRequestNormalizer.toInstant(time, zone.getRules()), zone + " " + time);
+            }
+        }
+    }
+
+    @Test
+    void testValidRequestNormalized() {
+        ChartRequestNormalizer.Result result = normalizer.normalize(NatalChartRequestDTO.builder()
+            .birthDateTimeLocal("1996-04-23T14:35:00")
+            .timeZoneId(" Europe/Istanbul ")
+            .latitude(40.983)
+            .longitude(29.029)
+            .houseSystem("whole_sign")
+            .compareHouseSystems(" koch,EQUAL, ")
+            .aspectProfile("extended")
+            .precision("fast")
+            .language("TR")
+            .build());
+
+        assertTrue(result.isValid());
+        assertTrue(result.getErrors().isEmpty());
+        NormalizedChartRequest request = result.getRequest();
+        assertEquals(LocalDateTime.parse("1996-04-23T11:35:00").atZone(ZoneId.of("UTC")).toInstant(),
+            request.getInstant());
+        assertEquals(HouseSystemType.WHOLE_SIGN, request.getHouseSystem());
+        assertEquals(HouseSystemType.KOCH.mask() | HouseSystemType.EQUAL.mask(), request.getComparedHouseSystems());
+        assertEquals(PrecisionTier.FAST, request.getPrecision());
+        assertEquals(translations.languageIndex("tr"), request.getLanguage());
+        assertTrue(request.isIncludeAspects());
+        assertSame(AspectProfile.EXTENDED, request.getAspectProfile());
+    }
+
+    @Test
+    void testHouseSystemListParsed() {
+        List<String> unknown = new ArrayList<>();
+        assertEquals(0, ChartRequestNormalizer.houseSystemMask(" , ", unknown));
+        assertEquals(HouseSystemType.ALL_MASK, ChartRequestNormalizer.houseSystemMask("placidus,all", unknown));
+        assertTrue(unknown.isEmpty());
+
+        assertEquals(HouseSystemType.CAMPANUS.mask(), ChartRequestNormalizer.houseSystemMask("Campanus,Vehlow,", unknown));
+        assertEquals(List.of("Vehlow"), unknown);
+    }
+
+    @Test
+    void testInvalidRequestCollectsEveryFieldError() {
+        ChartRequestNormalizer.Result result = normalizer.normalize(NatalChartRequestDTO.builder()
+            .birthDateTimeLocal(" ")
+            .timeZoneId("Nowhere/City")
+            .longitude(200.0)
+            .zodiac("SIDEREAL")
+            .houseSystem("TOPOCENTRIC")
+            .compareHouseSystems("KOCH,TOPOCENTRIC")
+            .aspectProfile("HARMONIC")
+            .precision("ULTRA")
+            .fieldNames("TINY")
+            .longitudeDecimals(11)
+            .fields("points.sign,planets")
+            .build());
+
+        assertFalse(result.isValid());
+        assertNull(result.getRequest());
+        List<String> codes = result.getErrors().stream()
+            .map(error -> error.getField() + ":" + error.getCode())
+            .toList();
+        assertEquals(List.of(
+            "zodiac:UNSUPPORTED",
+            "birthDateTimeLocal:REQUIRED",
+            "timeZoneId:UNKNOWN_TIMEZONE",
+            "latitude:REQUIRED",
+            "longitude:OUT_OF_RANGE",
+            "houseSystem:UNSUPPORTED",
+            "compareHouseSystems:UNSUPPORTED",
+            "aspectProfile:UNSUPPORTED",
+            "precision:UNSUPPORTED",
+            "fieldNames:UNSUPPORTED",
+            "longitudeDecimals:OUT_OF_RANGE",
+            "fields:UNSUPPORTED"), codes);
+        for (FieldErrorDTO error : result.getErrors()) {
+            assertNotNull(error.getMessage());
+        }
+    }
+
+    @Test
+    void testZoneRulesCached() {
+        assertSame(normalizer.zoneRules("Europe/Istanbul"), normalizer.zoneRules("Europe/Istanbul"));
+        assertNull(normalizer.zoneRules("Nowhere/City"));
+    }
+}
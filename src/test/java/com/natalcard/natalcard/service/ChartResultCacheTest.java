@@ -0,0 +1,125 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.api.dto.NatalChartResponseDTO;
+import com.natalcard.natalcard.calc.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the chart core cache, its request fingerprint and per-language rendering
+ */
+class ChartResultCacheTest {
+
+    private static final Instant BIRTH = Instant.parse("1996-04-23T11:35:00Z");
+
+    private static final int STAGES = ChartProjection.ALL.getStages();
+
+    private final ChartResultCache cache = new ChartResultCache(100, Duration.ofMinutes(10), 4);
+
+    @Test
+    void testFingerprintCanonical() {
+        long base = cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES);
+
+        assertEquals(base, cache.fingerprint(BIRTH, 40.98300004, 29.02899996, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH.plusSeconds(1), 40.983, 29.029, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.9831, 29.029, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 29.029, 40.983, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.EQUAL, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS,
+            HouseSystemType.KOCH.mask(), true, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, false, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.PRECISE, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, true, AspectProfile.EXTENDED, PrecisionTier.STANDARD, STAGES));
+        // Without aspects the profile does not matter
+        assertEquals(cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, false, AspectProfile.MAJOR, PrecisionTier.STANDARD, STAGES),
+            cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, false, AspectProfile.EXTENDED, PrecisionTier.STANDARD, STAGES));
+        assertNotEquals(base, cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, true, AspectProfile.MAJOR, PrecisionTier.STANDARD,
+            ChartProjection.parse("bigThree", new ArrayList<>()).getStages()));
+    }
+
+    @Test
+    void testProfilesKeyedByContent() {
+        // Profile names are upper-case; "AO" and "B0" share a String.hashCode
+        assertEquals("AO".hashCode(), "B0".hashCode());
+        AspectProfile ao = AspectProfile.parse("AO", "CONJUNCTION:6:8");
+        AspectProfile b0 = AspectProfile.parse("B0", "CONJUNCTION:6:8");
+        AspectProfile wider = AspectProfile.parse("AO", "CONJUNCTION:7:8");
+
+        assertNotEquals(key(ao), key(b0));
+        assertNotEquals(key(ao), key(wider));
+        assertEquals(key(ao), key(AspectProfile.parse("ao", " conjunction:6:8 ")));
+    }
+
+    private long key(AspectProfile profile) {
+        return cache.fingerprint(BIRTH, 40.983, 29.029, HouseSystemType.PLACIDUS, 0, true, profile, PrecisionTier.STANDARD, STAGES);
+    }
+
+    @Test
+    void testRepeatedRequestServedFromCache() {
+        NatalChartService service = TestCharts.newService(cache);
+        NatalChartResponseDTO first = service.calculateNatalChart(request("Europe/Istanbul", "1996-04-23T14:35:00"));
+        // Same instant entered in UTC
+        NatalChartResponseDTO second = service.calculateNatalChart(request("UTC", "1996-04-23T11:35:00"));
+
+        assertEquals(first, second);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLanguagesShareOneCore() {
+        NatalChartService service = TestCharts.newService(cache);
+        NatalChartRequestDTO request = request("Europe/Istanbul", "1996-04-23T14:35:00");
+        NatalChartResponseDTO english = service.calculateNatalChart(request);
+        request.setLanguage("tr");
+        NatalChartResponseDTO turkish = service.calculateNatalChart(request);
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(english.getAngles().getAscendantLongitude(), turkish.getAngles().getAscendantLongitude());
+        assertEquals(english.getPoints().get("SUN").getSign(), turkish.getPoints().get("SUN").getSign());
+        assertEquals("Taurus", english.getPoints().get("SUN").getSignLocalized());
+        assertEquals("Boğa", turkish.getPoints().get("SUN").getSignLocalized());
+    }
+
+    @Test
+    void testCachedChartMatchesFreshCalculation() {
+        NatalChartService cached = TestCharts.newService(cache);
+        NatalChartService uncached = TestCharts.newService(new ChartResultCache(0, Duration.ofMinutes(10), 4));
+        NatalChartRequestDTO request = request("Europe/Istanbul", "1996-04-23T14:35:00");
+        request.setLatitude(40.98300004);
+
+        cached.calculateNatalChart(request);
+        NatalChartResponseDTO fromCache = cached.calculateNatalChart(request);
+        request.setLatitude(40.983);
+        assertEquals(uncached.calculateNatalChart(request), fromCache);
+    }
+
+    @Test
+    void testDisabled() {
+        ChartResultCache disabled = new ChartResultCache(0, Duration.ofMinutes(10), 4);
+        assertFalse(disabled.isEnabled());
+        assertEquals(40.98300004, disabled.canonicalCoordinate(40.98300004));
+        assertEquals(0, disabled.stats().requestCount());
+    }
+
+    private static NatalChartRequestDTO request(String timeZoneId, String birthDateTimeLocal) {
+        return NatalChartRequestDTO.builder()
+            .birthDateTimeLocal(birthDateTimeLocal)
+            .timeZoneId(timeZoneId)
+            .latitude(40.983)
+            .longitude(29.029)
+            .zodiac("TROPICAL")
+            .houseSystem("PLACIDUS")
+            .includeAspects(true)
+            .language("en")
+            .build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.natalcard.natalcard.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.natalcard.natalcard.api.ChartEncoding;
+import com.natalcard.natalcard.api.dto.NatalChartRequestDTO;
+import com.natalcard.natalcard.calc.*;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for streaming chart serialization
+ */
+class ChartStreamWriterTest {
+
+    private final AstroTranslations translations = new AstroTranslations();
+    private final ChartRequestNormalizer normalizer = new ChartRequestNormalizer(translations, 16);
+    private final NatalChartService service = TestCharts.newService(new ChartResultCache(100, Duration.ofMinutes(10), 4), normalizer);
+    private final ChartStreamWriter writer = new ChartStreamWriter(translations);
+
+    // Same settings as spring.jackson.default-property-inclusion=non_null
+    private final JsonMapper jsonMapper = JsonMapper.builder()
+        .changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(JsonInclude.Include.NON_NULL))
+        .build();
+
+    @Test
+    void testStreamedJsonMatchesResponseDto() {
+        for (String language : new String[] { "en", "tr" }) {
+            NatalChartRequestDTO request = request(language, null, null);
+            JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(service.calculateNatalChart(request)));
+            JsonNode streamed = jsonMapper.readTree(write(ChartEncoding.JSON, request));
+            assertEquals(expected, streamed, language);
+        }
+    }
+
+    @Test
+    void testFallbackWarningsRenderedFromCore() {
+        NatalChartRequestDTO request = request("tr", null, null);
+        request.setLatitude(69.6492); // Placidus undefined above the polar circle
+        ChartCore core = service.calculateChartCore(request);
+        assertEquals(EnumSet.of(ChartWarning.PLACIDUS_FALLBACK_EQUAL_HIGH_LAT), core.getWarnings());
+        assertEquals(HouseSystemType.EQUAL, core.getEffectiveHouseSystem());
+
+        JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(service.calculateNatalChart(request)));
+        JsonNode streamed = jsonMapper.readTree(write(ChartEncoding.JSON, request));
+        assertEquals(expected, streamed);
+        assertEquals("PLACIDUS_FALLBACK_EQUAL_HIGH_LAT", streamed.get("meta").get("warnings").get(0).asString());
+        assertEquals(translations.translate(ChartWarning.PLACIDUS_FALLBACK_EQUAL_HIGH_LAT, translations.languageIndex("tr")),
+            streamed.get("meta").get("warningsLocalized").get(0).asString());
+    }
+
+    @Test
+    void testBinaryEncodingsCarryTheSameDocument() {
+        NatalChartRequestDTO request = request("tr", null, null);
+        JsonNode json = jsonMapper.readTree(write(ChartEncoding.JSON, request));
+
+        assertEquals(json, new CBORMapper().readTree(write(ChartEncoding.CBOR, request)));
+        assertEquals(json, new SmileMapper().readTree(write(ChartEncoding.SMILE, request)));
+    }
+
+    @Test
+    void testShortFieldNamesAndRounding() {
+        JsonNode full = jsonMapper.readTree(write(ChartEncoding.JSON, request("en", null, null)));
+        JsonNode compact = jsonMapper.readTree(write(ChartEncoding.JSON, request("en", "SHORT", 2)));
+
+        assertTrue(compact.has("m") && compact.has("an") && compact.has("h") && compact.has("p") && compact.has("as"));
+        assertFalse(compact.has("meta"));
+
+        JsonNode sun = compact.get("p").get("SUN");
+        double longitude = sun.get("lon").asDouble();
+        assertEquals(Math.round(longitude * 100.0) / 100.0, longitude);
+        assertEquals(full.get("points").get("SUN").get("longitude").asDouble(), longitude, 0.005);
+        assertEquals(full.get("points").get("SUN").get("speed").asDouble(), sun.get("v").asDouble());
+        assertEquals(full.get("angles").get("ascendantLongitude").asDouble(),
+            compact.get("an").get("asc").asDouble(), 0.005);
+
+        // Every field has a distinct short name
+        assertEquals(ChartField.values().length, Arrays.stream(ChartField.values())
+            .map(field -> field.shortName).distinct().count());
+    }
+
+    @Test
+    void testRoundingAtSignBoundaries() {
+        // Just below 0° Aries and 0° Taurus: at 3 decimals these round onto the boundary
+        PlanetVector planets = new PlanetVector();
+        for (Body body : Body.ALL) {
+            planets.setLongitude(body, 100.0 + body.ordinal());
+        }
+        planets.setLongitude(Body.SUN, 359.9996);
+        planets.setLongitude(Body.MOON, 29.9996);
+        double[] cusps = new double[12];
+        for (int i = 0; i < 12; i++) {
+            cusps[i] = AstroMath.normalize360(359.9996 + 30.0 * i);
+        }
+        int[] houses = new int[Body.COUNT];
+        Arrays.fill(houses, 1);
+        ChartCore core = new ChartCore(cusps[0], cusps[9], cusps, planets, houses, List.of(),
+            HouseSystemType.EQUAL, HouseSystemType.EQUAL, PrecisionTier.STANDARD, 0, List.of());
+
+        ChartRequestNormalizer.Result result = normalizer.normalize(request("en", null, 3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = ChartEncoding.JSON.createGenerator(out)) {
+            writer.write(new ChartView(core, result.getRequest()), generator);
+        }
+        JsonNode chart = jsonMapper.readTree(out.toByteArray());
+
+        // Longitudes stay in [0, 360); sign and sign degree follow the written longitude
+        JsonNode sun = chart.get("points").get("SUN");
+        assertEquals(0.0, sun.get("longitude").asDouble());
+        assertEquals("ARIES", sun.get("sign").asString());
+        assertEquals(0.0, sun.get("signDegree").asDouble());
+        JsonNode moon = chart.get("points").get("MOON");
+        assertEquals(30.0, moon.get("longitude").asDouble());
+        assertEquals("TAURUS", moon.get("sign").asString());
+        assertEquals(0.0, moon.get("signDegree").asDouble());
+        assertEquals(0.0, chart.get("angles").get("ascendantLongitude").asDouble());
+        assertEquals("ARIES", chart.get("angles").get("ascendantSign").asString());
+        assertEquals(0.0, chart.get("houses").get(0).get("cuspLongitude").asDouble());
+        assertEquals("ARIES", chart.get("houses").get(0).get("sign").asString());
+        for (JsonNode house : chart.get("houses")) {
+            double cusp = house.get("cuspLongitude").asDouble();
+            assertTrue(cusp >= 0.0 && cusp < 360.0, house.toString());
+            assertEquals(ZodiacSign.of(cusp).name(), house.get("sign").asString());
+        }
+    }
+
+    @Test
+    void testProjectionWritesOnlySelectedFields() {
+        JsonNode full = jsonMapper.readTree(write(ChartEncoding.JSON, request("en", null, null)));
+
+        NatalChartRequestDTO sunSign = request("en", null, null);
+        sunSign.setFields("sunSignOnly");
+        JsonNode sun = jsonMapper.readTree(write(ChartEncoding.JSON, sunSign));
+        assertEquals(jsonMapper.readTree("{\"points\":{\"SUN\":{\"sign\":\"TAURUS\"}}}"), sun);
+
+        NatalChartRequestDTO bigThree = request("tr", null, null);
+        bigThree.setFields("bigThree");
+        JsonNode three = jsonMapper.readTree(write(ChartEncoding.JSON, bigThree));
+        assertEquals(2, three.size());
+        assertEquals(full.get("angles").get("ascendantSign"), three.get("angles").get("ascendantSign"));
+        assertEquals(1, three.get("angles").size());
+        assertEquals(2, three.get("points").size());
+        assertEquals(full.get("points").get("MOON").get("sign"), three.get("points").get("MOON").get("sign"));
+
+        // Sections and fields combine; houses are still computed for points.house
+        NatalChartRequestDTO houses = request("en", null, null);
+        houses.setFields("meta.effectiveHouseSystem,points.house,points.VENUS");
+        JsonNode mixed = jsonMapper.readTree(write(ChartEncoding.JSON, houses));
+        assertEquals(full.get("meta").get("effectiveHouseSystem"), mixed.get("meta").get("effectiveHouseSystem"));
+        assertEquals(full.get("points").get("VENUS").get("house"), mixed.get("points").get("VENUS").get("house"));
+        assertFalse(mixed.has("houses"));
+    }
+
+    @Test
+    void testComparedHouseSystemsShareOnePointSet() {
+        NatalChartRequestDTO request = request("tr", null, null);
+        request.setCompareHouseSystems("ALL");
+        JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(service.calculateNatalChart(request)));
+        JsonNode streamed = jsonMapper.readTree(write(ChartEncoding.JSON, request));
+        assertEquals(expected, streamed);
+
+        // One entry per system in declaration order; the requested system matches the main chart
+        JsonNode systems = streamed.get("houseSystems");
+        assertEquals(HouseSystemType.ALL.length, systems.size());
+        for (int i = 0; i < HouseSystemType.ALL.length; i++) {
+            JsonNode system = systems.get(i);
+            assertEquals(HouseSystemType.ALL[i].name(), system.get("houseSystem").asString());
+            assertEquals(12, system.get("cusps").size());
+            assertEquals(Body.COUNT, system.get("pointHouses").size());
+            // Shared angles: every system but Whole Sign starts house 1 at the ascendant
+            if (HouseSystemType.ALL[i] != HouseSystemType.WHOLE_SIGN) {
+                assertEquals(streamed.get("angles").get("ascendantLongitude").asDouble(),
+                    system.get("cusps").get(0).asDouble());
+            }
+        }
+        JsonNode placidus = systems.get(HouseSystemType.PLACIDUS.ordinal());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(streamed.get("houses").get(i).get("cuspLongitude"), placidus.get("cusps").get(i));
+        }
+        for (Body body : Body.ALL) {
+            assertEquals(streamed.get("points").get(body.name()).get("house"),
+                placidus.get("pointHouses").get(body.name()));
+        }
+
+        // Without the option the section is omitted; a projection can keep it alone
+        assertFalse(jsonMapper.readTree(write(ChartEncoding.JSON, request("en", null, null))).has("houseSystems"));
+        request.setCompareHouseSystems("koch,equal");
+        request.setFields("houseSystems.houseSystem,houseSystems.pointHouses,points.SUN");
+        request.setFieldNames("SHORT");
+        JsonNode compact = jsonMapper.readTree(write(ChartEncoding.JSON, request));
+        JsonNode compared = compact.get("hss");
+        assertEquals(2, compared.size());
+        for (int i = 0; i < 2; i++) {
+            HouseSystemType type = i == 0 ? HouseSystemType.EQUAL : HouseSystemType.KOCH;
+            assertEquals(2, compared.get(i).size());
+            assertEquals(type.name(), compared.get(i).get("hs").asString());
+            assertEquals(1, compared.get(i).get("ph").size());
+            assertEquals(systems.get(type.ordinal()).get("pointHouses").get("SUN"), compared.get(i).get("ph").get("SUN"));
+        }
+    }
+
+    private byte[] write(ChartEncoding encoding, NatalChartRequestDTO request) {
+        ChartRequestNormalizer.Result result = normalizer.normalize(request);
+        assertTrue(result.isValid());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = encoding.createGenerator(out)) {
+            writer.write(service.calculateChartView(result.getRequest()), generator);
+        }
+        return out.toByteArray();
+    }
+
+    private static NatalChartRequestDTO request(String language, String fieldNames, Integer longitudeDecimals) {
+        return NatalChartRequestDTO.builder()
+            .birthDateTimeLocal("1996-04-23T14:35:00")
+            .timeZoneId("Europe/Istanbul")
+            .latitude(40.983)
+            .longitude(29.029)
+            .houseSystem("PLACIDUS")
+            .includeAspects(true)
+            .language(language)
+            .fieldNames(fieldNames)
+            .longitudeDecimals(longitudeDecimals)
+            .build();
+    }
+}
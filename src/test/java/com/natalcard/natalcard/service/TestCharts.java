@@ -0,0 +1,35 @@
+package com.natalcard.natalcard.service;
+
+import com.natalcard.natalcard.calc.*;
+import com.natalcard.natalcard.i18n.AstroTranslations;
+
+/**
+ * Hand-wired chart services for tests and benchmarks that run without a Spring context
+ *
+ * Analytic ephemeris with the position cache off and the default house systems;
+ * the chart cache and normalizer are the caller's.
+ */
+public final class TestCharts {
+
+    private TestCharts() {
+    }
+
+    public static NatalChartService newService(ChartResultCache cache, ChartRequestNormalizer normalizer) {
+        AnalyticEphemeris analytic = new AnalyticEphemeris();
+        return new NatalChartService(
+            new PlanetPositionService(analytic, analytic, new PositionCache(analytic, 0)),
+            new AnglesService(),
+            HouseService.withDefaultSystems(new PlacidusHouseService()),
+            new AspectService(),
+            new ChartLocalizationService(new AstroTranslations()),
+            cache,
+            normalizer);
+    }
+
+    /**
+     * Same, with a default normalizer
+     */
+    public static NatalChartService newService(ChartResultCache cache) {
+        return newService(cache, new ChartRequestNormalizer(new AstroTranslations(), 16));
+    }
+}